@@ -2,14 +2,21 @@ package com.mobilebanking.auth.api;
 
 import com.mobilebanking.auth.api.dto.LoginRequest;
 import com.mobilebanking.auth.api.dto.LoginResponse;
+import com.mobilebanking.auth.api.dto.RefreshTokenRequest;
+import com.mobilebanking.auth.application.AuthTokens;
 import com.mobilebanking.auth.application.LoginService;
+import com.mobilebanking.auth.application.RefreshTokenService;
+import com.mobilebanking.auth.domain.JwtTokenService;
+import com.mobilebanking.auth.domain.VerifiedToken;
 import com.mobilebanking.user.api.dto.UserRegistrationRequest;
 import com.mobilebanking.user.api.dto.UserRegistrationResponse;
 import com.mobilebanking.user.application.UserRegistrationService;
 import com.mobilebanking.user.domain.User;
+import io.jsonwebtoken.JwtException;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,7 +25,7 @@ import org.springframework.web.bind.annotation.*;
 
 /**
  * REST controller for authentication-related endpoints.
- * Handles user registration and login.
+ * Handles user registration, login, token refresh and logout.
  */
 @RestController
 @RequestMapping("/api/auth")
@@ -27,10 +34,18 @@ public class AuthController {
     private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
     private final UserRegistrationService userRegistrationService;
     private final LoginService loginService;
+    private final RefreshTokenService refreshTokenService;
+    private final JwtTokenService jwtTokenService;
 
-    public AuthController(UserRegistrationService userRegistrationService, LoginService loginService) {
+    public AuthController(
+            UserRegistrationService userRegistrationService,
+            LoginService loginService,
+            RefreshTokenService refreshTokenService,
+            JwtTokenService jwtTokenService) {
         this.userRegistrationService = userRegistrationService;
         this.loginService = loginService;
+        this.refreshTokenService = refreshTokenService;
+        this.jwtTokenService = jwtTokenService;
     }
 
     /**
@@ -60,13 +75,55 @@ public class AuthController {
      * Endpoint for user login.
      *
      * @param request the login request
-     * @return login response with JWT token
+     * @return login response with access and refresh tokens
      */
     @PostMapping("/login")
     public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
         logger.info("Received login request for phone number: {}", request.getPhoneNumber());
 
-        String token = loginService.login(request.getPhoneNumber(), request.getPin());
-        return ResponseEntity.ok(LoginResponse.success(token));
+        AuthTokens tokens = loginService.login(request.getPhoneNumber(), request.getPin());
+        return ResponseEntity.ok(LoginResponse.success(tokens.accessToken(), tokens.refreshToken(),
+                tokens.expiresInSeconds(), "Authentication successful"));
+    }
+
+    /**
+     * Endpoint for exchanging a refresh token for new tokens. The presented
+     * refresh token is rotated and cannot be used again.
+     *
+     * @param request the refresh request
+     * @return response with a new access and refresh token
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        AuthTokens tokens = refreshTokenService.rotate(request.getRefreshToken());
+        return ResponseEntity.ok(LoginResponse.success(tokens.accessToken(), tokens.refreshToken(),
+                tokens.expiresInSeconds(), "Token refreshed"));
+    }
+
+    /**
+     * Endpoint for logout. Revokes the refresh token and, when sent as a bearer
+     * token, the current access token.
+     *
+     * @param request       the logout request
+     * @param authorization the optional Authorization header
+     * @return empty response
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @Valid @RequestBody RefreshTokenRequest request,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        refreshTokenService.logout(request.getRefreshToken(), bearerToken(authorization));
+        return ResponseEntity.noContent().build();
+    }
+
+    private VerifiedToken bearerToken(String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            return jwtTokenService.verify(authorization.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
+            return null; // An invalid access token needs no revocation
+        }
     }
 }
\ No newline at end of file
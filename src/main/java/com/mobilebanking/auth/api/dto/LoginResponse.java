@@ -2,11 +2,14 @@ package com.mobilebanking.auth.api.dto;
 
 /**
  * Data Transfer Object for login responses.
- * Contains JWT token and success status.
+ * Contains the JWT access token, the refresh token used to renew it, and
+ * success status.
  */
 public class LoginResponse {
 
     private String token;
+    private String refreshToken;
+    private Long expiresIn; // Access token lifetime in seconds
     private boolean success;
     private String message;
 
@@ -28,6 +31,23 @@ public class LoginResponse {
         return response;
     }
 
+    /**
+     * Creates a successful response carrying an access and a refresh token.
+     *
+     * @param token            the JWT access token
+     * @param refreshToken     the refresh token
+     * @param expiresInSeconds the access token lifetime in seconds
+     * @param message          the success message
+     * @return LoginResponse instance
+     */
+    public static LoginResponse success(String token, String refreshToken, long expiresInSeconds, String message) {
+        LoginResponse response = success(token);
+        response.refreshToken = refreshToken;
+        response.expiresIn = expiresInSeconds;
+        response.message = message;
+        return response;
+    }
+
     /**
      * Creates a failed login response with error message.
      *
@@ -49,6 +69,22 @@ public class LoginResponse {
         this.token = token;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public Long getExpiresIn() {
+        return expiresIn;
+    }
+
+    public void setExpiresIn(Long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+
     public boolean isSuccess() {
         return success;
     }
@@ -0,0 +1,11 @@
+package com.mobilebanking.auth.application;
+
+/**
+ * The tokens handed to a client after login or refresh.
+ *
+ * @param accessToken      the short-lived JWT access token
+ * @param refreshToken     the opaque refresh token
+ * @param expiresInSeconds the access token lifetime in seconds
+ */
+public record AuthTokens(String accessToken, String refreshToken, long expiresInSeconds) {
+}
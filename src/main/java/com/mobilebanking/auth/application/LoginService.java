@@ -3,16 +3,29 @@ package com.mobilebanking.auth.application;
 import com.mobilebanking.auth.domain.AuthenticationService;
 import com.mobilebanking.auth.domain.JwtTokenService;
 import com.mobilebanking.auth.domain.exception.InvalidCredentialsException;
+import com.mobilebanking.auth.domain.exception.LoginThrottledException;
+import com.mobilebanking.auth.infrastructure.LoginThrottle;
 import com.mobilebanking.observability.ObservabilityService;
 import com.mobilebanking.shared.domain.PhoneNumber;
+import com.mobilebanking.shared.domain.exception.HashingCapacityExceededException;
+import com.mobilebanking.shared.domain.exception.InvalidPhoneNumberException;
+import com.mobilebanking.shared.infrastructure.PinHashingExecutor;
+import com.mobilebanking.user.application.PinRehashService;
 import com.mobilebanking.user.domain.User;
 import com.mobilebanking.user.infrastructure.UserRepository;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Application service for handling user login operations.
- * Orchestrates the authentication workflow and token generation.
+ * Orchestrates the authentication workflow and token generation. Attempts
+ * are rate limited by {@link LoginThrottle} before any lookup, PIN
+ * verification runs on the bounded {@link PinHashingExecutor}, and outdated
+ * PIN hashes are upgraded in the background after a successful login.
+ *
+ * Login is deliberately not transactional: the user is loaded in the
+ * repository's own read transaction, so no database connection is held while
+ * waiting for BCrypt, and the refresh token is written in a short
+ * transaction of its own.
  */
 @Service
 public class LoginService {
@@ -21,30 +34,43 @@ public class LoginService {
     private final AuthenticationService authenticationService;
     private final JwtTokenService jwtTokenService;
     private final ObservabilityService observabilityService;
+    private final PinHashingExecutor pinHashingExecutor;
+    private final PinRehashService pinRehashService;
+    private final LoginThrottle loginThrottle;
+    private final RefreshTokenService refreshTokenService;
 
     public LoginService(
             UserRepository userRepository,
             AuthenticationService authenticationService,
             JwtTokenService jwtTokenService,
-            ObservabilityService observabilityService) {
+            ObservabilityService observabilityService,
+            PinHashingExecutor pinHashingExecutor,
+            PinRehashService pinRehashService,
+            LoginThrottle loginThrottle,
+            RefreshTokenService refreshTokenService) {
         this.userRepository = userRepository;
         this.authenticationService = authenticationService;
         this.jwtTokenService = jwtTokenService;
         this.observabilityService = observabilityService;
+        this.pinHashingExecutor = pinHashingExecutor;
+        this.pinRehashService = pinRehashService;
+        this.loginThrottle = loginThrottle;
+        this.refreshTokenService = refreshTokenService;
     }
 
     /**
-     * Authenticates a user with phone number and PIN, generating a JWT token upon
-     * success.
+     * Authenticates a user with phone number and PIN, issuing a short-lived JWT
+     * access token and a refresh token upon success.
      *
      * @param phoneNumber the user's phone number
      * @param pin         the user's PIN
-     * @return JWT token for authenticated user
-     * @throws InvalidCredentialsException if credentials are invalid or user not
-     *                                     found
+     * @return access and refresh tokens for the authenticated user
+     * @throws InvalidCredentialsException      if credentials are invalid or user
+     *                                          not found
+     * @throws HashingCapacityExceededException if the hashing pool is saturated
+     * @throws LoginThrottledException          if too many attempts were made
      */
-    @Transactional(readOnly = true)
-    public String login(String phoneNumber, String pin) {
+    public AuthTokens login(String phoneNumber, String pin) {
         // Validate input
         if (phoneNumber == null || phoneNumber.trim().isEmpty()) {
             throw InvalidCredentialsException.invalidPhoneOrPin();
@@ -53,14 +79,26 @@ public class LoginService {
             throw InvalidCredentialsException.invalidPhoneOrPin();
         }
 
+        // Unparseable numbers cannot belong to a user and must not take a throttle bucket
+        PhoneNumber phone;
+        try {
+            phone = PhoneNumber.of(phoneNumber);
+        } catch (InvalidPhoneNumberException e) {
+            observabilityService.recordAuthentication(phoneNumber, false);
+            throw InvalidCredentialsException.invalidPhoneOrPin();
+        }
+
+        // Reject throttled attempts before touching the database or BCrypt
+        loginThrottle.checkAttempt(phone);
+
         try {
             // Find user by phone number
-            PhoneNumber phone = PhoneNumber.of(phoneNumber);
             User user = userRepository.findByPhone(phone)
                     .orElseThrow(InvalidCredentialsException::userNotFound);
 
             // Validate credentials
-            boolean isValid = authenticationService.validateCredentials(user, pin);
+            boolean isValid = pinHashingExecutor.run(PinHashingExecutor.VERIFY, user.getPin().getCost(),
+                    () -> authenticationService.validateCredentials(user, pin));
             if (!isValid) {
                 // Record failed authentication
                 observabilityService.recordAuthentication(phoneNumber, false);
@@ -70,8 +108,16 @@ public class LoginService {
             // Record successful authentication
             observabilityService.recordAuthentication(phoneNumber, true);
 
-            // Generate JWT token
-            return jwtTokenService.generateToken(user.getId());
+            // Upgrade an outdated PIN hash while the raw PIN is at hand
+            pinRehashService.rehashIfNeeded(user, pin);
+
+            // Generate access token and start a refresh token family
+            String accessToken = jwtTokenService.generateToken(user.getId());
+            String refreshToken = refreshTokenService.issue(user.getId());
+            return new AuthTokens(accessToken, refreshToken, jwtTokenService.getAccessTokenValidity().toSeconds());
+        } catch (HashingCapacityExceededException e) {
+            // Shed load without counting it as a failed authentication
+            throw e;
         } catch (InvalidCredentialsException e) {
             // Record failed authentication if not already recorded
             observabilityService.recordAuthentication(phoneNumber, false);
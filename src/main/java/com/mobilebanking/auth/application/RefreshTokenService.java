@@ -0,0 +1,179 @@
+package com.mobilebanking.auth.application;
+
+import com.mobilebanking.auth.domain.JwtTokenService;
+import com.mobilebanking.auth.domain.RefreshToken;
+import com.mobilebanking.auth.domain.VerifiedToken;
+import com.mobilebanking.auth.domain.exception.InvalidRefreshTokenException;
+import com.mobilebanking.auth.infrastructure.RefreshTokenRepository;
+import com.mobilebanking.auth.infrastructure.RevokedTokenIds;
+import com.mobilebanking.shared.domain.UserId;
+import com.mobilebanking.user.domain.User;
+import com.mobilebanking.user.infrastructure.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Application service for refresh tokens. Issues a token family at login,
+ * rotates the token on every refresh and revokes the whole family when a
+ * rotated token is presented again, since that means it was copied.
+ *
+ * Exports {@code mobile_banking_refresh_tokens_total} tagged with
+ * {@code result=rotated|reused|invalid}.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom random = new SecureRandom();
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtTokenService jwtTokenService;
+    private final RevokedTokenIds revokedTokenIds;
+    private final Duration refreshTokenValidity;
+    private final MeterRegistry meterRegistry;
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            UserRepository userRepository,
+            JwtTokenService jwtTokenService,
+            RevokedTokenIds revokedTokenIds,
+            @Value("${jwt.refresh-token.validity-days:30}") long refreshTokenValidityDays,
+            MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.jwtTokenService = jwtTokenService;
+        this.revokedTokenIds = revokedTokenIds;
+        this.refreshTokenValidity = Duration.ofDays(refreshTokenValidityDays);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Issues the first refresh token of a new family.
+     *
+     * @param userId the authenticated user
+     * @return the opaque refresh token value
+     */
+    @Transactional
+    public String issue(UserId userId) {
+        String value = newTokenValue();
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.save(RefreshToken.issue(userId, hash(value), now, now.plus(refreshTokenValidity)));
+        return value;
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token.
+     * The presented token is revoked. Presenting an already rotated token
+     * revokes its whole family.
+     *
+     * @param refreshToken the opaque refresh token value
+     * @return the new tokens
+     * @throws InvalidRefreshTokenException if the token cannot be used
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public AuthTokens rotate(String refreshToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHashForUpdate(hash(refreshToken))
+                .orElseThrow(() -> invalid("invalid"));
+        LocalDateTime now = LocalDateTime.now();
+
+        if (current.isRevoked()) {
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            logger.warn("Rotated refresh token reused for user {}; revoked {} tokens of family {}",
+                    current.getUserId(), revoked, current.getFamilyId());
+            throw invalid("reused");
+        }
+        if (!current.isActiveAt(now)) {
+            throw invalid("invalid");
+        }
+        User user = userRepository.findByUserId(current.getUserId()).orElse(null);
+        if (user == null || user.isDisabled()) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            throw invalid("invalid");
+        }
+
+        String value = newTokenValue();
+        refreshTokenRepository.save(current.rotate(hash(value), now, now.plus(refreshTokenValidity)));
+        record("rotated");
+        return new AuthTokens(jwtTokenService.generateToken(user.getId()), value,
+                jwtTokenService.getAccessTokenValidity().toSeconds());
+    }
+
+    /**
+     * Logs out: revokes the refresh token's family and, if given, the access
+     * token until it expires. Unknown refresh tokens are ignored.
+     *
+     * @param refreshToken the opaque refresh token value
+     * @param accessToken  the verified access token, may be null
+     */
+    @Transactional
+    public void logout(String refreshToken, VerifiedToken accessToken) {
+        refreshTokenRepository.findByTokenHashForUpdate(hash(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+        if (accessToken != null) {
+            revokedTokenIds.revoke(accessToken.tokenId(), accessToken.expiresAt());
+        }
+    }
+
+    /**
+     * Deletes expired refresh tokens.
+     */
+    @Scheduled(fixedDelayString = "${auth.refresh-token.cleanup-interval-ms:3600000}")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        if (deleted > 0) {
+            logger.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    /**
+     * Hashes a refresh token value for storage and lookup.
+     *
+     * @param value the opaque token value
+     * @return the lowercase hex SHA-256 hash
+     */
+    static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private String newTokenValue() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private InvalidRefreshTokenException invalid(String result) {
+        record(result);
+        return new InvalidRefreshTokenException();
+    }
+
+    private void record(String result) {
+        Counter.builder("mobile_banking_refresh_tokens_total")
+                .description("Refresh token exchanges")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
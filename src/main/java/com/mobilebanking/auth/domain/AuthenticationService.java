@@ -11,7 +11,8 @@ import org.springframework.stereotype.Service;
 public class AuthenticationService {
 
     /**
-     * Validates user credentials (phone number and PIN).
+     * Validates user credentials (phone number and PIN). Disabled accounts never
+     * validate.
      *
      * @param user   the user to authenticate
      * @param rawPin the raw PIN to validate
@@ -26,6 +27,6 @@ public class AuthenticationService {
             throw new IllegalArgumentException("PIN cannot be null");
         }
 
-        return user.hasValidPin(rawPin);
+        return !user.isDisabled() && user.hasValidPin(rawPin);
     }
 }
\ No newline at end of file
@@ -3,40 +3,66 @@ package com.mobilebanking.auth.domain;
 import com.mobilebanking.shared.domain.UserId;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
  * Service for JWT token generation and validation.
- * Handles token creation, parsing, and validation operations.
+ * Handles token creation, parsing, and validation operations. Access tokens
+ * are short-lived and carry a unique token ID (jti) so they can be revoked
+ * individually. Verification results are cached by
+ * {@link VerifiedTokenCache}, so a token presented again is not re-parsed
+ * until it expires.
  */
 @Service
 public class JwtTokenService {
 
     private final Key secretKey;
-    private final long tokenValidityMs;
+    private final Duration tokenValidity;
+    private final JwtParser parser; // Thread-safe, built once
+    private final VerifiedTokenCache tokenCache;
 
     /**
      * Creates a JwtTokenService with the specified secret key and token validity.
      *
-     * @param secret       the JWT secret key
+     * @param secret        the JWT secret key
      * @param validityHours the token validity period in hours
      */
+    public JwtTokenService(String secret, long validityHours) {
+        this(secret, validityHours * 60, new VerifiedTokenCache(VerifiedTokenCache.DEFAULT_MAX_ENTRIES));
+    }
+
+    /**
+     * Creates a JwtTokenService with the specified secret key, access token
+     * validity and verification cache.
+     *
+     * @param secret          the JWT secret key
+     * @param validityMinutes the access token validity period in minutes
+     * @param tokenCache      the cache of verified tokens
+     */
+    @Autowired
     public JwtTokenService(
             @Value("${jwt.secret:defaultSecretKeyForDevelopmentEnvironmentOnly}") String secret,
-            @Value("${jwt.validity.hours:24}") long validityHours) {
+            @Value("${jwt.access-token.validity-minutes:15}") long validityMinutes,
+            VerifiedTokenCache tokenCache) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
-        this.tokenValidityMs = validityHours * 60 * 60 * 1000;
+        this.tokenValidity = Duration.ofMinutes(validityMinutes);
+        this.parser = Jwts.parserBuilder().setSigningKey(secretKey).build();
+        this.tokenCache = tokenCache;
     }
 
     /**
@@ -68,10 +94,11 @@ public class JwtTokenService {
      */
     public String generateToken(Map<String, Object> extraClaims, String subject) {
         Date now = new Date();
-        Date expiration = new Date(now.getTime() + tokenValidityMs);
+        Date expiration = new Date(now.getTime() + tokenValidity.toMillis());
 
         return Jwts.builder()
                 .setClaims(extraClaims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(subject)
                 .setIssuedAt(now)
                 .setExpiration(expiration)
@@ -79,6 +106,42 @@ public class JwtTokenService {
                 .compact();
     }
 
+    /**
+     * Gets how long newly issued access tokens stay valid.
+     *
+     * @return the access token validity
+     */
+    public Duration getAccessTokenValidity() {
+        return tokenValidity;
+    }
+
+    /**
+     * Verifies a token's signature and expiration, parsing it at most once while
+     * it stays cached.
+     *
+     * @param token the JWT token
+     * @return the verified token
+     * @throws JwtException if the token is invalid or expired
+     */
+    public VerifiedToken verify(String token) {
+        VerifiedToken cached = tokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = extractAllClaims(token);
+        if (claims.getSubject() == null || claims.getExpiration() == null) {
+            throw new JwtException("Token must carry a subject and an expiration");
+        }
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(),
+                claims.getId(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration().toInstant());
+        tokenCache.put(token, verified);
+        return verified;
+    }
+
     /**
      * Validates a JWT token against user details.
      *
@@ -87,8 +150,7 @@ public class JwtTokenService {
      * @return true if token is valid, false otherwise
      */
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return verify(token).subject().equals(userDetails.getUsername());
     }
 
     /**
@@ -124,16 +186,6 @@ public class JwtTokenService {
         return claimsResolver.apply(claims);
     }
 
-    /**
-     * Checks if a JWT token is expired.
-     *
-     * @param token the JWT token
-     * @return true if token is expired, false otherwise
-     */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
     /**
      * Extracts all claims from a JWT token.
      *
@@ -142,10 +194,6 @@ public class JwtTokenService {
      * @throws JwtException if token is invalid
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 }
\ No newline at end of file
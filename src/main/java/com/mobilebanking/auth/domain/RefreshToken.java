@@ -0,0 +1,162 @@
+package com.mobilebanking.auth.domain;
+
+import com.mobilebanking.shared.domain.UserId;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A refresh token issued to a user. Only the SHA-256 hash of the opaque token
+ * value is stored. Every refresh rotates the token: the presented one is
+ * revoked and a successor is issued in the same family.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_user_id", columnList = "user_id"),
+        @Index(name = "idx_refresh_tokens_family_id", columnList = "family_id"),
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+})
+public class RefreshToken {
+
+    @Id
+    @Column(name = "id", length = 36, nullable = false, updatable = false)
+    private String id;
+
+    @Column(name = "user_id", length = 36, nullable = false, updatable = false)
+    private String userId;
+
+    @Column(name = "family_id", length = 36, nullable = false, updatable = false)
+    private String familyId; // Shared by all tokens rotated from one login
+
+    @Column(name = "token_hash", length = 64, nullable = false, unique = true, updatable = false)
+    private String tokenHash;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt; // Set when rotated, logged out or revoked for reuse
+
+    // JPA requires default constructor
+    protected RefreshToken() {
+    }
+
+    private RefreshToken(String userId, String familyId, String tokenHash, LocalDateTime createdAt,
+            LocalDateTime expiresAt) {
+        this.id = UUID.randomUUID().toString();
+        this.userId = userId;
+        this.familyId = familyId;
+        this.tokenHash = tokenHash;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Issues the first token of a new family.
+     *
+     * @param userId    the owner
+     * @param tokenHash the hash of the token value
+     * @param now       the issue time
+     * @param expiresAt the expiration time
+     * @return the new token
+     */
+    public static RefreshToken issue(UserId userId, String tokenHash, LocalDateTime now, LocalDateTime expiresAt) {
+        Objects.requireNonNull(userId, "User ID cannot be null");
+        Objects.requireNonNull(tokenHash, "Token hash cannot be null");
+        return new RefreshToken(userId.asString(), UUID.randomUUID().toString(), tokenHash, now, expiresAt);
+    }
+
+    /**
+     * Revokes this token and issues its successor in the same family.
+     *
+     * @param tokenHash the hash of the successor's token value
+     * @param now       the rotation time
+     * @param expiresAt the successor's expiration time
+     * @return the successor token
+     * @throws IllegalStateException if this token is not active
+     */
+    public RefreshToken rotate(String tokenHash, LocalDateTime now, LocalDateTime expiresAt) {
+        if (!isActiveAt(now)) {
+            throw new IllegalStateException("Only an active refresh token can be rotated");
+        }
+        revoke(now);
+        return new RefreshToken(userId, familyId, Objects.requireNonNull(tokenHash), now, expiresAt);
+    }
+
+    /**
+     * Revokes this token.
+     *
+     * @param now the revocation time
+     */
+    public void revoke(LocalDateTime now) {
+        if (revokedAt == null) {
+            revokedAt = now;
+        }
+    }
+
+    /**
+     * Checks whether this token can still be used.
+     *
+     * @param now the time to check against
+     * @return true if the token is neither revoked nor expired
+     */
+    public boolean isActiveAt(LocalDateTime now) {
+        return revokedAt == null && expiresAt.isAfter(now);
+    }
+
+    public boolean isRevoked() {
+        return revokedAt != null;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public UserId getUserId() {
+        return UserId.fromString(userId);
+    }
+
+    public String getFamilyId() {
+        return familyId;
+    }
+
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public LocalDateTime getRevokedAt() {
+        return revokedAt;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null || getClass() != obj.getClass())
+            return false;
+        RefreshToken that = (RefreshToken) obj;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "RefreshToken{id='" + id + "', familyId='" + familyId + "', revoked=" + isRevoked() + "}";
+    }
+}
@@ -0,0 +1,31 @@
+package com.mobilebanking.auth.domain;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A JWT whose signature has been verified, reduced to the claims the
+ * application uses.
+ *
+ * @param subject   the token subject (user ID)
+ * @param tokenId   the token ID (jti), null for tokens issued without one
+ * @param issuedAt  when the token was issued
+ * @param expiresAt when the token expires
+ */
+public record VerifiedToken(String subject, String tokenId, Instant issuedAt, Instant expiresAt) {
+
+    public VerifiedToken {
+        Objects.requireNonNull(subject, "Subject cannot be null");
+        Objects.requireNonNull(expiresAt, "Expiration cannot be null");
+    }
+
+    /**
+     * Checks whether the token is expired at the given instant.
+     *
+     * @param now the instant to check against
+     * @return true if the token is expired
+     */
+    public boolean isExpiredAt(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,135 @@
+package com.mobilebanking.auth.domain;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of verified tokens keyed by the SHA-256 digest of the raw
+ * token, so repeated requests with the same token skip parsing and signature
+ * verification. Entries are never served past the token's expiration.
+ *
+ * Exports {@code mobile_banking_token_cache_requests_total} tagged with
+ * {@code result=hit|miss} and {@code mobile_banking_token_cache_size}.
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    private final ConcurrentHashMap<TokenDigest, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final Clock clock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Autowired
+    public VerifiedTokenCache(@Value("${jwt.cache.max-entries:10000}") int maxEntries) {
+        this(maxEntries, Clock.systemUTC());
+    }
+
+    VerifiedTokenCache(int maxEntries, Clock clock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Token cache must hold at least one entry");
+        }
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached verification result for a token if it has not expired.
+     *
+     * @param token the raw token
+     * @return the verified token, or null on a miss
+     */
+    public VerifiedToken get(String token) {
+        TokenDigest key = TokenDigest.of(token);
+        VerifiedToken verified = entries.get(key);
+        if (verified != null && verified.isExpiredAt(clock.instant())) {
+            entries.remove(key, verified);
+            verified = null;
+        }
+        (verified != null ? hits : misses).increment();
+        return verified;
+    }
+
+    /**
+     * Caches the verification result for a token.
+     *
+     * @param token    the raw token
+     * @param verified the verification result
+     */
+    public void put(String token, VerifiedToken verified) {
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        entries.put(TokenDigest.of(token), verified);
+    }
+
+    /**
+     * Returns the number of cached tokens.
+     *
+     * @return cache size
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("mobile_banking_token_cache_requests_total", hits, LongAdder::doubleValue)
+                .description("Verified token cache lookups")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("mobile_banking_token_cache_requests_total", misses, LongAdder::doubleValue)
+                .description("Verified token cache lookups")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("mobile_banking_token_cache_size", entries, ConcurrentHashMap::size)
+                .description("Number of cached verified tokens")
+                .register(registry);
+    }
+
+    /**
+     * Drops expired entries; if the cache is still full, drops an arbitrary
+     * tenth of it so the next inserts do not pay for another full sweep.
+     */
+    private void evict() {
+        entries.values().removeIf(verified -> verified.isExpiredAt(clock.instant()));
+        int toRemove = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+        Iterator<TokenDigest> keys = entries.keySet().iterator();
+        while (toRemove-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    /**
+     * SHA-256 digest of a token, held as four longs to keep keys small.
+     */
+    private record TokenDigest(long w0, long w1, long w2, long w3) {
+
+        static TokenDigest of(String token) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+                ByteBuffer buffer = ByteBuffer.wrap(digest);
+                return new TokenDigest(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.mobilebanking.auth.domain.exception;
+
+/**
+ * Exception thrown when a refresh token is unknown, expired, revoked or
+ * belongs to an account that can no longer log in.
+ */
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    public InvalidRefreshTokenException() {
+        super("Invalid or expired refresh token");
+    }
+}
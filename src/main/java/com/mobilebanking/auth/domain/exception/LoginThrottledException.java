@@ -0,0 +1,24 @@
+package com.mobilebanking.auth.domain.exception;
+
+/**
+ * Exception thrown when login attempts for a phone number or client address
+ * exceed the allowed rate.
+ */
+public class LoginThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(long retryAfterSeconds) {
+        super("Too many login attempts, please try again later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Gets the number of seconds after which a new attempt may succeed.
+     *
+     * @return seconds to wait, at least 1
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
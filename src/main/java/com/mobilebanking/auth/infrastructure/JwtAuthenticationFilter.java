@@ -1,6 +1,7 @@
 package com.mobilebanking.auth.infrastructure;
 
 import com.mobilebanking.auth.domain.JwtTokenService;
+import com.mobilebanking.auth.domain.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,7 +9,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -17,17 +17,24 @@ import java.io.IOException;
 
 /**
  * JWT authentication filter that intercepts requests and validates JWT tokens.
- * Extracts user details from valid tokens and sets up the security context.
+ * Builds the principal from the verified token claims and sets up the security
+ * context. Disabled accounts are rejected through the in-memory
+ * {@link RevokedUserRegistry}, so authentication needs no database access.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenService jwtTokenService;
-    private final UserDetailsService userDetailsService;
+    private final RevokedUserRegistry revokedUserRegistry;
+    private final RevokedTokenIds revokedTokenIds;
 
-    public JwtAuthenticationFilter(JwtTokenService jwtTokenService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(
+            JwtTokenService jwtTokenService,
+            RevokedUserRegistry revokedUserRegistry,
+            RevokedTokenIds revokedTokenIds) {
         this.jwtTokenService = jwtTokenService;
-        this.userDetailsService = userDetailsService;
+        this.revokedUserRegistry = revokedUserRegistry;
+        this.revokedTokenIds = revokedTokenIds;
     }
 
     @Override
@@ -44,28 +51,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         try {
-            // Extract JWT token from the Authorization header
+            // Extract JWT token from the Authorization header and verify it once
             final String jwt = authHeader.substring(7);
-            final String userId = jwtTokenService.extractUsername(jwt);
+            final VerifiedToken token = jwtTokenService.verify(jwt);
+            final String userId = token.subject();
 
-            // If we have a userId and no authentication is set up yet
-            if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(userId);
+            // If no authentication is set up yet
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                if (revokedUserRegistry.isRevoked(userId)
+                        || revokedTokenIds.isRevoked(token.tokenId(), token.expiresAt())) {
+                    logger.debug("Rejected revoked token");
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+                UserDetails userDetails = MobileBankingUserDetailsService.principalFor(userId);
 
-                // Validate the token against our userDetails
-                if (jwtTokenService.validateToken(jwt, userDetails)) {
-                    // Create authentication token
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities());
+                // Create authentication token
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities());
 
-                    // Set details from the current request
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                // Set details from the current request
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                    // Update the security context with our authentication
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+                // Update the security context with our authentication
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         } catch (Exception e) {
             // Log the exception but don't expose details to the client
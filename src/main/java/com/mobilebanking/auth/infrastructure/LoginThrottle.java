@@ -0,0 +1,91 @@
+package com.mobilebanking.auth.infrastructure;
+
+import com.mobilebanking.auth.domain.exception.LoginThrottledException;
+import com.mobilebanking.shared.domain.PhoneNumber;
+import com.mobilebanking.shared.infrastructure.SecurityContextUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits login attempts with one token bucket per phone number and one
+ * per client IP address. The check runs before any database lookup or PIN
+ * verification, so a throttled attempt costs only a hash map access. Phone
+ * buckets are keyed on the normalized number, so formatting variants of one
+ * number share a bucket.
+ *
+ * Exports {@code mobile_banking_login_throttled_total} tagged with
+ * {@code key=phone|ip} and {@code mobile_banking_login_throttle_buckets}.
+ */
+@Component
+public class LoginThrottle {
+
+    private final TokenBucketTable phoneBuckets;
+    private final TokenBucketTable ipBuckets;
+    private final SecurityContextUtils securityContextUtils;
+    private final Counter phoneThrottled;
+    private final Counter ipThrottled;
+
+    @Autowired
+    public LoginThrottle(
+            @Value("${auth.throttle.phone.capacity:5}") int phoneCapacity,
+            @Value("${auth.throttle.phone.refill-per-minute:1}") double phoneRefillPerMinute,
+            @Value("${auth.throttle.ip.capacity:30}") int ipCapacity,
+            @Value("${auth.throttle.ip.refill-per-minute:10}") double ipRefillPerMinute,
+            @Value("${auth.throttle.max-entries:100000}") int maxEntries,
+            @Value("${auth.throttle.stripes:64}") int stripes,
+            SecurityContextUtils securityContextUtils,
+            MeterRegistry meterRegistry) {
+        this(new TokenBucketTable(phoneCapacity, phoneRefillPerMinute, maxEntries, stripes, System::nanoTime),
+                new TokenBucketTable(ipCapacity, ipRefillPerMinute, maxEntries, stripes, System::nanoTime),
+                securityContextUtils, meterRegistry);
+    }
+
+    LoginThrottle(TokenBucketTable phoneBuckets, TokenBucketTable ipBuckets,
+            SecurityContextUtils securityContextUtils, MeterRegistry meterRegistry) {
+        this.phoneBuckets = phoneBuckets;
+        this.ipBuckets = ipBuckets;
+        this.securityContextUtils = securityContextUtils;
+        this.phoneThrottled = throttledCounter(meterRegistry, "phone");
+        this.ipThrottled = throttledCounter(meterRegistry, "ip");
+        Gauge.builder("mobile_banking_login_throttle_buckets", this,
+                        throttle -> throttle.phoneBuckets.size() + throttle.ipBuckets.size())
+                .description("Login rate limit buckets currently held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a login attempt for the given phone number and the current
+     * client address.
+     *
+     * @param phone the phone number being logged into
+     * @throws LoginThrottledException if either rate limit is exhausted
+     */
+    public void checkAttempt(PhoneNumber phone) {
+        String clientIp = securityContextUtils.getClientIpAddress().orElse(null);
+        if (clientIp != null) {
+            reject(ipBuckets.tryAcquire(clientIp), ipThrottled);
+        }
+        reject(phoneBuckets.tryAcquire(phone.getValue()), phoneThrottled);
+    }
+
+    private static void reject(long waitNanos, Counter counter) {
+        if (waitNanos > 0) {
+            counter.increment();
+            throw new LoginThrottledException(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1));
+        }
+    }
+
+    private static Counter throttledCounter(MeterRegistry meterRegistry, String key) {
+        return Counter.builder("mobile_banking_login_throttled_total")
+                .description("Login attempts rejected by rate limiting")
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+
+}
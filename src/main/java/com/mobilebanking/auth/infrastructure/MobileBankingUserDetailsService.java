@@ -41,10 +41,7 @@ public class MobileBankingUserDetailsService implements UserDetailsService {
                 User user = userRepository.findByUserId(userId)
                         .orElseThrow(() -> new UsernameNotFoundException("User not found with ID: " + username));
 
-                return new org.springframework.security.core.userdetails.User(
-                        user.getId().asString(),
-                        "[PROTECTED]", // We don't expose the actual PIN hash
-                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+                return principalFor(user.getId().asString());
             } catch (IllegalArgumentException e) {
                 // If it's not a valid UUID, try as phone number (for login authentication)
                 PhoneNumber phoneNumber = PhoneNumber.of(username);
@@ -52,13 +49,24 @@ public class MobileBankingUserDetailsService implements UserDetailsService {
                         .orElseThrow(
                                 () -> new UsernameNotFoundException("User not found with phone number: " + username));
 
-                return new org.springframework.security.core.userdetails.User(
-                        user.getId().asString(),
-                        "[PROTECTED]", // We don't expose the actual PIN hash
-                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+                return principalFor(user.getId().asString());
             }
         } catch (Exception e) {
             throw new UsernameNotFoundException("Invalid user identifier format or user not found", e);
         }
     }
+
+    /**
+     * Builds the principal for an authenticated user ID without touching the
+     * database.
+     *
+     * @param userId the user ID
+     * @return UserDetails object
+     */
+    public static UserDetails principalFor(String userId) {
+        return new org.springframework.security.core.userdetails.User(
+                userId,
+                "[PROTECTED]", // We don't expose the actual PIN hash
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package com.mobilebanking.auth.infrastructure;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * In-memory set of revoked access token IDs (jti), grouped into buckets by
+ * token expiry. A revoked token only has to be remembered until it expires,
+ * so whole buckets are dropped once their expiry window has passed and memory
+ * stays bounded by the access token lifetime.
+ *
+ * A lookup computes the bucket from the token's expiry and probes a single
+ * set, so it is O(1) and allocates nothing. Exports
+ * {@code mobile_banking_revoked_token_ids}.
+ */
+@Component
+public class RevokedTokenIds {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevokedTokenIds.class);
+
+    private final AtomicReferenceArray<Bucket> buckets;
+    private final long bucketSeconds;
+    private final Clock clock;
+
+    @Autowired
+    public RevokedTokenIds(
+            @Value("${jwt.access-token.validity-minutes:15}") long validityMinutes,
+            @Value("${auth.revocation.token-bucket-seconds:60}") long bucketSeconds,
+            MeterRegistry meterRegistry) {
+        this(Duration.ofMinutes(validityMinutes), bucketSeconds, Clock.systemUTC());
+        Gauge.builder("mobile_banking_revoked_token_ids", this, RevokedTokenIds::size)
+                .description("Revoked access token ids held until their tokens expire")
+                .register(meterRegistry);
+    }
+
+    RevokedTokenIds(Duration tokenValidity, long bucketSeconds, Clock clock) {
+        if (bucketSeconds < 1 || tokenValidity.isNegative() || tokenValidity.isZero()) {
+            throw new IllegalArgumentException("Token validity and bucket width must be positive");
+        }
+        // One bucket per window a live token can expire in, plus the current one
+        int bucketCount = (int) ((tokenValidity.toSeconds() + bucketSeconds - 1) / bucketSeconds) + 2;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+        this.bucketSeconds = bucketSeconds;
+        this.clock = clock;
+    }
+
+    /**
+     * Revokes a token until it expires.
+     *
+     * @param tokenId   the token ID (jti)
+     * @param expiresAt when the token expires
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || !expiresAt.isAfter(clock.instant())) {
+            return; // Expired tokens are rejected anyway
+        }
+        long window = window(expiresAt);
+        if (window - window(clock.instant()) >= buckets.length()) {
+            logger.warn("Cannot revoke token {} expiring beyond the configured token lifetime", tokenId);
+            return;
+        }
+        int index = index(window);
+        while (true) {
+            Bucket bucket = buckets.get(index);
+            if (bucket != null && bucket.window == window) {
+                bucket.tokenIds.add(tokenId);
+                return;
+            }
+            // The slot is empty or holds an expired window: replace it wholesale
+            Bucket fresh = new Bucket(window);
+            fresh.tokenIds.add(tokenId);
+            if (buckets.compareAndSet(index, bucket, fresh)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Checks whether a token has been revoked.
+     *
+     * @param tokenId   the token ID (jti), may be null
+     * @param expiresAt when the token expires
+     * @return true if the token is revoked
+     */
+    public boolean isRevoked(String tokenId, Instant expiresAt) {
+        if (tokenId == null) {
+            return false;
+        }
+        long window = window(expiresAt);
+        Bucket bucket = buckets.get(index(window));
+        return bucket != null && bucket.window == window && bucket.tokenIds.contains(tokenId);
+    }
+
+    /**
+     * Drops buckets whose tokens have all expired.
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.token-bucket-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    public void purgeExpired() {
+        long current = window(clock.instant());
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.window < current) {
+                buckets.compareAndSet(i, bucket, null);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of revoked token IDs currently held.
+     *
+     * @return revoked token count
+     */
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null) {
+                size += bucket.tokenIds.size();
+            }
+        }
+        return size;
+    }
+
+    private long window(Instant instant) {
+        return Math.floorDiv(instant.getEpochSecond(), bucketSeconds);
+    }
+
+    private int index(long window) {
+        return (int) Math.floorMod(window, (long) buckets.length());
+    }
+
+    private static final class Bucket {
+        private final long window;
+        private final Set<String> tokenIds = ConcurrentHashMap.newKeySet();
+
+        private Bucket(long window) {
+            this.window = window;
+        }
+    }
+}
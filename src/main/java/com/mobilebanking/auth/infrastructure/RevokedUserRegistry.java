@@ -0,0 +1,112 @@
+package com.mobilebanking.auth.infrastructure;
+
+import com.mobilebanking.user.infrastructure.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory set of user IDs whose tokens must no longer be accepted.
+ * Lets the JWT filter authenticate from token claims alone while still
+ * rejecting disabled accounts, with no database access per request. The set
+ * is loaded at startup and refreshed incrementally from
+ * {@code users.disabled_at}, so each refresh reads only the accounts disabled
+ * since the previous one.
+ *
+ * Accounts are closed by disabling them. A deleted user leaves no row to
+ * refresh from, but its refresh tokens are deleted with it, so its sessions
+ * end when the current access token expires.
+ *
+ * The registry fails closed: until the first load succeeds, and whenever it
+ * has not been refreshed for {@code auth.revocation.max-staleness-ms}, every
+ * user counts as revoked.
+ */
+@Component
+public class RevokedUserRegistry implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevokedUserRegistry.class);
+
+    // Re-read a short window before the last refresh so rows committed late are not missed
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    private final UserRepository userRepository;
+    private final Clock clock;
+    private final Duration maxStaleness;
+    private final Set<String> revokedUserIds = ConcurrentHashMap.newKeySet();
+    private volatile LocalDateTime refreshedUntil; // Null until the first full load
+
+    @Autowired
+    public RevokedUserRegistry(UserRepository userRepository,
+                               @Value("${auth.revocation.max-staleness-ms:30000}") long maxStalenessMs) {
+        this(userRepository, Clock.systemDefaultZone(), Duration.ofMillis(maxStalenessMs));
+    }
+
+    RevokedUserRegistry(UserRepository userRepository, Clock clock, Duration maxStaleness) {
+        this.userRepository = userRepository;
+        this.clock = clock;
+        this.maxStaleness = maxStaleness;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        refresh();
+    }
+
+    /**
+     * Checks whether tokens issued to the user must be rejected.
+     *
+     * @param userId the user ID from the token subject
+     * @return true if the user has been disabled, or the revocation set is
+     *         not known to be current
+     */
+    public boolean isRevoked(String userId) {
+        LocalDateTime refreshed = refreshedUntil;
+        if (refreshed == null || refreshed.plus(maxStaleness).isBefore(LocalDateTime.now(clock))) {
+            return true;
+        }
+        return revokedUserIds.contains(userId);
+    }
+
+    /**
+     * Loads users disabled since the previous refresh. The first run loads all
+     * disabled users.
+     */
+    @Scheduled(initialDelayString = "${auth.revocation.refresh-interval-ms:5000}",
+            fixedDelayString = "${auth.revocation.refresh-interval-ms:5000}")
+    public void refresh() {
+        LocalDateTime startedAt = LocalDateTime.now(clock);
+        try {
+            List<String> disabledIds = refreshedUntil == null
+                    ? userRepository.findDisabledIds()
+                    : userRepository.findIdsDisabledSince(refreshedUntil.minus(REFRESH_OVERLAP));
+            revokedUserIds.addAll(disabledIds);
+            refreshedUntil = startedAt;
+            if (!disabledIds.isEmpty()) {
+                logger.debug("Revocation set refreshed, {} users revoked in total", revokedUserIds.size());
+            }
+        } catch (Exception e) {
+            // Keep serving the last known set until it is too stale; the next run retries from the same point
+            logger.warn("Could not refresh revoked users: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the number of revoked users currently held.
+     *
+     * @return size of the revocation set
+     */
+    public int size() {
+        return revokedUserIds.size();
+    }
+}
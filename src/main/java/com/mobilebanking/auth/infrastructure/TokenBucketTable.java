@@ -0,0 +1,144 @@
+package com.mobilebanking.auth.infrastructure;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets keyed by string, held in a fixed number of lock-striped,
+ * access-ordered maps. Each stripe holds at most its share of the configured
+ * entry limit and drops its least recently used bucket when full. A bucket
+ * left idle long enough to refill completely carries no state, so idle
+ * buckets are dropped as well.
+ */
+class TokenBucketTable {
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final int maxEntriesPerStripe;
+    private final double capacity;
+    private final double tokensPerNano;
+    private final long idleNanos;
+    private final LongSupplier nanoClock;
+
+    /**
+     * Creates a table of token buckets.
+     *
+     * @param capacity        the burst size of each bucket
+     * @param refillPerMinute the tokens added to each bucket per minute
+     * @param maxEntries      the maximum number of buckets held
+     * @param stripes         the number of lock stripes, rounded up to a power
+     *                        of two
+     * @param nanoClock       the monotonic time source
+     */
+    TokenBucketTable(int capacity, double refillPerMinute, int maxEntries, int stripes, LongSupplier nanoClock) {
+        if (capacity < 1 || refillPerMinute <= 0 || maxEntries < 1 || stripes < 1) {
+            throw new IllegalArgumentException("Token bucket settings must be positive");
+        }
+        int stripeCount = Integer.highestOneBit(Math.min(stripes, maxEntries) * 2 - 1);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.mask = stripeCount - 1;
+        this.maxEntriesPerStripe = Math.max(1, maxEntries / stripeCount);
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerMinute / TimeUnit.MINUTES.toNanos(1);
+        this.idleNanos = (long) Math.ceil(capacity / tokensPerNano);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Takes one token from the bucket for the given key.
+     *
+     * @param key the bucket key
+     * @return 0 if a token was taken, otherwise the nanoseconds until one is
+     *         available
+     */
+    long tryAcquire(String key) {
+        Stripe stripe = stripes[spread(key.hashCode()) & mask];
+        long now = nanoClock.getAsLong();
+        stripe.lock.lock();
+        try {
+            stripe.evictIdle(now);
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, now);
+                stripe.buckets.put(key, bucket);
+            } else {
+                bucket.refill(now);
+            }
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - bucket.tokens) / tokensPerNano);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of buckets currently held.
+     *
+     * @return bucket count
+     */
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.buckets.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private final class Bucket {
+        private double tokens;
+        private long updatedAt;
+
+        private Bucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - updatedAt) * tokensPerNano);
+            updatedAt = now;
+        }
+    }
+
+    private final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Bucket> buckets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                return size() > maxEntriesPerStripe;
+            }
+        };
+
+        /**
+         * Drops buckets, least recently used first, that have been idle long
+         * enough to be full again.
+         */
+        private void evictIdle(long now) {
+            Iterator<Bucket> iterator = buckets.values().iterator();
+            while (iterator.hasNext()) {
+                if (now - iterator.next().updatedAt < idleNanos) {
+                    return;
+                }
+                iterator.remove();
+            }
+        }
+    }
+}
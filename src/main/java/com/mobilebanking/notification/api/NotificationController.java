@@ -1,10 +1,15 @@
 package com.mobilebanking.notification.api;
 
+import com.mobilebanking.notification.api.dto.MarkNotificationsReadRequest;
+import com.mobilebanking.notification.api.dto.MarkNotificationsReadResponse;
+import com.mobilebanking.notification.api.dto.NotificationPageResponse;
 import com.mobilebanking.notification.api.dto.NotificationResponse;
 import com.mobilebanking.notification.api.dto.NotificationSummaryResponse;
 import com.mobilebanking.notification.domain.Notification;
 import com.mobilebanking.notification.domain.NotificationId;
+import com.mobilebanking.notification.domain.NotificationPage;
 import com.mobilebanking.notification.domain.NotificationService;
+import com.mobilebanking.notification.infrastructure.NotificationStreams;
 import com.mobilebanking.shared.domain.UserId;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,13 +17,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -34,10 +43,17 @@ import java.util.stream.Collectors;
 public class NotificationController {
 
     private static final Logger logger = LoggerFactory.getLogger(NotificationController.class);
+    private static final int MAX_PAGE_SIZE = 100;
     private final NotificationService notificationService;
+    private final NotificationStreams notificationStreams;
+    private final long streamTimeoutMs;
 
-    public NotificationController(NotificationService notificationService) {
+    public NotificationController(NotificationService notificationService,
+            NotificationStreams notificationStreams,
+            @Value("${notification.stream.timeout-ms:1800000}") long streamTimeoutMs) {
         this.notificationService = notificationService;
+        this.notificationStreams = notificationStreams;
+        this.streamTimeoutMs = streamTimeoutMs;
     }
 
     /**
@@ -86,6 +102,38 @@ public class NotificationController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Retrieves one page of the authenticated user's notifications, most
+     * recent first. Pass the page's {@code nextCursor} to get the next one.
+     */
+    @GetMapping("/paged")
+    @Operation(summary = "Get notifications page", description = "Retrieves a cursor-paginated page of notifications")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Notifications retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or limit"),
+            @ApiResponse(responseCode = "401", description = "User not authenticated")
+    })
+    public ResponseEntity<NotificationPageResponse> getNotificationPage(
+            @Parameter(description = "Whether to return unread notifications only")
+            @RequestParam(defaultValue = "false") boolean unreadOnly,
+            @Parameter(description = "Next cursor of the previous page, absent for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of notifications, at most " + MAX_PAGE_SIZE)
+            @RequestParam(defaultValue = "20") int limit) {
+        UserId userId = getCurrentUserId();
+        logger.info("Retrieving notifications page for user: {}, cursor: {}", userId, cursor);
+
+        try {
+            NotificationPage page = notificationService.getNotificationPage(
+                    userId, unreadOnly, cursor, Math.min(limit, MAX_PAGE_SIZE));
+            logger.debug("Retrieved {} notifications for user: {}", page.getNotifications().size(), userId);
+            return ResponseEntity.ok(NotificationPageResponse.fromDomain(page));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid notifications page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Gets a summary of notifications including unread count.
      */
@@ -101,7 +149,7 @@ public class NotificationController {
         logger.info("Retrieving notification summary for user: {}", userId);
 
         int unreadCount = notificationService.getUnreadNotificationCount(userId);
-        int totalCount = notificationService.getNotificationsForUser(userId).size();
+        int totalCount = notificationService.getNotificationCount(userId);
 
         NotificationSummaryResponse response = new NotificationSummaryResponse(totalCount, unreadCount);
 
@@ -109,6 +157,35 @@ public class NotificationController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Streams new notifications to the authenticated user as Server-Sent
+     * Events, so the summary and balance need only be polled rarely. A
+     * reconnecting client sends the last event ID it received and gets what it
+     * missed, or a {@code resync} event if it should reload instead. Only
+     * notifications created on the instance serving the stream are pushed, so
+     * with several instances clients keep a slow fallback poll.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream notifications", description = "Pushes notifications created on this instance as Server-Sent Events")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "401", description = "User not authenticated")
+    })
+    public SseEmitter streamNotifications(
+            @Parameter(description = "ID of the last event received before reconnecting")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        UserId userId = getCurrentUserId();
+        logger.info("Opening notification stream for user: {}", userId);
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        NotificationStreams.Subscription subscription =
+                notificationStreams.subscribe(userId, lastEventId, new SseEventSink(emitter));
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+        return emitter;
+    }
+
     /**
      * Marks a specific notification as read.
      */
@@ -138,6 +215,41 @@ public class NotificationController {
         }
     }
 
+    /**
+     * Marks notifications as read in one request, either a list of IDs or
+     * everything up to a page cursor. IDs of other users' notifications are
+     * skipped.
+     */
+    @PostMapping("/read")
+    @Operation(summary = "Mark notifications as read", description = "Marks a batch of notifications, or all up to a cursor, as read")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Notifications marked as read successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid IDs or cursor, or neither or both given"),
+            @ApiResponse(responseCode = "401", description = "User not authenticated")
+    })
+    public ResponseEntity<MarkNotificationsReadResponse> markNotificationsAsRead(
+            @Valid @RequestBody MarkNotificationsReadRequest request) {
+        UserId userId = getCurrentUserId();
+        logger.info("Marking notifications as read for user: {}, request: {}", userId, request);
+
+        try {
+            if ((request.getIds() == null) == (request.getUpTo() == null)) {
+                throw new IllegalArgumentException("Either ids or upTo must be given");
+            }
+            int marked = request.getUpTo() != null
+                    ? notificationService.markNotificationsAsReadUpTo(userId, request.getUpTo())
+                    : notificationService.markNotificationsAsRead(userId,
+                            request.getIds().stream().map(NotificationId::fromString).toList());
+            int unreadCount = notificationService.getUnreadNotificationCount(userId);
+
+            logger.debug("Marked {} notifications as read for user: {}", marked, userId);
+            return ResponseEntity.ok(new MarkNotificationsReadResponse(marked, unreadCount));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid request to mark notifications as read: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
 /**
      * Gets the current authenticated user's ID.
      *
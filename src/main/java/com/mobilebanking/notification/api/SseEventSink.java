@@ -0,0 +1,43 @@
+package com.mobilebanking.notification.api;
+
+import com.mobilebanking.notification.api.dto.NotificationResponse;
+import com.mobilebanking.notification.infrastructure.NotificationStreams;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * Sends notification stream events over a Server-Sent Events connection.
+ * Notification events carry a {@link NotificationResponse} as JSON; resync
+ * events carry an empty object.
+ */
+class SseEventSink implements NotificationStreams.EventSink {
+
+    private final SseEmitter emitter;
+
+    SseEventSink(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void send(NotificationStreams.StreamEvent event) throws IOException {
+        Object data = event.notification() != null
+                ? NotificationResponse.fromDomain(event.notification())
+                : "{}";
+        emitter.send(SseEmitter.event()
+                .id(event.id())
+                .name(event.name())
+                .data(data, MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void heartbeat() throws IOException {
+        emitter.send(SseEmitter.event().comment("heartbeat"));
+    }
+
+    @Override
+    public void complete() {
+        emitter.complete();
+    }
+}
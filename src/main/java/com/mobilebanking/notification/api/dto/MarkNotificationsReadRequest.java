@@ -0,0 +1,55 @@
+package com.mobilebanking.notification.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request DTO for marking notifications as read in bulk. Either lists the
+ * notification IDs or gives a cursor up to which everything is marked.
+ */
+@Schema(description = "Notifications to mark as read, by ID or up to a cursor")
+public class MarkNotificationsReadRequest {
+
+    @Schema(description = "IDs of the notifications to mark as read")
+    @Size(max = 500, message = "At most 500 notification IDs can be marked at once")
+    private List<String> ids;
+
+    @Schema(description = "Cursor from a page; the notification at it and all older ones are marked as read",
+            example = "1721730600000_123e4567-e89b-12d3-a456-426614174000")
+    private String upTo;
+
+    // Default constructor for JSON deserialization
+    public MarkNotificationsReadRequest() {
+    }
+
+    public MarkNotificationsReadRequest(List<String> ids, String upTo) {
+        this.ids = ids;
+        this.upTo = upTo;
+    }
+
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+
+    public String getUpTo() {
+        return upTo;
+    }
+
+    public void setUpTo(String upTo) {
+        this.upTo = upTo;
+    }
+
+    @Override
+    public String toString() {
+        return "MarkNotificationsReadRequest{" +
+                "ids=" + (ids != null ? ids.size() : 0) +
+                ", upTo='" + upTo + '\'' +
+                '}';
+    }
+}
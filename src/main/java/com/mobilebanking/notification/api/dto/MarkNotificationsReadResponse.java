@@ -0,0 +1,55 @@
+package com.mobilebanking.notification.api.dto;
+
+import com.mobilebanking.shared.api.binary.ProtobufEncodable;
+import com.mobilebanking.shared.api.binary.ProtobufWriter;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Response DTO for a bulk mark-as-read request.
+ */
+@Schema(description = "Result of marking notifications as read")
+public class MarkNotificationsReadResponse implements ProtobufEncodable {
+
+    @Schema(description = "Number of notifications that were unread and are now read", example = "12")
+    private int marked;
+
+    @Schema(description = "Number of unread notifications left", example = "0")
+    private int unreadCount;
+
+    // Default constructor for JSON deserialization
+    public MarkNotificationsReadResponse() {
+    }
+
+    public MarkNotificationsReadResponse(int marked, int unreadCount) {
+        this.marked = marked;
+        this.unreadCount = unreadCount;
+    }
+
+    // Getters and setters
+    public int getMarked() {
+        return marked;
+    }
+
+    public void setMarked(int marked) {
+        this.marked = marked;
+    }
+
+    public int getUnreadCount() {
+        return unreadCount;
+    }
+
+    public void setUnreadCount(int unreadCount) {
+        this.unreadCount = unreadCount;
+    }
+
+    @Override
+    public void writeTo(ProtobufWriter writer) {
+        writer.writeVarint(1, marked)
+                .writeVarint(2, unreadCount);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MarkNotificationsReadResponse{marked=%d, unreadCount=%d}", marked, unreadCount);
+    }
+}
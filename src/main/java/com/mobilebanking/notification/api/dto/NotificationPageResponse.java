@@ -0,0 +1,99 @@
+package com.mobilebanking.notification.api.dto;
+
+import com.mobilebanking.notification.domain.NotificationPage;
+import com.mobilebanking.shared.api.binary.ProtobufEncodable;
+import com.mobilebanking.shared.api.binary.ProtobufWriter;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Response DTO for one page of notifications.
+ */
+@Schema(description = "A page of notifications, most recent first")
+public class NotificationPageResponse implements ProtobufEncodable {
+
+    @Schema(description = "Notifications on this page")
+    private List<NotificationResponse> notifications;
+
+    @Schema(description = "Cursor of the newest notification on the page, for marking it and older ones as read",
+            example = "1721730600000_123e4567-e89b-12d3-a456-426614174000")
+    private String headCursor;
+
+    @Schema(description = "Cursor to request the next page with, absent on the last page",
+            example = "1721730500000_123e4567-e89b-12d3-a456-426614174001")
+    private String nextCursor;
+
+    @Schema(description = "Whether there are more notifications after this page", example = "true")
+    private boolean hasMore;
+
+    // Default constructor for JSON deserialization
+    public NotificationPageResponse() {
+    }
+
+    public NotificationPageResponse(List<NotificationResponse> notifications, String headCursor,
+            String nextCursor, boolean hasMore) {
+        this.notifications = notifications;
+        this.headCursor = headCursor;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Creates a NotificationPageResponse from a domain NotificationPage.
+     */
+    public static NotificationPageResponse fromDomain(NotificationPage page) {
+        return new NotificationPageResponse(
+                page.getNotifications().stream().map(NotificationResponse::fromDomain).toList(),
+                page.getHeadCursor(),
+                page.getNextCursor(),
+                page.hasMore());
+    }
+
+    // Getters and setters
+    public List<NotificationResponse> getNotifications() {
+        return notifications;
+    }
+
+    public void setNotifications(List<NotificationResponse> notifications) {
+        this.notifications = notifications;
+    }
+
+    public String getHeadCursor() {
+        return headCursor;
+    }
+
+    public void setHeadCursor(String headCursor) {
+        this.headCursor = headCursor;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    @Override
+    public void writeTo(ProtobufWriter writer) {
+        notifications.forEach(notification -> writer.writeMessage(1, notification));
+        writer.writeString(2, headCursor)
+                .writeString(3, nextCursor)
+                .writeBool(4, hasMore);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("NotificationPageResponse{notifications=%d, nextCursor=%s, hasMore=%s}",
+                notifications != null ? notifications.size() : 0, nextCursor, hasMore);
+    }
+}
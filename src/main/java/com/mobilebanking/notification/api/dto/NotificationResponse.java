@@ -2,15 +2,18 @@ package com.mobilebanking.notification.api.dto;
 
 import com.mobilebanking.notification.domain.Notification;
 import com.mobilebanking.notification.domain.NotificationType;
+import com.mobilebanking.shared.api.binary.ProtobufEncodable;
+import com.mobilebanking.shared.api.binary.ProtobufWriter;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 /**
  * Response DTO for notification data.
  */
 @Schema(description = "Notification response containing notification details")
-public class NotificationResponse {
+public class NotificationResponse implements ProtobufEncodable {
 
     @Schema(description = "Unique notification identifier", example = "123e4567-e89b-12d3-a456-426614174000")
     private String id;
@@ -106,6 +109,18 @@ public class NotificationResponse {
         this.read = read;
     }
 
+    @Override
+    public void writeTo(ProtobufWriter writer) {
+        writer.writeUuid(1, id)
+                .writeString(2, title)
+                .writeString(3, message)
+                .writeVarint(4, type != null ? type.ordinal() + 1 : 0)
+                .writeVarint(5, timestamp != null
+                        ? timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                        : 0)
+                .writeBool(6, read);
+    }
+
     @Override
     public String toString() {
         return String.format("NotificationResponse{id='%s', title='%s', type=%s, timestamp=%s, read=%s}",
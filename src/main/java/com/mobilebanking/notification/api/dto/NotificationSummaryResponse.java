@@ -1,12 +1,14 @@
 package com.mobilebanking.notification.api.dto;
 
+import com.mobilebanking.shared.api.binary.ProtobufEncodable;
+import com.mobilebanking.shared.api.binary.ProtobufWriter;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 /**
  * Response DTO for notification summary data.
  */
 @Schema(description = "Notification summary containing counts and overview")
-public class NotificationSummaryResponse {
+public class NotificationSummaryResponse implements ProtobufEncodable {
 
     @Schema(description = "Total number of notifications", example = "15")
     private int totalCount;
@@ -40,6 +42,12 @@ public class NotificationSummaryResponse {
         this.unreadCount = unreadCount;
     }
 
+    @Override
+    public void writeTo(ProtobufWriter writer) {
+        writer.writeVarint(1, totalCount)
+                .writeVarint(2, unreadCount);
+    }
+
     @Override
     public String toString() {
         return String.format("NotificationSummaryResponse{totalCount=%d, unreadCount=%d}",
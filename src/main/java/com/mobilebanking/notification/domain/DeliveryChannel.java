@@ -0,0 +1,24 @@
+package com.mobilebanking.notification.domain;
+
+/**
+ * Port to an external delivery channel for notifications, such as push or
+ * SMS. Implementations are called from the channel's own delivery thread,
+ * never from the request that caused the notification, so they may block.
+ */
+public interface DeliveryChannel {
+
+    /**
+     * Gets the channel name used in configuration, logs and metrics.
+     *
+     * @return the channel name, e.g. "push"
+     */
+    String getName();
+
+    /**
+     * Delivers a message to its user.
+     *
+     * @param message the message
+     * @throws DeliveryException if the message could not be delivered
+     */
+    void deliver(DeliveryMessage message);
+}
@@ -0,0 +1,27 @@
+package com.mobilebanking.notification.domain;
+
+/**
+ * Thrown by a delivery channel that could not deliver a message. Retryable
+ * failures, like timeouts, are tried again later; others are given up.
+ */
+public class DeliveryException extends RuntimeException {
+
+    private final boolean retryable;
+
+    private DeliveryException(String message, Throwable cause, boolean retryable) {
+        super(message, cause);
+        this.retryable = retryable;
+    }
+
+    public static DeliveryException retryable(String message, Throwable cause) {
+        return new DeliveryException(message, cause, true);
+    }
+
+    public static DeliveryException permanent(String message) {
+        return new DeliveryException(message, null, false);
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+}
@@ -0,0 +1,43 @@
+package com.mobilebanking.notification.domain;
+
+import com.mobilebanking.shared.domain.UserId;
+
+import java.util.Objects;
+
+/**
+ * A message handed to a delivery channel. It stands for one notification,
+ * or for several notifications of the same type to the same user that
+ * arrived close together and are delivered as one summary.
+ *
+ * @param userId the recipient
+ * @param type   the type of the notifications
+ * @param title  the title
+ * @param body   the text
+ * @param count  the number of notifications the message stands for
+ */
+public record DeliveryMessage(UserId userId, NotificationType type, String title, String body, int count) {
+
+    public DeliveryMessage {
+        Objects.requireNonNull(userId, "User ID cannot be null");
+        Objects.requireNonNull(type, "Type cannot be null");
+        if (count < 1) {
+            throw new IllegalArgumentException("Count must be positive");
+        }
+    }
+
+    /**
+     * Creates the message for the latest of a user's notifications of one type.
+     *
+     * @param latest the latest notification
+     * @param count  the number of notifications of the type being delivered
+     * @return the notification's own text, or a summary if count is above one
+     */
+    public static DeliveryMessage of(Notification latest, int count) {
+        return new DeliveryMessage(
+                latest.getUserId(),
+                latest.getType(),
+                latest.getTitle(),
+                count == 1 ? latest.getMessage() : latest.getType().renderSummary(count),
+                count);
+    }
+}
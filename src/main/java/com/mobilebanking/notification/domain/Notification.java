@@ -2,105 +2,160 @@ package com.mobilebanking.notification.domain;
 
 import com.mobilebanking.shared.domain.UserId;
 import com.mobilebanking.shared.domain.Money;
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.Objects;
+import java.time.ZoneId;
+import java.util.UUID;
 
 /**
  * Notification domain entity representing a notification sent to a user.
  * Immutable value object that contains notification details.
+ *
+ * Notifications are kept in memory in large numbers, so they are stored as
+ * primitives: the IDs as pairs of longs, the timestamp as epoch millis and
+ * the amount in cents. Title and message are rendered from the type's
+ * templates when they are read, typically only when a notification is
+ * serialized. Reconstituted notifications keep their stored text instead.
  */
 public final class Notification {
-    private final NotificationId id;
-    private final UserId userId;
-    private final String title;
-    private final String message;
-    private final NotificationType type;
-    private final LocalDateTime timestamp;
+    private static final NotificationType[] TYPES = NotificationType.values();
+
+    private final long idMsb;
+    private final long idLsb;
+    private final long userMsb;
+    private final long userLsb;
+    private final long counterpartyMsb;
+    private final long counterpartyLsb;
+    private final long amountCents;
+    private final long epochMillis;
+    private final byte type;
     private final boolean read;
-
-    private Notification(NotificationId id, UserId userId, String title, String message,
-            NotificationType type, LocalDateTime timestamp, boolean read) {
-        this.id = id;
-        this.userId = userId;
-        this.title = title;
-        this.message = message;
+    private final String title; // Null unless reconstituted
+    private final String message; // Null unless reconstituted
+
+    private Notification(long idMsb, long idLsb, long userMsb, long userLsb, long counterpartyMsb,
+            long counterpartyLsb, long amountCents, long epochMillis, byte type, boolean read,
+            String title, String message) {
+        this.idMsb = idMsb;
+        this.idLsb = idLsb;
+        this.userMsb = userMsb;
+        this.userLsb = userLsb;
+        this.counterpartyMsb = counterpartyMsb;
+        this.counterpartyLsb = counterpartyLsb;
+        this.amountCents = amountCents;
+        this.epochMillis = epochMillis;
         this.type = type;
-        this.timestamp = timestamp;
         this.read = read;
+        this.title = title;
+        this.message = message;
+    }
+
+    private static Notification create(UserId userId, UserId counterparty, Money amount, NotificationType type) {
+        UUID id = NotificationId.generate().getValue();
+        UUID user = userId.getValue();
+        UUID other = counterparty != null ? counterparty.getValue() : null;
+        return new Notification(
+                id.getMostSignificantBits(),
+                id.getLeastSignificantBits(),
+                user.getMostSignificantBits(),
+                user.getLeastSignificantBits(),
+                other != null ? other.getMostSignificantBits() : 0,
+                other != null ? other.getLeastSignificantBits() : 0,
+                amount.getAmount().movePointRight(2).longValueExact(), // Money has two decimal places
+                System.currentTimeMillis(),
+                (byte) type.ordinal(),
+                false,
+                null,
+                null);
     }
 
     /**
      * Creates a new transfer notification for the sender.
      */
     public static Notification createTransferSent(UserId senderId, UserId receiverId, Money amount) {
-        return new Notification(
-                NotificationId.generate(),
-                senderId,
-                "Money Sent",
-                String.format("You sent $%s to user %s", amount.toString(), receiverId.asString()),
-                NotificationType.TRANSFER_SENT,
-                LocalDateTime.now(),
-                false);
+        return create(senderId, receiverId, amount, NotificationType.TRANSFER_SENT);
     }
 
     /**
      * Creates a new transfer notification for the receiver.
      */
     public static Notification createTransferReceived(UserId receiverId, UserId senderId, Money amount) {
-        return new Notification(
-                NotificationId.generate(),
-                receiverId,
-                "Money Received",
-                String.format("You received $%s from user %s", amount.toString(), senderId.asString()),
-                NotificationType.TRANSFER_RECEIVED,
-                LocalDateTime.now(),
-                false);
+        return create(receiverId, senderId, amount, NotificationType.TRANSFER_RECEIVED);
     }
 
     /**
      * Creates a new deposit notification.
      */
     public static Notification createDepositNotification(UserId userId, Money amount) {
+        return create(userId, null, amount, NotificationType.DEPOSIT);
+    }
+
+    /**
+     * Reconstitutes a stored notification.
+     */
+    public static Notification reconstitute(NotificationId id, UserId userId, String title, String message,
+            NotificationType type, LocalDateTime timestamp, boolean read) {
+        UUID notificationId = id.getValue();
+        UUID user = userId.getValue();
         return new Notification(
-                NotificationId.generate(),
-                userId,
-                "Funds Added",
-                String.format("$%s has been added to your wallet", amount.toString()),
-                NotificationType.DEPOSIT,
-                LocalDateTime.now(),
-                false);
+                notificationId.getMostSignificantBits(),
+                notificationId.getLeastSignificantBits(),
+                user.getMostSignificantBits(),
+                user.getLeastSignificantBits(),
+                0,
+                0,
+                0,
+                timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                (byte) type.ordinal(),
+                read,
+                title,
+                message);
     }
 
     /**
      * Marks this notification as read.
      */
     public Notification markAsRead() {
-        return new Notification(id, userId, title, message, type, timestamp, true);
+        return new Notification(idMsb, idLsb, userMsb, userLsb, counterpartyMsb, counterpartyLsb,
+                amountCents, epochMillis, type, true, title, message);
+    }
+
+    /**
+     * Checks the ID without creating an ID object.
+     */
+    public boolean hasId(NotificationId id) {
+        UUID value = id.getValue();
+        return value.getMostSignificantBits() == idMsb && value.getLeastSignificantBits() == idLsb;
     }
 
     // Getters
     public NotificationId getId() {
-        return id;
+        return NotificationId.of(new UUID(idMsb, idLsb));
     }
 
     public UserId getUserId() {
-        return userId;
+        return UserId.of(new UUID(userMsb, userLsb));
     }
 
     public String getTitle() {
-        return title;
+        return title != null ? title : getType().getTitle();
     }
 
     public String getMessage() {
-        return message;
+        if (message != null) {
+            return message;
+        }
+        return getType().renderMessage(BigDecimal.valueOf(amountCents, 2).toPlainString(),
+                new UUID(counterpartyMsb, counterpartyLsb).toString());
     }
 
     public NotificationType getType() {
-        return type;
+        return TYPES[type];
     }
 
     public LocalDateTime getTimestamp() {
-        return timestamp;
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
     }
 
     public boolean isRead() {
@@ -114,17 +169,21 @@ public final class Notification {
         if (obj == null || getClass() != obj.getClass())
             return false;
         Notification that = (Notification) obj;
-        return Objects.equals(id, that.id);
+        return idMsb == that.idMsb && idLsb == that.idLsb;
     }
 
+    /**
+     * Same as the hash of the ID's UUID, so indexes can look notifications
+     * up by ID without creating ID objects.
+     */
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return Long.hashCode(idMsb ^ idLsb);
     }
 
     @Override
     public String toString() {
         return String.format("Notification{id=%s, userId=%s, title='%s', type=%s, timestamp=%s, read=%s}",
-                id, userId, title, type, timestamp, read);
+                getId(), getUserId(), getTitle(), getType(), getTimestamp(), read);
     }
-}
\ No newline at end of file
+}
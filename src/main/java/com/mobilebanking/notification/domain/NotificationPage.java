@@ -0,0 +1,59 @@
+package com.mobilebanking.notification.domain;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One page of a user's notifications, most recent first.
+ *
+ * Cursors are opaque strings issued by the notification store, each naming
+ * the position of one notification. The next page starts after
+ * {@link #getNextCursor()}; {@link #getHeadCursor()} names the newest
+ * notification on the page, so a client can mark everything it has seen as
+ * read without listing IDs.
+ */
+public final class NotificationPage {
+
+    private final List<Notification> notifications;
+    private final String headCursor;
+    private final String nextCursor;
+
+    public NotificationPage(List<Notification> notifications, String headCursor, String nextCursor) {
+        this.notifications = List.copyOf(Objects.requireNonNull(notifications, "Notifications cannot be null"));
+        this.headCursor = headCursor;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Creates a page without notifications.
+     *
+     * @return an empty last page
+     */
+    public static NotificationPage empty() {
+        return new NotificationPage(List.of(), null, null);
+    }
+
+    public List<Notification> getNotifications() {
+        return notifications;
+    }
+
+    /**
+     * @return the cursor of the newest notification on the page, or null if
+     *         the page is empty
+     */
+    public String getHeadCursor() {
+        return headCursor;
+    }
+
+    /**
+     * @return the cursor to request the next page with, or null if this is
+     *         the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -2,6 +2,7 @@ package com.mobilebanking.notification.domain;
 
 import com.mobilebanking.shared.domain.UserId;
 import com.mobilebanking.shared.domain.Money;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -42,6 +43,40 @@ public interface NotificationService {
      */
     void markNotificationAsRead(NotificationId notificationId, UserId userId);
 
+    /**
+     * Retrieves one page of a user's notifications, most recent first.
+     *
+     * @param userId     the user ID
+     * @param unreadOnly whether to skip read notifications
+     * @param cursor     the next cursor of the previous page, or null for the
+     *                   first page
+     * @param limit      maximum number of notifications on the page
+     * @return the page
+     * @throws IllegalArgumentException if the cursor or limit is invalid
+     */
+    NotificationPage getNotificationPage(UserId userId, boolean unreadOnly, String cursor, int limit);
+
+    /**
+     * Marks a batch of a user's notifications as read. IDs that are unknown
+     * or belong to another user are skipped.
+     *
+     * @param userId          the user ID
+     * @param notificationIds the notification IDs
+     * @return the number of notifications that were unread
+     */
+    int markNotificationsAsRead(UserId userId, Collection<NotificationId> notificationIds);
+
+    /**
+     * Marks the notification at a cursor and every older notification of the
+     * user as read.
+     *
+     * @param userId the user ID
+     * @param cursor a cursor from one of the user's pages
+     * @return the number of notifications that were unread
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    int markNotificationsAsReadUpTo(UserId userId, String cursor);
+
     /**
      * Sends transfer notifications to both sender and receiver.
      *
@@ -66,4 +101,12 @@ public interface NotificationService {
      * @return the count of unread notifications
      */
     int getUnreadNotificationCount(UserId userId);
-}
\ No newline at end of file
+
+    /**
+     * Gets the count of all notifications kept for a user.
+     *
+     * @param userId the user ID
+     * @return the count of notifications
+     */
+    int getNotificationCount(UserId userId);
+}
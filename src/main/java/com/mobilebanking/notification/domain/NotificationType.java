@@ -2,9 +2,47 @@ package com.mobilebanking.notification.domain;
 
 /**
  * Enumeration of different notification types in the system.
+ * Each type carries the templates its title and message are rendered from;
+ * message templates take the amount and the counterparty's user ID. Summary
+ * templates describe several notifications of the type delivered as one.
  */
 public enum NotificationType {
-    TRANSFER_SENT,
-    TRANSFER_RECEIVED,
-    DEPOSIT
-}
\ No newline at end of file
+    TRANSFER_SENT("Money Sent", "You sent $%1$s to user %2$s", "%d payments sent"),
+    TRANSFER_RECEIVED("Money Received", "You received $%1$s from user %2$s", "%d payments received"),
+    DEPOSIT("Funds Added", "$%1$s has been added to your wallet", "%d deposits added to your wallet");
+
+    private final String title;
+    private final String messageTemplate;
+    private final String summaryTemplate;
+
+    NotificationType(String title, String messageTemplate, String summaryTemplate) {
+        this.title = title;
+        this.messageTemplate = messageTemplate;
+        this.summaryTemplate = summaryTemplate;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Renders the message of a notification of this type.
+     *
+     * @param amount       the formatted amount
+     * @param counterparty the other user's ID, ignored by types without one
+     * @return the message
+     */
+    public String renderMessage(String amount, String counterparty) {
+        return String.format(messageTemplate, amount, counterparty);
+    }
+
+    /**
+     * Renders the message summarizing several notifications of this type.
+     *
+     * @param count the number of notifications
+     * @return the message, e.g. "3 payments received"
+     */
+    public String renderSummary(int count) {
+        return String.format(summaryTemplate, count);
+    }
+}
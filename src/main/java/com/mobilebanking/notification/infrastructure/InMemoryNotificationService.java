@@ -2,47 +2,78 @@ package com.mobilebanking.notification.infrastructure;
 
 import com.mobilebanking.notification.domain.Notification;
 import com.mobilebanking.notification.domain.NotificationId;
+import com.mobilebanking.notification.domain.NotificationPage;
 import com.mobilebanking.notification.domain.NotificationService;
+import com.mobilebanking.notification.infrastructure.delivery.NotificationDispatcher;
 import com.mobilebanking.shared.domain.Money;
 import com.mobilebanking.shared.domain.UserId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.stream.Collectors;
 
 /**
  * In-memory implementation of NotificationService.
- * Stores notifications in memory using thread-safe collections.
- * This implementation is suitable for development and testing environments.
+ * Keeps each user's notifications in a bounded {@link NotificationInbox}, so
+ * sending, marking as read and counting never copy or scan a user's history.
+ * Only the most recent {@code notification.inbox.capacity} notifications per
+ * user are kept.
+ * This implementation is suitable for development and testing environments
+ * and is selected with {@code notification.store=memory}.
  */
 @Service
+@ConditionalOnProperty(name = "notification.store", havingValue = "memory", matchIfMissing = true)
 public class InMemoryNotificationService implements NotificationService {
 
     private static final Logger logger = LoggerFactory.getLogger(InMemoryNotificationService.class);
+    private static final int DEFAULT_INBOX_CAPACITY = 100;
 
     // Thread-safe storage for notifications
-    private final ConcurrentHashMap<UserId, CopyOnWriteArrayList<Notification>> userNotifications;
-    private final ConcurrentHashMap<NotificationId, Notification> notificationStore;
+    private final ConcurrentHashMap<UserId, NotificationInbox> inboxes;
+    private final NotificationOwnerIndex owners; // Tells unknown IDs from other users' IDs
+    private final int inboxCapacity;
+    private final NotificationStreams notificationStreams;
+    private final NotificationDispatcher notificationDispatcher;
 
     public InMemoryNotificationService() {
-        this.userNotifications = new ConcurrentHashMap<>();
-        this.notificationStore = new ConcurrentHashMap<>();
+        this(DEFAULT_INBOX_CAPACITY, NotificationStreams.standalone(), NotificationDispatcher.none());
+    }
+
+    @Autowired
+    public InMemoryNotificationService(
+            @Value("${notification.inbox.capacity:100}") int inboxCapacity,
+            NotificationStreams notificationStreams,
+            NotificationDispatcher notificationDispatcher) {
+        if (inboxCapacity < 1) {
+            throw new IllegalArgumentException("Inbox capacity must be positive");
+        }
+        this.inboxes = new ConcurrentHashMap<>();
+        this.owners = new NotificationOwnerIndex();
+        this.inboxCapacity = inboxCapacity;
+        this.notificationStreams = notificationStreams;
+        this.notificationDispatcher = notificationDispatcher;
     }
 
     @Override
     public void sendNotification(Notification notification) {
         logger.info("Sending notification: {} to user: {}", notification.getId(), notification.getUserId());
 
-        // Store the notification
-        notificationStore.put(notification.getId(), notification);
-
-        // Add to user's notification list
-        userNotifications.computeIfAbsent(notification.getUserId(), k -> new CopyOnWriteArrayList<>())
-                .add(notification);
+        // Add to the user's inbox, dropping the oldest notification when full
+        NotificationInbox inbox = inboxes.computeIfAbsent(notification.getUserId(),
+                k -> new NotificationInbox(inboxCapacity));
+        owners.put(notification, inbox);
+        Notification evicted = inbox.add(notification);
+        if (evicted != null) {
+            owners.remove(evicted);
+        }
+        notificationStreams.publish(notification);
+        notificationDispatcher.dispatch(notification);
 
         logger.debug("Notification sent successfully: {}", notification.getId());
     }
@@ -51,10 +82,8 @@ public class InMemoryNotificationService implements NotificationService {
     public List<Notification> getNotificationsForUser(UserId userId) {
         logger.debug("Retrieving all notifications for user: {}", userId);
 
-        List<Notification> notifications = userNotifications.getOrDefault(userId, new CopyOnWriteArrayList<>())
-                .stream()
-                .sorted((n1, n2) -> n2.getTimestamp().compareTo(n1.getTimestamp())) // Most recent first
-                .collect(Collectors.toList());
+        NotificationInbox inbox = inboxes.get(userId);
+        List<Notification> notifications = inbox != null ? inbox.list(false) : List.of(); // Most recent first
 
         logger.debug("Found {} notifications for user: {}", notifications.size(), userId);
         return notifications;
@@ -64,11 +93,8 @@ public class InMemoryNotificationService implements NotificationService {
     public List<Notification> getUnreadNotificationsForUser(UserId userId) {
         logger.debug("Retrieving unread notifications for user: {}", userId);
 
-        List<Notification> unreadNotifications = userNotifications.getOrDefault(userId, new CopyOnWriteArrayList<>())
-                .stream()
-                .filter(notification -> !notification.isRead())
-                .sorted((n1, n2) -> n2.getTimestamp().compareTo(n1.getTimestamp())) // Most recent first
-                .collect(Collectors.toList());
+        NotificationInbox inbox = inboxes.get(userId);
+        List<Notification> unreadNotifications = inbox != null ? inbox.list(true) : List.of(); // Most recent first
 
         logger.debug("Found {} unread notifications for user: {}", unreadNotifications.size(), userId);
         return unreadNotifications;
@@ -78,40 +104,55 @@ public class InMemoryNotificationService implements NotificationService {
     public void markNotificationAsRead(NotificationId notificationId, UserId userId) {
         logger.info("Marking notification as read: {} for user: {}", notificationId, userId);
 
-        Notification notification = notificationStore.get(notificationId);
-        if (notification == null) {
+        NotificationInbox owner = owners.get(notificationId);
+        if (owner == null) {
             logger.warn("Notification not found: {}", notificationId);
             throw new IllegalArgumentException("Notification not found: " + notificationId);
         }
 
         // Verify the notification belongs to the user
-        if (!notification.getUserId().equals(userId)) {
-            logger.warn("User {} attempted to mark notification {} belonging to user {}",
-                    userId, notificationId, notification.getUserId());
+        if (owner != inboxes.get(userId)) {
+            logger.warn("User {} attempted to mark notification {} belonging to another user",
+                    userId, notificationId);
             throw new IllegalArgumentException("Notification does not belong to the specified user");
         }
 
-        // Mark as read
-        Notification readNotification = notification.markAsRead();
-
-        // Update storage
-        notificationStore.put(notificationId, readNotification);
-
-        // Update user's notification list
-        CopyOnWriteArrayList<Notification> userNotifs = userNotifications.get(userId);
-        if (userNotifs != null) {
-            // Replace the notification in the list
-            for (int i = 0; i < userNotifs.size(); i++) {
-                if (userNotifs.get(i).getId().equals(notificationId)) {
-                    userNotifs.set(i, readNotification);
-                    break;
-                }
-            }
+        if (!owner.markAsRead(notificationId)) {
+            // Evicted between the two lookups
+            logger.warn("Notification not found: {}", notificationId);
+            throw new IllegalArgumentException("Notification not found: " + notificationId);
         }
 
         logger.debug("Notification marked as read: {}", notificationId);
     }
 
+    @Override
+    public NotificationPage getNotificationPage(UserId userId, boolean unreadOnly, String cursor, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        long before = cursor != null ? sequenceOf(cursor) : Long.MAX_VALUE;
+        NotificationInbox inbox = inboxes.get(userId);
+        return inbox != null ? inbox.page(unreadOnly, before, limit) : NotificationPage.empty();
+    }
+
+    @Override
+    public int markNotificationsAsRead(UserId userId, Collection<NotificationId> notificationIds) {
+        logger.info("Marking {} notifications as read for user: {}", notificationIds.size(), userId);
+
+        NotificationInbox inbox = inboxes.get(userId);
+        return inbox != null ? inbox.markAsRead(notificationIds) : 0;
+    }
+
+    @Override
+    public int markNotificationsAsReadUpTo(UserId userId, String cursor) {
+        logger.info("Marking notifications up to {} as read for user: {}", cursor, userId);
+
+        long sequence = sequenceOf(cursor);
+        NotificationInbox inbox = inboxes.get(userId);
+        return inbox != null ? inbox.markAsReadUpTo(sequence) : 0;
+    }
+
     @Override
     public void notifyTransfer(UserId senderId, UserId receiverId, Money amount) {
         logger.info("Creating transfer notifications for sender: {} and receiver: {}, amount: {}",
@@ -138,27 +179,44 @@ public class InMemoryNotificationService implements NotificationService {
         logger.info("Deposit notification sent successfully");
     }
 
-@Override
+    @Override
     public int getUnreadNotificationCount(UserId userId) {
         logger.debug("Getting unread notification count for user: {}", userId);
 
-        int count = (int) userNotifications.getOrDefault(userId, new CopyOnWriteArrayList<>())
-                .stream()
-                .filter(notification -> !notification.isRead())
-                .count();
+        NotificationInbox inbox = inboxes.get(userId);
+        int count = inbox != null ? inbox.unreadCount() : 0;
 
         logger.debug("Unread notification count for user {}: {}", userId, count);
         return count;
     }
 
+    @Override
+    public int getNotificationCount(UserId userId) {
+        NotificationInbox inbox = inboxes.get(userId);
+        return inbox != null ? inbox.size() : 0;
+    }
+
+    // Cursors are inbox sequence numbers
+    private static long sequenceOf(String cursor) {
+        try {
+            long sequence = Long.parseLong(cursor);
+            if (sequence >= 0) {
+                return sequence;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+
     /**
      * Clears all notifications for testing purposes.
      * This method should only be used in test environments.
      */
     public void clearAllNotifications() {
         logger.warn("Clearing all notifications - this should only be used in tests");
-        userNotifications.clear();
-        notificationStore.clear();
+        inboxes.clear();
+        owners.clear();
     }
 
     /**
@@ -166,6 +224,6 @@ public class InMemoryNotificationService implements NotificationService {
      * This method is primarily for testing and monitoring purposes.
      */
     public int getTotalNotificationCount() {
-        return notificationStore.size();
+        return owners.size();
     }
 }
\ No newline at end of file
@@ -0,0 +1,482 @@
+package com.mobilebanking.notification.infrastructure;
+
+import com.mobilebanking.notification.domain.Notification;
+import com.mobilebanking.notification.domain.NotificationId;
+import com.mobilebanking.notification.domain.NotificationPage;
+import com.mobilebanking.notification.domain.NotificationService;
+import com.mobilebanking.notification.domain.NotificationType;
+import com.mobilebanking.notification.infrastructure.delivery.NotificationDispatcher;
+import com.mobilebanking.shared.domain.Money;
+import com.mobilebanking.shared.domain.UserId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durable implementation of NotificationService backed by the
+ * {@code notifications} table, selected with {@code notification.store=jdbc}.
+ *
+ * Sending only queues the notification; a background writer flushes the
+ * queue in JDBC batches every {@code notification.jdbc.flush-interval-ms}.
+ * When the queue is full the caller writes its notification itself. Reads
+ * merge the rows with the user's still queued notifications, so a user
+ * always sees what was sent to them. Notifications older than
+ * {@code notification.jdbc.retention-days} are purged in the background.
+ *
+ * Page cursors are {@code <epoch millis>_<id>} of a notification, so pages
+ * are read by keyset from {@code idx_notifications_user_timestamp}.
+ *
+ * Exports {@code mobile_banking_notification_write_queue_size},
+ * {@code mobile_banking_notifications_written_total} and
+ * {@code mobile_banking_notifications_purged_total}.
+ */
+@Service
+@ConditionalOnProperty(name = "notification.store", havingValue = "jdbc")
+public class JdbcNotificationService implements NotificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcNotificationService.class);
+    private static final String COLUMNS = "id, user_id, title, message, notification_type, timestamp, is_read";
+    private static final int PURGE_CHUNK_SIZE = 1000;
+    private static final int MARK_CHUNK_SIZE = 500;
+    private static final Comparator<Notification> MOST_RECENT_FIRST =
+            Comparator.comparing(Notification::getTimestamp).reversed();
+    private static final Comparator<Notification> PAGE_ORDER = MOST_RECENT_FIRST
+            .thenComparing(notification -> notification.getId().asString(), Comparator.reverseOrder());
+    private static final RowMapper<Notification> ROW_MAPPER = (rs, rowNum) -> Notification.reconstitute(
+            NotificationId.fromString(rs.getString("id")),
+            UserId.fromString(rs.getString("user_id")),
+            rs.getString("title"),
+            rs.getString("message"),
+            NotificationType.valueOf(rs.getString("notification_type")),
+            rs.getTimestamp("timestamp").toLocalDateTime(),
+            rs.getBoolean("is_read"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingDeque<Notification> queue;
+    private final int batchSize;
+    private final int maxResults;
+    private final int retentionDays;
+    private final ScheduledExecutorService writer;
+    private final Counter written;
+    private final Counter purged;
+    private final NotificationStreams notificationStreams;
+    private final NotificationDispatcher notificationDispatcher;
+    private volatile List<Notification> inFlight = List.of(); // Batch being written, still visible to reads
+
+    public JdbcNotificationService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${notification.jdbc.queue-capacity:10000}") int queueCapacity,
+            @Value("${notification.jdbc.batch-size:500}") int batchSize,
+            @Value("${notification.jdbc.flush-interval-ms:200}") long flushIntervalMs,
+            @Value("${notification.jdbc.retention-days:90}") int retentionDays,
+            @Value("${notification.inbox.capacity:100}") int maxResults,
+            NotificationStreams notificationStreams,
+            NotificationDispatcher notificationDispatcher,
+            MeterRegistry meterRegistry) {
+        if (queueCapacity < 1 || batchSize < 1 || flushIntervalMs < 1 || retentionDays < 1 || maxResults < 1) {
+            throw new IllegalArgumentException("Notification store settings must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new LinkedBlockingDeque<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxResults = maxResults;
+        this.retentionDays = retentionDays;
+        this.notificationStreams = notificationStreams;
+        this.notificationDispatcher = notificationDispatcher;
+        this.written = Counter.builder("mobile_banking_notifications_written_total")
+                .description("Notifications written to the notification store")
+                .register(meterRegistry);
+        this.purged = Counter.builder("mobile_banking_notifications_purged_total")
+                .description("Notifications deleted after the retention period")
+                .register(meterRegistry);
+        Gauge.builder("mobile_banking_notification_write_queue_size", queue, BlockingDeque::size)
+                .description("Notifications waiting to be written")
+                .register(meterRegistry);
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void sendNotification(Notification notification) {
+        logger.info("Sending notification: {} to user: {}", notification.getId(), notification.getUserId());
+
+        if (!queue.offer(notification)) {
+            // Back-pressure: the writer is behind, so this caller pays for its own write
+            logger.warn("Notification write queue is full, writing {} directly", notification.getId());
+            write(List.of(notification));
+        }
+        notificationStreams.publish(notification); // Reads already see queued notifications
+        notificationDispatcher.dispatch(notification);
+
+        logger.debug("Notification queued: {}", notification.getId());
+    }
+
+    @Override
+    public List<Notification> getNotificationsForUser(UserId userId) {
+        logger.debug("Retrieving all notifications for user: {}", userId);
+
+        List<Notification> notifications = jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM notifications WHERE user_id = ? ORDER BY timestamp DESC LIMIT ?",
+                ROW_MAPPER, userId.asString(), maxResults);
+        notifications = withQueued(notifications, userId, false);
+
+        logger.debug("Found {} notifications for user: {}", notifications.size(), userId);
+        return notifications;
+    }
+
+    @Override
+    public List<Notification> getUnreadNotificationsForUser(UserId userId) {
+        logger.debug("Retrieving unread notifications for user: {}", userId);
+
+        List<Notification> unreadNotifications = jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM notifications WHERE user_id = ? AND is_read = FALSE "
+                        + "ORDER BY timestamp DESC LIMIT ?",
+                ROW_MAPPER, userId.asString(), maxResults);
+        unreadNotifications = withQueued(unreadNotifications, userId, true);
+
+        logger.debug("Found {} unread notifications for user: {}", unreadNotifications.size(), userId);
+        return unreadNotifications;
+    }
+
+    @Override
+    public void markNotificationAsRead(NotificationId notificationId, UserId userId) {
+        logger.info("Marking notification as read: {} for user: {}", notificationId, userId);
+
+        int updated = markAsRead(notificationId, userId);
+        if (updated == 0 && isQueued(notificationId)) {
+            flush();
+            updated = markAsRead(notificationId, userId);
+        }
+        if (updated == 0) {
+            List<String> owners = jdbcTemplate.queryForList(
+                    "SELECT user_id FROM notifications WHERE id = ?", String.class, notificationId.asString());
+            if (owners.isEmpty()) {
+                logger.warn("Notification not found: {}", notificationId);
+                throw new IllegalArgumentException("Notification not found: " + notificationId);
+            }
+            logger.warn("User {} attempted to mark notification {} belonging to user {}",
+                    userId, notificationId, owners.get(0));
+            throw new IllegalArgumentException("Notification does not belong to the specified user");
+        }
+
+        logger.debug("Notification marked as read: {}", notificationId);
+    }
+
+    @Override
+    public NotificationPage getNotificationPage(UserId userId, boolean unreadOnly, String cursor, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        Cursor after = cursor != null ? Cursor.parse(cursor) : null;
+
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM notifications WHERE user_id = ?");
+        List<Object> args = new ArrayList<>(List.of(userId.asString()));
+        if (unreadOnly) {
+            sql.append(" AND is_read = FALSE");
+        }
+        if (after != null) {
+            sql.append(" AND (timestamp < ? OR (timestamp = ? AND id < ?))");
+            args.addAll(List.of(after.timestamp(), after.timestamp(), after.id()));
+        }
+        sql.append(" ORDER BY timestamp DESC, id DESC LIMIT ?");
+        args.add(limit + 1); // One extra row tells whether there is a next page
+        List<Notification> notifications = new ArrayList<>(jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray()));
+
+        // Queued notifications within the page's range may sort anywhere in it
+        Set<NotificationId> ids = new HashSet<>();
+        notifications.forEach(notification -> ids.add(notification.getId()));
+        for (Iterable<Notification> source : List.<Iterable<Notification>>of(inFlight, queue)) {
+            for (Notification notification : source) {
+                if (notification.getUserId().equals(userId) && (!unreadOnly || !notification.isRead())
+                        && (after == null || after.precedes(notification)) && ids.add(notification.getId())) {
+                    notifications.add(notification);
+                }
+            }
+        }
+        notifications.sort(PAGE_ORDER);
+
+        boolean more = notifications.size() > limit;
+        List<Notification> page = more ? notifications.subList(0, limit) : notifications;
+        return new NotificationPage(page,
+                page.isEmpty() ? null : Cursor.encode(page.get(0)),
+                more ? Cursor.encode(page.get(limit - 1)) : null);
+    }
+
+    @Override
+    public int markNotificationsAsRead(UserId userId, Collection<NotificationId> notificationIds) {
+        logger.info("Marking {} notifications as read for user: {}", notificationIds.size(), userId);
+
+        if (hasQueued(userId)) {
+            flush();
+        }
+        List<String> ids = notificationIds.stream().map(NotificationId::asString).distinct().toList();
+        int marked = 0;
+        for (int from = 0; from < ids.size(); from += MARK_CHUNK_SIZE) {
+            List<String> chunk = ids.subList(from, Math.min(ids.size(), from + MARK_CHUNK_SIZE));
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(userId.asString());
+            args.addAll(chunk);
+            marked += jdbcTemplate.update("UPDATE notifications SET is_read = TRUE WHERE user_id = ? "
+                    + "AND is_read = FALSE AND id IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?"))
+                    + ")", args.toArray());
+        }
+        return marked;
+    }
+
+    @Override
+    public int markNotificationsAsReadUpTo(UserId userId, String cursor) {
+        logger.info("Marking notifications up to {} as read for user: {}", cursor, userId);
+
+        Cursor upTo = Cursor.parse(cursor);
+        if (hasQueued(userId)) {
+            flush();
+        }
+        return jdbcTemplate.update("UPDATE notifications SET is_read = TRUE WHERE user_id = ? AND is_read = FALSE "
+                        + "AND (timestamp < ? OR (timestamp = ? AND id <= ?))",
+                userId.asString(), upTo.timestamp(), upTo.timestamp(), upTo.id());
+    }
+
+    @Override
+    public void notifyTransfer(UserId senderId, UserId receiverId, Money amount) {
+        logger.info("Creating transfer notifications for sender: {} and receiver: {}, amount: {}",
+                senderId, receiverId, amount);
+
+        sendNotification(Notification.createTransferSent(senderId, receiverId, amount));
+        sendNotification(Notification.createTransferReceived(receiverId, senderId, amount));
+
+        logger.info("Transfer notifications sent successfully");
+    }
+
+    @Override
+    public void notifyDeposit(UserId userId, Money amount) {
+        logger.info("Creating deposit notification for user: {}, amount: {}", userId, amount);
+
+        sendNotification(Notification.createDepositNotification(userId, amount));
+
+        logger.info("Deposit notification sent successfully");
+    }
+
+    @Override
+    public int getUnreadNotificationCount(UserId userId) {
+        Integer stored = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notifications WHERE user_id = ? AND is_read = FALSE",
+                Integer.class, userId.asString());
+        return stored + countQueued(userId, true);
+    }
+
+    @Override
+    public int getNotificationCount(UserId userId) {
+        Integer stored = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notifications WHERE user_id = ?", Integer.class, userId.asString());
+        return stored + countQueued(userId, false);
+    }
+
+    /**
+     * Writes all queued notifications in batches.
+     *
+     * @return the number of notifications written
+     */
+    public synchronized int flush() {
+        int total = 0;
+        List<Notification> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            inFlight = batch;
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                requeue(batch);
+                throw e;
+            } finally {
+                inFlight = List.of();
+            }
+            total += batch.size();
+            batch = new ArrayList<>(batchSize);
+        }
+        return total;
+    }
+
+    /**
+     * Deletes notifications older than the retention period, in chunks so
+     * no single statement holds locks for long.
+     */
+    @Scheduled(fixedDelayString = "${notification.jdbc.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update("DELETE FROM notifications WHERE id IN "
+                    + "(SELECT id FROM notifications WHERE timestamp < ? LIMIT ?)", cutoff, PURGE_CHUNK_SIZE);
+            total += deleted;
+        } while (deleted == PURGE_CHUNK_SIZE);
+        if (total > 0) {
+            purged.increment(total);
+            logger.info("Purged {} notifications older than {} days", total, retentionDays);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Could not write queued notifications, retrying on the next flush", e);
+        }
+    }
+
+    private void write(List<Notification> notifications) {
+        jdbcTemplate.batchUpdate("INSERT INTO notifications (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)",
+                notifications.stream().map(JdbcNotificationService::row).toList());
+        written.increment(notifications.size());
+    }
+
+    // Puts a failed batch back in front, in order; whatever does not fit is dropped
+    private void requeue(List<Notification> batch) {
+        int dropped = 0;
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            if (!queue.offerFirst(batch.get(i))) {
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            logger.error("Dropped {} notifications, the write queue is full", dropped);
+        }
+    }
+
+    private int markAsRead(NotificationId notificationId, UserId userId) {
+        return jdbcTemplate.update("UPDATE notifications SET is_read = TRUE WHERE id = ? AND user_id = ?",
+                notificationId.asString(), userId.asString());
+    }
+
+    private boolean isQueued(NotificationId notificationId) {
+        for (Iterable<Notification> source : List.<Iterable<Notification>>of(inFlight, queue)) {
+            for (Notification notification : source) {
+                if (notification.getId().equals(notificationId)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean hasQueued(UserId userId) {
+        for (Iterable<Notification> source : List.<Iterable<Notification>>of(inFlight, queue)) {
+            for (Notification notification : source) {
+                if (notification.getUserId().equals(userId)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Counts only the queue; the in-flight batch may already be counted by the table
+    private int countQueued(UserId userId, boolean unreadOnly) {
+        int count = 0;
+        for (Notification notification : queue) {
+            if (notification.getUserId().equals(userId) && (!unreadOnly || !notification.isRead())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private List<Notification> withQueued(List<Notification> stored, UserId userId, boolean unreadOnly) {
+        Set<NotificationId> ids = new HashSet<>();
+        stored.forEach(notification -> ids.add(notification.getId()));
+        List<Notification> merged = new ArrayList<>(stored);
+        for (Iterable<Notification> source : List.<Iterable<Notification>>of(inFlight, queue)) {
+            for (Notification notification : source) {
+                if (notification.getUserId().equals(userId) && (!unreadOnly || !notification.isRead())
+                        && ids.add(notification.getId())) {
+                    merged.add(notification);
+                }
+            }
+        }
+        if (merged.size() == stored.size()) {
+            return stored;
+        }
+        merged.sort(MOST_RECENT_FIRST);
+        return merged.size() > maxResults ? new ArrayList<>(merged.subList(0, maxResults)) : merged;
+    }
+
+    private static Object[] row(Notification notification) {
+        return new Object[] {
+                notification.getId().asString(),
+                notification.getUserId().asString(),
+                notification.getTitle(),
+                notification.getMessage(),
+                notification.getType().name(),
+                notification.getTimestamp(),
+                notification.isRead()
+        };
+    }
+
+    /**
+     * Position of a notification in page order.
+     */
+    private record Cursor(LocalDateTime timestamp, String id) {
+
+        static String encode(Notification notification) {
+            return notification.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                    + "_" + notification.getId().asString();
+        }
+
+        static Cursor parse(String cursor) {
+            int separator = cursor.indexOf('_');
+            try {
+                long epochMillis = Long.parseLong(cursor.substring(0, separator));
+                NotificationId id = NotificationId.fromString(cursor.substring(separator + 1));
+                return new Cursor(LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault()),
+                        id.asString());
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+
+        // Whether the notification comes after this position, i.e. is older
+        boolean precedes(Notification notification) {
+            int order = notification.getTimestamp().compareTo(timestamp);
+            return order < 0 || (order == 0 && notification.getId().asString().compareTo(id) < 0);
+        }
+    }
+}
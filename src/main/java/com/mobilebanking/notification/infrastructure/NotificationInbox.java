@@ -0,0 +1,260 @@
+package com.mobilebanking.notification.infrastructure;
+
+import com.mobilebanking.notification.domain.Notification;
+import com.mobilebanking.notification.domain.NotificationId;
+import com.mobilebanking.notification.domain.NotificationPage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Bounded, time-ordered notifications of one user. Notifications are kept in
+ * a ring buffer in arrival order; once the capacity is reached the oldest one
+ * is evicted. An index from ID to slot and a running unread count make
+ * adding, marking as read and counting O(1).
+ *
+ * The index is an open-addressing table of slot numbers hashed by the
+ * notifications' own hash codes, so it holds no ID objects of its own. The
+ * buffer starts small and doubles up to the capacity, so users with few
+ * notifications stay cheap. All methods are synchronized on the inbox.
+ *
+ * Every notification gets the next sequence number of the inbox, which
+ * serves as its page cursor.
+ */
+final class NotificationInbox {
+
+    private static final int INITIAL_SLOTS = 8;
+
+    private final int capacity;
+    private Notification[] slots;
+    private int[] index; // Slot + 1 of each indexed notification, 0 if free
+    private int head; // Slot of the oldest notification
+    private long headSequence; // Sequence number of the oldest notification
+    private int size;
+    private int unread;
+
+    NotificationInbox(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Inbox capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.slots = new Notification[Math.min(capacity, INITIAL_SLOTS)];
+        this.index = new int[indexLength(slots.length)];
+    }
+
+    /**
+     * Adds a notification as the newest one.
+     *
+     * @param notification the notification
+     * @return the evicted oldest notification, or null if there was room
+     */
+    synchronized Notification add(Notification notification) {
+        int position = find(notification.hashCode(), notification, null);
+        if (index[position] != 0) {
+            return null; // Already delivered
+        }
+        Notification evicted = null;
+        if (size == slots.length) {
+            if (slots.length < capacity) {
+                grow();
+            } else {
+                evicted = evictOldest();
+            }
+            position = find(notification.hashCode(), notification, null);
+        }
+        int slot = (head + size) % slots.length;
+        slots[slot] = notification;
+        index[position] = slot + 1;
+        size++;
+        if (!notification.isRead()) {
+            unread++;
+        }
+        return evicted;
+    }
+
+    /**
+     * Marks a notification as read.
+     *
+     * @param notificationId the notification ID
+     * @return false if the inbox does not hold the notification
+     */
+    synchronized boolean markAsRead(NotificationId notificationId) {
+        int entry = index[find(notificationId.getValue().hashCode(), null, notificationId)];
+        if (entry == 0) {
+            return false;
+        }
+        markSlot(entry - 1);
+        return true;
+    }
+
+    /**
+     * Marks a batch of notifications as read, skipping IDs the inbox does not
+     * hold.
+     *
+     * @param notificationIds the notification IDs
+     * @return the number of notifications that were unread
+     */
+    synchronized int markAsRead(Collection<NotificationId> notificationIds) {
+        int marked = 0;
+        for (NotificationId notificationId : notificationIds) {
+            int entry = index[find(notificationId.getValue().hashCode(), null, notificationId)];
+            if (entry != 0 && markSlot(entry - 1)) {
+                marked++;
+            }
+        }
+        return marked;
+    }
+
+    /**
+     * Marks the notification with the given sequence number and all older
+     * ones as read.
+     *
+     * @param sequence the sequence number
+     * @return the number of notifications that were unread
+     */
+    synchronized int markAsReadUpTo(long sequence) {
+        int marked = 0;
+        for (long i = Math.min(sequence, headSequence + size - 1); i >= headSequence && unread > 0; i--) {
+            if (markSlot(slotOf(i))) {
+                marked++;
+            }
+        }
+        return marked;
+    }
+
+    /**
+     * Gets a page of notifications, most recent first.
+     *
+     * @param unreadOnly whether to skip read notifications
+     * @param before     the page starts below this sequence number
+     * @param limit      maximum number of notifications
+     * @return the page, with sequence numbers as cursors
+     */
+    synchronized NotificationPage page(boolean unreadOnly, long before, int limit) {
+        List<Notification> notifications = new ArrayList<>(Math.min(limit, size));
+        long first = -1;
+        long last = -1;
+        boolean more = false;
+        for (long i = Math.min(before - 1, headSequence + size - 1); i >= headSequence; i--) {
+            Notification notification = slots[slotOf(i)];
+            if (unreadOnly && notification.isRead()) {
+                continue;
+            }
+            if (notifications.size() == limit) {
+                more = true;
+                break;
+            }
+            notifications.add(notification);
+            first = first < 0 ? i : first;
+            last = i;
+        }
+        return new NotificationPage(notifications,
+                first < 0 ? null : Long.toString(first),
+                more ? Long.toString(last) : null);
+    }
+
+    /**
+     * Lists the notifications, most recent first.
+     *
+     * @param unreadOnly whether to skip read notifications
+     * @return a snapshot of the notifications
+     */
+    synchronized List<Notification> list(boolean unreadOnly) {
+        List<Notification> notifications = new ArrayList<>(unreadOnly ? unread : size);
+        for (int i = size - 1; i >= 0; i--) {
+            Notification notification = slots[(head + i) % slots.length];
+            if (!unreadOnly || !notification.isRead()) {
+                notifications.add(notification);
+            }
+        }
+        return notifications;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized int unreadCount() {
+        return unread;
+    }
+
+    private boolean markSlot(int slot) {
+        Notification notification = slots[slot];
+        if (notification.isRead()) {
+            return false;
+        }
+        slots[slot] = notification.markAsRead();
+        unread--;
+        return true;
+    }
+
+    // Position of the notification in the index, or of the free entry ending its probe
+    private int find(int hash, Notification notification, NotificationId id) {
+        int mask = index.length - 1;
+        for (int i = spread(hash) & mask; ; i = (i + 1) & mask) {
+            int entry = index[i];
+            if (entry == 0) {
+                return i;
+            }
+            Notification candidate = slots[entry - 1];
+            if (notification != null ? candidate.equals(notification) : candidate.hasId(id)) {
+                return i;
+            }
+        }
+    }
+
+    private Notification evictOldest() {
+        Notification oldest = slots[head];
+        unindex(find(oldest.hashCode(), oldest, null));
+        slots[head] = null;
+        if (!oldest.isRead()) {
+            unread--;
+        }
+        head = (head + 1) % slots.length;
+        headSequence++;
+        size--;
+        return oldest;
+    }
+
+    // Backward-shift deletion keeps every probe sequence free of gaps
+    private void unindex(int free) {
+        int mask = index.length - 1;
+        for (int i = (free + 1) & mask; index[i] != 0; i = (i + 1) & mask) {
+            int home = spread(slots[index[i] - 1].hashCode()) & mask;
+            boolean reachable = free <= i ? free < home && home <= i : free < home || home <= i;
+            if (!reachable) {
+                index[free] = index[i];
+                free = i;
+            }
+        }
+        index[free] = 0;
+    }
+
+    // Only called while full, so the live notifications wrap around head
+    private void grow() {
+        Notification[] grown = new Notification[(int) Math.min(capacity, slots.length * 2L)];
+        for (int i = 0; i < size; i++) {
+            grown[i] = slots[(head + i) % slots.length];
+        }
+        slots = grown;
+        head = 0;
+        index = new int[indexLength(grown.length)];
+        for (int i = 0; i < size; i++) {
+            index[find(grown[i].hashCode(), grown[i], null)] = i + 1;
+        }
+    }
+
+    private int slotOf(long sequence) {
+        return (int) ((head + (sequence - headSequence)) % slots.length);
+    }
+
+    // At most half full
+    private static int indexLength(int slots) {
+        return Integer.highestOneBit(slots * 2 - 1) << 1;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,160 @@
+package com.mobilebanking.notification.infrastructure;
+
+import com.mobilebanking.notification.domain.Notification;
+import com.mobilebanking.notification.domain.NotificationId;
+
+import java.util.UUID;
+
+/**
+ * Maps the ID of every stored notification to the inbox holding it, so an
+ * unknown ID can be told apart from another user's. IDs are kept as pairs
+ * of longs in open-addressing tables rather than as map entries with ID
+ * objects, which would outweigh the notifications themselves.
+ *
+ * The tables are striped by hash and each stripe is synchronized on itself.
+ */
+final class NotificationOwnerIndex {
+
+    private static final int STRIPES = 16;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    NotificationOwnerIndex() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    void put(Notification notification, NotificationInbox inbox) {
+        UUID id = notification.getId().getValue();
+        stripeFor(id).put(id.getMostSignificantBits(), id.getLeastSignificantBits(), inbox);
+    }
+
+    /**
+     * Gets the inbox holding a notification.
+     *
+     * @param notificationId the notification ID
+     * @return the inbox, or null if the notification is unknown
+     */
+    NotificationInbox get(NotificationId notificationId) {
+        UUID id = notificationId.getValue();
+        return stripeFor(id).get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    void remove(Notification notification) {
+        UUID id = notification.getId().getValue();
+        stripeFor(id).remove(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    private Stripe stripeFor(UUID id) {
+        return stripes[hash(id.getMostSignificantBits(), id.getLeastSignificantBits()) >>> 28];
+    }
+
+    // Top bits pick the stripe, low bits the position within it
+    private static int hash(long msb, long lsb) {
+        long h = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static final class Stripe {
+        private long[] msbs = new long[INITIAL_CAPACITY];
+        private long[] lsbs = new long[INITIAL_CAPACITY];
+        private NotificationInbox[] inboxes = new NotificationInbox[INITIAL_CAPACITY]; // Null if free
+        private int size;
+
+        synchronized void put(long msb, long lsb, NotificationInbox inbox) {
+            int i = find(msb, lsb);
+            if (inboxes[i] == null) {
+                if ((size + 1) * 3 > inboxes.length * 2) {
+                    resize(inboxes.length * 2);
+                    i = find(msb, lsb);
+                }
+                msbs[i] = msb;
+                lsbs[i] = lsb;
+                size++;
+            }
+            inboxes[i] = inbox;
+        }
+
+        synchronized NotificationInbox get(long msb, long lsb) {
+            return inboxes[find(msb, lsb)];
+        }
+
+        synchronized void remove(long msb, long lsb) {
+            int free = find(msb, lsb);
+            if (inboxes[free] == null) {
+                return;
+            }
+            // Backward-shift deletion keeps every probe sequence free of gaps
+            int mask = inboxes.length - 1;
+            for (int i = (free + 1) & mask; inboxes[i] != null; i = (i + 1) & mask) {
+                int home = hash(msbs[i], lsbs[i]) & mask;
+                boolean reachable = free <= i ? free < home && home <= i : free < home || home <= i;
+                if (!reachable) {
+                    msbs[free] = msbs[i];
+                    lsbs[free] = lsbs[i];
+                    inboxes[free] = inboxes[i];
+                    free = i;
+                }
+            }
+            inboxes[free] = null;
+            size--;
+            if (inboxes.length > INITIAL_CAPACITY && size * 8 < inboxes.length) {
+                resize(inboxes.length / 2); // Give back memory after mass evictions
+            }
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized void clear() {
+            msbs = new long[INITIAL_CAPACITY];
+            lsbs = new long[INITIAL_CAPACITY];
+            inboxes = new NotificationInbox[INITIAL_CAPACITY];
+            size = 0;
+        }
+
+        // Position of the ID, or of the free entry ending its probe
+        private int find(long msb, long lsb) {
+            int mask = inboxes.length - 1;
+            for (int i = hash(msb, lsb) & mask; ; i = (i + 1) & mask) {
+                if (inboxes[i] == null || (msbs[i] == msb && lsbs[i] == lsb)) {
+                    return i;
+                }
+            }
+        }
+
+        private void resize(int capacity) {
+            long[] oldMsbs = msbs;
+            long[] oldLsbs = lsbs;
+            NotificationInbox[] oldInboxes = inboxes;
+            msbs = new long[capacity];
+            lsbs = new long[capacity];
+            inboxes = new NotificationInbox[capacity];
+            for (int j = 0; j < oldInboxes.length; j++) {
+                if (oldInboxes[j] != null) {
+                    int i = find(oldMsbs[j], oldLsbs[j]);
+                    msbs[i] = oldMsbs[j];
+                    lsbs[i] = oldLsbs[j];
+                    inboxes[i] = oldInboxes[j];
+                }
+            }
+        }
+    }
+}
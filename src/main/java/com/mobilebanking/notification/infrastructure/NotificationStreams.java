@@ -0,0 +1,382 @@
+package com.mobilebanking.notification.infrastructure;
+
+import com.mobilebanking.notification.domain.Notification;
+import com.mobilebanking.shared.domain.UserId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes notifications to connected clients, e.g. over Server-Sent Events,
+ * so apps do not have to poll for new notifications or balance changes.
+ *
+ * Every subscription has a bounded queue drained by its own virtual thread.
+ * A subscriber whose queue overflows is disconnected rather than slowing
+ * down senders; it reconnects with the ID of the last event it received and
+ * gets the events it missed from a small per-user replay log. When those are
+ * no longer available, e.g. after a restart, it gets a {@code resync} event
+ * telling it to reload its notifications and balance instead.
+ *
+ * Event IDs are {@code <epoch>-<sequence>}, the epoch being the start time
+ * of this instance, so IDs from another instance or run always resync.
+ *
+ * Events are published once the transaction that created the notification
+ * has committed, so a client reloading on an event sees the new balance.
+ * Streams are local to this instance: a notification created on another
+ * instance is not pushed to subscribers connected here. With more than one
+ * instance, clients keep polling the summary and balance at a low rate as a
+ * fallback.
+ *
+ * Exports {@code mobile_banking_notification_stream_subscriptions} and
+ * {@code mobile_banking_notification_stream_overflows_total}.
+ */
+@Component
+public class NotificationStreams {
+
+    public static final String NOTIFICATION_EVENT = "notification";
+    public static final String RESYNC_EVENT = "resync";
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationStreams.class);
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentHashMap<UserId, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriptions = new AtomicInteger();
+    private final int queueCapacity;
+    private final int replayCapacity;
+    private final long resumeWindowMs;
+    private final Counter overflows;
+
+    @Autowired
+    public NotificationStreams(
+            @Value("${notification.stream.queue-capacity:32}") int queueCapacity,
+            @Value("${notification.stream.replay-capacity:32}") int replayCapacity,
+            @Value("${notification.stream.resume-window-ms:300000}") long resumeWindowMs,
+            MeterRegistry meterRegistry) {
+        this(queueCapacity, replayCapacity, resumeWindowMs,
+                Counter.builder("mobile_banking_notification_stream_overflows_total")
+                        .description("Stream subscribers disconnected because their queue was full")
+                        .register(meterRegistry));
+        Gauge.builder("mobile_banking_notification_stream_subscriptions", subscriptions, AtomicInteger::get)
+                .description("Connected notification stream subscribers")
+                .register(meterRegistry);
+    }
+
+    NotificationStreams(int queueCapacity, int replayCapacity, long resumeWindowMs, Counter overflows) {
+        if (queueCapacity < 1 || replayCapacity < 1 || resumeWindowMs < 0) {
+            throw new IllegalArgumentException("Stream capacities must be positive");
+        }
+        this.queueCapacity = queueCapacity;
+        this.replayCapacity = replayCapacity;
+        this.resumeWindowMs = resumeWindowMs;
+        this.overflows = overflows;
+    }
+
+    /**
+     * Creates streams with default capacities and no metrics, for services
+     * constructed outside Spring.
+     *
+     * @return new streams
+     */
+    static NotificationStreams standalone() {
+        return new NotificationStreams(32, 32, 300_000, (Counter) null);
+    }
+
+    /**
+     * Subscribes a client to a user's notifications.
+     *
+     * @param userId      the user
+     * @param lastEventId the ID of the last event the client received, or
+     *                    null for a new client
+     * @param sink        where the events are sent
+     * @return the subscription, to be closed when the connection ends
+     */
+    public Subscription subscribe(UserId userId, String lastEventId, EventSink sink) {
+        Subscription[] subscription = new Subscription[1];
+        // Attach under the map's lock so the heartbeat never drops a channel being joined
+        channels.compute(userId, (id, existing) -> {
+            Channel channel = existing != null ? existing : new Channel();
+            subscription[0] = channel.attach(sink, lastEventId);
+            return channel;
+        });
+        subscriptions.incrementAndGet();
+        subscription[0].start();
+        return subscription[0];
+    }
+
+    /**
+     * Pushes a stored notification to its user's subscribers, once the
+     * current transaction, if any, has committed.
+     *
+     * @param notification the notification
+     */
+    public void publish(Notification notification) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(notification);
+                }
+            });
+        } else {
+            deliver(notification);
+        }
+    }
+
+    private void deliver(Notification notification) {
+        Channel channel = channels.get(notification.getUserId());
+        if (channel != null) {
+            channel.publish(notification);
+        } else {
+            sequence.incrementAndGet(); // A later channel then knows it missed this event
+        }
+    }
+
+    /**
+     * Sends a heartbeat to every subscriber, so proxies keep idle connections
+     * open and dead ones are detected, and drops replay logs of users that
+     * have been disconnected for longer than the resume window.
+     */
+    @Scheduled(fixedDelayString = "${notification.stream.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        long idleSince = System.currentTimeMillis() - resumeWindowMs;
+        for (UserId userId : channels.keySet()) {
+            channels.computeIfPresent(userId, (id, channel) -> channel.heartbeat(idleSince) ? channel : null);
+        }
+    }
+
+    /**
+     * Gets the number of connected subscribers.
+     *
+     * @return subscriber count
+     */
+    public int subscriberCount() {
+        return subscriptions.get();
+    }
+
+    private String nextEventId() {
+        return epoch + "-" + sequence.incrementAndGet();
+    }
+
+    private String currentEventId() {
+        return epoch + "-" + sequence.get();
+    }
+
+    // Sequence of an ID from this run, or -1 if it belongs to another run
+    private long sequenceOf(String eventId) {
+        if (eventId == null || !eventId.startsWith(epoch + "-")) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Destination of one subscriber's events, e.g. an SSE connection.
+     */
+    public interface EventSink {
+
+        /**
+         * Sends an event. Called from the subscription's own thread only.
+         *
+         * @param event the event
+         * @throws IOException if the connection is gone
+         */
+        void send(StreamEvent event) throws IOException;
+
+        /**
+         * Sends a comment that keeps the connection alive.
+         *
+         * @throws IOException if the connection is gone
+         */
+        void heartbeat() throws IOException;
+
+        /**
+         * Ends the connection.
+         */
+        void complete();
+    }
+
+    /**
+     * An event for a subscriber. The data is null for resync events.
+     */
+    public record StreamEvent(String id, String name, Notification notification) {
+    }
+
+    /**
+     * Subscribers and recent events of one user. Synchronized on itself.
+     */
+    private final class Channel {
+        private final Set<Subscription> subscribers = ConcurrentHashMap.newKeySet();
+        private final StreamEvent[] replay = new StreamEvent[replayCapacity];
+        private final long createdAfter = sequence.get(); // Earlier events of the user are unknown
+        private long published; // Events ever added to the replay log
+        private long lastActive = System.currentTimeMillis();
+
+        // Queues the missed events, or a resync, before any new event can arrive
+        synchronized Subscription attach(EventSink sink, String lastEventId) {
+            Subscription subscription = new Subscription(this, sink);
+            subscribers.add(subscription);
+            lastActive = System.currentTimeMillis();
+            if (lastEventId != null) {
+                List<StreamEvent> missed = missedAfter(sequenceOf(lastEventId));
+                if (missed == null) {
+                    subscription.offer(new StreamEvent(currentEventId(), RESYNC_EVENT, null));
+                } else {
+                    missed.forEach(subscription::offer);
+                }
+            }
+            return subscription;
+        }
+
+        // IDs are taken under the lock so the replay log stays in ID order
+        synchronized void publish(Notification notification) {
+            StreamEvent event = new StreamEvent(nextEventId(), NOTIFICATION_EVENT, notification);
+            replay[(int) (published % replayCapacity)] = event;
+            published++;
+            lastActive = System.currentTimeMillis();
+            for (Subscription subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+        }
+
+        synchronized void detach(Subscription subscription) {
+            subscribers.remove(subscription);
+            lastActive = System.currentTimeMillis();
+        }
+
+        // Returns false once the channel can be dropped
+        synchronized boolean heartbeat(long idleSince) {
+            subscribers.forEach(Subscription::heartbeat);
+            return !subscribers.isEmpty() || lastActive >= idleSince;
+        }
+
+        // Events after the given sequence, or null if some may have been lost
+        private List<StreamEvent> missedAfter(long after) {
+            if (after < createdAfter) {
+                return null;
+            }
+            long oldest = Math.max(0, published - replayCapacity);
+            if (oldest > 0 && sequenceOf(replay[(int) (oldest % replayCapacity)].id()) > after) {
+                return null; // Overwritten events may be newer than the last one seen
+            }
+            List<StreamEvent> missed = new ArrayList<>();
+            for (long i = oldest; i < published; i++) {
+                StreamEvent event = replay[(int) (i % replayCapacity)];
+                if (sequenceOf(event.id()) > after) {
+                    missed.add(event);
+                }
+            }
+            return missed;
+        }
+    }
+
+    /**
+     * One connected client. Its events are queued and sent by a virtual
+     * thread, so a slow client never blocks the sender of a notification.
+     */
+    public final class Subscription {
+        private static final StreamEvent HEARTBEAT = new StreamEvent(null, null, null);
+
+        private final Channel channel;
+        private final EventSink sink;
+        private final BlockingQueue<StreamEvent> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private volatile boolean closed;
+        private volatile boolean overflowed;
+        private volatile Thread sender;
+
+        private Subscription(Channel channel, EventSink sink) {
+            this.channel = channel;
+            this.sink = sink;
+        }
+
+        /**
+         * Ends the subscription and its connection. Safe to call repeatedly.
+         */
+        public void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            channel.detach(this);
+            subscriptions.decrementAndGet();
+            if (sender != null) {
+                sender.interrupt();
+            }
+            sink.complete();
+        }
+
+        public boolean isClosed() {
+            return closed;
+        }
+
+        private void start() {
+            sender = Thread.ofVirtual().name("notification-stream").start(this::run);
+        }
+
+        // Never closes inline: callers may hold the channel or map lock
+        private void offer(StreamEvent event) {
+            if (!closed && !overflowed && !queue.offer(event)) {
+                // Slow consumer: disconnect, it resumes from its last event ID
+                logger.debug("Notification stream queue full, disconnecting subscriber");
+                overflowed = true;
+                if (overflows != null) {
+                    overflows.increment();
+                }
+                Thread current = sender;
+                if (current != null) {
+                    current.interrupt();
+                }
+            }
+        }
+
+        // A congested connection does not need a heartbeat
+        private void heartbeat() {
+            if (!closed) {
+                queue.offer(HEARTBEAT);
+            }
+        }
+
+        private void run() {
+            try {
+                while (!closed && !overflowed) {
+                    StreamEvent event = queue.take();
+                    if (event == HEARTBEAT) {
+                        sink.heartbeat();
+                    } else {
+                        sink.send(event);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | RuntimeException e) {
+                logger.debug("Notification stream closed: {}", e.getMessage());
+            } finally {
+                close();
+            }
+        }
+    }
+}
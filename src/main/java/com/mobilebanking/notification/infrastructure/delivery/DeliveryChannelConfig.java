@@ -0,0 +1,47 @@
+package com.mobilebanking.notification.infrastructure.delivery;
+
+import com.mobilebanking.notification.domain.DeliveryChannel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Creates the adapter of each delivery channel from
+ * {@code notification.delivery.push} and {@code notification.delivery.sms}:
+ * {@code loopback}, {@code file} or {@code none}, the default. The loopback
+ * and file adapters are meant for the dev and test profiles only. Any other
+ * {@link DeliveryChannel} bean, e.g. a provider integration, is picked up by
+ * the dispatcher as well.
+ */
+@Configuration
+public class DeliveryChannelConfig {
+
+    private static final int LOOPBACK_CAPACITY = 1000;
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.delivery.push", havingValue = "loopback")
+    public DeliveryChannel loopbackPushChannel() {
+        return new LoopbackDeliveryChannel("push", LOOPBACK_CAPACITY);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.delivery.push", havingValue = "file")
+    public DeliveryChannel filePushChannel(@Value("${notification.delivery.file-directory}") Path directory) {
+        return new FileDeliveryChannel("push", directory);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.delivery.sms", havingValue = "loopback")
+    public DeliveryChannel loopbackSmsChannel() {
+        return new LoopbackDeliveryChannel("sms", LOOPBACK_CAPACITY);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.delivery.sms", havingValue = "file")
+    public DeliveryChannel fileSmsChannel(@Value("${notification.delivery.file-directory}") Path directory) {
+        return new FileDeliveryChannel("sms", directory);
+    }
+}
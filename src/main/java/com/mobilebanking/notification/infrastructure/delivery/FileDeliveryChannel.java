@@ -0,0 +1,51 @@
+package com.mobilebanking.notification.infrastructure.delivery;
+
+import com.mobilebanking.notification.domain.DeliveryChannel;
+import com.mobilebanking.notification.domain.DeliveryException;
+import com.mobilebanking.notification.domain.DeliveryMessage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * Delivery channel that appends each message as a tab-separated line to
+ * {@code <directory>/<channel>.log}, for inspecting deliveries locally
+ * without a push or SMS provider.
+ */
+public class FileDeliveryChannel implements DeliveryChannel {
+
+    private final String name;
+    private final Path file;
+
+    public FileDeliveryChannel(String name, Path directory) {
+        this.name = name;
+        this.file = directory.resolve(name + ".log");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public synchronized void deliver(DeliveryMessage message) {
+        String line = String.join("\t",
+                Instant.now().toString(),
+                message.userId().asString(),
+                message.type().name(),
+                Integer.toString(message.count()),
+                message.title(),
+                message.body()) + System.lineSeparator();
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, line, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw DeliveryException.retryable("Could not write to " + file, e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.mobilebanking.notification.infrastructure.delivery;
+
+import com.mobilebanking.notification.domain.DeliveryChannel;
+import com.mobilebanking.notification.domain.DeliveryMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-process delivery channel that keeps the most recent messages in
+ * memory instead of sending them anywhere. Used locally and as a stub in
+ * tests, where the delivered messages can be inspected.
+ */
+public class LoopbackDeliveryChannel implements DeliveryChannel {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoopbackDeliveryChannel.class);
+
+    private final String name;
+    private final int capacity;
+    private final ArrayDeque<DeliveryMessage> delivered;
+
+    public LoopbackDeliveryChannel(String name, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Loopback capacity must be positive");
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.delivered = new ArrayDeque<>(Math.min(capacity, 64));
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public synchronized void deliver(DeliveryMessage message) {
+        if (delivered.size() == capacity) {
+            delivered.removeFirst();
+        }
+        delivered.addLast(message);
+        logger.debug("{} delivered to user {}: {}", name, message.userId(), message.body());
+    }
+
+    /**
+     * Gets the most recent delivered messages, oldest first.
+     *
+     * @return a snapshot of the messages
+     */
+    public synchronized List<DeliveryMessage> getDelivered() {
+        return new ArrayList<>(delivered);
+    }
+}
@@ -0,0 +1,298 @@
+package com.mobilebanking.notification.infrastructure.delivery;
+
+import com.mobilebanking.notification.domain.DeliveryChannel;
+import com.mobilebanking.notification.domain.DeliveryException;
+import com.mobilebanking.notification.domain.DeliveryMessage;
+import com.mobilebanking.notification.domain.Notification;
+import com.mobilebanking.notification.domain.NotificationType;
+import com.mobilebanking.shared.domain.UserId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers notifications to external channels such as push and SMS, off the
+ * path of the request that caused them.
+ *
+ * Dispatching only queues the notification, after the surrounding
+ * transaction commits, so wallet operations never wait for a channel and
+ * rolled back transfers send no alerts. Each channel has its own bounded
+ * queue and delivery thread. Notifications of the same type to the same
+ * user within {@code notification.delivery.coalesce-window-ms} are delivered
+ * as one summary, e.g. "3 payments received". Failed deliveries are retried
+ * with exponential backoff; when a channel's queue is full new alerts are
+ * dropped, as they stay in the user's notification inbox anyway.
+ *
+ * Exports {@code mobile_banking_notification_deliveries_total} by channel
+ * and result, {@code mobile_banking_notifications_coalesced_total} and
+ * {@code mobile_banking_notification_delivery_queue_size}.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private final List<ChannelWorker> workers;
+
+    @Autowired
+    public NotificationDispatcher(
+            ObjectProvider<DeliveryChannel> channels,
+            @Value("${notification.delivery.queue-capacity:10000}") int queueCapacity,
+            @Value("${notification.delivery.coalesce-window-ms:2000}") long coalesceWindowMs,
+            @Value("${notification.delivery.max-attempts:5}") int maxAttempts,
+            @Value("${notification.delivery.initial-backoff-ms:500}") long initialBackoffMs,
+            @Value("${notification.delivery.max-backoff-ms:30000}") long maxBackoffMs,
+            MeterRegistry meterRegistry) {
+        this(channels.orderedStream().toList(), queueCapacity, coalesceWindowMs, maxAttempts,
+                initialBackoffMs, maxBackoffMs, meterRegistry);
+    }
+
+    NotificationDispatcher(List<DeliveryChannel> channels, int queueCapacity, long coalesceWindowMs,
+            int maxAttempts, long initialBackoffMs, long maxBackoffMs, MeterRegistry meterRegistry) {
+        if (queueCapacity < 1 || coalesceWindowMs < 0 || maxAttempts < 1 || initialBackoffMs < 1
+                || maxBackoffMs < initialBackoffMs) {
+            throw new IllegalArgumentException("Notification delivery settings must be positive");
+        }
+        this.workers = channels.stream()
+                .map(channel -> new ChannelWorker(channel, queueCapacity, coalesceWindowMs, maxAttempts,
+                        initialBackoffMs, maxBackoffMs, meterRegistry))
+                .toList();
+        workers.forEach(ChannelWorker::start);
+        if (!workers.isEmpty()) {
+            logger.info("Delivering notifications to channels: {}",
+                    channels.stream().map(DeliveryChannel::getName).toList());
+        }
+    }
+
+    /**
+     * Creates a dispatcher without channels, for services constructed
+     * outside Spring.
+     *
+     * @return a dispatcher that delivers nothing
+     */
+    public static NotificationDispatcher none() {
+        return new NotificationDispatcher(List.of(), 1, 0, 1, 1, 1, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Queues a notification for delivery to every channel, once the current
+     * transaction, if any, has committed.
+     *
+     * @param notification the notification
+     */
+    public void dispatch(Notification notification) {
+        if (workers.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(notification);
+                }
+            });
+        } else {
+            enqueue(notification);
+        }
+    }
+
+    /**
+     * Stops the delivery threads. Undelivered messages are dropped; the
+     * notifications remain in the users' inboxes.
+     */
+    @PreDestroy
+    public void shutdown() {
+        workers.forEach(ChannelWorker::stop);
+    }
+
+    private void enqueue(Notification notification) {
+        for (ChannelWorker worker : workers) {
+            worker.enqueue(notification);
+        }
+    }
+
+    private record Key(UserId userId, NotificationType type) {
+    }
+
+    /**
+     * Notifications waiting for delivery to one user under one key. Mutated
+     * only inside the pending map's compute, or by the worker once removed.
+     */
+    private static final class Batch implements Delayed {
+        private final Key key;
+        private Notification latest;
+        private int count = 1;
+        private int attempts;
+        private volatile long dueAtNanos;
+
+        Batch(Key key, Notification notification, long dueAtNanos) {
+            this.key = key;
+            this.latest = notification;
+            this.dueAtNanos = dueAtNanos;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAtNanos, ((Batch) other).dueAtNanos);
+        }
+    }
+
+    /**
+     * Queue and delivery thread of one channel.
+     */
+    private static final class ChannelWorker {
+        private final DeliveryChannel channel;
+        private final int queueCapacity;
+        private final long coalesceWindowNanos;
+        private final int maxAttempts;
+        private final long initialBackoffMs;
+        private final long maxBackoffMs;
+        private final ConcurrentHashMap<Key, Batch> pending = new ConcurrentHashMap<>(); // Still coalescing
+        private final DelayQueue<Batch> due = new DelayQueue<>();
+        private final AtomicInteger queued = new AtomicInteger(); // Batches not yet delivered or given up
+        private final Counter delivered;
+        private final Counter retried;
+        private final Counter failed;
+        private final Counter dropped;
+        private final Counter coalesced;
+        private volatile boolean stopped;
+        private Thread thread;
+
+        ChannelWorker(DeliveryChannel channel, int queueCapacity, long coalesceWindowMs, int maxAttempts,
+                long initialBackoffMs, long maxBackoffMs, MeterRegistry meterRegistry) {
+            this.channel = channel;
+            this.queueCapacity = queueCapacity;
+            this.coalesceWindowNanos = TimeUnit.MILLISECONDS.toNanos(coalesceWindowMs);
+            this.maxAttempts = maxAttempts;
+            this.initialBackoffMs = initialBackoffMs;
+            this.maxBackoffMs = maxBackoffMs;
+            this.delivered = deliveries(meterRegistry, "delivered");
+            this.retried = deliveries(meterRegistry, "retried");
+            this.failed = deliveries(meterRegistry, "failed");
+            this.dropped = deliveries(meterRegistry, "dropped");
+            this.coalesced = Counter.builder("mobile_banking_notifications_coalesced_total")
+                    .description("Notifications merged into an earlier pending delivery")
+                    .tag("channel", channel.getName())
+                    .register(meterRegistry);
+            Gauge.builder("mobile_banking_notification_delivery_queue_size", queued, AtomicInteger::get)
+                    .description("Deliveries waiting to be sent or retried")
+                    .tag("channel", channel.getName())
+                    .register(meterRegistry);
+        }
+
+        private Counter deliveries(MeterRegistry meterRegistry, String result) {
+            return Counter.builder("mobile_banking_notification_deliveries_total")
+                    .description("Notification deliveries to external channels by result")
+                    .tag("channel", channel.getName())
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+
+        void start() {
+            thread = Thread.ofVirtual().name("notification-delivery-" + channel.getName()).start(this::run);
+        }
+
+        void stop() {
+            stopped = true;
+            thread.interrupt();
+            int undelivered = queued.get();
+            if (undelivered > 0) {
+                logger.warn("Dropping {} undelivered {} notifications on shutdown", undelivered, channel.getName());
+            }
+        }
+
+        void enqueue(Notification notification) {
+            boolean[] full = new boolean[1];
+            pending.compute(new Key(notification.getUserId(), notification.getType()), (key, batch) -> {
+                if (batch != null) {
+                    batch.latest = notification;
+                    batch.count++;
+                    coalesced.increment();
+                    return batch;
+                }
+                if (queued.get() >= queueCapacity) {
+                    full[0] = true;
+                    return null;
+                }
+                queued.incrementAndGet();
+                Batch created = new Batch(key, notification, System.nanoTime() + coalesceWindowNanos);
+                due.add(created);
+                return created;
+            });
+            if (full[0]) {
+                dropped.increment();
+                logger.debug("{} delivery queue is full, dropping {}", channel.getName(), notification.getId());
+            }
+        }
+
+        private void run() {
+            while (!stopped) {
+                Batch batch;
+                try {
+                    batch = due.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (batch.attempts == 0) {
+                    // Under the map's lock, so later notifications start a new batch
+                    pending.remove(batch.key, batch);
+                }
+                deliver(batch);
+            }
+        }
+
+        private void deliver(Batch batch) {
+            batch.attempts++;
+            try {
+                channel.deliver(DeliveryMessage.of(batch.latest, batch.count));
+                delivered.increment();
+                queued.decrementAndGet();
+            } catch (RuntimeException e) {
+                boolean retryable = !(e instanceof DeliveryException failure) || failure.isRetryable();
+                if (retryable && batch.attempts < maxAttempts) {
+                    long backoffMs = backoffMs(batch.attempts);
+                    logger.debug("{} delivery failed, retrying in {} ms: {}", channel.getName(), backoffMs,
+                            e.getMessage());
+                    batch.dueAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMs);
+                    retried.increment();
+                    due.add(batch);
+                } else {
+                    logger.warn("Giving up {} delivery to user {} after {} attempts: {}", channel.getName(),
+                            batch.key.userId(), batch.attempts, e.getMessage());
+                    failed.increment();
+                    queued.decrementAndGet();
+                }
+            }
+        }
+
+        // Exponential with jitter, so a recovering channel is not hit by every retry at once
+        private long backoffMs(int attempts) {
+            long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 30));
+            return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        }
+    }
+}
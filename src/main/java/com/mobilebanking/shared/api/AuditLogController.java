@@ -1,9 +1,18 @@
 package com.mobilebanking.shared.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mobilebanking.shared.api.dto.AuditLogPageResponse;
 import com.mobilebanking.shared.domain.AuditActionType;
+import com.mobilebanking.shared.domain.AuditChainVerification;
 import com.mobilebanking.shared.domain.AuditEntityType;
 import com.mobilebanking.shared.domain.AuditLog;
+import com.mobilebanking.shared.domain.AuditLogFilter;
+import com.mobilebanking.shared.domain.AuditLogPage;
 import com.mobilebanking.shared.domain.AuditService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -12,6 +21,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -24,17 +37,97 @@ import java.util.List;
 @PreAuthorize("hasRole('ADMIN')")
 public class AuditLogController {
 
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogController.class);
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String DEPRECATION = "Deprecation";
+    private static final String TRUNCATED = "X-Truncated"; // True if older logs were left out
+
     private final AuditService auditService;
+    private final ObjectWriter logWriter;
 
-    public AuditLogController(AuditService auditService) {
+    public AuditLogController(AuditService auditService, ObjectMapper objectMapper) {
         this.auditService = auditService;
+        this.logWriter = objectMapper.writerFor(AuditLog.class);
     }
 
+    /**
+     * Gets one page of the audit logs matching any combination of filters,
+     * most recent first. Pass the page's {@code nextCursor} to get the next
+     * one; pages are read by keyset, so deep pages cost the same as the first.
+     */
+    @GetMapping
+    public ResponseEntity<AuditLogPageResponse> getAuditLogPage(
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String actionType,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) String entityId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+
+        try {
+            AuditLogFilter filter = filter(userId, actionType, entityType, entityId, startDate, endDate);
+            return ResponseEntity.ok(AuditLogPageResponse.fromDomain(
+                    auditService.getAuditLogPage(filter, cursor, Math.min(limit, MAX_PAGE_SIZE))));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid audit log page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Exports the audit logs matching the filters as newline-delimited JSON,
+     * one log per line. Logs are written as they are read, so the export
+     * never holds the result in memory.
+     */
+    @GetMapping("/export")
+    public void exportAuditLogs(
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String actionType,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) String entityId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            HttpServletResponse response) throws IOException {
+
+        AuditLogFilter filter;
+        try {
+            filter = filter(userId, actionType, entityType, entityId, startDate, endDate);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid audit log export request: {}", e.getMessage());
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        try (OutputStream out = new BufferedOutputStream(response.getOutputStream(), 64 * 1024)) {
+            long exported = auditService.exportAuditLogs(filter, log -> {
+                try {
+                    out.write(logWriter.writeValueAsBytes(log));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            logger.info("Exported {} audit logs for {}", exported, filter);
+        }
+    }
+
+    /**
+     * Gets the most recent audit logs of a user, at most
+     * {@value #MAX_PAGE_SIZE}; the response is marked truncated when there
+     * are more.
+     *
+     * @deprecated use {@link #getAuditLogPage} with {@code userId} and
+     *             follow its cursor to reach the older logs
+     */
+    @Deprecated
     @GetMapping("/user/{userId}")
-    @Audited(action = AuditActionType.TRANSACTION_HISTORY_VIEWED, entity = AuditEntityType.USER, description = "Admin viewed user audit logs")
+    @Audited(action = AuditActionType.ADMIN_DATA_VIEWED, entity = AuditEntityType.USER, description = "Admin viewed user audit logs")
     public ResponseEntity<List<AuditLog>> getUserAuditLogs(@PathVariable String userId) {
-        List<AuditLog> logs = auditService.getUserAuditLogs(userId);
-        return ResponseEntity.ok(logs);
+        return capped(auditService.getAuditLogPage(AuditLogFilter.byUser(userId), null, MAX_PAGE_SIZE));
     }
 
     @GetMapping("/user/{userId}/paged")
@@ -44,45 +137,106 @@ public class AuditLogController {
             @RequestParam(defaultValue = "20") int size) {
 
         PageRequest pageRequest = PageRequest.of(
-                page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+                page, Math.min(size, MAX_PAGE_SIZE), Sort.by(Sort.Direction.DESC, "createdAt"));
 
         Page<AuditLog> logs = auditService.getUserAuditLogs(userId, pageRequest);
         return ResponseEntity.ok(logs);
     }
 
+    /**
+     * Gets the most recent audit logs of an action, at most
+     * {@value #MAX_PAGE_SIZE}.
+     *
+     * @deprecated use {@link #getAuditLogPage} with {@code actionType}
+     */
+    @Deprecated
     @GetMapping("/action/{actionType}")
     public ResponseEntity<List<AuditLog>> getAuditLogsByActionType(
             @PathVariable String actionType) {
 
         try {
             AuditActionType type = AuditActionType.valueOf(actionType);
-            List<AuditLog> logs = auditService.getAuditLogsByActionType(type);
-            return ResponseEntity.ok(logs);
+            return capped(auditService.getAuditLogPage(AuditLogFilter.byActionType(type), null, MAX_PAGE_SIZE));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    /**
+     * Gets the most recent audit logs of an entity, at most
+     * {@value #MAX_PAGE_SIZE}.
+     *
+     * @deprecated use {@link #getAuditLogPage} with {@code entityType} and
+     *             {@code entityId}
+     */
+    @Deprecated
     @GetMapping("/entity/{entityType}/{entityId}")
     public ResponseEntity<List<AuditLog>> getEntityAuditLogs(
             @PathVariable String entityType,
             @PathVariable String entityId) {
-        
+
         try {
             AuditEntityType type = AuditEntityType.valueOf(entityType);
-            List<AuditLog> logs = auditService.getEntityAuditLogs(type, entityId);
-            return ResponseEntity.ok(logs);
+            return capped(auditService.getAuditLogPage(
+                    AuditLogFilter.byEntity(type, entityId), null, MAX_PAGE_SIZE));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
-@GetMapping("/date-range")
+    /**
+     * Gets the most recent audit logs of a date range, including archived
+     * days, at most {@value #MAX_PAGE_SIZE}.
+     *
+     * @deprecated use {@link #getAuditLogPage} with {@code startDate} and
+     *             {@code endDate} for the days still in the table
+     */
+    @Deprecated
+    @GetMapping("/date-range")
     public ResponseEntity<List<AuditLog>> getAuditLogsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        
-        List<AuditLog> logs = auditService.getAuditLogsByDateRange(startDate, endDate);
-        return ResponseEntity.ok(logs);
+
+        if (startDate.isAfter(endDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        // One extra log tells whether the result was cut short
+        List<AuditLog> logs = auditService.getAuditLogsByDateRange(startDate, endDate, MAX_PAGE_SIZE + 1);
+        return capped(logs.size() > MAX_PAGE_SIZE ? logs.subList(0, MAX_PAGE_SIZE) : logs,
+                logs.size() > MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Verifies that the audit logs of a date range have not been altered,
+     * removed or reordered since they were written.
+     */
+    @GetMapping("/verify")
+    public ResponseEntity<AuditChainVerification> verifyAuditChain(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+
+        if (startDate.isAfter(endDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(auditService.verifyAuditChain(startDate, endDate));
+    }
+
+    private static ResponseEntity<List<AuditLog>> capped(AuditLogPage page) {
+        return capped(page.getLogs(), page.hasMore());
+    }
+
+    private static ResponseEntity<List<AuditLog>> capped(List<AuditLog> logs, boolean truncated) {
+        return ResponseEntity.ok()
+                .header(DEPRECATION, "true")
+                .header(TRUNCATED, Boolean.toString(truncated))
+                .body(logs);
+    }
+
+    private static AuditLogFilter filter(String userId, String actionType, String entityType, String entityId,
+            LocalDateTime startDate, LocalDateTime endDate) {
+        return new AuditLogFilter(userId,
+                actionType != null ? AuditActionType.valueOf(actionType) : null,
+                entityType != null ? AuditEntityType.valueOf(entityType) : null,
+                entityId, startDate, endDate);
     }
-}
\ No newline at end of file
+}
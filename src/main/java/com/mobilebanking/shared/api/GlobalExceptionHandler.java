@@ -1,8 +1,11 @@
 package com.mobilebanking.shared.api;
 
 import com.mobilebanking.auth.domain.exception.InvalidCredentialsException;
+import com.mobilebanking.auth.domain.exception.InvalidRefreshTokenException;
+import com.mobilebanking.auth.domain.exception.LoginThrottledException;
 import com.mobilebanking.shared.api.dto.ErrorResponse;
 import com.mobilebanking.shared.domain.exception.*;
+import com.mobilebanking.user.domain.exception.UserImportInProgressException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
@@ -38,6 +41,7 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     private static final String ERROR_UNAUTHORIZED = "Unauthorized";
     private static final String ERROR_FORBIDDEN = "Forbidden";
     private static final String ERROR_CONFLICT = "Conflict";
+    private static final String ERROR_TOO_MANY_REQUESTS = "Too Many Requests";
     private static final String ERROR_INTERNAL = "Internal Server Error";
 
     // Common response messages
@@ -304,6 +308,86 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    /**
+     * Handle unusable refresh tokens.
+     */
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRefreshToken(
+            InvalidRefreshTokenException ex,
+            WebRequest request) {
+
+        logger.warn("Invalid refresh token: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.UNAUTHORIZED.value(),
+                ERROR_UNAUTHORIZED,
+                ex.getMessage(),
+                ((ServletWebRequest) request).getRequest().getRequestURI());
+
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
+    }
+
+    /**
+     * Handle rate-limited login attempts.
+     */
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<ErrorResponse> handleLoginThrottled(
+            LoginThrottledException ex,
+            WebRequest request) {
+
+        logger.warn("Login throttled: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                ERROR_TOO_MANY_REQUESTS,
+                ex.getMessage(),
+                ((ServletWebRequest) request).getRequest().getRequestURI());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    /**
+     * Handle a saturated PIN hashing pool.
+     */
+    @ExceptionHandler(HashingCapacityExceededException.class)
+    public ResponseEntity<ErrorResponse> handleHashingCapacityExceeded(
+            HashingCapacityExceededException ex,
+            WebRequest request) {
+
+        logger.warn("Hashing capacity exceeded: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                ERROR_TOO_MANY_REQUESTS,
+                ex.getMessage(),
+                ((ServletWebRequest) request).getRequest().getRequestURI());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
+    /**
+     * Handle an import submitted while it is still running.
+     */
+    @ExceptionHandler(UserImportInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleUserImportInProgress(
+            UserImportInProgressException ex,
+            WebRequest request) {
+
+        logger.warn("User import in progress: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                ERROR_CONFLICT,
+                ex.getMessage(),
+                ((ServletWebRequest) request).getRequest().getRequestURI());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
     /**
      * Handle Spring Security authentication exceptions.
      */
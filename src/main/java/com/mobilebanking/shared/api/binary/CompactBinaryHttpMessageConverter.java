@@ -0,0 +1,102 @@
+package com.mobilebanking.shared.api.binary;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Write-only message converter producing the compact protobuf wire
+ * representation of {@link ProtobufEncodable} responses. Selected when the
+ * client sends {@code Accept: application/x-protobuf}; JSON stays the default.
+ *
+ * Lists of encodable elements are written as a message with the elements in
+ * repeated field 1.
+ */
+public class CompactBinaryHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final String APPLICATION_X_PROTOBUF_VALUE = "application/x-protobuf";
+    public static final MediaType APPLICATION_X_PROTOBUF = MediaType.parseMediaType(APPLICATION_X_PROTOBUF_VALUE);
+
+    public CompactBinaryHttpMessageConverter() {
+        super(APPLICATION_X_PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ProtobufEncodable.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        ResolvableType resolved = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        if (List.class.isAssignableFrom(resolved.toClass())) {
+            return ProtobufEncodable.class.isAssignableFrom(resolved.getGeneric(0).toClass());
+        }
+        return supports(resolved.toClass());
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        byte[] encoded = encode(body);
+        outputMessage.getHeaders().setContentLength(encoded.length);
+        outputMessage.getBody().write(encoded);
+    }
+
+    /**
+     * Encodes a supported body to its wire representation.
+     *
+     * @param body an encodable object or a list of them
+     * @return the encoded bytes
+     * @throws HttpMessageNotWritableException if the body is not supported
+     */
+    public static byte[] encode(Object body) {
+        ProtobufWriter writer = new ProtobufWriter(256);
+        if (body instanceof ProtobufEncodable encodable) {
+            encodable.writeTo(writer);
+        } else if (body instanceof List<?> elements) {
+            for (Object element : elements) {
+                if (!(element instanceof ProtobufEncodable encodable)) {
+                    throw new HttpMessageNotWritableException("Unsupported list element: " + element);
+                }
+                writer.writeMessage(1, encodable);
+            }
+        } else {
+            throw new HttpMessageNotWritableException("Unsupported body type: " + body.getClass().getName());
+        }
+        return writer.toByteArray();
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("Compact binary requests are not supported", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("Compact binary requests are not supported", inputMessage);
+    }
+}
@@ -0,0 +1,35 @@
+package com.mobilebanking.shared.api.binary;
+
+/**
+ * Implemented by response DTOs that have a compact binary representation.
+ * The field layout of each implementation is described in
+ * {@code src/main/resources/proto/mobile_banking.proto}.
+ */
+public interface ProtobufEncodable {
+
+    /**
+     * Writes this object's fields to the given writer.
+     *
+     * @param writer the writer to encode into
+     */
+    void writeTo(ProtobufWriter writer);
+
+    /**
+     * Writes the status/message/data envelope shared by the wallet responses.
+     * The message is only written for errors since success messages are fixed
+     * strings.
+     *
+     * @param writer  the writer to encode into
+     * @param status  the response status, "success" or "error"
+     * @param message the response message
+     * @param data    the response payload, may be null
+     */
+    static void writeEnvelope(ProtobufWriter writer, String status, String message, ProtobufEncodable data) {
+        boolean success = "success".equals(status);
+        writer.writeVarint(1, success ? 1 : 2);
+        if (!success) {
+            writer.writeString(2, message);
+        }
+        writer.writeMessage(3, data);
+    }
+}
@@ -0,0 +1,187 @@
+package com.mobilebanking.shared.api.binary;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Minimal encoder for the protocol buffers wire format.
+ * Supports the handful of field kinds our response messages need: varints,
+ * booleans, strings, raw bytes, UUIDs as 16 bytes and nested messages.
+ * Following proto3 semantics, fields holding their default value are not
+ * written.
+ */
+public final class ProtobufWriter {
+
+    private static final int WIRE_TYPE_VARINT = 0;
+    private static final int WIRE_TYPE_LENGTH_DELIMITED = 2;
+
+    private byte[] buffer;
+    private int position;
+
+    public ProtobufWriter() {
+        this(128);
+    }
+
+    public ProtobufWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    /**
+     * Writes an int32/int64/uint64/enum field as a varint.
+     *
+     * @param fieldNumber the field number
+     * @param value       the value, skipped when zero
+     * @return this writer
+     */
+    public ProtobufWriter writeVarint(int fieldNumber, long value) {
+        if (value != 0) {
+            writeTag(fieldNumber, WIRE_TYPE_VARINT);
+            writeRawVarint(value);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a bool field.
+     *
+     * @param fieldNumber the field number
+     * @param value       the value, skipped when false
+     * @return this writer
+     */
+    public ProtobufWriter writeBool(int fieldNumber, boolean value) {
+        return writeVarint(fieldNumber, value ? 1 : 0);
+    }
+
+    /**
+     * Writes a monetary amount as an int64 number of minor units (cents).
+     *
+     * @param fieldNumber the field number
+     * @param amount      the amount in major units
+     * @return this writer
+     */
+    public ProtobufWriter writeCents(int fieldNumber, double amount) {
+        return writeVarint(fieldNumber, Math.round(amount * 100));
+    }
+
+    /**
+     * Writes a UTF-8 string field.
+     *
+     * @param fieldNumber the field number
+     * @param value       the value, skipped when null or empty
+     * @return this writer
+     */
+    public ProtobufWriter writeString(int fieldNumber, String value) {
+        if (value != null && !value.isEmpty()) {
+            writeBytes(fieldNumber, value.getBytes(StandardCharsets.UTF_8));
+        }
+        return this;
+    }
+
+    /**
+     * Writes a UUID string as a 16 byte big-endian bytes field.
+     *
+     * @param fieldNumber the field number
+     * @param uuid        the UUID in its canonical string form, skipped when null
+     * @return this writer
+     * @throws IllegalArgumentException if the value is not a UUID
+     */
+    public ProtobufWriter writeUuid(int fieldNumber, String uuid) {
+        if (uuid == null) {
+            return this;
+        }
+        UUID value = UUID.fromString(uuid);
+        writeTag(fieldNumber, WIRE_TYPE_LENGTH_DELIMITED);
+        writeRawVarint(16);
+        ensureCapacity(16);
+        writeLongBigEndian(value.getMostSignificantBits());
+        writeLongBigEndian(value.getLeastSignificantBits());
+        return this;
+    }
+
+    /**
+     * Writes a bytes field.
+     *
+     * @param fieldNumber the field number
+     * @param value       the value, skipped when null
+     * @return this writer
+     */
+    public ProtobufWriter writeBytes(int fieldNumber, byte[] value) {
+        if (value == null) {
+            return this;
+        }
+        writeTag(fieldNumber, WIRE_TYPE_LENGTH_DELIMITED);
+        writeRawVarint(value.length);
+        writeRawBytes(value, 0, value.length);
+        return this;
+    }
+
+    /**
+     * Writes a nested message field. Used for repeated message fields by calling
+     * it once per element.
+     *
+     * @param fieldNumber the field number
+     * @param message     the nested message, skipped when null
+     * @return this writer
+     */
+    public ProtobufWriter writeMessage(int fieldNumber, ProtobufEncodable message) {
+        if (message == null) {
+            return this;
+        }
+        ProtobufWriter nested = new ProtobufWriter(64);
+        message.writeTo(nested);
+        writeTag(fieldNumber, WIRE_TYPE_LENGTH_DELIMITED);
+        writeRawVarint(nested.position);
+        writeRawBytes(nested.buffer, 0, nested.position);
+        return this;
+    }
+
+    /**
+     * Returns the number of bytes written so far.
+     *
+     * @return the encoded size
+     */
+    public int size() {
+        return position;
+    }
+
+    /**
+     * Returns a copy of the encoded bytes.
+     *
+     * @return the encoded message
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void writeTag(int fieldNumber, int wireType) {
+        writeRawVarint(((long) fieldNumber << 3) | wireType);
+    }
+
+    private void writeRawVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeLongBigEndian(long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void writeRawBytes(byte[] source, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(source, offset, buffer, position, length);
+        position += length;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (position + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+        }
+    }
+}
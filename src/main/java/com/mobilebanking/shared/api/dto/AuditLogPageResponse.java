@@ -0,0 +1,58 @@
+package com.mobilebanking.shared.api.dto;
+
+import com.mobilebanking.shared.domain.AuditLog;
+import com.mobilebanking.shared.domain.AuditLogPage;
+
+import java.util.List;
+
+/**
+ * Response DTO for one page of audit logs, most recent first.
+ */
+public class AuditLogPageResponse {
+
+    private List<AuditLog> logs;
+    private String nextCursor;
+    private boolean hasMore;
+
+    // Default constructor for JSON deserialization
+    public AuditLogPageResponse() {
+    }
+
+    public AuditLogPageResponse(List<AuditLog> logs, String nextCursor, boolean hasMore) {
+        this.logs = logs;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Creates an AuditLogPageResponse from a domain AuditLogPage.
+     */
+    public static AuditLogPageResponse fromDomain(AuditLogPage page) {
+        return new AuditLogPageResponse(page.getLogs(), page.getNextCursor(), page.hasMore());
+    }
+
+    // Getters and setters
+    public List<AuditLog> getLogs() {
+        return logs;
+    }
+
+    public void setLogs(List<AuditLog> logs) {
+        this.logs = logs;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
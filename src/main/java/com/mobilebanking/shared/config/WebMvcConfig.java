@@ -0,0 +1,23 @@
+package com.mobilebanking.shared.config;
+
+import com.mobilebanking.shared.api.binary.CompactBinaryHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Spring MVC configuration.
+ * Registers the compact binary representation after the default converters so
+ * JSON remains the response format unless a client asks for
+ * {@code application/x-protobuf}.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new CompactBinaryHttpMessageConverter());
+    }
+}
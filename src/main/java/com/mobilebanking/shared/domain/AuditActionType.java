@@ -21,7 +21,11 @@ public enum AuditActionType {
 
     // System actions
     SYSTEM_ERROR,
-    CONFIGURATION_CHANGED;
+    CONFIGURATION_CHANGED,
+
+    // Other changes, and reads of back-office data such as the audit logs
+    DATA_MODIFIED,
+    ADMIN_DATA_VIEWED;
 
     @Override
     public String toString() {
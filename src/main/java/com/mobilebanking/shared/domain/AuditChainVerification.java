@@ -0,0 +1,12 @@
+package com.mobilebanking.shared.domain;
+
+/**
+ * Outcome of verifying the tamper-evident chain over audit logs.
+ *
+ * @param valid    whether every checked log is intact and linked
+ * @param records  logs checked
+ * @param archived logs already moved out of the store to the archive, and not checked
+ * @param problem  the first problem found, or null
+ */
+public record AuditChainVerification(boolean valid, long records, long archived, String problem) {
+}
@@ -0,0 +1,36 @@
+package com.mobilebanking.shared.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Immutable record of one audited action, captured on the request thread and
+ * written to {@code audit_logs} later. The ID and timestamp are fixed when
+ * the action happens, not when the row is written.
+ */
+public record AuditEvent(String id, String userId, String actionType, String entityType,
+        String entityId, String details, String ipAddress, LocalDateTime createdAt) {
+
+    public AuditEvent {
+        if (id == null || actionType == null || entityType == null || createdAt == null) {
+            throw new IllegalArgumentException("Audit event ID, action, entity type and time are required");
+        }
+    }
+
+    /**
+     * Creates an event for an action of a user.
+     */
+    public static AuditEvent of(String userId, AuditActionType actionType, AuditEntityType entityType,
+            String entityId, String details, String ipAddress) {
+        return new AuditEvent(UUID.randomUUID().toString(), userId, actionType.toString(),
+                entityType.toString(), entityId, details, ipAddress, LocalDateTime.now());
+    }
+
+    /**
+     * Creates an event for a system action (no user context).
+     */
+    public static AuditEvent system(AuditActionType actionType, AuditEntityType entityType,
+            String entityId, String details) {
+        return of(null, actionType, entityType, entityId, details, null);
+    }
+}
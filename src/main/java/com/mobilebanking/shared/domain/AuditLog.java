@@ -68,6 +68,15 @@ public class AuditLog {
         return new AuditLog(null, actionType, entityType, entityId, details, null);
     }
 
+    // Factory method for audit logs read back from an archive
+    public static AuditLog reconstitute(String id, String userId, String actionType, String entityType,
+            String entityId, String details, String ipAddress, LocalDateTime createdAt) {
+        AuditLog auditLog = new AuditLog(userId, actionType, entityType, entityId, details, ipAddress);
+        auditLog.id = id;
+        auditLog.createdAt = createdAt;
+        return auditLog;
+    }
+
     // Getters
     public String getId() {
         return id;
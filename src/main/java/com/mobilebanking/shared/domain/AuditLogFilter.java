@@ -0,0 +1,37 @@
+package com.mobilebanking.shared.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Criteria for paged and exported audit log queries. Null fields match
+ * anything, so the criteria can be combined freely; the time range is
+ * inclusive.
+ */
+public record AuditLogFilter(String userId, AuditActionType actionType, AuditEntityType entityType,
+        String entityId, LocalDateTime startDate, LocalDateTime endDate) {
+
+    public AuditLogFilter {
+        if (entityId != null && entityType == null) {
+            throw new IllegalArgumentException("An entity ID needs an entity type");
+        }
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+    }
+
+    public static AuditLogFilter byUser(String userId) {
+        return new AuditLogFilter(userId, null, null, null, null, null);
+    }
+
+    public static AuditLogFilter byActionType(AuditActionType actionType) {
+        return new AuditLogFilter(null, actionType, null, null, null, null);
+    }
+
+    public static AuditLogFilter byEntity(AuditEntityType entityType, String entityId) {
+        return new AuditLogFilter(null, null, entityType, entityId, null, null);
+    }
+
+    public static AuditLogFilter between(LocalDateTime startDate, LocalDateTime endDate) {
+        return new AuditLogFilter(null, null, null, null, startDate, endDate);
+    }
+}
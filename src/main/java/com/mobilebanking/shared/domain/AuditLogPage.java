@@ -0,0 +1,37 @@
+package com.mobilebanking.shared.domain;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One page of audit logs, most recent first.
+ *
+ * The cursor is an opaque string issued by the audit store, naming the last
+ * log on the page; the next page starts after it.
+ */
+public final class AuditLogPage {
+
+    private final List<AuditLog> logs;
+    private final String nextCursor;
+
+    public AuditLogPage(List<AuditLog> logs, String nextCursor) {
+        this.logs = List.copyOf(Objects.requireNonNull(logs, "Audit logs cannot be null"));
+        this.nextCursor = nextCursor;
+    }
+
+    public List<AuditLog> getLogs() {
+        return logs;
+    }
+
+    /**
+     * @return the cursor to request the next page with, or null if this is
+     *         the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for audit logging operations.
@@ -52,4 +53,38 @@ public interface AuditService {
      * Get audit logs within a date range.
      */
     List<AuditLog> getAuditLogsByDateRange(LocalDateTime startDate, LocalDateTime endDate);
-}
\ No newline at end of file
+
+    /**
+     * Get the most recent audit logs within a date range, holding at most
+     * {@code limit} of them in memory.
+     *
+     * @param limit maximum number of logs returned
+     */
+    List<AuditLog> getAuditLogsByDateRange(LocalDateTime startDate, LocalDateTime endDate, int limit);
+
+    /**
+     * Get one page of the audit logs matching a filter, most recent first.
+     *
+     * @param filter the criteria
+     * @param cursor next cursor of the previous page, or null for the first page
+     * @param limit  maximum number of logs on the page
+     * @throws IllegalArgumentException if the cursor is malformed or the limit not positive
+     */
+    AuditLogPage getAuditLogPage(AuditLogFilter filter, String cursor, int limit);
+
+    /**
+     * Stream all audit logs matching a filter to a consumer without holding
+     * them in memory. The order is up to the store.
+     *
+     * @return the number of logs exported
+     */
+    long exportAuditLogs(AuditLogFilter filter, Consumer<AuditLog> consumer);
+
+    /**
+     * Verify that the audit logs around a date range have not been altered,
+     * removed or reordered.
+     *
+     * @throws IllegalStateException if the store keeps no tamper-evident chain
+     */
+    AuditChainVerification verifyAuditChain(LocalDateTime startDate, LocalDateTime endDate);
+}
@@ -3,7 +3,6 @@ package com.mobilebanking.shared.domain;
 import com.mobilebanking.shared.domain.exception.InvalidPhoneNumberException;
 import jakarta.persistence.Embeddable;
 import java.util.Objects;
-import java.util.regex.Pattern;
 
 /**
  * PhoneNumber value object that handles phone number validation and formatting.
@@ -11,7 +10,6 @@ import java.util.regex.Pattern;
  */
 @Embeddable
 public final class PhoneNumber {
-    private static final Pattern PHONE_PATTERN = Pattern.compile("^\\+?[1-9]\\d{1,14}$");
     private static final int MIN_LENGTH = 7;
     private static final int MAX_LENGTH = 15;
 
@@ -51,8 +49,21 @@ public final class PhoneNumber {
      * @return normalized phone number
      */
     private static String normalize(String phoneNumber) {
-        return phoneNumber.trim()
-                .replaceAll("[\\s\\-\\(\\)]", "");
+        String trimmed = phoneNumber.trim();
+        StringBuilder normalized = new StringBuilder(trimmed.length());
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (!isSeparator(c)) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static boolean isSeparator(char c) {
+        // Same characters as the regex class [\s\-()]
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r'
+                || c == '-' || c == '(' || c == ')';
     }
 
     /**
@@ -69,11 +80,27 @@ public final class PhoneNumber {
             throw InvalidPhoneNumberException.invalidLength(MIN_LENGTH, MAX_LENGTH);
         }
 
-        if (!PHONE_PATTERN.matcher(phoneNumber).matches()) {
+        if (!hasValidFormat(digitsOnly)) {
             throw InvalidPhoneNumberException.invalidFormat();
         }
     }
 
+    /**
+     * Checks the digits against {@code [1-9]\\d*} without a regex.
+     */
+    private static boolean hasValidFormat(String digitsOnly) {
+        if (digitsOnly.isEmpty() || digitsOnly.charAt(0) < '1' || digitsOnly.charAt(0) > '9') {
+            return false;
+        }
+        for (int i = 1; i < digitsOnly.length(); i++) {
+            char c = digitsOnly.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Gets the phone number value.
      * 
@@ -0,0 +1,17 @@
+package com.mobilebanking.shared.domain.exception;
+
+/**
+ * Exception thrown when the PIN hashing pool cannot accept more work.
+ * Callers should retry after a short delay.
+ */
+public class HashingCapacityExceededException extends DomainException {
+    private static final String ERROR_CODE = "HASHING_CAPACITY_EXCEEDED";
+
+    private HashingCapacityExceededException(String message) {
+        super(ERROR_CODE, message);
+    }
+
+    public static HashingCapacityExceededException queueFull() {
+        return new HashingCapacityExceededException("Too many authentication requests, please retry shortly");
+    }
+}
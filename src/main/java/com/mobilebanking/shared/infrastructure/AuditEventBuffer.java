@@ -0,0 +1,113 @@
+package com.mobilebanking.shared.infrastructure;
+
+import com.mobilebanking.shared.domain.AuditEvent;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer of audit events with many producers and one
+ * consumer at a time.
+ *
+ * Every slot carries a sequence number telling whose turn it is: a producer
+ * claims position {@code p} with a CAS on the tail once the slot's sequence
+ * is {@code p}, stores the event and publishes it by setting the sequence to
+ * {@code p + 1}; the consumer takes it and hands the slot to the next lap by
+ * setting the sequence to {@code p + capacity}. Producers never wait on each
+ * other or on the consumer; a full buffer is reported to the caller.
+ */
+final class AuditEventBuffer {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<AuditEvent> events;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    /**
+     * @param capacity minimum number of events held, rounded up to a power of two
+     */
+    AuditEventBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Audit buffer capacity must be between 1 and 2^30");
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.events = new AtomicReferenceArray<>(this.capacity);
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an event without blocking.
+     *
+     * @param event the event
+     * @return false if the buffer is full
+     */
+    boolean offer(AuditEvent event) {
+        long position = tail.get();
+        while (true) {
+            long turn = sequences.get((int) position & mask) - position;
+            if (turn == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (turn < 0) {
+                return false; // The consumer has not freed this slot yet
+            } else {
+                position = tail.get(); // Another producer took it
+            }
+        }
+        int slot = (int) position & mask;
+        events.set(slot, event);
+        sequences.set(slot, position + 1);
+        return true;
+    }
+
+    /**
+     * Moves published events to a list, oldest first. Stops early at an
+     * event whose producer has claimed but not yet filled its slot.
+     *
+     * @param drained where the events are added
+     * @param max     maximum number of events to move
+     * @return the number of events moved
+     */
+    synchronized int drainTo(List<AuditEvent> drained, int max) {
+        long position = head;
+        int count = 0;
+        while (count < max) {
+            int slot = (int) position & mask;
+            if (sequences.get(slot) != position + 1) {
+                break;
+            }
+            drained.add(events.get(slot));
+            events.set(slot, null);
+            sequences.set(slot, position + capacity);
+            position++;
+            count++;
+        }
+        head = position;
+        return count;
+    }
+
+    /**
+     * Gets the number of claimed slots, including ones still being filled.
+     */
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,75 @@
+package com.mobilebanking.shared.infrastructure;
+
+import com.mobilebanking.shared.domain.AuditEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Text form of audit events in spill and archive files: one line per event,
+ * fields separated by tabs, with backslash escapes for tabs, line breaks and
+ * backslashes, and {@code \N} for null.
+ */
+final class AuditEventCodec {
+
+    private static final int FIELDS = 8;
+    private static final String NULL_FIELD = "\\N";
+
+    private AuditEventCodec() {
+    }
+
+    static String encode(AuditEvent event) {
+        return String.join("\t", escape(event.id()), escape(event.userId()), escape(event.actionType()),
+                escape(event.entityType()), escape(event.entityId()), escape(event.details()),
+                escape(event.ipAddress()), event.createdAt().toString());
+    }
+
+    static AuditEvent decode(String line) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length != FIELDS) {
+            throw new IllegalArgumentException("Malformed audit event line");
+        }
+        return new AuditEvent(unescape(fields[0]), unescape(fields[1]), unescape(fields[2]),
+                unescape(fields[3]), unescape(fields[4]), unescape(fields[5]), unescape(fields[6]),
+                LocalDateTime.parse(fields[7]));
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return NULL_FIELD;
+        }
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case '\t' -> escaped.append("\\t");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static String unescape(String value) {
+        if (value.equals(NULL_FIELD)) {
+            return null;
+        }
+        StringBuilder unescaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                unescaped.append(switch (next) {
+                    case 't' -> '\t';
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    default -> next;
+                });
+            } else {
+                unescaped.append(c);
+            }
+        }
+        return unescaped.toString();
+    }
+}
@@ -0,0 +1,486 @@
+package com.mobilebanking.shared.infrastructure;
+
+import com.mobilebanking.shared.domain.AuditEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes audit events to {@code audit_logs} in the background, so auditing
+ * costs a request one non-blocking enqueue instead of a transaction.
+ *
+ * Events are buffered in a bounded lock-free ring buffer. A writer thread
+ * drains it every {@code audit.writer.flush-interval-ms}, or as soon as
+ * {@code audit.writer.batch-size} events are waiting, and writes each batch
+ * with a single multi-row INSERT. A batch rejected by a constraint is retried
+ * row by row so only the offending rows are lost.
+ *
+ * What happens when the buffer is full, or the database is unreachable, is
+ * set by {@code audit.writer.overflow-policy}:
+ * <ul>
+ *   <li>{@code spill} (the default): events are appended to a file under
+ *       {@code audit.writer.spill-directory}, which must then be set to
+ *       durable storage, and written once the buffer has drained again;</li>
+ *   <li>{@code block}: callers wait for room and failed batches are retried,
+ *       so no event is lost but requests slow down with the database;</li>
+ *   <li>{@code drop}: events are dropped and counted, except those of
+ *       actions the {@link AuditPolicy} requires, which are handled as under
+ *       {@code block}.</li>
+ * </ul>
+ * The buffer is flushed on shutdown.
+ *
+ * Unless {@code audit.chain.enabled} is false, every batch is linked into
+ * the {@link AuditHashChain} in the transaction that writes it, so rows that
+ * fail to be written leave no gap in the chain.
+ *
+ * Exports {@code mobile_banking_audit_buffer_size} and
+ * {@code mobile_banking_audit_events_total} tagged with the result
+ * ({@code written}, {@code dropped}, {@code spilled} or {@code failed}).
+ */
+@Component
+@ConditionalOnProperty(name = "audit.store", havingValue = "jdbc", matchIfMissing = true)
+public class AuditEventWriter {
+
+    /**
+     * What to do with events that do not fit in the buffer.
+     */
+    public enum OverflowPolicy {
+        BLOCK, DROP, SPILL
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditEventWriter.class);
+    private static final String INSERT = "INSERT INTO audit_logs "
+            + "(id, user_id, action_type, entity_type, entity_id, details, ip_address, created_at) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String CHAINED_INSERT = "INSERT INTO audit_logs "
+            + "(id, user_id, action_type, entity_type, entity_id, details, ip_address, created_at, "
+            + "chain_stripe, chain_seq, chain_hash) VALUES ";
+    private static final String CHAINED_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int COLUMNS = 8;
+    private static final int CHAINED_COLUMNS = 11;
+    private static final int MAX_BATCH_SIZE = 2500; // Keeps a statement under 32767 bind parameters
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SHUTDOWN_TIMEOUT_MS = 5000;
+    private static final String SPILL_FILE = "audit-spill.log";
+    private static final String REPLAY_FILE = "audit-spill.replaying";
+    private static final long MIN_REPLAY_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long MAX_REPLAY_BACKOFF_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditHashChain chain; // Null if the chain is disabled
+    private final AuditEventBuffer buffer;
+    private final int batchSize;
+    private final String fullBatchSql;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final Path spillDirectory; // Null unless the policy is spill
+    private final Object spillLock = new Object();
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter spilled;
+    private final Counter failed;
+    private final List<AuditEvent> batch; // Guarded by this; kept across flushes while the database is down
+    private long replayBackoffNanos; // Guarded by this; zero unless the last replay failed
+    private long nextReplayNanos; // Guarded by this
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    @Autowired
+    public AuditEventWriter(
+            JdbcTemplate jdbcTemplate,
+            ObjectProvider<AuditHashChain> chain,
+            @Value("${audit.writer.buffer-capacity:8192}") int bufferCapacity,
+            @Value("${audit.writer.batch-size:200}") int batchSize,
+            @Value("${audit.writer.flush-interval-ms:250}") long flushIntervalMs,
+            @Value("${audit.writer.overflow-policy:spill}") String overflowPolicy,
+            @Value("${audit.writer.spill-directory:}") String spillDirectory,
+            MeterRegistry meterRegistry) {
+        this(jdbcTemplate, chain.getIfAvailable(), bufferCapacity, batchSize, flushIntervalMs,
+                OverflowPolicy.valueOf(overflowPolicy.trim().toUpperCase(Locale.ROOT)),
+                spillDirectory.isBlank() ? null : Path.of(spillDirectory), meterRegistry);
+    }
+
+    AuditEventWriter(JdbcTemplate jdbcTemplate, AuditHashChain chain, int bufferCapacity, int batchSize,
+            long flushIntervalMs, OverflowPolicy overflowPolicy, Path spillDirectory, MeterRegistry meterRegistry) {
+        if (batchSize < 1 || batchSize > MAX_BATCH_SIZE || flushIntervalMs < 1) {
+            throw new IllegalArgumentException("Audit batch size must be between 1 and " + MAX_BATCH_SIZE
+                    + " and the flush interval positive");
+        }
+        if (overflowPolicy == OverflowPolicy.SPILL && spillDirectory == null) {
+            throw new IllegalStateException("audit.writer.spill-directory must name a durable directory "
+                    + "when the overflow policy is spill");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.chain = chain;
+        this.buffer = new AuditEventBuffer(bufferCapacity);
+        this.batchSize = batchSize;
+        this.fullBatchSql = insertSql(batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.overflowPolicy = overflowPolicy;
+        this.spillDirectory = spillDirectory;
+        this.batch = new ArrayList<>(batchSize);
+        this.nextReplayNanos = System.nanoTime();
+        this.written = counter(meterRegistry, "written");
+        this.dropped = counter(meterRegistry, "dropped");
+        this.spilled = counter(meterRegistry, "spilled");
+        this.failed = counter(meterRegistry, "failed");
+        Gauge.builder("mobile_banking_audit_buffer_size", buffer, AuditEventBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        this.writer = Thread.ofPlatform().name("audit-writer").daemon().start(this::run);
+    }
+
+    /**
+     * Queues an event for writing. Never blocks unless the buffer is full
+     * and the overflow policy is {@code block}, or {@code drop} and the
+     * action is required.
+     *
+     * @param event the event
+     */
+    public void enqueue(AuditEvent event) {
+        if (buffer.offer(event)) {
+            if (!running) {
+                flush(); // Shutting down, nobody else will write it
+            } else if (buffer.size() >= batchSize) {
+                LockSupport.unpark(writer);
+            }
+            return;
+        }
+        LockSupport.unpark(writer);
+        switch (overflowPolicy) {
+            case BLOCK -> block(event);
+            case SPILL -> spill(List.of(event));
+            case DROP -> {
+                if (AuditPolicy.isRequired(event.actionType())) {
+                    block(event);
+                } else {
+                    dropped.increment();
+                    logger.debug("Audit buffer full, dropped event {}", event.id());
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes everything buffered so far, then any spilled events once the
+     * buffer is empty. Spilled events are not replayed in a flush that found
+     * the database down, and after a failed replay the next one waits, from
+     * one second doubling up to a minute, unless a batch is written first.
+     *
+     * @return the number of events written
+     */
+    public synchronized int flush() {
+        int count = 0;
+        boolean wrote = false;
+        boolean outage = false;
+        while (true) {
+            boolean retry = !batch.isEmpty();
+            if (!retry && buffer.drainTo(batch, batchSize) == 0) {
+                break;
+            }
+            boolean more = retry || batch.size() == batchSize;
+            try {
+                count += writeBatch(batch);
+                wrote = true;
+            } catch (DataAccessException e) {
+                outage = true;
+                if (!handleOutage(e)) {
+                    return count; // Retried on the next flush
+                }
+            }
+            batch.clear();
+            if (!more) {
+                break;
+            }
+        }
+        if (spillDirectory != null && !outage && buffer.isEmpty()
+                && (wrote || System.nanoTime() - nextReplayNanos >= 0)) {
+            count += replaySpill();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of events waiting in the buffer.
+     */
+    public int bufferedCount() {
+        return buffer.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        synchronized (this) {
+            if (!batch.isEmpty()) {
+                logger.error("Could not write {} audit events before shutdown", batch.size() + buffer.size());
+            }
+        }
+    }
+
+    private void run() {
+        while (running) {
+            LockSupport.parkNanos(this, flushIntervalNanos);
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                logger.error("Audit writer failed, retrying on the next flush", e);
+            }
+        }
+    }
+
+    // Waits for room; only the writer frees slots, so keep waking it
+    private void block(AuditEvent event) {
+        boolean interrupted = false;
+        while (!buffer.offer(event)) {
+            if (!running) {
+                flush();
+                continue;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+            interrupted |= Thread.interrupted();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Returns false if the batch is to be kept and retried
+    private boolean handleOutage(DataAccessException e) {
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                logger.error("Could not write {} audit events, retrying on the next flush", batch.size(), e);
+                return false;
+            }
+            case SPILL -> {
+                logger.warn("Could not write {} audit events, spilling to disk: {}", batch.size(), e.getMessage());
+                spill(batch);
+            }
+            case DROP -> {
+                int before = batch.size();
+                batch.removeIf(event -> !AuditPolicy.isRequired(event.actionType()));
+                logger.error("Could not write {} audit events, dropping {} and retrying the required rest "
+                        + "on the next flush", before, before - batch.size(), e);
+                dropped.increment(before - batch.size());
+                return batch.isEmpty();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes a batch with one statement, falling back to one statement per
+     * row if a constraint rejects it.
+     *
+     * @return the number of events written
+     * @throws DataAccessException if the database is unavailable
+     */
+    private int writeBatch(List<AuditEvent> events) {
+        try {
+            insert(events);
+            written.increment(events.size());
+            return events.size();
+        } catch (DataIntegrityViolationException e) {
+            int count = 0;
+            for (AuditEvent event : events) {
+                try {
+                    insert(List.of(event));
+                    count++;
+                } catch (DataIntegrityViolationException rejected) {
+                    failed.increment();
+                    logger.error("Audit event {} rejected: {}", event.id(), rejected.getMessage());
+                }
+            }
+            written.increment(count);
+            return count;
+        }
+    }
+
+    private void insert(List<AuditEvent> events) {
+        String sql = events.size() == batchSize ? fullBatchSql : insertSql(events.size());
+        if (chain == null) {
+            jdbcTemplate.update(sql, ps -> {
+                int index = 1;
+                for (AuditEvent event : events) {
+                    bind(ps, index, event);
+                    index += COLUMNS;
+                }
+            });
+            return;
+        }
+        chain.append(events, links -> jdbcTemplate.update(sql, ps -> {
+            int index = 1;
+            for (int i = 0; i < events.size(); i++) {
+                bind(ps, index, events.get(i));
+                ps.setInt(index + COLUMNS, links.get(i).stripe());
+                ps.setLong(index + COLUMNS + 1, links.get(i).seq());
+                ps.setString(index + COLUMNS + 2, links.get(i).hash());
+                index += CHAINED_COLUMNS;
+            }
+        }));
+    }
+
+    // Stored at the database's microsecond precision, which is what the chain hashes
+    private static void bind(PreparedStatement ps, int index, AuditEvent event) throws SQLException {
+        ps.setString(index, event.id());
+        ps.setString(index + 1, event.userId());
+        ps.setString(index + 2, event.actionType());
+        ps.setString(index + 3, event.entityType());
+        ps.setString(index + 4, event.entityId());
+        ps.setString(index + 5, event.details());
+        ps.setString(index + 6, event.ipAddress());
+        ps.setTimestamp(index + 7, Timestamp.valueOf(event.createdAt().truncatedTo(ChronoUnit.MICROS)));
+    }
+
+    private String insertSql(int rows) {
+        String insert = chain != null ? CHAINED_INSERT : INSERT;
+        String row = chain != null ? CHAINED_ROW : ROW;
+        StringBuilder sql = new StringBuilder(insert.length() + rows * (row.length() + 2));
+        sql.append(insert).append(row);
+        for (int i = 1; i < rows; i++) {
+            sql.append(", ").append(row);
+        }
+        return sql.toString();
+    }
+
+    private void spill(List<AuditEvent> events) {
+        synchronized (spillLock) {
+            try {
+                Files.createDirectories(spillDirectory);
+                try (BufferedWriter out = Files.newBufferedWriter(spillDirectory.resolve(SPILL_FILE),
+                        StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (AuditEvent event : events) {
+                        out.write(AuditEventCodec.encode(event));
+                        out.newLine();
+                    }
+                }
+                spilled.increment(events.size());
+            } catch (IOException e) {
+                logger.error("Could not spill {} audit events, dropping them", events.size(), e);
+                dropped.increment(events.size());
+            }
+        }
+    }
+
+    /**
+     * Writes spilled events. The spill file is renamed first, so events
+     * spilled meanwhile go to a new file; if the database fails again the
+     * unwritten rest is kept for the next attempt, rewriting the file only if
+     * part of it was written.
+     */
+    private int replaySpill() {
+        Path replay = spillDirectory.resolve(REPLAY_FILE);
+        try {
+            synchronized (spillLock) {
+                Path spill = spillDirectory.resolve(SPILL_FILE);
+                if (!Files.exists(replay)) {
+                    if (!Files.exists(spill)) {
+                        return 0;
+                    }
+                    Files.move(spill, replay, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+            int count = 0;
+            try (BufferedReader in = Files.newBufferedReader(replay, StandardCharsets.UTF_8)) {
+                List<String> lines = new ArrayList<>(batchSize);
+                List<AuditEvent> events = new ArrayList<>(batchSize);
+                String line;
+                do {
+                    line = in.readLine();
+                    if (line != null && !line.isEmpty()) {
+                        lines.add(line);
+                        events.add(AuditEventCodec.decode(line));
+                    }
+                    if (events.size() == batchSize || (line == null && !events.isEmpty())) {
+                        try {
+                            count += writeBatch(events);
+                        } catch (DataAccessException e) {
+                            backOffReplay();
+                            logger.warn("Could not write spilled audit events, retrying in {} ms: {}",
+                                    TimeUnit.NANOSECONDS.toMillis(replayBackoffNanos), e.getMessage());
+                            if (count > 0) {
+                                keepRemaining(replay, lines, in);
+                            }
+                            return count;
+                        }
+                        lines.clear();
+                        events.clear();
+                    }
+                } while (line != null);
+            }
+            Files.delete(replay);
+            replayBackoffNanos = 0;
+            logger.info("Wrote {} spilled audit events", count);
+            return count;
+        } catch (IOException | RuntimeException e) {
+            backOffReplay();
+            logger.error("Could not replay spilled audit events from {}", replay, e);
+            return 0;
+        }
+    }
+
+    private void backOffReplay() {
+        replayBackoffNanos = Math.min(Math.max(2 * replayBackoffNanos, MIN_REPLAY_BACKOFF_NANOS),
+                MAX_REPLAY_BACKOFF_NANOS);
+        nextReplayNanos = System.nanoTime() + replayBackoffNanos;
+    }
+
+    private static void keepRemaining(Path replay, List<String> unwritten, BufferedReader rest) throws IOException {
+        Path remaining = replay.resolveSibling(REPLAY_FILE + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(remaining, StandardCharsets.UTF_8)) {
+            for (String line : unwritten) {
+                out.write(line);
+                out.newLine();
+            }
+            String line;
+            while ((line = rest.readLine()) != null) {
+                out.write(line);
+                out.newLine();
+            }
+        }
+        Files.move(remaining, replay, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("mobile_banking_audit_events_total")
+                .tag("result", result)
+                .description("Audit events by what became of them")
+                .register(meterRegistry);
+    }
+}
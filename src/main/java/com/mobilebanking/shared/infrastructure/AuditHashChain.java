@@ -0,0 +1,384 @@
+package com.mobilebanking.shared.infrastructure;
+
+import com.mobilebanking.shared.domain.AuditChainVerification;
+import com.mobilebanking.shared.domain.AuditEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Tamper-evident hash chain over {@code audit_logs}.
+ *
+ * Rows are spread over {@code audit.chain.stripes} independent chains. Each
+ * row written by the {@link AuditEventWriter} carries its stripe, its
+ * sequence number within the stripe and
+ * {@code SHA-256(previous hash, stripe, sequence, row content)}, so altering,
+ * removing or reordering a row breaks its stripe from there on.
+ *
+ * The head of each stripe lives in {@code audit_chain_heads}. A write
+ * appends all its rows to one stripe, chosen by the hash of its first row's
+ * ID, and holds that stripe's head row locked from reading it until the
+ * rows and the new head are committed. Instances sharing the database thus
+ * extend a stripe one after another, a failed write leaves the head as it
+ * was, and writes to different stripes do not wait for each other.
+ *
+ * Every {@code audit.chain.checkpoint-interval-ms} one instance, holding the
+ * {@code audit-chain-checkpoint} {@link SchedulerLock}, anchors the head of
+ * each stripe in {@code audit_chain_checkpoints} and verifies the stretch
+ * since the previous anchor. {@link #verify} checks a time range from the
+ * last anchor before it to the first anchor after it, stripes in parallel,
+ * so its cost follows the size of the range rather than of the table. Rows
+ * written after that anchor although created within the range, e.g.
+ * replayed from a spill file, are checked with a later range.
+ *
+ * The {@link AuditLogArchive} moves rows older than
+ * {@code audit.retention.hot-days} out of the table. For a range starting
+ * before that cutoff, the rows of a stripe before the first one left in the
+ * table are reported as archived rather than missing, and the walk restarts
+ * from that row.
+ *
+ * Exports {@code mobile_banking_audit_chain_checkpoints_total} and
+ * {@code mobile_banking_audit_chain_verifications_total} tagged with the
+ * result ({@code valid} or {@code broken}).
+ */
+@Component
+@ConditionalOnExpression("'${audit.store:jdbc}' == 'jdbc' and ${audit.chain.enabled:true}")
+public class AuditHashChain {
+
+    static final String GENESIS = "0".repeat(64);
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditHashChain.class);
+    private static final String SELECT_ROWS = "SELECT id, user_id, action_type, entity_type, entity_id, details, "
+            + "ip_address, created_at, chain_seq, chain_hash FROM audit_logs "
+            + "WHERE chain_stripe = ? AND chain_seq > ? AND chain_seq <= ? ORDER BY chain_seq";
+    private static final int VERIFY_FETCH_SIZE = 1000;
+    private static final String CHECKPOINT_LOCK = "audit-chain-checkpoint";
+    private static final Duration CHECKPOINT_LEASE_TIME = Duration.ofMinutes(10);
+    // Verified from here when no checkpoint has been taken yet
+    private static final LocalDateTime BEFORE_FIRST_ROW = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerLock schedulerLock;
+    private final int stripes;
+    private final int hotDays;
+    private final Counter checkpoints;
+    private final Counter valid;
+    private final Counter broken;
+
+    @Autowired
+    public AuditHashChain(JdbcTemplate jdbcTemplate, SchedulerLock schedulerLock,
+            @Value("${audit.chain.stripes:8}") int stripes,
+            @Value("${audit.retention.hot-days:30}") int hotDays, MeterRegistry meterRegistry) {
+        if (stripes < 1 || hotDays < 1) {
+            throw new IllegalArgumentException("Audit chain stripes and hot days must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        // A transaction of its own, on the writer's data source, even if the caller is in one
+        this.transactionTemplate = new TransactionTemplate(
+                new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.schedulerLock = schedulerLock;
+        this.stripes = stripes;
+        this.hotDays = hotDays;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            createHead(stripe);
+        }
+        this.checkpoints = Counter.builder("mobile_banking_audit_chain_checkpoints_total")
+                .description("Audit chain stripe heads anchored")
+                .register(meterRegistry);
+        this.valid = verifications(meterRegistry, "valid");
+        this.broken = verifications(meterRegistry, "broken");
+    }
+
+    /**
+     * Links events into one stripe and writes them in a single transaction,
+     * holding the stripe's head locked throughout.
+     *
+     * @param events events to be written, in write order
+     * @param insert writes the events with their links, one link per event
+     * @throws org.springframework.dao.DataAccessException if the write fails;
+     *         the head is then left as it was
+     */
+    public void append(List<AuditEvent> events, Consumer<List<Link>> insert) {
+        int stripe = Math.floorMod(events.get(0).id().hashCode(), stripes);
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<String, Object> head = jdbcTemplate.queryForMap(
+                    "SELECT seq, hash FROM audit_chain_heads WHERE stripe = ? FOR UPDATE", stripe);
+            long seq = ((Number) head.get("seq")).longValue();
+            String hash = (String) head.get("hash");
+            MessageDigest digest = sha256();
+            List<Link> links = new ArrayList<>(events.size());
+            for (AuditEvent event : events) {
+                hash = hash(digest, hash, stripe, ++seq, event);
+                links.add(new Link(stripe, seq, hash));
+            }
+            insert.accept(links);
+            jdbcTemplate.update("UPDATE audit_chain_heads SET seq = ?, hash = ? WHERE stripe = ?", seq, hash, stripe);
+        });
+    }
+
+    /**
+     * Anchors the committed head of every stripe that moved since its last
+     * anchor, then verifies the stretch since the previous checkpoint. Does
+     * nothing while another instance is taking a checkpoint.
+     *
+     * @return the number of stripe heads anchored
+     */
+    @Scheduled(initialDelayString = "${audit.chain.checkpoint-interval-ms:3600000}",
+            fixedDelayString = "${audit.chain.checkpoint-interval-ms:3600000}")
+    public int checkpoint() {
+        Optional<SchedulerLock.Lease> acquired = schedulerLock.tryAcquire(CHECKPOINT_LOCK, CHECKPOINT_LEASE_TIME);
+        if (acquired.isEmpty()) {
+            logger.debug("Audit chain checkpoint is running on another instance");
+            return 0;
+        }
+        LocalDateTime previous;
+        LocalDateTime now;
+        int anchored = 0;
+        try (SchedulerLock.Lease lease = acquired.get()) {
+            previous = jdbcTemplate.queryForObject("SELECT MAX(created_at) FROM audit_chain_checkpoints",
+                    LocalDateTime.class);
+            List<Map<String, Object>> heads = jdbcTemplate.queryForList("SELECT h.stripe, h.seq, h.hash "
+                    + "FROM audit_chain_heads h WHERE h.stripe < ? AND h.seq > COALESCE("
+                    + "(SELECT MAX(c.seq) FROM audit_chain_checkpoints c WHERE c.stripe = h.stripe), 0)", stripes);
+            // Taken after the heads, so every anchored row was written before the anchor's time
+            now = LocalDateTime.now();
+            for (Map<String, Object> head : heads) {
+                jdbcTemplate.update("INSERT INTO audit_chain_checkpoints (stripe, seq, hash, created_at) "
+                        + "VALUES (?, ?, ?, ?)", head.get("stripe"), head.get("seq"), head.get("hash"),
+                        Timestamp.valueOf(now));
+                anchored++;
+            }
+        }
+        checkpoints.increment(anchored);
+        if (anchored > 0) {
+            verify(previous != null ? previous : BEFORE_FIRST_ROW, now);
+        }
+        return anchored;
+    }
+
+    /**
+     * Verifies the chain around a time range, stripes in parallel.
+     *
+     * @param startDate start of the range, inclusive
+     * @param endDate   end of the range, inclusive
+     * @return the outcome
+     */
+    public AuditChainVerification verify(LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        // Rows created before the start of this day may have been moved to the archive
+        boolean archivable = startDate.isBefore(LocalDate.now().minusDays(hotDays).atStartOfDay());
+        List<AuditChainVerification> results = IntStream.range(0, stripes).parallel()
+                .mapToObj(stripe -> verifyStripe(stripe, startDate, endDate, archivable))
+                .toList();
+        long records = results.stream().mapToLong(AuditChainVerification::records).sum();
+        long archived = results.stream().mapToLong(AuditChainVerification::archived).sum();
+        AuditChainVerification verification = results.stream()
+                .filter(result -> !result.valid())
+                .findFirst()
+                .map(result -> new AuditChainVerification(false, records, archived, result.problem()))
+                .orElse(new AuditChainVerification(true, records, archived, null));
+        if (verification.valid()) {
+            valid.increment();
+            logger.info("Audit chain verified from {} to {}: {} rows, {} archived", startDate, endDate, records,
+                    archived);
+        } else {
+            broken.increment();
+            logger.error("Audit chain is broken between {} and {}: {}", startDate, endDate, verification.problem());
+        }
+        return verification;
+    }
+
+    private AuditChainVerification verifyStripe(int stripe, LocalDateTime startDate, LocalDateTime endDate,
+            boolean archivable) {
+        // Rows before an anchor taken before the range were created before the range too
+        List<Map<String, Object>> start = jdbcTemplate.queryForList("SELECT seq, hash FROM audit_chain_checkpoints "
+                + "WHERE stripe = ? AND created_at < ? ORDER BY created_at DESC, seq DESC LIMIT 1",
+                stripe, Timestamp.valueOf(startDate));
+        List<Map<String, Object>> end = jdbcTemplate.queryForList("SELECT seq, hash FROM audit_chain_checkpoints "
+                + "WHERE stripe = ? AND created_at > ? ORDER BY created_at, seq LIMIT 1",
+                stripe, Timestamp.valueOf(endDate));
+        long fromSeq = start.isEmpty() ? 0 : ((Number) start.get(0).get("seq")).longValue();
+        String fromHash = start.isEmpty() ? GENESIS : (String) start.get(0).get("hash");
+        long toSeq = end.isEmpty() ? Long.MAX_VALUE : ((Number) end.get(0).get("seq")).longValue();
+        // Without a later anchor the rows must still reach the last one, so removing a stripe's tail shows
+        List<Map<String, Object>> reach = end.isEmpty()
+                ? jdbcTemplate.queryForList("SELECT seq, hash FROM audit_chain_checkpoints "
+                        + "WHERE stripe = ? AND seq > ? ORDER BY seq DESC LIMIT 1", stripe, fromSeq)
+                : end;
+        long reachSeq = reach.isEmpty() ? fromSeq : ((Number) reach.get(0).get("seq")).longValue();
+
+        StripeCheck check = new StripeCheck(stripe, fromSeq, fromHash, reachSeq, archivable);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    SELECT_ROWS, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(VERIFY_FETCH_SIZE);
+            statement.setInt(1, stripe);
+            statement.setLong(2, fromSeq);
+            statement.setLong(3, toSeq);
+            return statement;
+        }, check);
+        if (check.problem == null && archivable && check.seq == fromSeq) { // No row left in the table
+            check.archived = reachSeq - fromSeq;
+        } else if (check.problem == null && !reach.isEmpty() && reachSeq > check.archivedThrough
+                && !reach.get(0).get("hash").equals(check.reachedHash)) {
+            check.problem = "Stripe " + stripe + " does not reach its checkpoint at row " + reachSeq;
+        }
+        return new AuditChainVerification(check.problem == null, check.records, check.archived, check.problem);
+    }
+
+    // Stripes without a head, e.g. new ones or chains written before heads were stored, start from their last row
+    private void createHead(int stripe) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM audit_chain_heads WHERE stripe = ?", Integer.class, stripe);
+        if (existing != null && existing > 0) {
+            return;
+        }
+        List<Map<String, Object>> row = jdbcTemplate.queryForList("SELECT chain_seq AS seq, chain_hash AS hash "
+                + "FROM audit_logs WHERE chain_stripe = ? ORDER BY chain_seq DESC LIMIT 1", stripe);
+        List<Map<String, Object>> anchor = jdbcTemplate.queryForList("SELECT seq, hash "
+                + "FROM audit_chain_checkpoints WHERE stripe = ? ORDER BY seq DESC LIMIT 1", stripe);
+        long rowSeq = row.isEmpty() ? 0 : ((Number) row.get(0).get("seq")).longValue();
+        long anchorSeq = anchor.isEmpty() ? 0 : ((Number) anchor.get(0).get("seq")).longValue();
+        long seq = Math.max(rowSeq, anchorSeq);
+        String hash;
+        if (seq == 0) {
+            hash = GENESIS;
+        } else if (rowSeq >= anchorSeq) {
+            hash = (String) row.get(0).get("hash");
+        } else { // The rows up to the last anchor have been archived
+            hash = (String) anchor.get(0).get("hash");
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO audit_chain_heads (stripe, seq, hash) VALUES (?, ?, ?)", stripe, seq, hash);
+        } catch (DuplicateKeyException e) {
+            logger.debug("Head of audit chain stripe {} was created by another instance", stripe);
+        }
+    }
+
+    private static String hash(MessageDigest digest, String previous, int stripe, long seq, AuditEvent event) {
+        AuditEvent stored = new AuditEvent(event.id(), event.userId(), event.actionType(), event.entityType(),
+                event.entityId(), event.details(), event.ipAddress(), event.createdAt().truncatedTo(ChronoUnit.MICROS));
+        digest.update((previous + '\n' + stripe + '\n' + seq + '\n' + AuditEventCodec.encode(stored))
+                .getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Counter verifications(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("mobile_banking_audit_chain_verifications_total")
+                .tag("result", result)
+                .description("Audit chain verifications by outcome")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Position and hash of one row in its stripe.
+     */
+    public record Link(int stripe, long seq, String hash) {
+    }
+
+    // Walks one stripe's rows in order, stopping at the first problem
+    private static final class StripeCheck implements RowCallbackHandler {
+
+        private final int stripe;
+        private final MessageDigest digest = sha256();
+        private long seq;
+        private String hash;
+        private final long reachSeq;
+        private final boolean archivable; // Whether rows before the first one found may have been archived
+        private long records;
+        private long archived;
+        private long archivedThrough; // Last archived row, or the starting one
+        private String problem;
+        private String reachedHash; // Hash of row reachSeq once the walk passes it
+
+        StripeCheck(int stripe, long seq, String hash, long reachSeq, boolean archivable) {
+            this.stripe = stripe;
+            this.seq = seq;
+            this.hash = hash;
+            this.reachSeq = reachSeq;
+            this.archivable = archivable;
+            this.archivedThrough = seq;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            if (problem != null) {
+                return;
+            }
+            long rowSeq = rs.getLong("chain_seq");
+            if (rowSeq > seq + 1 && archivable && records == 0 && archived == 0) {
+                // The rows before the first one left in the table were archived; walk on from it
+                archived = rowSeq - seq - 1;
+                archivedThrough = rowSeq - 1;
+                seq = rowSeq;
+                hash = rs.getString("chain_hash");
+                if (rowSeq == reachSeq) {
+                    reachedHash = hash;
+                }
+                return;
+            }
+            if (rowSeq != seq + 1) {
+                problem = "Stripe " + stripe + " is missing row " + (seq + 1);
+                return;
+            }
+            AuditEvent event = new AuditEvent(rs.getString("id"), rs.getString("user_id"),
+                    rs.getString("action_type"), rs.getString("entity_type"), rs.getString("entity_id"),
+                    rs.getString("details"), rs.getString("ip_address"),
+                    rs.getTimestamp("created_at").toLocalDateTime());
+            String expected = hash(digest, hash, stripe, rowSeq, event);
+            if (!expected.equals(rs.getString("chain_hash"))) {
+                problem = "Stripe " + stripe + " row " + rowSeq + " (" + event.id() + ") was altered";
+                return;
+            }
+            seq = rowSeq;
+            hash = expected;
+            records++;
+            if (rowSeq == reachSeq) {
+                reachedHash = expected;
+            }
+        }
+    }
+}
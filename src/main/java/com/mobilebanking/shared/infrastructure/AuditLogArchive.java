@@ -0,0 +1,467 @@
+package com.mobilebanking.shared.infrastructure;
+
+import com.mobilebanking.shared.domain.AuditEvent;
+import com.mobilebanking.shared.domain.AuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Tiered retention for {@code audit_logs}, which is partitioned by day of
+ * {@code created_at}:
+ * <ul>
+ *   <li>hot: the last {@code audit.retention.hot-days} days stay in the
+ *       table;</li>
+ *   <li>archived: older days are exported to gzip-compressed files under
+ *       {@code audit.retention.archive-directory} and then deleted from the
+ *       table, keeping the table and its indexes small;</li>
+ *   <li>expired: archive files older than
+ *       {@code audit.retention.archive-days} are deleted.</li>
+ * </ul>
+ * A day is exported in parts of at most {@code audit.retention.part-rows}
+ * rows. Every part is listed in {@code manifest.tsv} with its row count,
+ * time range and SHA-256 before its rows are deleted, so a crash can at
+ * worst archive rows twice, never lose them; readers skip the duplicates.
+ *
+ * The archive directory must be durable storage shared by every instance,
+ * and there is no default outside the dev and test profiles. Archiving and
+ * purging run under the {@code audit-retention} {@link SchedulerLock}, so
+ * one instance at a time moves rows out of the shared table. Each instance
+ * reloads the manifest when another one has replaced it.
+ *
+ * Partitions are day ranges of the {@code created_at} index rather than
+ * database partitions, so the same migrations serve H2 and PostgreSQL.
+ *
+ * Exports {@code mobile_banking_audit_logs_archived_total} and
+ * {@code mobile_banking_audit_archive_files}.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.store", havingValue = "jdbc", matchIfMissing = true)
+public class AuditLogArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogArchive.class);
+    private static final String MANIFEST = "manifest.tsv";
+    private static final String RETENTION_LOCK = "audit-retention";
+    private static final Duration LEASE_TIME = Duration.ofMinutes(10); // Extended after every part
+    private static final String SELECT_PART = "SELECT id, user_id, action_type, entity_type, entity_id, details, "
+            + "ip_address, created_at FROM audit_logs WHERE created_at >= ? AND created_at < ? "
+            + "ORDER BY created_at, id LIMIT ?";
+    private static final int DELETE_CHUNK_SIZE = 500;
+    private static final Comparator<AuditLog> OLDEST_FIRST =
+            Comparator.comparing(AuditLog::getCreatedAt).thenComparing(AuditLog::getId);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SchedulerLock schedulerLock;
+    private final int hotDays;
+    private final int archiveDays;
+    private final int partRows;
+    private final Path directory;
+    private final Counter archived;
+    private volatile List<Entry> manifest; // Immutable, replaced under the lock
+    private volatile ManifestVersion manifestVersion; // Of the file manifest was read from
+
+    @Autowired
+    public AuditLogArchive(
+            JdbcTemplate jdbcTemplate,
+            SchedulerLock schedulerLock,
+            @Value("${audit.retention.hot-days:30}") int hotDays,
+            @Value("${audit.retention.archive-days:2555}") int archiveDays,
+            @Value("${audit.retention.part-rows:100000}") int partRows,
+            @Value("${audit.retention.archive-directory:}") String directory,
+            MeterRegistry meterRegistry) {
+        this(jdbcTemplate, schedulerLock, hotDays, archiveDays, partRows, archiveDirectory(directory),
+                meterRegistry);
+    }
+
+    AuditLogArchive(JdbcTemplate jdbcTemplate, SchedulerLock schedulerLock, int hotDays, int archiveDays,
+            int partRows, Path directory, MeterRegistry meterRegistry) {
+        if (hotDays < 1 || archiveDays < hotDays || partRows < 1) {
+            throw new IllegalArgumentException(
+                    "Audit hot days and part rows must be positive and archive days at least the hot days");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.schedulerLock = schedulerLock;
+        this.hotDays = hotDays;
+        this.archiveDays = archiveDays;
+        this.partRows = partRows;
+        this.directory = directory;
+        reloadManifest();
+        this.archived = Counter.builder("mobile_banking_audit_logs_archived_total")
+                .description("Audit logs moved from the table to archive files")
+                .register(meterRegistry);
+        Gauge.builder("mobile_banking_audit_archive_files", this, archive -> archive.manifest.size())
+                .description("Audit archive files kept")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Archives the days that left the hot tier, then deletes archives past
+     * the retention period.
+     */
+    @Scheduled(initialDelayString = "${audit.retention.interval-ms:3600000}",
+            fixedDelayString = "${audit.retention.interval-ms:3600000}")
+    public void applyRetention() {
+        try {
+            archiveExpired();
+            purgeExpiredArchives();
+        } catch (RuntimeException e) {
+            logger.error("Audit log retention failed, retrying on the next run", e);
+        }
+    }
+
+    /**
+     * Moves rows older than the hot tier from the table to archive files,
+     * oldest day first. Does nothing while another instance holds the
+     * retention lock.
+     *
+     * @return the number of rows archived
+     */
+    public synchronized int archiveExpired() {
+        Optional<SchedulerLock.Lease> acquired = schedulerLock.tryAcquire(RETENTION_LOCK, LEASE_TIME);
+        if (acquired.isEmpty()) {
+            logger.debug("Audit retention is running on another instance");
+            return 0;
+        }
+        try (SchedulerLock.Lease lease = acquired.get()) {
+            reloadIfReplaced();
+            LocalDate cutoff = LocalDate.now().minusDays(hotDays);
+            int total = 0;
+            LocalDateTime oldest;
+            while ((oldest = jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM audit_logs",
+                    LocalDateTime.class)) != null && oldest.toLocalDate().isBefore(cutoff)) {
+                int rows = archivePart(oldest.toLocalDate());
+                if (rows == 0) {
+                    break;
+                }
+                total += rows;
+                if (!lease.extend()) {
+                    logger.warn("Lost the audit retention lock after archiving {} rows, stopping", total);
+                    break;
+                }
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Deletes archive files of days past the retention period. Does nothing
+     * while another instance holds the retention lock.
+     *
+     * @return the number of files deleted
+     */
+    public synchronized int purgeExpiredArchives() {
+        Optional<SchedulerLock.Lease> acquired = schedulerLock.tryAcquire(RETENTION_LOCK, LEASE_TIME);
+        if (acquired.isEmpty()) {
+            logger.debug("Audit retention is running on another instance");
+            return 0;
+        }
+        try (SchedulerLock.Lease lease = acquired.get()) {
+            reloadIfReplaced();
+            return purge();
+        }
+    }
+
+    private int purge() {
+        LocalDate cutoff = LocalDate.now().minusDays(archiveDays);
+        List<Entry> expired = manifest.stream().filter(entry -> entry.day().isBefore(cutoff)).toList();
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        List<Entry> kept = manifest.stream().filter(entry -> !entry.day().isBefore(cutoff)).toList();
+        writeManifest(kept);
+        manifest = kept;
+        for (Entry entry : expired) {
+            try {
+                Files.deleteIfExists(directory.resolve(entry.file()));
+            } catch (IOException e) {
+                logger.warn("Could not delete expired audit archive {}: {}", entry.file(), e.getMessage());
+            }
+        }
+        logger.info("Deleted {} audit archive files older than {} days", expired.size(), archiveDays);
+        return expired.size();
+    }
+
+    /**
+     * Finds archived audit logs within a date range.
+     *
+     * @param startDate start of the range, inclusive
+     * @param endDate   end of the range, inclusive
+     * @return the logs, most recent first
+     * @throws IllegalStateException if an archive does not match its checksum
+     */
+    public List<AuditLog> findByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return findByDateRange(startDate, endDate, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Finds the most recent archived audit logs within a date range, holding
+     * at most {@code limit} of them. Files older than all the logs kept once
+     * the limit is reached are not read.
+     *
+     * @param startDate start of the range, inclusive
+     * @param endDate   end of the range, inclusive
+     * @param limit     maximum number of logs returned
+     * @return the logs, most recent first
+     * @throws IllegalStateException if an archive does not match its checksum
+     */
+    public List<AuditLog> findByDateRange(LocalDateTime startDate, LocalDateTime endDate, int limit) {
+        reloadIfReplaced();
+        PriorityQueue<AuditLog> newest = new PriorityQueue<>(OLDEST_FIRST);
+        Set<String> kept = new HashSet<>();
+        List<Entry> entries = new ArrayList<>(manifest);
+        entries.sort(Comparator.comparing(Entry::last).reversed());
+        for (Entry entry : entries) {
+            if (entry.last().isBefore(startDate) || entry.first().isAfter(endDate)) {
+                continue;
+            }
+            if (newest.size() >= limit && entry.last().isBefore(newest.peek().getCreatedAt())) {
+                break; // Every remaining file ends earlier still
+            }
+            try {
+                read(entry, event -> {
+                    if (event.createdAt().isBefore(startDate) || event.createdAt().isAfter(endDate)
+                            || kept.contains(event.id())) {
+                        return;
+                    }
+                    AuditLog log = AuditLog.reconstitute(event.id(), event.userId(), event.actionType(),
+                            event.entityType(), event.entityId(), event.details(), event.ipAddress(),
+                            event.createdAt());
+                    // Not kept if older than all kept logs, which also keeps out copies of dropped ones
+                    if (newest.size() >= limit && OLDEST_FIRST.compare(log, newest.peek()) <= 0) {
+                        return;
+                    }
+                    newest.add(log);
+                    kept.add(log.getId());
+                    if (newest.size() > limit) {
+                        kept.remove(newest.poll().getId());
+                    }
+                });
+            } catch (NoSuchFileException e) {
+                logger.debug("Audit archive {} was deleted while reading", entry.file());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read audit archive " + entry.file(), e);
+            }
+        }
+        List<AuditLog> logs = new ArrayList<>(newest);
+        logs.sort(OLDEST_FIRST.reversed());
+        return logs;
+    }
+
+    // Exports and deletes up to partRows of the oldest rows of a day
+    private int archivePart(LocalDate day) {
+        String file = String.format("audit-%s-%03d.tsv.gz", day,
+                manifest.stream().filter(entry -> entry.day().equals(day)).count());
+        Path part = directory.resolve(file);
+        Path temporary = directory.resolve(file + ".tmp");
+        MessageDigest digest = sha256();
+        List<String> ids = new ArrayList<>();
+        LocalDateTime[] range = new LocalDateTime[2];
+        try {
+            Files.createDirectories(directory);
+            try (OutputStream out = new GZIPOutputStream(
+                    new DigestOutputStream(Files.newOutputStream(temporary), digest));
+                 Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+                jdbcTemplate.query(SELECT_PART, rs -> {
+                    AuditEvent event = new AuditEvent(rs.getString("id"), rs.getString("user_id"),
+                            rs.getString("action_type"), rs.getString("entity_type"), rs.getString("entity_id"),
+                            rs.getString("details"), rs.getString("ip_address"),
+                            rs.getTimestamp("created_at").toLocalDateTime());
+                    try {
+                        writer.write(AuditEventCodec.encode(event));
+                        writer.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    ids.add(event.id());
+                    range[0] = range[0] == null ? event.createdAt() : range[0];
+                    range[1] = event.createdAt();
+                }, day.atStartOfDay(), day.plusDays(1).atStartOfDay(), partRows);
+            }
+            if (ids.isEmpty()) {
+                Files.delete(temporary);
+                return 0;
+            }
+            Files.move(temporary, part, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write audit archive " + file, e);
+        }
+        List<Entry> updated = new ArrayList<>(manifest);
+        updated.add(new Entry(day, file, ids.size(), range[0], range[1], HexFormat.of().formatHex(digest.digest())));
+        writeManifest(updated);
+        manifest = List.copyOf(updated);
+        delete(ids);
+        archived.increment(ids.size());
+        logger.info("Archived {} audit logs of {} to {}", ids.size(), day, file);
+        return ids.size();
+    }
+
+    private void delete(List<String> ids) {
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+            List<String> chunk = ids.subList(from, Math.min(ids.size(), from + DELETE_CHUNK_SIZE));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.update("DELETE FROM audit_logs WHERE id IN (" + placeholders + ")", chunk.toArray());
+        }
+    }
+
+    private void read(Entry entry, Consumer<AuditEvent> consumer) throws IOException {
+        MessageDigest digest = sha256();
+        try (DigestInputStream checked = new DigestInputStream(
+                Files.newInputStream(directory.resolve(entry.file())), digest)) {
+            InputStream in = new GZIPInputStream(checked);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                consumer.accept(AuditEventCodec.decode(line));
+            }
+            checked.transferTo(OutputStream.nullOutputStream()); // Any trailing bytes count too
+        }
+        if (!HexFormat.of().formatHex(digest.digest()).equals(entry.sha256())) {
+            throw new IllegalStateException("Audit archive " + entry.file() + " does not match its checksum");
+        }
+    }
+
+    private void reloadIfReplaced() {
+        if (!Objects.equals(manifestVersion, ManifestVersion.of(directory.resolve(MANIFEST)))) {
+            synchronized (this) {
+                reloadManifest();
+            }
+        }
+    }
+
+    // The version is taken first, so a manifest replaced meanwhile is read again next time
+    private void reloadManifest() {
+        Path path = directory.resolve(MANIFEST);
+        ManifestVersion version = ManifestVersion.of(path);
+        if (version == null) {
+            manifest = List.of();
+            manifestVersion = null;
+            return;
+        }
+        try {
+            manifest = Files.readAllLines(path, StandardCharsets.UTF_8).stream()
+                    .filter(line -> !line.isBlank())
+                    .map(Entry::parse)
+                    .toList();
+            manifestVersion = version;
+        } catch (NoSuchFileException e) {
+            manifest = List.of();
+            manifestVersion = null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read audit archive manifest", e);
+        }
+    }
+
+    // Replaced atomically, so a crash leaves either the old or the new manifest
+    private void writeManifest(List<Entry> entries) {
+        Path temporary = directory.resolve(MANIFEST + ".tmp");
+        try {
+            Files.write(temporary, entries.stream().map(Entry::format).toList(), StandardCharsets.UTF_8);
+            Files.move(temporary, directory.resolve(MANIFEST),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            manifestVersion = ManifestVersion.of(directory.resolve(MANIFEST));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write audit archive manifest", e);
+        }
+    }
+
+    private static Path archiveDirectory(String directory) {
+        if (directory.isBlank()) {
+            throw new IllegalStateException("audit.retention.archive-directory must name durable storage "
+                    + "shared by every instance");
+        }
+        return Path.of(directory);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Identifies one manifest file; the manifest is replaced, never
+     * rewritten in place, so a new file means a new manifest.
+     */
+    private record ManifestVersion(Object fileKey, FileTime modified, long size) {
+
+        static ManifestVersion of(Path path) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                return new ManifestVersion(attributes.fileKey(), attributes.lastModifiedTime(), attributes.size());
+            } catch (NoSuchFileException e) {
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read audit archive manifest", e);
+            }
+        }
+    }
+
+    /**
+     * One archive file: a day, its rows' time range and the SHA-256 of the
+     * compressed file.
+     */
+    private record Entry(LocalDate day, String file, int rows, LocalDateTime first, LocalDateTime last,
+            String sha256) {
+
+        String format() {
+            return String.join("\t", day.toString(), file, Integer.toString(rows), first.toString(),
+                    last.toString(), sha256);
+        }
+
+        static Entry parse(String line) {
+            String[] fields = line.split("\t");
+            if (fields.length != 6) {
+                throw new IllegalStateException("Malformed audit archive manifest line: " + line);
+            }
+            return new Entry(LocalDate.parse(fields[0]), fields[1], Integer.parseInt(fields[2]),
+                    LocalDateTime.parse(fields[3]), LocalDateTime.parse(fields[4]), fields[5]);
+        }
+    }
+}
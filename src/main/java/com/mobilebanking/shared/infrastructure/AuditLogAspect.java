@@ -1,20 +1,21 @@
 package com.mobilebanking.shared.infrastructure;
 
 import com.mobilebanking.shared.domain.AuditActionType;
-import com.mobilebanking.shared.domain.AuditEntityType;
 import com.mobilebanking.shared.domain.AuditService;
+import com.mobilebanking.shared.infrastructure.AuditMetadataRegistry.AuditMetadata;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.stereotype.Component;
-import org.springframework.web.bind.annotation.*;
 
 import java.lang.reflect.Method;
 import java.util.Optional;
 
 /**
  * Aspect for automatic audit logging of controller methods.
+ * The action and entity of each method come from the {@link AuditMetadataRegistry};
+ * whether a successful call is recorded is up to the {@link AuditPolicy}.
  */
 @Aspect
 @Component
@@ -22,10 +23,15 @@ public class AuditLogAspect {
 
   private final AuditService auditService;
   private final SecurityContextUtils securityContextUtils;
+  private final AuditMetadataRegistry auditMetadataRegistry;
+  private final AuditPolicy auditPolicy;
 
-  public AuditLogAspect(AuditService auditService, SecurityContextUtils securityContextUtils) {
+  public AuditLogAspect(AuditService auditService, SecurityContextUtils securityContextUtils,
+      AuditMetadataRegistry auditMetadataRegistry, AuditPolicy auditPolicy) {
     this.auditService = auditService;
     this.securityContextUtils = securityContextUtils;
+    this.auditMetadataRegistry = auditMetadataRegistry;
+    this.auditPolicy = auditPolicy;
   }
 
   /**
@@ -37,11 +43,8 @@ public class AuditLogAspect {
     MethodSignature signature = (MethodSignature) joinPoint.getSignature();
     Method method = signature.getMethod();
 
-    // Determine action type based on HTTP method
-    AuditActionType actionType = determineActionType(method);
-
-    // Determine entity type based on controller path
-    AuditEntityType entityType = determineEntityType(method.getDeclaringClass());
+    // Action and entity type, resolved once per method
+    AuditMetadata metadata = auditMetadataRegistry.forController(method);
 
     // Get user ID from security context
     Optional<String> userIdOpt = securityContextUtils.getCurrentUserId();
@@ -55,13 +58,14 @@ public class AuditLogAspect {
       result = joinPoint.proceed();
 
       // Log successful action
-      if (userIdOpt.isPresent()) {
+      if (userIdOpt.isPresent()
+          && auditPolicy.shouldRecord(userIdOpt.get(), metadata.actionType(), metadata.entityType())) {
         auditService.logUserAction(
             userIdOpt.get(),
-            actionType,
-            entityType,
+            metadata.actionType(),
+            metadata.entityType(),
             null, // Entity ID not available generically
-            "Successfully executed " + method.getName(),
+            metadata.successDetails(),
             ipAddressOpt.orElse(null));
       }
 
@@ -72,70 +76,18 @@ public class AuditLogAspect {
         auditService.logUserAction(
             userIdOpt.get(),
             AuditActionType.SYSTEM_ERROR,
-            entityType,
+            metadata.entityType(),
             null,
-            "Error executing " + method.getName() + ": " + ex.getMessage(),
+            metadata.failurePrefix() + ex.getMessage(),
             ipAddressOpt.orElse(null));
       } else {
         auditService.logSystemAction(
             AuditActionType.SYSTEM_ERROR,
-            entityType,
+            metadata.entityType(),
             null,
-            "Error executing " + method.getName() + ": " + ex.getMessage());
+            metadata.failurePrefix() + ex.getMessage());
       }
       throw ex;
     }
   }
-
-  /**
-   * Determine the action type based on HTTP method annotations.
-   */
-  private AuditActionType determineActionType(Method method) {
-    if (method.isAnnotationPresent(GetMapping.class)) {
-      if (method.getName().contains("balance")) {
-        return AuditActionType.BALANCE_CHECKED;
-      } else if (method.getName().contains("transaction")) {
-        return AuditActionType.TRANSACTION_HISTORY_VIEWED;
-      } else {
-        return AuditActionType.TRANSACTION_VIEWED;
-      }
-    } else if (method.isAnnotationPresent(PostMapping.class)) {
-      if (method.getName().contains("login")) {
-        return AuditActionType.USER_LOGIN;
-      } else if (method.getName().contains("register")) {
-        return AuditActionType.USER_REGISTERED;
-      } else if (method.getName().contains("transfer")) {
-        return AuditActionType.MONEY_TRANSFERRED;
-      } else if (method.getName().contains("add") || method.getName().contains("deposit")) {
-        return AuditActionType.FUNDS_ADDED;
-      }
-    } else if (method.isAnnotationPresent(PutMapping.class)) {
-      if (method.getName().contains("transfer")) {
-        return AuditActionType.MONEY_TRANSFERRED;
-      }
-    }
-
-    // Default action type
-    return AuditActionType.TRANSACTION_VIEWED;
-  }
-
-  /**
-   * Determine the entity type based on controller class.
-   */
-  private AuditEntityType determineEntityType(Class<?> controllerClass) {
-    String className = controllerClass.getSimpleName().toLowerCase();
-
-    if (className.contains("auth")) {
-      return AuditEntityType.AUTHENTICATION;
-    } else if (className.contains("user")) {
-      return AuditEntityType.USER;
-    } else if (className.contains("wallet")) {
-      return AuditEntityType.WALLET;
-    } else if (className.contains("transaction")) {
-      return AuditEntityType.TRANSACTION;
-    }
-
-    // Default entity type
-    return AuditEntityType.SYSTEM;
-  }
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package com.mobilebanking.shared.infrastructure;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Position of an audit log in page order: most recent first, ties broken by
+ * descending ID. Encoded as {@code <epoch nanos>_<id>}, with the time read
+ * as UTC so the cursor does not depend on the server's zone.
+ *
+ * @param createdAt time of the log
+ * @param id        ID of the log
+ */
+public record AuditLogCursor(LocalDateTime createdAt, String id) {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /**
+     * Parses a cursor issued by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static AuditLogCursor parse(String cursor) {
+        int separator = cursor.indexOf('_');
+        if (separator < 1 || separator == cursor.length() - 1) {
+            throw new IllegalArgumentException("Invalid audit log cursor: " + cursor);
+        }
+        try {
+            long nanos = Long.parseLong(cursor.substring(0, separator));
+            LocalDateTime createdAt = LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND),
+                    (int) Math.floorMod(nanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+            return new AuditLogCursor(createdAt, cursor.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid audit log cursor: " + cursor, e);
+        }
+    }
+
+    public String encode() {
+        return (createdAt.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + createdAt.getNano()) + "_" + id;
+    }
+
+    /**
+     * @return whether a log with the given time and ID comes after this
+     *         position in page order
+     */
+    public boolean precedes(LocalDateTime createdAt, String id) {
+        int byTime = createdAt.compareTo(this.createdAt);
+        return byTime < 0 || (byTime == 0 && id.compareTo(this.id) < 0);
+    }
+}
@@ -0,0 +1,149 @@
+package com.mobilebanking.shared.infrastructure;
+
+import com.mobilebanking.shared.domain.AuditLog;
+import com.mobilebanking.shared.domain.AuditLogFilter;
+import com.mobilebanking.shared.domain.AuditLogPage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Bounded reads of {@code audit_logs} for admin investigations.
+ *
+ * Pages are keyset queries ordered by {@code created_at} and {@code id},
+ * each served by one of the composite indexes of V11, so a page costs the
+ * same however deep into the results it is. Exports run the same query
+ * without a limit and hand rows on as they arrive, fetched
+ * {@code audit.query.export-fetch-size} at a time; the caller must hold a
+ * transaction for the driver to use a cursor rather than read the whole
+ * result.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.store", havingValue = "jdbc", matchIfMissing = true)
+public class AuditLogReader {
+
+    private static final String SELECT = "SELECT id, user_id, action_type, entity_type, entity_id, details, "
+            + "ip_address, created_at FROM audit_logs";
+    private static final String ORDER = " ORDER BY created_at DESC, id DESC";
+    private static final RowMapper<AuditLog> ROW_MAPPER = (rs, rowNum) -> AuditLog.reconstitute(
+            rs.getString("id"), rs.getString("user_id"), rs.getString("action_type"),
+            rs.getString("entity_type"), rs.getString("entity_id"), rs.getString("details"),
+            rs.getString("ip_address"), rs.getTimestamp("created_at").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int exportFetchSize;
+
+    @Autowired
+    public AuditLogReader(JdbcTemplate jdbcTemplate,
+            @Value("${audit.query.export-fetch-size:500}") int exportFetchSize) {
+        if (exportFetchSize < 1) {
+            throw new IllegalArgumentException("Audit export fetch size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    /**
+     * Reads one page of the logs matching a filter, most recent first.
+     *
+     * @param filter the criteria
+     * @param cursor next cursor of the previous page, or null for the first page
+     * @param limit  maximum number of logs on the page
+     * @return the page
+     * @throws IllegalArgumentException if the cursor is malformed or the limit not positive
+     */
+    public AuditLogPage page(AuditLogFilter filter, String cursor, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = where(filter, args);
+        if (cursor != null) {
+            AuditLogCursor after = AuditLogCursor.parse(cursor);
+            sql.append(args.isEmpty() ? " WHERE" : " AND")
+                    .append(" (created_at < ? OR (created_at = ? AND id < ?))");
+            args.add(after.createdAt());
+            args.add(after.createdAt());
+            args.add(after.id());
+        }
+        sql.append(ORDER).append(" LIMIT ?");
+        args.add(limit + 1); // One extra row tells whether there is a next page
+        List<AuditLog> logs = jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+
+        if (logs.size() <= limit) {
+            return new AuditLogPage(logs, null);
+        }
+        AuditLog last = logs.get(limit - 1);
+        return new AuditLogPage(logs.subList(0, limit),
+                new AuditLogCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+
+    /**
+     * Streams the logs matching a filter, most recent first.
+     *
+     * @param filter   the criteria
+     * @param consumer receives each log
+     * @return the number of logs exported
+     */
+    public long export(AuditLogFilter filter, Consumer<AuditLog> consumer) {
+        List<Object> args = new ArrayList<>();
+        String sql = where(filter, args).append(ORDER).toString();
+        long[] exported = new long[1];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(exportFetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            consumer.accept(ROW_MAPPER.mapRow(rs, 0));
+            exported[0]++;
+        });
+        return exported[0];
+    }
+
+    private static StringBuilder where(AuditLogFilter filter, List<Object> args) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.userId() != null) {
+            conditions.add("user_id = ?");
+            args.add(filter.userId());
+        }
+        if (filter.actionType() != null) {
+            conditions.add("action_type = ?");
+            args.add(filter.actionType().toString());
+        }
+        if (filter.entityType() != null) {
+            conditions.add("entity_type = ?");
+            args.add(filter.entityType().toString());
+        }
+        if (filter.entityId() != null) {
+            conditions.add("entity_id = ?");
+            args.add(filter.entityId());
+        }
+        if (filter.startDate() != null) {
+            conditions.add("created_at >= ?");
+            args.add(filter.startDate());
+        }
+        if (filter.endDate() != null) {
+            conditions.add("created_at <= ?");
+            args.add(filter.endDate());
+        }
+        StringBuilder sql = new StringBuilder(SELECT);
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        return sql;
+    }
+}
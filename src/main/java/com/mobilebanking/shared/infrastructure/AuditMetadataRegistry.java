@@ -0,0 +1,176 @@
+package com.mobilebanking.shared.infrastructure;
+
+import com.mobilebanking.shared.api.Audited;
+import com.mobilebanking.shared.domain.AuditActionType;
+import com.mobilebanking.shared.domain.AuditEntityType;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Audit metadata of controller methods, resolved once instead of on every
+ * call. When the context has started, the methods of every
+ * {@code @RestController} are resolved; methods seen later, e.g. of
+ * controllers created outside the context, are resolved on first use.
+ */
+@Component
+public class AuditMetadataRegistry implements SmartInitializingSingleton {
+
+    private static final String ADMIN_PATH = "/api/admin";
+
+    private final ListableBeanFactory beanFactory;
+    private final Map<Method, AuditMetadata> controllerMethods = new ConcurrentHashMap<>();
+    private final Map<Method, AuditMetadata> auditedMethods = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AuditMetadataRegistry(ListableBeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    AuditMetadataRegistry() {
+        this(null);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (beanFactory == null) {
+            return;
+        }
+        for (String name : beanFactory.getBeanNamesForAnnotation(RestController.class)) {
+            Class<?> type = beanFactory.getType(name);
+            if (type == null) {
+                continue;
+            }
+            for (Method method : ClassUtils.getUserClass(type).getDeclaredMethods()) {
+                if (Modifier.isPublic(method.getModifiers()) && !method.isSynthetic()) {
+                    forController(method);
+                    if (method.isAnnotationPresent(Audited.class)) {
+                        forAudited(method);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the metadata of a method audited as a controller method, with the
+     * action derived from its HTTP method and name and the entity from its
+     * class.
+     */
+    public AuditMetadata forController(Method method) {
+        return controllerMethods.computeIfAbsent(method, m -> new AuditMetadata(
+                determineActionType(m),
+                determineEntityType(m.getDeclaringClass()),
+                "Successfully executed " + m.getName(),
+                "Error executing " + m.getName() + ": "));
+    }
+
+    /**
+     * Gets the metadata of a method annotated with {@link Audited}.
+     */
+    public AuditMetadata forAudited(Method method) {
+        return auditedMethods.computeIfAbsent(method, m -> {
+            Audited audited = m.getAnnotation(Audited.class);
+            String description = audited.description().isEmpty()
+                    ? "Executed " + m.getName()
+                    : audited.description();
+            return new AuditMetadata(audited.action(), audited.entity(), description, description + " failed: ");
+        });
+    }
+
+    int size() {
+        return controllerMethods.size() + auditedMethods.size();
+    }
+
+    /**
+     * Determine the action type based on the HTTP method and the path. Reads
+     * are told apart by name and may be sampled; admin reads and every other
+     * request map to actions that are always recorded in full.
+     */
+    private static AuditActionType determineActionType(Method method) {
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+        if (mapping != null && isAdmin(method.getDeclaringClass())) {
+            return isRead(mapping) ? AuditActionType.ADMIN_DATA_VIEWED : AuditActionType.DATA_MODIFIED;
+        }
+        if (mapping == null || isRead(mapping)) {
+            if (method.getName().contains("balance")) {
+                return AuditActionType.BALANCE_CHECKED;
+            } else if (method.getName().contains("transaction")) {
+                return AuditActionType.TRANSACTION_HISTORY_VIEWED;
+            } else {
+                return AuditActionType.TRANSACTION_VIEWED;
+            }
+        }
+        String name = method.getName().toLowerCase(Locale.ROOT);
+        if (name.contains("logout")) {
+            return AuditActionType.USER_LOGOUT;
+        } else if (name.contains("login")) {
+            return AuditActionType.USER_LOGIN;
+        } else if (name.contains("register")) {
+            return AuditActionType.USER_REGISTERED;
+        } else if (name.contains("transfer")) {
+            return AuditActionType.MONEY_TRANSFERRED;
+        } else if (name.contains("addfunds") || name.contains("deposit")) {
+            return AuditActionType.FUNDS_ADDED;
+        }
+        return AuditActionType.DATA_MODIFIED;
+    }
+
+    // A mapping without methods accepts any, so it counts as a change
+    private static boolean isRead(RequestMapping mapping) {
+        return mapping.method().length > 0 && Arrays.stream(mapping.method())
+                .allMatch(requestMethod -> requestMethod == RequestMethod.GET || requestMethod == RequestMethod.HEAD);
+    }
+
+    private static boolean isAdmin(Class<?> controllerClass) {
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(controllerClass, RequestMapping.class);
+        return mapping != null && Stream.concat(Arrays.stream(mapping.path()), Arrays.stream(mapping.value()))
+                .anyMatch(path -> path.startsWith(ADMIN_PATH));
+    }
+
+    /**
+     * Determine the entity type based on controller class.
+     */
+    private static AuditEntityType determineEntityType(Class<?> controllerClass) {
+        String className = controllerClass.getSimpleName().toLowerCase();
+
+        if (className.contains("auth")) {
+            return AuditEntityType.AUTHENTICATION;
+        } else if (className.contains("user")) {
+            return AuditEntityType.USER;
+        } else if (className.contains("wallet")) {
+            return AuditEntityType.WALLET;
+        } else if (className.contains("transaction")) {
+            return AuditEntityType.TRANSACTION;
+        }
+
+        // Default entity type
+        return AuditEntityType.SYSTEM;
+    }
+
+    /**
+     * What is recorded when an audited method runs.
+     *
+     * @param actionType     action recorded on success
+     * @param entityType     entity type recorded
+     * @param successDetails details recorded on success
+     * @param failurePrefix  details recorded on failure, before the exception message
+     */
+    public record AuditMetadata(AuditActionType actionType, AuditEntityType entityType, String successDetails,
+            String failurePrefix) {
+    }
+}
@@ -0,0 +1,199 @@
+package com.mobilebanking.shared.infrastructure;
+
+import com.mobilebanking.shared.domain.AuditActionType;
+import com.mobilebanking.shared.domain.AuditEntityType;
+import com.mobilebanking.shared.domain.AuditService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Decides which successful audited calls are recorded, per action type:
+ * <ul>
+ *   <li>full: every call is recorded;</li>
+ *   <li>sampled: a share {@code audit.policy.sample-rate} of calls is
+ *       recorded, chosen at random;</li>
+ *   <li>aggregated: calls are counted per user, action and entity type, and
+ *       every {@code audit.policy.aggregate-interval-ms} each count is
+ *       recorded as one log;</li>
+ *   <li>off: nothing is recorded.</li>
+ * </ul>
+ * Actions are listed under {@code audit.policy.sampled},
+ * {@code audit.policy.aggregated} and {@code audit.policy.off}; all others
+ * are recorded in full. Authentication, money movement, error,
+ * configuration and other data changes, and admin reads are required for
+ * compliance and can only be recorded in full. Failures are always
+ * recorded by the aspects regardless of the policy.
+ *
+ * Exports {@code mobile_banking_audit_policy_events_total} tagged with the
+ * action and the outcome ({@code recorded}, {@code skipped} or
+ * {@code aggregated}).
+ */
+@Component
+public class AuditPolicy {
+
+    /**
+     * How the calls of an action are recorded.
+     */
+    public enum Mode {
+        FULL, SAMPLED, AGGREGATED, OFF
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditPolicy.class);
+    private static final Set<AuditActionType> REQUIRED = EnumSet.of(
+            AuditActionType.USER_REGISTERED, AuditActionType.USER_LOGIN, AuditActionType.USER_LOGOUT,
+            AuditActionType.MONEY_TRANSFERRED, AuditActionType.FUNDS_ADDED,
+            AuditActionType.SYSTEM_ERROR, AuditActionType.CONFIGURATION_CHANGED,
+            AuditActionType.DATA_MODIFIED, AuditActionType.ADMIN_DATA_VIEWED);
+    private static final Set<String> REQUIRED_NAMES = REQUIRED.stream()
+            .map(Enum::name)
+            .collect(Collectors.toUnmodifiableSet());
+
+    private final AuditService auditService;
+    private final Map<AuditActionType, Mode> modes = new EnumMap<>(AuditActionType.class);
+    private final double sampleRate;
+    private final Map<AuditActionType, Counter[]> outcomes = new EnumMap<>(AuditActionType.class);
+    private final Map<AggregateKey, Long> aggregates = new ConcurrentHashMap<>();
+    private volatile LocalDateTime periodStart = LocalDateTime.now();
+
+    @Autowired
+    public AuditPolicy(
+            AuditService auditService,
+            @Value("${audit.policy.sampled:}") AuditActionType[] sampled,
+            @Value("${audit.policy.aggregated:}") AuditActionType[] aggregated,
+            @Value("${audit.policy.off:}") AuditActionType[] off,
+            @Value("${audit.policy.sample-rate:0.05}") double sampleRate,
+            MeterRegistry meterRegistry) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("Audit sample rate must be between 0 and 1");
+        }
+        this.auditService = auditService;
+        this.sampleRate = sampleRate;
+        for (AuditActionType actionType : AuditActionType.values()) {
+            modes.put(actionType, Mode.FULL);
+            outcomes.put(actionType, new Counter[] {
+                    outcome(meterRegistry, actionType, "recorded"),
+                    outcome(meterRegistry, actionType, "skipped"),
+                    outcome(meterRegistry, actionType, "aggregated")});
+        }
+        configure(sampled, Mode.SAMPLED);
+        configure(aggregated, Mode.AGGREGATED);
+        configure(off, Mode.OFF);
+    }
+
+    /**
+     * Applies the policy to one successful call.
+     *
+     * @param userId     user who made the call, or null for a system call
+     * @param actionType the action
+     * @param entityType the entity type
+     * @return whether the call is to be recorded now
+     */
+    public boolean shouldRecord(String userId, AuditActionType actionType, AuditEntityType entityType) {
+        Mode mode = modes.get(actionType);
+        Counter[] counters = outcomes.get(actionType);
+        boolean record = switch (mode) {
+            case FULL -> true;
+            case SAMPLED -> ThreadLocalRandom.current().nextDouble() < sampleRate;
+            case AGGREGATED -> {
+                aggregates.merge(new AggregateKey(userId, actionType, entityType), 1L, Long::sum);
+                counters[2].increment();
+                yield false;
+            }
+            case OFF -> false;
+        };
+        if (record) {
+            counters[0].increment();
+        } else if (mode != Mode.AGGREGATED) {
+            counters[1].increment();
+        }
+        return record;
+    }
+
+    /**
+     * Records one log per user, action and entity type counted since the
+     * last flush.
+     *
+     * @return the number of logs recorded
+     */
+    @Scheduled(fixedDelayString = "${audit.policy.aggregate-interval-ms:60000}")
+    public int flushAggregates() {
+        LocalDateTime start = periodStart;
+        LocalDateTime end = LocalDateTime.now();
+        periodStart = end;
+        int recorded = 0;
+        for (AggregateKey key : aggregates.keySet()) {
+            // Calls counted after the removal start a new entry for the next flush
+            Long count = aggregates.remove(key);
+            if (count == null) {
+                continue;
+            }
+            String details = String.format("%d calls between %s and %s", count, start, end);
+            if (key.userId() != null) {
+                auditService.logUserAction(key.userId(), key.actionType(), key.entityType(), null, details, null);
+            } else {
+                auditService.logSystemAction(key.actionType(), key.entityType(), null, details);
+            }
+            recorded++;
+        }
+        if (recorded > 0) {
+            logger.debug("Recorded {} aggregated audit logs", recorded);
+        }
+        return recorded;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushAggregates();
+    }
+
+    /**
+     * Checks whether an action must always be recorded in full, and so never
+     * be sampled, aggregated or dropped.
+     *
+     * @param actionType the action type name
+     * @return true if the action is required
+     */
+    static boolean isRequired(String actionType) {
+        return REQUIRED_NAMES.contains(actionType);
+    }
+
+    private void configure(AuditActionType[] actionTypes, Mode mode) {
+        for (AuditActionType actionType : actionTypes) {
+            if (REQUIRED.contains(actionType)) {
+                throw new IllegalArgumentException("Audit action " + actionType
+                        + " is required and cannot be " + mode.name().toLowerCase(Locale.ROOT));
+            }
+            if (modes.put(actionType, mode) != Mode.FULL) {
+                throw new IllegalArgumentException("Audit action " + actionType + " has more than one policy");
+            }
+        }
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, AuditActionType actionType, String outcome) {
+        return Counter.builder("mobile_banking_audit_policy_events_total")
+                .tag("action", actionType.name())
+                .tag("outcome", outcome)
+                .description("Audited calls by action and policy outcome")
+                .register(meterRegistry);
+    }
+
+    private record AggregateKey(String userId, AuditActionType actionType, AuditEntityType entityType) {
+    }
+}
@@ -1,80 +1,86 @@
 package com.mobilebanking.shared.infrastructure;
 
 import com.mobilebanking.shared.domain.AuditActionType;import com.mobilebanking.shared.domain.AuditEntityType;
+import com.mobilebanking.shared.domain.AuditChainVerification;
+import com.mobilebanking.shared.domain.AuditEvent;
 import com.mobilebanking.shared.domain.AuditLog;
+import com.mobilebanking.shared.domain.AuditLogFilter;
+import com.mobilebanking.shared.domain.AuditLogPage;
 import com.mobilebanking.shared.domain.AuditService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Implementation of the AuditService interface.
- * Uses a separate transaction to ensure audit logs are created even if the main transaction fails.
+ * Audit logs are queued and written by the {@link AuditEventWriter} in the background, outside the
+ * caller's transaction, so they are kept even if the calling transaction fails.
+ * Paged and exported queries are read by the {@link AuditLogReader} and cover the table only;
+ * archived days are available through {@link #getAuditLogsByDateRange}. Written rows are linked
+ * into the {@link AuditHashChain} unless it is disabled.
  */
 @Service
+@ConditionalOnProperty(name = "audit.store", havingValue = "jdbc", matchIfMissing = true)
 public class AuditServiceImpl implements AuditService {
     
     private final AuditLogRepository auditLogRepository;
+    private final AuditEventWriter auditEventWriter;
+    private final AuditLogArchive auditLogArchive;
+    private final AuditLogReader auditLogReader;
+    private final AuditHashChain auditHashChain; // Null if the chain is disabled
     
-    public AuditServiceImpl(AuditLogRepository auditLogRepository) {
+    @Autowired
+    public AuditServiceImpl(AuditLogRepository auditLogRepository, AuditEventWriter auditEventWriter,
+                            AuditLogArchive auditLogArchive, AuditLogReader auditLogReader,
+                            ObjectProvider<AuditHashChain> auditHashChain) {
+        this(auditLogRepository, auditEventWriter, auditLogArchive, auditLogReader, auditHashChain.getIfAvailable());
+    }
+    
+    AuditServiceImpl(AuditLogRepository auditLogRepository, AuditEventWriter auditEventWriter,
+                     AuditLogArchive auditLogArchive, AuditLogReader auditLogReader, AuditHashChain auditHashChain) {
         this.auditLogRepository = auditLogRepository;
+        this.auditEventWriter = auditEventWriter;
+        this.auditLogArchive = auditLogArchive;
+        this.auditLogReader = auditLogReader;
+        this.auditHashChain = auditHashChain;
     }
     
     /**
      * Log a user action with full context.
-     * Uses REQUIRES_NEW propagation to ensure audit logs are committed even if the calling transaction fails.
      */
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logUserAction(String userId, AuditActionType actionType, AuditEntityType entityType, 
                              String entityId, String details, String ipAddress) {
-        AuditLog auditLog = AuditLog.create(
-            userId,
-            actionType.toString(),
-            entityType.toString(),
-            entityId,
-            details,
-            ipAddress
-        );
-        auditLogRepository.save(auditLog);
+        auditEventWriter.enqueue(AuditEvent.of(userId, actionType, entityType, entityId, details, ipAddress));
     }
     
     /**
      * Log a user action with minimal context.
      */
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logUserAction(String userId, AuditActionType actionType, String details) {
-        AuditLog auditLog = AuditLog.create(
-            userId,
-            actionType.toString(),
-            AuditEntityType.USER.toString(),
-            userId,
-            details,
-            null
-        );
-        auditLogRepository.save(auditLog);
+        auditEventWriter.enqueue(AuditEvent.of(userId, actionType, AuditEntityType.USER, userId, details, null));
     }
     
     /**
      * Log a system action (no user context).
      */
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logSystemAction(AuditActionType actionType, AuditEntityType entityType, 
                                String entityId, String details) {
-        AuditLog auditLog = AuditLog.createSystemLog(
-            actionType.toString(),
-            entityType.toString(),
-            entityId,
-            details
-        );
-        auditLogRepository.save(auditLog);
+        auditEventWriter.enqueue(AuditEvent.system(actionType, entityType, entityId, details));
     }
     
     /**
@@ -115,11 +121,67 @@ public class AuditServiceImpl implements AuditService {
     }
     
     /**
-     * Get audit logs within a date range.
+     * Get audit logs within a date range, from the table and from the archive files of older days.
+     * A log that is in both, e.g. after an interrupted archive run, is returned once.
      */
     @Override
     @Transactional(readOnly = true)
     public List<AuditLog> getAuditLogsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return auditLogRepository.findByDateRange(startDate, endDate);
+        List<AuditLog> hot = auditLogRepository.findByDateRange(startDate, endDate);
+        return merge(hot, auditLogArchive.findByDateRange(startDate, endDate), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Get the most recent audit logs within a date range, from the table and the archive files,
+     * reading at most limit logs from each.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<AuditLog> getAuditLogsByDateRange(LocalDateTime startDate, LocalDateTime endDate, int limit) {
+        List<AuditLog> hot = auditLogReader.page(AuditLogFilter.between(startDate, endDate), null, limit).getLogs();
+        return merge(hot, auditLogArchive.findByDateRange(startDate, endDate, limit), limit);
+    }
+    
+    /**
+     * Get one page of the audit logs matching a filter, most recent first.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public AuditLogPage getAuditLogPage(AuditLogFilter filter, String cursor, int limit) {
+        return auditLogReader.page(filter, cursor, limit);
+    }
+    
+    /**
+     * Stream the audit logs matching a filter, most recent first. The transaction lets the
+     * driver fetch rows in batches instead of reading the whole result.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAuditLogs(AuditLogFilter filter, Consumer<AuditLog> consumer) {
+        return auditLogReader.export(filter, consumer);
+    }
+    
+    /**
+     * Verify the hash chain from the last checkpoint before the range to the first one after it.
+     */
+    @Override
+    public AuditChainVerification verifyAuditChain(LocalDateTime startDate, LocalDateTime endDate) {
+        if (auditHashChain == null) {
+            throw new IllegalStateException("The audit hash chain is disabled");
+        }
+        return auditHashChain.verify(startDate, endDate);
+    }
+
+    // Most recent first; a log that is in both, e.g. after an interrupted archive run, is returned once
+    private static List<AuditLog> merge(List<AuditLog> hot, List<AuditLog> archived, int limit) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        Map<String, AuditLog> merged = new LinkedHashMap<>();
+        hot.forEach(log -> merged.put(log.getId(), log));
+        archived.forEach(log -> merged.putIfAbsent(log.getId(), log));
+        List<AuditLog> logs = new ArrayList<>(merged.values());
+        logs.sort(Comparator.comparing(AuditLog::getCreatedAt).reversed());
+        return logs.size() > limit ? logs.subList(0, limit) : logs;
     }
-}
\ No newline at end of file
+}
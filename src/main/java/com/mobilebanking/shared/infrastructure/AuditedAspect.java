@@ -1,7 +1,7 @@
 package com.mobilebanking.shared.infrastructure;
 
-import com.mobilebanking.shared.api.Audited;
 import com.mobilebanking.shared.domain.AuditService;
+import com.mobilebanking.shared.infrastructure.AuditMetadataRegistry.AuditMetadata;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
@@ -13,6 +13,7 @@ import java.util.Optional;
 
 /**
  * Aspect for handling methods annotated with @Audited.
+ * Whether a successful call is recorded is up to the {@link AuditPolicy}.
  */
 @Aspect
 @Component
@@ -20,10 +21,15 @@ public class AuditedAspect {
 
     private final AuditService auditService;
     private final SecurityContextUtils securityContextUtils;
+    private final AuditMetadataRegistry auditMetadataRegistry;
+    private final AuditPolicy auditPolicy;
 
-    public AuditedAspect(AuditService auditService, SecurityContextUtils securityContextUtils) {
+    public AuditedAspect(AuditService auditService, SecurityContextUtils securityContextUtils,
+            AuditMetadataRegistry auditMetadataRegistry, AuditPolicy auditPolicy) {
         this.auditService = auditService;
         this.securityContextUtils = securityContextUtils;
+        this.auditMetadataRegistry = auditMetadataRegistry;
+        this.auditPolicy = auditPolicy;
     }
 
     /**
@@ -35,8 +41,8 @@ public class AuditedAspect {
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
         Method method = signature.getMethod();
 
-        // Get annotation
-        Audited audited = method.getAnnotation(Audited.class);
+        // Action, entity type and description from the annotation, resolved once per method
+        AuditMetadata metadata = auditMetadataRegistry.forAudited(method);
 
         // Get user ID from security context
         Optional<String> userIdOpt = securityContextUtils.getCurrentUserId();
@@ -44,31 +50,29 @@ public class AuditedAspect {
         // Get client IP address
         Optional<String> ipAddressOpt = securityContextUtils.getClientIpAddress();
 
-        // Prepare description
-        String description = audited.description().isEmpty()
-                ? "Executed " + method.getName()
-                : audited.description();
-
         // Execute the method
         Object result;
         try {
             result = joinPoint.proceed();
 
             // Log successful action
+            if (!auditPolicy.shouldRecord(userIdOpt.orElse(null), metadata.actionType(), metadata.entityType())) {
+                return result;
+            }
             if (userIdOpt.isPresent()) {
                 auditService.logUserAction(
                         userIdOpt.get(),
-                        audited.action(),
-                        audited.entity(),
+                        metadata.actionType(),
+                        metadata.entityType(),
                         null, // Entity ID not available generically
-                        description,
+                        metadata.successDetails(),
                         ipAddressOpt.orElse(null));
             } else {
                 auditService.logSystemAction(
-                        audited.action(),
-                        audited.entity(),
+                        metadata.actionType(),
+                        metadata.entityType(),
                         null,
-                        description);
+                        metadata.successDetails());
             }
 
             return result;
@@ -77,17 +81,17 @@ public class AuditedAspect {
             if (userIdOpt.isPresent()) {
                 auditService.logUserAction(
                         userIdOpt.get(),
-                        audited.action(),
-                        audited.entity(),
+                        metadata.actionType(),
+                        metadata.entityType(),
                         null,
-                        description + " failed: " + ex.getMessage(),
+                        metadata.failurePrefix() + ex.getMessage(),
                         ipAddressOpt.orElse(null));
             } else {
                 auditService.logSystemAction(
-                        audited.action(),
-                        audited.entity(),
+                        metadata.actionType(),
+                        metadata.entityType(),
                         null,
-                        description + " failed: " + ex.getMessage());
+                        metadata.failurePrefix() + ex.getMessage());
             }
             throw ex;
         }
@@ -0,0 +1,200 @@
+package com.mobilebanking.shared.infrastructure;
+
+import com.mobilebanking.shared.domain.exception.HashingCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated pool for CPU-bound PIN hashing (BCrypt encode and verify).
+ * Request threads hand hashing work to this pool and wait for the result, so
+ * a login or registration burst can use at most a fixed share of the cores.
+ * When the bounded queue is full the work is rejected immediately with
+ * {@link HashingCapacityExceededException} instead of piling up.
+ *
+ * Exports {@code mobile_banking_pin_hash_duration_seconds} tagged by operation
+ * and cost, {@code mobile_banking_pin_hash_queue_wait_seconds} and
+ * {@code mobile_banking_pin_hash_rejected_total} tagged by operation, plus the
+ * {@code mobile_banking_pin_hash_queue_depth} and
+ * {@code mobile_banking_pin_hash_active_threads} gauges.
+ */
+@Component
+public class PinHashingExecutor {
+
+    public static final String VERIFY = "verify";
+    public static final String ENCODE = "encode";
+    public static final String REHASH = "rehash";
+
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public PinHashingExecutor(
+            @Value("${security.hashing.core-share:0.5}") double coreShare,
+            @Value("${security.hashing.queue-capacity:64}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        this(threadsFor(coreShare), queueCapacity, meterRegistry);
+    }
+
+    public PinHashingExecutor(int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        if (threads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Hashing pool needs at least one thread and one queue slot");
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "pin-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("mobile_banking_pin_hash_queue_depth", executor, e -> e.getQueue().size())
+                .description("PIN hashing tasks waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("mobile_banking_pin_hash_active_threads", executor, ThreadPoolExecutor::getActiveCount)
+                .description("PIN hashing workers currently busy")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs a hashing task on the pool and waits for its result.
+     *
+     * @param operation the operation tag, {@link #VERIFY} or {@link #ENCODE}
+     * @param cost      the hash cost, used to tag the duration timer
+     * @param task      the hashing work
+     * @param <T>       the result type
+     * @return the task result
+     * @throws HashingCapacityExceededException if the pool's queue is full
+     */
+    public <T> T run(String operation, int cost, Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(timed(operation, cost, task::get));
+        } catch (RejectedExecutionException e) {
+            recordRejection(operation);
+            throw HashingCapacityExceededException.queueFull();
+        }
+
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("PIN hashing failed", cause);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for PIN hashing", e);
+        }
+    }
+
+    /**
+     * Queues a hashing task without waiting for it. Used for opportunistic work
+     * that is simply skipped when the pool is saturated.
+     *
+     * @param operation the operation tag
+     * @param cost      the hash cost, used to tag the duration timer
+     * @param task      the hashing work
+     * @return true if the task was queued, false if it was rejected
+     */
+    public boolean submit(String operation, int cost, Runnable task) {
+        try {
+            executor.execute(() -> {
+                try {
+                    timed(operation, cost, () -> {
+                        task.run();
+                        return null;
+                    }).call();
+                } catch (Exception e) {
+                    throw new IllegalStateException("PIN hashing failed", e);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            recordRejection(operation);
+            return false;
+        }
+    }
+
+    /**
+     * Gets the number of worker threads in the pool.
+     *
+     * @return pool size
+     */
+    public int getPoolSize() {
+        return executor.getCorePoolSize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> Callable<T> timed(String operation, int cost, Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        return () -> {
+            long startedAt = System.nanoTime();
+            queueWaitTimer(operation).record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+            try {
+                return task.call();
+            } finally {
+                durationTimer(operation, cost).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    private void recordRejection(String operation) {
+        Counter.builder("mobile_banking_pin_hash_rejected_total")
+                .description("PIN hashing tasks rejected because the queue was full")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private Timer durationTimer(String operation, int cost) {
+        return Timer.builder("mobile_banking_pin_hash_duration_seconds")
+                .description("Time spent computing PIN hashes")
+                .tag("operation", operation)
+                .tag("cost", String.valueOf(cost))
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private Timer queueWaitTimer(String operation) {
+        return Timer.builder("mobile_banking_pin_hash_queue_wait_seconds")
+                .description("Time PIN hashing tasks wait for a worker")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static int threadsFor(double coreShare) {
+        if (coreShare <= 0 || coreShare > 1) {
+            throw new IllegalArgumentException("Hashing core share must be in (0, 1]");
+        }
+        return Math.max(1, (int) Math.round(Runtime.getRuntime().availableProcessors() * coreShare));
+    }
+}
@@ -0,0 +1,101 @@
+package com.mobilebanking.shared.infrastructure;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Named leases in {@code scheduler_locks}, so a scheduled job that must not
+ * run on two instances at once runs on one of them.
+ *
+ * A lease lasts until it is released or its time runs out, so a holder that
+ * crashes blocks the job for at most one lease time; long runs extend their
+ * lease as they go and stop once they have lost it. Expiry is compared with
+ * each instance's clock, so clocks must agree to well within a lease time.
+ */
+@Component
+public class SchedulerLock {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+    private final String instance;
+
+    @Autowired
+    public SchedulerLock(JdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, Clock.systemDefaultZone(), ManagementFactory.getRuntimeMXBean().getName());
+    }
+
+    SchedulerLock(JdbcTemplate jdbcTemplate, Clock clock, String instance) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+        this.instance = instance;
+    }
+
+    /**
+     * Takes a lease unless another holder's lease is still running.
+     *
+     * @param name      the job name
+     * @param leaseTime how long the lease lasts unless extended
+     * @return the lease, or empty if it is held elsewhere
+     */
+    public Optional<Lease> tryAcquire(String name, Duration leaseTime) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        String holder = instance + "/" + UUID.randomUUID();
+        Timestamp until = Timestamp.valueOf(now.plus(leaseTime));
+        int taken = jdbcTemplate.update(
+                "UPDATE scheduler_locks SET locked_until = ?, locked_by = ? WHERE name = ? AND locked_until <= ?",
+                until, holder, name, Timestamp.valueOf(now));
+        if (taken == 0) {
+            try {
+                jdbcTemplate.update("INSERT INTO scheduler_locks (name, locked_until, locked_by) VALUES (?, ?, ?)",
+                        name, until, holder);
+            } catch (DuplicateKeyException e) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(new Lease(name, holder, leaseTime));
+    }
+
+    /**
+     * A held lease; closing it releases the lease.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final String name;
+        private final String holder;
+        private final Duration leaseTime;
+
+        private Lease(String name, String holder, Duration leaseTime) {
+            this.name = name;
+            this.holder = holder;
+            this.leaseTime = leaseTime;
+        }
+
+        /**
+         * Restarts the lease time, unless the lease has run out meanwhile.
+         *
+         * @return true if the lease is still held
+         */
+        public boolean extend() {
+            LocalDateTime now = LocalDateTime.now(clock);
+            return jdbcTemplate.update(
+                    "UPDATE scheduler_locks SET locked_until = ? WHERE name = ? AND locked_by = ? AND locked_until > ?",
+                    Timestamp.valueOf(now.plus(leaseTime)), name, holder, Timestamp.valueOf(now)) == 1;
+        }
+
+        @Override
+        public void close() {
+            jdbcTemplate.update("UPDATE scheduler_locks SET locked_until = ? WHERE name = ? AND locked_by = ?",
+                    Timestamp.valueOf(LocalDateTime.now(clock)), name, holder);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.mobilebanking.shared.infrastructure.segment;
+
+import com.mobilebanking.shared.domain.AuditEvent;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Filter for audit records in segments. Null fields match anything; the
+ * time range is inclusive.
+ */
+public record AuditQuery(String userId, String actionType, String entityType, String entityId,
+        LocalDateTime from, LocalDateTime to) {
+
+    public static AuditQuery byUser(String userId) {
+        return new AuditQuery(userId, null, null, null, null, null);
+    }
+
+    public static AuditQuery byActionType(String actionType) {
+        return new AuditQuery(null, actionType, null, null, null, null);
+    }
+
+    public static AuditQuery byEntity(String entityType, String entityId) {
+        return new AuditQuery(null, null, entityType, entityId, null, null);
+    }
+
+    public static AuditQuery between(LocalDateTime from, LocalDateTime to) {
+        return new AuditQuery(null, null, null, null, from, to);
+    }
+
+    boolean matches(AuditEvent event) {
+        return (userId == null || userId.equals(event.userId()))
+                && (actionType == null || actionType.equals(event.actionType()))
+                && (entityType == null || entityType.equals(event.entityType()))
+                && (entityId == null || Objects.equals(entityId, event.entityId()))
+                && (from == null || !event.createdAt().isBefore(from))
+                && (to == null || !event.createdAt().isAfter(to));
+    }
+
+    // Key of the entity filter; only usable when both parts are given
+    String entityKey() {
+        return entityType != null && entityId != null ? entityKey(entityType, entityId) : null;
+    }
+
+    static String entityKey(String entityType, String entityId) {
+        return entityType + ':' + entityId;
+    }
+}
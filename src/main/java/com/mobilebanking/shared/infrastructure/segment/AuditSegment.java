@@ -0,0 +1,495 @@
+package com.mobilebanking.shared.infrastructure.segment;
+
+import com.mobilebanking.shared.domain.AuditEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * One fixed-size, memory-mapped segment file of audit records.
+ *
+ * The file starts with a {@value #HEADER_SIZE}-byte header (magic, version,
+ * sequence number). Records follow back to back:
+ * <pre>
+ *   int      body length
+ *   byte[32] digest of the previous record (zeros for the very first)
+ *   byte[]   body
+ *   byte[32] SHA-256 of previous digest and body
+ * </pre>
+ * The rest of the file is zeros, so a zero length marks the end. The length
+ * is written last, so a record only becomes visible once complete.
+ *
+ * Appends are serialized by the store; reads may run concurrently and only
+ * look at records below the published end. A sparse index summarizes every
+ * block of consecutive records by time range and by filters of their users,
+ * entities and action types, so queries skip blocks that cannot match. A
+ * sealed segment reopened for a single read has no index and is read
+ * through.
+ */
+final class AuditSegment {
+
+    static final int HEADER_SIZE = 64;
+    static final int DIGEST_SIZE = 32;
+    static final int RECORD_OVERHEAD = 4 + 2 * DIGEST_SIZE;
+
+    private static final int MAGIC = 0x41554453; // "AUDS"
+    private static final int VERSION = 1;
+
+    private final long sequence;
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final SparseIndex index; // Null for a sealed segment opened for one read
+    private volatile int end = HEADER_SIZE; // First free byte; records below it are complete
+    private byte[] lastDigest;
+    private long records;
+    private LocalDateTime oldest; // Null while there are no records
+    private LocalDateTime newest;
+
+    private AuditSegment(long sequence, Path path, MappedByteBuffer buffer, SparseIndex index) {
+        this.sequence = sequence;
+        this.path = path;
+        this.buffer = buffer;
+        this.capacity = buffer.capacity();
+        this.index = index;
+    }
+
+    /**
+     * Creates a new, empty segment file.
+     *
+     * @param previousDigest digest of the last record of the previous segment
+     */
+    static AuditSegment create(Path path, long sequence, int size, int indexInterval, byte[] previousDigest)
+            throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(8, sequence);
+        AuditSegment segment = new AuditSegment(sequence, path, buffer, new SparseIndex(indexInterval));
+        segment.lastDigest = previousDigest;
+        return segment;
+    }
+
+    /**
+     * Opens an existing segment file and rebuilds its index. If the segment
+     * is writable, a newest record left incomplete by a crash is cut off.
+     *
+     * @param previousDigest digest of the last record of the previous segment
+     */
+    static AuditSegment open(Path path, long sequence, boolean writable, int indexInterval, byte[] previousDigest)
+            throws IOException {
+        AuditSegment segment = new AuditSegment(sequence, path, map(path, sequence, writable),
+                new SparseIndex(indexInterval));
+        segment.recover(previousDigest, writable);
+        return segment;
+    }
+
+    /**
+     * Opens a sealed segment file read-only for one scan or verification,
+     * without building an index. The mapping is released once the segment
+     * is no longer referenced.
+     */
+    static AuditSegment openSealed(Path path, long sequence) throws IOException {
+        AuditSegment segment = new AuditSegment(sequence, path, map(path, sequence, false), null);
+        segment.end = segment.completeEnd();
+        return segment;
+    }
+
+    private static MappedByteBuffer map(Path path, long sequence, boolean writable) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, writable
+                ? new StandardOpenOption[] {StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[] {StandardOpenOption.READ})) {
+            buffer = channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY,
+                    0, channel.size());
+        }
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                || buffer.getLong(8) != sequence) {
+            throw new IOException("Not an audit segment: " + path);
+        }
+        return buffer;
+    }
+
+    // End of the records whose lengths fit in the file
+    private int completeEnd() {
+        int position = HEADER_SIZE;
+        while (position + 4 <= capacity) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || (long) position + RECORD_OVERHEAD + length > capacity) {
+                break;
+            }
+            position += RECORD_OVERHEAD + length;
+        }
+        return position;
+    }
+
+    // Only the newest record can be torn by a crash; anything wrong before it is left for the verifier
+    private void recover(byte[] previousDigest, boolean writable) {
+        int position = completeEnd();
+        int newest = -1;
+        for (int record = HEADER_SIZE; record < position; record += RECORD_OVERHEAD + buffer.getInt(record)) {
+            newest = record;
+        }
+        if (writable && newest >= 0
+                && checkRecord(newest, buffer.getInt(newest), null, AuditSegmentStore.sha256()) == null) {
+            position = newest;
+        }
+        if (writable && position + 4 <= capacity && buffer.getInt(position) != 0) {
+            buffer.put(position, new byte[capacity - position]); // Clean tail for new records
+        }
+        lastDigest = previousDigest;
+        for (int record = HEADER_SIZE; record < position; record += RECORD_OVERHEAD + buffer.getInt(record)) {
+            AuditEvent event = decodeOrNull(record);
+            if (event != null) {
+                index.add(record, event);
+                note(event);
+            }
+            lastDigest = new byte[DIGEST_SIZE];
+            buffer.get(record + 4 + DIGEST_SIZE + buffer.getInt(record), lastDigest);
+            records++;
+        }
+        end = position;
+    }
+
+    /**
+     * Checks that a record fits, links to the given digest and matches its own
+     * digest.
+     *
+     * @return the record's digest, or null if it is not valid
+     */
+    byte[] checkRecord(int position, int length, byte[] previous, MessageDigest sha256) {
+        if (length <= 0 || (long) position + RECORD_OVERHEAD + length > capacity) {
+            return null;
+        }
+        byte[] storedPrevious = new byte[DIGEST_SIZE];
+        buffer.get(position + 4, storedPrevious);
+        if (previous != null && !Arrays.equals(storedPrevious, previous)) {
+            return null;
+        }
+        sha256.reset();
+        sha256.update(storedPrevious);
+        sha256.update(buffer.slice(position + 4 + DIGEST_SIZE, length));
+        byte[] digest = sha256.digest();
+        byte[] stored = new byte[DIGEST_SIZE];
+        buffer.get(position + 4 + DIGEST_SIZE + length, stored);
+        return Arrays.equals(digest, stored) ? digest : null;
+    }
+
+    /**
+     * Whether a record with the given body length still fits.
+     */
+    boolean hasRoomFor(int bodyLength) {
+        return (long) end + RECORD_OVERHEAD + bodyLength <= capacity;
+    }
+
+    /**
+     * Appends a record. Called by one thread at a time.
+     */
+    void append(AuditEvent event, byte[] body, byte[] previousDigest, byte[] digest) {
+        int position = end;
+        buffer.put(position + 4, previousDigest);
+        buffer.put(position + 4 + DIGEST_SIZE, body);
+        buffer.put(position + 4 + DIGEST_SIZE + body.length, digest);
+        buffer.putInt(position, body.length);
+        index.add(position, event);
+        note(event);
+        lastDigest = digest;
+        records++;
+        end = position + RECORD_OVERHEAD + body.length; // Publishes the record to readers
+    }
+
+    /**
+     * Passes the records that match a query to the consumer, oldest first.
+     */
+    void scan(AuditQuery query, Consumer<AuditEvent> consumer) {
+        int limit = end;
+        List<int[]> ranges = index != null
+                ? index.candidates(query, limit)
+                : List.<int[]>of(new int[] {HEADER_SIZE, limit});
+        for (int[] range : ranges) {
+            for (int position = range[0]; position < range[1]; ) {
+                AuditEvent event = decodeOrNull(position);
+                if (event != null && query.matches(event)) {
+                    consumer.accept(event);
+                }
+                position += RECORD_OVERHEAD + buffer.getInt(position);
+            }
+        }
+    }
+
+    /**
+     * Recomputes the chain of this segment's records.
+     *
+     * @return the chain, or the first broken record
+     */
+    SegmentChain verify() {
+        MessageDigest sha256 = AuditSegmentStore.sha256();
+        int limit = end;
+        byte[] first = null;
+        byte[] previous = null;
+        long count = 0;
+        for (int position = HEADER_SIZE; position < limit; ) {
+            int length = buffer.getInt(position);
+            byte[] digest = checkRecord(position, length, previous, sha256);
+            if (digest == null) {
+                return SegmentChain.broken(sequence, count, "record " + count + " at offset " + position
+                        + " does not match its digest or predecessor");
+            }
+            if (first == null) {
+                first = new byte[DIGEST_SIZE];
+                buffer.get(position + 4, first);
+            }
+            previous = digest;
+            count++;
+            position += RECORD_OVERHEAD + length;
+        }
+        return new SegmentChain(sequence, count, first, previous, null);
+    }
+
+    void force() {
+        if (!buffer.isReadOnly()) {
+            buffer.force();
+        }
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    byte[] lastDigest() {
+        return lastDigest;
+    }
+
+    long records() {
+        return records;
+    }
+
+    /**
+     * Creation time of the oldest record, or null if there are none. Not
+     * tracked for a segment opened with {@link #openSealed}.
+     */
+    LocalDateTime oldest() {
+        return oldest;
+    }
+
+    /**
+     * Creation time of the newest record, or null if there are none. Not
+     * tracked for a segment opened with {@link #openSealed}.
+     */
+    LocalDateTime newest() {
+        return newest;
+    }
+
+    private void note(AuditEvent event) {
+        if (oldest == null || event.createdAt().isBefore(oldest)) {
+            oldest = event.createdAt();
+        }
+        if (newest == null || event.createdAt().isAfter(newest)) {
+            newest = event.createdAt();
+        }
+    }
+
+    // Null for a record that no longer decodes, e.g. after tampering; the verifier reports it
+    private AuditEvent decodeOrNull(int position) {
+        try {
+            return decodeBody(buffer.slice(position + 4 + DIGEST_SIZE, buffer.getInt(position)));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    static byte[] encodeBody(AuditEvent event) {
+        byte[][] fields = {utf8(event.id()), utf8(event.userId()), utf8(event.actionType()),
+                utf8(event.entityType()), utf8(event.entityId()), utf8(event.details()), utf8(event.ipAddress())};
+        int size = 12;
+        for (byte[] field : fields) {
+            size += 4 + (field == null ? 0 : field.length);
+        }
+        ByteBuffer body = ByteBuffer.allocate(size);
+        body.putLong(event.createdAt().toEpochSecond(ZoneOffset.UTC));
+        body.putInt(event.createdAt().getNano());
+        for (byte[] field : fields) {
+            body.putInt(field == null ? -1 : field.length);
+            if (field != null) {
+                body.put(field);
+            }
+        }
+        return body.array();
+    }
+
+    static AuditEvent decodeBody(ByteBuffer body) {
+        LocalDateTime createdAt = LocalDateTime.ofEpochSecond(body.getLong(), body.getInt(), ZoneOffset.UTC);
+        return new AuditEvent(string(body), string(body), string(body), string(body), string(body),
+                string(body), string(body), createdAt);
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(ByteBuffer body) {
+        int length = body.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        body.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Result of verifying one segment: its record count and the digests its
+     * chain starts from and ends with, or what is broken.
+     */
+    record SegmentChain(long sequence, long records, byte[] firstPrevious, byte[] last, String problem) {
+
+        static SegmentChain broken(long sequence, long records, String problem) {
+            return new SegmentChain(sequence, records, null, null, problem);
+        }
+
+        boolean isBroken() {
+            return problem != null;
+        }
+    }
+
+    /**
+     * Per-block summary of the records: start offset, time range, and bloom
+     * filters of user IDs and entities plus a bit mask of action types.
+     * Synchronized on itself; appends and queries touch it briefly.
+     */
+    private static final class SparseIndex {
+        private static final int HASHES = 3;
+
+        private final int interval;
+        private final int words; // Filter words per block, about 8 bits per record
+        private int blocks;
+        private int inLastBlock;
+        private int[] offsets = new int[16];
+        private long[] minTimes = new long[16];
+        private long[] maxTimes = new long[16];
+        private long[] actions = new long[16];
+        private long[] users;
+        private long[] entities;
+
+        SparseIndex(int interval) {
+            this.interval = interval;
+            this.words = Math.max(1, interval / 8);
+            this.users = new long[16 * words];
+            this.entities = new long[16 * words];
+        }
+
+        synchronized void add(int offset, AuditEvent event) {
+            if (blocks == 0 || inLastBlock == interval) {
+                startBlock(offset);
+            }
+            int block = blocks - 1;
+            long time = micros(event.createdAt());
+            minTimes[block] = Math.min(minTimes[block], time);
+            maxTimes[block] = Math.max(maxTimes[block], time);
+            actions[block] |= 1L << (event.actionType().hashCode() & 63);
+            if (event.userId() != null) {
+                addToFilter(users, block, event.userId());
+            }
+            if (event.entityId() != null) {
+                addToFilter(entities, block, AuditQuery.entityKey(event.entityType(), event.entityId()));
+            }
+            inLastBlock++;
+        }
+
+        // Offset ranges of the blocks that may hold matches, adjacent ones merged
+        synchronized List<int[]> candidates(AuditQuery query, int limit) {
+            long from = query.from() == null ? Long.MIN_VALUE : micros(query.from());
+            long to = query.to() == null ? Long.MAX_VALUE : micros(query.to());
+            long action = query.actionType() == null ? -1L : 1L << (query.actionType().hashCode() & 63);
+            String entityKey = query.entityKey();
+            List<int[]> ranges = new ArrayList<>();
+            for (int block = 0; block < blocks && offsets[block] < limit; block++) {
+                boolean candidate = maxTimes[block] >= from && minTimes[block] <= to
+                        && (actions[block] & action) != 0
+                        && (query.userId() == null || mightContain(users, block, query.userId()))
+                        && (entityKey == null || mightContain(entities, block, entityKey));
+                if (!candidate) {
+                    continue;
+                }
+                int stop = block + 1 < blocks ? Math.min(offsets[block + 1], limit) : limit;
+                int[] last = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+                if (last != null && last[1] == offsets[block]) {
+                    last[1] = stop;
+                } else {
+                    ranges.add(new int[] {offsets[block], stop});
+                }
+            }
+            return ranges;
+        }
+
+        private void startBlock(int offset) {
+            if (blocks == offsets.length) {
+                int grown = blocks * 2;
+                offsets = Arrays.copyOf(offsets, grown);
+                minTimes = Arrays.copyOf(minTimes, grown);
+                maxTimes = Arrays.copyOf(maxTimes, grown);
+                actions = Arrays.copyOf(actions, grown);
+                users = Arrays.copyOf(users, grown * words);
+                entities = Arrays.copyOf(entities, grown * words);
+            }
+            offsets[blocks] = offset;
+            minTimes[blocks] = Long.MAX_VALUE;
+            maxTimes[blocks] = Long.MIN_VALUE;
+            blocks++;
+            inLastBlock = 0;
+        }
+
+        private void addToFilter(long[] filter, int block, String key) {
+            long hash = mix(key.hashCode());
+            int bits = words * 64;
+            for (int i = 0; i < HASHES; i++) {
+                int bit = Math.floorMod((int) hash + i * (int) (hash >>> 32), bits);
+                filter[block * words + (bit >>> 6)] |= 1L << bit;
+            }
+        }
+
+        private boolean mightContain(long[] filter, int block, String key) {
+            long hash = mix(key.hashCode());
+            int bits = words * 64;
+            for (int i = 0; i < HASHES; i++) {
+                int bit = Math.floorMod((int) hash + i * (int) (hash >>> 32), bits);
+                if ((filter[block * words + (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long micros(LocalDateTime time) {
+            return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+        }
+
+        // Spreads String.hashCode over 64 bits for the double hashing above
+        private static long mix(int hash) {
+            long h = hash * 0x9E3779B97F4A7C15L;
+            h ^= h >>> 32;
+            h *= 0xBF58476D1CE4E5B9L;
+            return h ^ (h >>> 29);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.mobilebanking.shared.infrastructure.segment;
+
+import com.mobilebanking.shared.domain.AuditEvent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only, hash-chained audit log in a directory of memory-mapped
+ * segment files named {@code segment-<sequence>.aud}.
+ *
+ * Every record carries the digest of the record before it, across segment
+ * boundaries, so changing, removing or reordering any record breaks the
+ * chain from there on. Appends take one lock to extend the chain and copy
+ * the record into the mapped file; there is no system call on the write
+ * path. When a record no longer fits, the segment is forced to disk and a
+ * new one is started.
+ *
+ * Only the newest segments stay mapped with their index in memory. Older
+ * sealed segments are retired: their time range is kept, scans skip them
+ * when the range rules them out, and otherwise map them read-only for the
+ * one read.
+ *
+ * On open, every segment is scanned to rebuild its index, and a newest
+ * record left incomplete by a crash is cut off. Records that fail their
+ * digest anywhere else are kept for {@link #verify()} to report.
+ */
+public class AuditSegmentStore implements AutoCloseable {
+
+    static final byte[] GENESIS = new byte[AuditSegment.DIGEST_SIZE];
+
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".aud";
+    private static final int MIN_SEGMENT_SIZE = 4096;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int indexInterval;
+    private final int mappedSegments;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final MessageDigest sha256 = sha256(); // Guarded by appendLock
+    private final List<SegmentFile> segments = new CopyOnWriteArrayList<>(); // Oldest first
+    private volatile AuditSegment active;
+
+    /**
+     * Opens the store, creating the directory and first segment if needed.
+     *
+     * @param directory      where the segment files are kept
+     * @param segmentSize    size of new segment files in bytes
+     * @param indexInterval  records per sparse index block
+     * @param mappedSegments newest segments kept mapped with their index, the active one included
+     */
+    public AuditSegmentStore(Path directory, int segmentSize, int indexInterval, int mappedSegments) {
+        if (segmentSize < MIN_SEGMENT_SIZE || indexInterval < 1 || mappedSegments < 1) {
+            throw new IllegalArgumentException("Audit segments must be at least " + MIN_SEGMENT_SIZE
+                    + " bytes with a positive index interval and at least one mapped segment");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.indexInterval = indexInterval;
+        this.mappedSegments = mappedSegments;
+        try {
+            Files.createDirectories(directory);
+            List<Path> files = segmentFiles();
+            byte[] previous = GENESIS;
+            for (int i = 0; i < files.size(); i++) {
+                Path file = files.get(i);
+                AuditSegment segment = AuditSegment.open(file, sequenceOf(file), i == files.size() - 1,
+                        indexInterval, previous);
+                segments.add(new SegmentFile(segment));
+                previous = segment.lastDigest();
+                retireSealed();
+            }
+            active = segments.isEmpty() ? roll(0, GENESIS) : segments.get(segments.size() - 1).mapped;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open audit segments in " + directory, e);
+        }
+    }
+
+    /**
+     * Appends an event to the chain.
+     *
+     * @param event the event
+     * @throws IllegalArgumentException if the event does not fit in a segment
+     */
+    public void append(AuditEvent event) {
+        byte[] body = AuditSegment.encodeBody(event);
+        if (AuditSegment.HEADER_SIZE + AuditSegment.RECORD_OVERHEAD + body.length > segmentSize) {
+            throw new IllegalArgumentException("Audit record of " + body.length + " bytes does not fit in a segment");
+        }
+        appendLock.lock();
+        try {
+            AuditSegment segment = active;
+            if (!segment.hasRoomFor(body.length)) {
+                segment.force();
+                segment = roll(segment.sequence() + 1, segment.lastDigest());
+            }
+            byte[] previous = segment.lastDigest();
+            sha256.update(previous);
+            sha256.update(body);
+            segment.append(event, body, previous, sha256.digest());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start a new audit segment", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Finds the records matching a query.
+     *
+     * @param query the filter
+     * @return the matching events, most recent first
+     */
+    public List<AuditEvent> find(AuditQuery query) {
+        List<AuditEvent> events = new ArrayList<>();
+        scan(query, events::add);
+        events.sort(Comparator.comparing(AuditEvent::createdAt).reversed());
+        return events;
+    }
+
+    /**
+     * Hands the records matching a query to a consumer, oldest segment first
+     * and in append order within a segment, without collecting them.
+     *
+     * @param query    the filter
+     * @param consumer receives each matching event
+     */
+    public void scan(AuditQuery query, Consumer<AuditEvent> consumer) {
+        for (SegmentFile file : segments) {
+            if (file.mayMatch(query)) {
+                file.segment().scan(query, consumer);
+            }
+        }
+    }
+
+    /**
+     * Verifies the whole chain. Segments are checked in parallel, then the
+     * links between them in order.
+     *
+     * @return the outcome
+     */
+    public Verification verify() {
+        List<AuditSegment.SegmentChain> chains = segments.parallelStream()
+                .map(file -> file.segment().verify())
+                .toList();
+        long records = 0;
+        byte[] previous = GENESIS;
+        for (AuditSegment.SegmentChain chain : chains) {
+            if (chain.isBroken()) {
+                return new Verification(false, records + chain.records(),
+                        "Segment " + chain.sequence() + ": " + chain.problem());
+            }
+            if (chain.records() > 0) {
+                if (!Arrays.equals(chain.firstPrevious(), previous)) {
+                    return new Verification(false, records,
+                            "Segment " + chain.sequence() + " does not continue the previous segment");
+                }
+                previous = chain.last();
+            }
+            records += chain.records();
+        }
+        return new Verification(true, records, null);
+    }
+
+    /**
+     * Writes the active segment's changes to disk.
+     */
+    public void force() {
+        active.force();
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Segments currently mapped with their index in memory.
+     */
+    public int mappedSegmentCount() {
+        return (int) segments.stream().filter(file -> file.mapped != null).count();
+    }
+
+    @Override
+    public void close() {
+        appendLock.lock();
+        try {
+            active.force();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private AuditSegment roll(long sequence, byte[] previousDigest) throws IOException {
+        AuditSegment segment = AuditSegment.create(
+                directory.resolve(String.format("%s%016d%s", PREFIX, sequence, SUFFIX)),
+                sequence, segmentSize, indexInterval, previousDigest);
+        segments.add(new SegmentFile(segment));
+        active = segment;
+        retireSealed();
+        return segment;
+    }
+
+    // Unmaps the oldest sealed segments beyond the mapped limit; the newest is never retired
+    private void retireSealed() {
+        int mapped = mappedSegmentCount();
+        for (int i = 0; i < segments.size() - 1 && mapped > mappedSegments; i++) {
+            SegmentFile file = segments.get(i);
+            if (file.mapped != null) {
+                file.retire();
+                mapped--;
+            }
+        }
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(PREFIX)
+                            && file.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparingLong(AuditSegmentStore::sequenceOf))
+                    .toList();
+        }
+    }
+
+    private static long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A segment file, mapped while it is among the newest, otherwise only
+     * its location and time range. Readers that still hold a retired
+     * segment keep its mapping until they are done.
+     */
+    private static final class SegmentFile {
+
+        private final long sequence;
+        private final Path path;
+        private LocalDateTime oldest; // Set before retiring; null when there are no records
+        private LocalDateTime newest;
+        private volatile AuditSegment mapped; // Null once retired
+
+        private SegmentFile(AuditSegment segment) {
+            this.sequence = segment.sequence();
+            this.path = segment.path();
+            this.mapped = segment;
+        }
+
+        private void retire() {
+            oldest = mapped.oldest();
+            newest = mapped.newest();
+            mapped = null; // Publishes the time range
+        }
+
+        private AuditSegment segment() {
+            AuditSegment segment = mapped;
+            if (segment != null) {
+                return segment;
+            }
+            try {
+                return AuditSegment.openSealed(path, sequence);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read audit segment " + path, e);
+            }
+        }
+
+        // Mapped segments leave time filtering to their index
+        private boolean mayMatch(AuditQuery query) {
+            if (mapped != null) {
+                return true;
+            }
+            return oldest != null
+                    && (query.from() == null || !newest.isBefore(query.from()))
+                    && (query.to() == null || !oldest.isAfter(query.to()));
+        }
+    }
+
+    /**
+     * Outcome of a chain verification.
+     *
+     * @param valid   whether every record is intact and linked
+     * @param records records checked
+     * @param problem the first problem found, or null
+     */
+    public record Verification(boolean valid, long records, String problem) {
+    }
+}
@@ -0,0 +1,267 @@
+package com.mobilebanking.shared.infrastructure.segment;
+
+import com.mobilebanking.shared.domain.AuditActionType;
+import com.mobilebanking.shared.domain.AuditChainVerification;
+import com.mobilebanking.shared.domain.AuditEntityType;
+import com.mobilebanking.shared.domain.AuditEvent;
+import com.mobilebanking.shared.domain.AuditLog;
+import com.mobilebanking.shared.domain.AuditLogFilter;
+import com.mobilebanking.shared.domain.AuditLogPage;
+import com.mobilebanking.shared.domain.AuditService;
+import com.mobilebanking.shared.infrastructure.AuditLogCursor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of AuditService on an {@link AuditSegmentStore}, selected
+ * with {@code audit.store=segment}. Audit writes never touch the database:
+ * each is one append to a memory-mapped, hash-chained segment file, forced
+ * to disk every {@code audit.segment.force-interval-ms} and on shutdown.
+ *
+ * Queries scan the segments, skipping blocks the sparse index rules out, so
+ * the admin audit endpoints work unchanged. A page keeps only its own
+ * records in memory while scanning, and exports stream in append order. The chain is verified every
+ * {@code audit.segment.verify-interval-ms}; a broken chain is logged as an
+ * error.
+ *
+ * Exports {@code mobile_banking_audit_records_appended_total},
+ * {@code mobile_banking_audit_segments},
+ * {@code mobile_banking_audit_segments_mapped} and
+ * {@code mobile_banking_audit_chain_verifications_total} tagged with the
+ * result ({@code valid} or {@code broken}).
+ */
+@Service
+@ConditionalOnProperty(name = "audit.store", havingValue = "segment")
+public class SegmentAuditService implements AuditService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SegmentAuditService.class);
+    private static final Comparator<AuditEvent> OLDEST_FIRST =
+            Comparator.comparing(AuditEvent::createdAt).thenComparing(AuditEvent::id);
+
+    private final AuditSegmentStore store;
+    private final Counter appended;
+    private final Counter valid;
+    private final Counter broken;
+
+    @Autowired
+    public SegmentAuditService(
+            @Value("${audit.segment.directory:}") String directory,
+            @Value("${audit.segment.size-bytes:67108864}") int segmentSize,
+            @Value("${audit.segment.index-interval:256}") int indexInterval,
+            @Value("${audit.segment.mapped-segments:4}") int mappedSegments,
+            MeterRegistry meterRegistry) {
+        this(new AuditSegmentStore(segmentDirectory(directory), segmentSize, indexInterval, mappedSegments),
+                meterRegistry);
+    }
+
+    SegmentAuditService(AuditSegmentStore store, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.appended = Counter.builder("mobile_banking_audit_records_appended_total")
+                .description("Audit records appended to segments")
+                .register(meterRegistry);
+        this.valid = verifications(meterRegistry, "valid");
+        this.broken = verifications(meterRegistry, "broken");
+        Gauge.builder("mobile_banking_audit_segments", store, AuditSegmentStore::segmentCount)
+                .description("Audit segment files")
+                .register(meterRegistry);
+        Gauge.builder("mobile_banking_audit_segments_mapped", store, AuditSegmentStore::mappedSegmentCount)
+                .description("Audit segment files mapped with their index in memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void logUserAction(String userId, AuditActionType actionType, AuditEntityType entityType,
+            String entityId, String details, String ipAddress) {
+        append(AuditEvent.of(userId, actionType, entityType, entityId, details, ipAddress));
+    }
+
+    @Override
+    public void logUserAction(String userId, AuditActionType actionType, String details) {
+        append(AuditEvent.of(userId, actionType, AuditEntityType.USER, userId, details, null));
+    }
+
+    @Override
+    public void logSystemAction(AuditActionType actionType, AuditEntityType entityType,
+            String entityId, String details) {
+        append(AuditEvent.system(actionType, entityType, entityId, details));
+    }
+
+    @Override
+    public List<AuditLog> getUserAuditLogs(String userId) {
+        return find(AuditQuery.byUser(userId));
+    }
+
+    /**
+     * Gets a page of a user's audit logs, most recent first; the sort of the
+     * pageable is not applied.
+     */
+    @Override
+    public Page<AuditLog> getUserAuditLogs(String userId, Pageable pageable) {
+        List<AuditLog> logs = find(AuditQuery.byUser(userId));
+        int from = (int) Math.min(pageable.getOffset(), logs.size());
+        int to = Math.min(from + pageable.getPageSize(), logs.size());
+        return new PageImpl<>(logs.subList(from, to), pageable, logs.size());
+    }
+
+    @Override
+    public List<AuditLog> getAuditLogsByActionType(AuditActionType actionType) {
+        return find(AuditQuery.byActionType(actionType.toString()));
+    }
+
+    @Override
+    public List<AuditLog> getEntityAuditLogs(AuditEntityType entityType, String entityId) {
+        return find(AuditQuery.byEntity(entityType.toString(), entityId));
+    }
+
+    @Override
+    public List<AuditLog> getAuditLogsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return find(AuditQuery.between(startDate, endDate));
+    }
+
+    @Override
+    public List<AuditLog> getAuditLogsByDateRange(LocalDateTime startDate, LocalDateTime endDate, int limit) {
+        return getAuditLogPage(AuditLogFilter.between(startDate, endDate), null, limit).getLogs();
+    }
+
+    @Override
+    public AuditLogPage getAuditLogPage(AuditLogFilter filter, String cursor, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        AuditLogCursor after = cursor != null ? AuditLogCursor.parse(cursor) : null;
+        LocalDateTime to = filter.endDate();
+        if (after != null && (to == null || after.createdAt().isBefore(to))) {
+            to = after.createdAt(); // Lets the index skip blocks of newer records
+        }
+        AuditQuery query = new AuditQuery(filter.userId(), name(filter.actionType()), name(filter.entityType()),
+                filter.entityId(), filter.startDate(), to);
+
+        // Keeps the newest limit + 1 matches; one extra tells whether there is a next page
+        PriorityQueue<AuditEvent> newest = new PriorityQueue<>(OLDEST_FIRST);
+        store.scan(query, event -> {
+            if (after == null || after.precedes(event.createdAt(), event.id())) {
+                newest.add(event);
+                if (newest.size() > limit + 1) {
+                    newest.poll();
+                }
+            }
+        });
+        List<AuditEvent> events = new ArrayList<>(newest);
+        events.sort(OLDEST_FIRST.reversed());
+
+        if (events.size() <= limit) {
+            return new AuditLogPage(events.stream().map(SegmentAuditService::toLog).toList(), null);
+        }
+        AuditEvent last = events.get(limit - 1);
+        return new AuditLogPage(events.subList(0, limit).stream().map(SegmentAuditService::toLog).toList(),
+                new AuditLogCursor(last.createdAt(), last.id()).encode());
+    }
+
+    /**
+     * Streams the logs matching a filter in append order, oldest segment first.
+     */
+    @Override
+    public long exportAuditLogs(AuditLogFilter filter, Consumer<AuditLog> consumer) {
+        AuditQuery query = new AuditQuery(filter.userId(), name(filter.actionType()), name(filter.entityType()),
+                filter.entityId(), filter.startDate(), filter.endDate());
+        long[] exported = new long[1];
+        store.scan(query, event -> {
+            consumer.accept(toLog(event));
+            exported[0]++;
+        });
+        return exported[0];
+    }
+
+    /**
+     * Verifies the whole chain; segments are verified in parallel, and a
+     * broken record anywhere invalidates everything after it, so the range
+     * does not narrow the check.
+     */
+    @Override
+    public AuditChainVerification verifyAuditChain(LocalDateTime startDate, LocalDateTime endDate) {
+        AuditSegmentStore.Verification verification = verifyChain();
+        return new AuditChainVerification(verification.valid(), verification.records(), 0, verification.problem());
+    }
+
+    /**
+     * Verifies the hash chain across all segments.
+     *
+     * @return the outcome
+     */
+    @Scheduled(initialDelayString = "${audit.segment.verify-interval-ms:3600000}",
+            fixedDelayString = "${audit.segment.verify-interval-ms:3600000}")
+    public AuditSegmentStore.Verification verifyChain() {
+        AuditSegmentStore.Verification verification = store.verify();
+        if (verification.valid()) {
+            valid.increment();
+            logger.info("Audit chain verified: {} records", verification.records());
+        } else {
+            broken.increment();
+            logger.error("Audit chain is broken after {} records: {}",
+                    verification.records(), verification.problem());
+        }
+        return verification;
+    }
+
+    @Scheduled(fixedDelayString = "${audit.segment.force-interval-ms:1000}")
+    public void force() {
+        store.force();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        store.close();
+    }
+
+    private void append(AuditEvent event) {
+        store.append(event);
+        appended.increment();
+    }
+
+    private List<AuditLog> find(AuditQuery query) {
+        return store.find(query).stream().map(SegmentAuditService::toLog).toList();
+    }
+
+    private static AuditLog toLog(AuditEvent event) {
+        return AuditLog.reconstitute(event.id(), event.userId(), event.actionType(), event.entityType(),
+                event.entityId(), event.details(), event.ipAddress(), event.createdAt());
+    }
+
+    private static String name(Enum<?> value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static Path segmentDirectory(String directory) {
+        if (directory.isBlank()) {
+            throw new IllegalStateException("audit.segment.directory must name durable storage of this instance");
+        }
+        return Path.of(directory);
+    }
+
+    private static Counter verifications(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("mobile_banking_audit_chain_verifications_total")
+                .tag("result", result)
+                .description("Audit chain verifications by outcome")
+                .register(meterRegistry);
+    }
+}
@@ -1,34 +1,39 @@
 package com.mobilebanking.transaction.api;
 
+import com.mobilebanking.shared.api.binary.CompactBinaryHttpMessageConverter;
 import com.mobilebanking.shared.domain.Money;
 import com.mobilebanking.shared.domain.exception.UserNotFoundException;
 import com.mobilebanking.transaction.api.dto.BalanceResponse;
 import com.mobilebanking.transaction.api.dto.DepositRequest;
 import com.mobilebanking.transaction.api.dto.DepositResponse;
+import com.mobilebanking.transaction.api.dto.TransactionChangesResponse;
 import com.mobilebanking.transaction.api.dto.TransactionHistoryResponse;
 import com.mobilebanking.transaction.api.dto.TransferRequest;
 import com.mobilebanking.transaction.api.dto.TransferResponse;
+import com.mobilebanking.transaction.application.TransactionChanges;
 import com.mobilebanking.transaction.application.TransactionQueryService;
 import com.mobilebanking.transaction.application.WalletService;
 import com.mobilebanking.transaction.domain.Transaction;
-import com.mobilebanking.shared.domain.UserId;
+import com.mobilebanking.transaction.domain.TransactionHistoryEntry;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -42,6 +47,11 @@ import java.util.List;
 public class WalletController {
 
     private static final Logger logger = LoggerFactory.getLogger(WalletController.class);
+    // Private to the user, and clients must revalidate before reusing a stored response
+    private static final CacheControl WALLET_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+    // ETag suffixes of the representations; the mapping Spring selects for the Accept header decides which applies
+    private static final String JSON_VARIANT = "";
+    private static final String COMPACT_BINARY_VARIANT = "-pb";
     private final WalletService walletService;
     private final TransactionQueryService transactionQueryService;
 
@@ -52,16 +62,46 @@ public class WalletController {
 
     /**
      * Endpoint for retrieving the authenticated user's balance.
+     * Supports conditional requests: when the If-None-Match header carries the
+     * current wallet ETag, 304 Not Modified is returned without loading the
+     * wallet.
      *
+     * @param webRequest the current request, used for ETag evaluation
      * @return balance response with current balance
      */
     @GetMapping("/balance")
-    public ResponseEntity<BalanceResponse> getBalance() {
+    public ResponseEntity<BalanceResponse> getBalance(WebRequest webRequest) {
+        return balance(webRequest, JSON_VARIANT);
+    }
+
+    /**
+     * Endpoint for retrieving the authenticated user's balance in the compact
+     * binary representation, mapped when content negotiation prefers it.
+     *
+     * @param webRequest the current request, used for ETag evaluation
+     * @return balance response with current balance
+     */
+    @GetMapping(value = "/balance", produces = CompactBinaryHttpMessageConverter.APPLICATION_X_PROTOBUF_VALUE)
+    public ResponseEntity<BalanceResponse> getBalanceCompactBinary(WebRequest webRequest) {
+        return balance(webRequest, COMPACT_BINARY_VARIANT);
+    }
+
+    private ResponseEntity<BalanceResponse> balance(WebRequest webRequest, String variant) {
         logger.info("Received balance request for authenticated user");
 
+        String eTag = walletETag(walletService.getWalletVersion(), variant);
+        if (webRequest.checkNotModified(eTag)) {
+            logger.debug("Balance not modified since version {}", eTag);
+            return notModified(eTag);
+        }
+
         Money balance = walletService.getBalance();
         logger.info("Balance retrieved successfully");
-        return ResponseEntity.ok(BalanceResponse.success(balance));
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .cacheControl(WALLET_CACHE_CONTROL)
+                .body(BalanceResponse.success(balance));
     }
 
     /**
@@ -134,16 +174,13 @@ public class WalletController {
     public ResponseEntity<TransactionHistoryResponse> getTransactionHistory() {
         logger.info("Received transaction history request for authenticated user");
 
-        // Get current user ID for transaction direction determination
-        UserId currentUserId = getCurrentUserId();
+        // Retrieve transaction history, already resolved for the current user
+        List<TransactionHistoryEntry> entries = transactionQueryService.getTransactionHistoryEntries();
 
-        // Retrieve transaction history
-        List<Transaction> transactions = transactionQueryService.getTransactionHistory();
-
-        logger.info("Transaction history retrieved successfully. Found {} transactions", transactions.size());
+        logger.info("Transaction history retrieved successfully. Found {} transactions", entries.size());
 
         // Return success response with transaction details
-        return ResponseEntity.ok(TransactionHistoryResponse.success(transactions, currentUserId));
+        return ResponseEntity.ok(TransactionHistoryResponse.success(entries));
     }
 
     /**
@@ -152,33 +189,70 @@ public class WalletController {
      * Returns a page of transactions where the user is either sender or receiver,
      * ordered by timestamp in descending order (most recent first).
      *
-     * @param page page number (0-based)
-     * @param size page size
+     * Supports conditional requests in the same way as the balance endpoint.
+     *
+     * @param page       page number (0-based)
+     * @param size       page size
+     * @param webRequest the current request, used for ETag evaluation
      * @return paginated transaction history response
      */
     @GetMapping("/transactions/paged")
     public ResponseEntity<TransactionHistoryResponse> getTransactionHistoryPaginated(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest webRequest) {
+        return transactionHistoryPage(page, size, webRequest, JSON_VARIANT);
+    }
+
+    /**
+     * Endpoint for retrieving a page of the authenticated user's transaction
+     * history in the compact binary representation, mapped when content
+     * negotiation prefers it.
+     *
+     * @param page       page number (0-based)
+     * @param size       page size
+     * @param webRequest the current request, used for ETag evaluation
+     * @return paginated transaction history response
+     */
+    @GetMapping(value = "/transactions/paged",
+            produces = CompactBinaryHttpMessageConverter.APPLICATION_X_PROTOBUF_VALUE)
+    public ResponseEntity<TransactionHistoryResponse> getTransactionHistoryPaginatedCompactBinary(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest webRequest) {
+        return transactionHistoryPage(page, size, webRequest, COMPACT_BINARY_VARIANT);
+    }
+
+    private ResponseEntity<TransactionHistoryResponse> transactionHistoryPage(
+            int page, int size, WebRequest webRequest, String variant) {
         logger.info("Received paginated transaction history request for authenticated user. Page: {}, Size: {}", page,
                 size);
 
         try {
-            // Get current user ID for transaction direction determination
-            UserId currentUserId = getCurrentUserId();
+            // Every history change also changes the balance, so the wallet version covers both
+            String eTag = walletETag(walletService.getWalletVersion(), variant);
+            if (webRequest.checkNotModified(eTag)) {
+                logger.debug("Transaction history not modified since version {}", eTag);
+                return notModified(eTag);
+            }
 
             // Create pageable request (already sorted by timestamp desc in repository)
             Pageable pageable = PageRequest.of(page, size);
 
-            // Retrieve paginated transaction history
-            Page<Transaction> transactionsPage = transactionQueryService.getTransactionHistoryPaginated(pageable);
+            // Retrieve paginated transaction history, already resolved for the current user
+            Page<TransactionHistoryEntry> transactionsPage =
+                    transactionQueryService.getTransactionHistoryEntriesPaginated(pageable);
 
             logger.info("Paginated transaction history retrieved successfully. Page: {}/{}, Elements: {}/{}",
                     transactionsPage.getNumber(), transactionsPage.getTotalPages(),
                     transactionsPage.getNumberOfElements(), transactionsPage.getTotalElements());
 
             // Return success response with transaction details and pagination info
-            return ResponseEntity.ok(TransactionHistoryResponse.success(transactionsPage, currentUserId));
+            return ResponseEntity.ok()
+                    .eTag(eTag)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .cacheControl(WALLET_CACHE_CONTROL)
+                    .body(TransactionHistoryResponse.success(transactionsPage));
 
         } catch (UserNotFoundException e) {
             logger.warn("Paginated transaction history retrieval failed - user not found: {}", e.getMessage());
@@ -198,19 +272,70 @@ public class WalletController {
     }
 
     /**
-     * Gets the current authenticated user's ID.
+     * Endpoint for delta-syncing the authenticated user's transaction history.
+     * Returns only the transactions applied to the wallet after the client's
+     * cursor, oldest first, together with the current balance and the cursor to
+     * send next time. The cursor has the same value as the JSON wallet ETag, so
+     * a client can seed it from the paged history response.
      *
-     * @return the current user's ID
-     * @throws AccessDeniedException if no user is authenticated
+     * @param since the last cursor the client has seen (0 for everything)
+     * @param limit maximum number of transactions to return
+     * @return delta-sync response with changes, balance and next cursor
      */
-    private UserId getCurrentUserId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated() ||
-                authentication.getName().equals("anonymousUser")) {
-            logger.error("No authenticated user found");
-            throw new AccessDeniedException("User not authenticated");
+    @GetMapping("/transactions/changes")
+    public ResponseEntity<TransactionChangesResponse> getTransactionChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "50") int limit) {
+        logger.debug("Received transaction changes request since cursor {}", since);
+
+        try {
+            TransactionChanges changes = transactionQueryService.getTransactionChanges(since, limit);
+
+            return ResponseEntity.ok()
+                    .cacheControl(WALLET_CACHE_CONTROL)
+                    .body(TransactionChangesResponse.success(changes));
+
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid transaction changes request: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(TransactionChangesResponse.failure(e.getMessage()));
+
+        } catch (UserNotFoundException e) {
+            logger.warn("Transaction changes retrieval failed - user not found: {}", e.getMessage());
+            return ResponseEntity.status(404)
+                    .body(TransactionChangesResponse.failure("User not found"));
+
+        } catch (AccessDeniedException e) {
+            logger.warn("Unauthorized transaction changes access attempt: {}", e.getMessage());
+            return ResponseEntity.status(403)
+                    .body(TransactionChangesResponse.failure("Access denied"));
         }
+    }
+
+    /**
+     * Builds the strong ETag for a wallet version. The JSON and compact binary
+     * representations differ byte for byte, so each has its own ETag.
+     *
+     * @param walletVersion the wallet version
+     * @param variant       suffix of the representation the handler produces
+     * @return the quoted ETag value
+     */
+    private static String walletETag(long walletVersion, String variant) {
+        return "\"" + walletVersion + variant + "\"";
+    }
 
-        return UserId.fromString(authentication.getName());
+    /**
+     * Builds a 304 Not Modified response for the given ETag.
+     *
+     * @param eTag the current ETag
+     * @param <T>  the body type of the endpoint
+     * @return an empty 304 response
+     */
+    private static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .cacheControl(WALLET_CACHE_CONTROL)
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,14 @@
 package com.mobilebanking.transaction.api.dto;
 
+import com.mobilebanking.shared.api.binary.ProtobufEncodable;
+import com.mobilebanking.shared.api.binary.ProtobufWriter;
 import com.mobilebanking.shared.domain.Money;
 
 /**
  * Data Transfer Object for balance responses.
  * Contains the user's current balance and currency information.
  */
-public class BalanceResponse {
+public class BalanceResponse implements ProtobufEncodable {
 
     private final String status;
     private final String message;
@@ -53,10 +55,15 @@ public class BalanceResponse {
         return data;
     }
 
+    @Override
+    public void writeTo(ProtobufWriter writer) {
+        ProtobufEncodable.writeEnvelope(writer, status, message, data);
+    }
+
     /**
      * Inner class representing balance data.
      */
-    public static class BalanceData {
+    public static class BalanceData implements ProtobufEncodable {
         private final double amount;
         private final String currency;
 
@@ -72,5 +79,11 @@ public class BalanceResponse {
         public String getCurrency() {
             return currency;
         }
+
+        @Override
+        public void writeTo(ProtobufWriter writer) {
+            writer.writeCents(1, amount)
+                    .writeString(2, currency);
+        }
     }
 }
\ No newline at end of file
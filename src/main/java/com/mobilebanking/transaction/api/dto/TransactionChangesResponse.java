@@ -0,0 +1,125 @@
+package com.mobilebanking.transaction.api.dto;
+
+import com.mobilebanking.shared.api.binary.ProtobufEncodable;
+import com.mobilebanking.shared.api.binary.ProtobufWriter;
+import com.mobilebanking.transaction.api.dto.TransactionHistoryResponse.TransactionDto;
+import com.mobilebanking.transaction.application.TransactionChanges;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Data Transfer Object for delta-sync responses.
+ * Contains the transactions created after the client's cursor, the current
+ * balance and the cursor to use for the next sync.
+ */
+public class TransactionChangesResponse implements ProtobufEncodable {
+
+    private final String status;
+    private final String message;
+    private final TransactionChangesData data;
+
+    private TransactionChangesResponse(String status, String message, TransactionChangesData data) {
+        this.status = status;
+        this.message = message;
+        this.data = data;
+    }
+
+    /**
+     * Creates a successful delta-sync response.
+     *
+     * @param changes the changes since the client's cursor
+     * @return a successful delta-sync response
+     */
+    public static TransactionChangesResponse success(TransactionChanges changes) {
+        List<TransactionDto> transactionDtos = changes.getTransactions().stream()
+                .map(TransactionDto::fromEntry)
+                .collect(Collectors.toList());
+
+        return new TransactionChangesResponse(
+                "success",
+                "Transaction changes retrieved successfully",
+                new TransactionChangesData(
+                        transactionDtos,
+                        changes.getBalance().getAmount().doubleValue(),
+                        "GHS", // Same currency as the balance endpoint
+                        String.valueOf(changes.getCursor()),
+                        changes.hasMore()));
+    }
+
+    /**
+     * Creates a failure delta-sync response.
+     *
+     * @param message the error message
+     * @return a failure delta-sync response
+     */
+    public static TransactionChangesResponse failure(String message) {
+        return new TransactionChangesResponse("error", message, null);
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public TransactionChangesData getData() {
+        return data;
+    }
+
+    @Override
+    public void writeTo(ProtobufWriter writer) {
+        ProtobufEncodable.writeEnvelope(writer, status, message, data);
+    }
+
+    /**
+     * Inner class representing delta-sync data.
+     */
+    public static class TransactionChangesData implements ProtobufEncodable {
+        private final List<TransactionDto> transactions;
+        private final double balance;
+        private final String currency;
+        private final String cursor;
+        private final boolean hasMore;
+
+        public TransactionChangesData(List<TransactionDto> transactions, double balance, String currency,
+                String cursor, boolean hasMore) {
+            this.transactions = transactions;
+            this.balance = balance;
+            this.currency = currency;
+            this.cursor = cursor;
+            this.hasMore = hasMore;
+        }
+
+        public List<TransactionDto> getTransactions() {
+            return transactions;
+        }
+
+        public double getBalance() {
+            return balance;
+        }
+
+        public String getCurrency() {
+            return currency;
+        }
+
+        public String getCursor() {
+            return cursor;
+        }
+
+        public boolean isHasMore() {
+            return hasMore;
+        }
+
+        @Override
+        public void writeTo(ProtobufWriter writer) {
+            transactions.forEach(transaction -> writer.writeMessage(1, transaction));
+            writer.writeCents(2, balance)
+                    .writeString(3, currency)
+                    .writeString(4, cursor)
+                    .writeBool(5, hasMore);
+        }
+    }
+}
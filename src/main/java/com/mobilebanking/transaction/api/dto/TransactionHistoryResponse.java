@@ -1,7 +1,10 @@
 package com.mobilebanking.transaction.api.dto;
 
+import com.mobilebanking.shared.api.binary.ProtobufEncodable;
+import com.mobilebanking.shared.api.binary.ProtobufWriter;
 import com.mobilebanking.shared.domain.UserId;
 import com.mobilebanking.transaction.domain.Transaction;
+import com.mobilebanking.transaction.domain.TransactionHistoryEntry;
 import com.mobilebanking.transaction.domain.TransactionType;
 import org.springframework.data.domain.Page;
 
@@ -13,7 +16,7 @@ import java.util.stream.Collectors;
  * Data Transfer Object for transaction history responses.
  * Contains a list of transactions for the authenticated user.
  */
-public class TransactionHistoryResponse {
+public class TransactionHistoryResponse implements ProtobufEncodable {
 
     private final String status;
     private final String message;
@@ -72,6 +75,52 @@ public class TransactionHistoryResponse {
                         transactionsPage.hasPrevious()));
     }
 
+    /**
+     * Creates a successful transaction history response from projected history
+     * entries.
+     *
+     * @param entries the history entries, already resolved for the current user
+     * @return a successful transaction history response
+     */
+    public static TransactionHistoryResponse success(List<TransactionHistoryEntry> entries) {
+        List<TransactionDto> transactionDtos = entries.stream()
+                .map(TransactionDto::fromEntry)
+                .collect(Collectors.toList());
+
+        return new TransactionHistoryResponse(
+                "success",
+                "Transaction history retrieved successfully",
+                new TransactionHistoryData(transactionDtos, transactionDtos.size()));
+    }
+
+    /**
+     * Creates a successful paginated transaction history response from projected
+     * history entries.
+     *
+     * @param entriesPage the page of history entries, already resolved for the
+     *                    current user
+     * @return a successful transaction history response with pagination information
+     */
+    public static TransactionHistoryResponse success(Page<TransactionHistoryEntry> entriesPage) {
+        List<TransactionDto> transactionDtos = entriesPage.getContent().stream()
+                .map(TransactionDto::fromEntry)
+                .collect(Collectors.toList());
+
+        return new TransactionHistoryResponse(
+                "success",
+                "Transaction history retrieved successfully",
+                new TransactionHistoryData(
+                        transactionDtos,
+                        (int) entriesPage.getTotalElements(),
+                        entriesPage.getNumber(),
+                        entriesPage.getSize(),
+                        entriesPage.getTotalPages(),
+                        entriesPage.isFirst(),
+                        entriesPage.isLast(),
+                        entriesPage.hasNext(),
+                        entriesPage.hasPrevious()));
+    }
+
     /**
      * Creates a failure transaction history response.
      *
@@ -94,10 +143,15 @@ public class TransactionHistoryResponse {
         return data;
     }
 
+    @Override
+    public void writeTo(ProtobufWriter writer) {
+        ProtobufEncodable.writeEnvelope(writer, status, message, data);
+    }
+
     /**
      * Inner class representing transaction history data.
      */
-    public static class TransactionHistoryData {
+    public static class TransactionHistoryData implements ProtobufEncodable {
         // Remove final modifiers to allow Jackson deserialization
         private List<TransactionDto> transactions;
         private int totalCount;
@@ -218,12 +272,31 @@ public class TransactionHistoryResponse {
         public void setHasPreviousPage(Boolean hasPreviousPage) {
             this.hasPreviousPage = hasPreviousPage;
         }
+
+        @Override
+        public void writeTo(ProtobufWriter writer) {
+            if (transactions != null) {
+                transactions.forEach(transaction -> writer.writeMessage(1, transaction));
+                // Every transaction carries the same currency, so it is sent once
+                if (!transactions.isEmpty()) {
+                    writer.writeString(2, transactions.get(0).getCurrency());
+                }
+            }
+            writer.writeVarint(3, totalCount);
+            if (pageNumber != null) {
+                writer.writeVarint(4, pageNumber)
+                        .writeVarint(5, pageSize)
+                        .writeVarint(6, totalPages)
+                        .writeBool(7, hasNextPage)
+                        .writeBool(8, hasPreviousPage);
+            }
+        }
     }
 
     /**
      * Inner class representing individual transaction data.
      */
-    public static class TransactionDto {
+    public static class TransactionDto implements ProtobufEncodable {
         private String transactionId;
         private double amount;
         private String currency;
@@ -283,6 +356,24 @@ public class TransactionHistoryResponse {
                     transaction.getTimestamp().getValue());
         }
 
+        /**
+         * Creates a TransactionDto from a projected history entry. Direction and
+         * counterparty were already resolved by the query.
+         *
+         * @param entry the history entry
+         * @return TransactionDto representation
+         */
+        public static TransactionDto fromEntry(TransactionHistoryEntry entry) {
+            return new TransactionDto(
+                    entry.transactionId(),
+                    entry.amount().doubleValue(),
+                    "USD", // Default currency
+                    entry.type().name().toLowerCase(),
+                    entry.direction(),
+                    entry.counterpartyId(),
+                    entry.timestamp());
+        }
+
         public String getTransactionId() {
             return transactionId;
         }
@@ -339,5 +430,34 @@ public class TransactionHistoryResponse {
         public void setTimestamp(Instant timestamp) {
             this.timestamp = timestamp;
         }
+
+        @Override
+        public void writeTo(ProtobufWriter writer) {
+            writer.writeUuid(1, transactionId)
+                    .writeCents(2, amount)
+                    .writeVarint(3, typeCode())
+                    .writeVarint(4, directionCode())
+                    .writeUuid(5, counterpartyId)
+                    .writeVarint(6, timestamp != null ? timestamp.toEpochMilli() : 0);
+        }
+
+        private int typeCode() {
+            if ("transfer".equals(type)) {
+                return 1;
+            }
+            return "deposit".equals(type) ? 2 : 0;
+        }
+
+        private int directionCode() {
+            if (direction == null) {
+                return 0;
+            }
+            return switch (direction) {
+                case "sent" -> 1;
+                case "received" -> 2;
+                case "deposit" -> 3;
+                default -> 0;
+            };
+        }
     }
 }
\ No newline at end of file
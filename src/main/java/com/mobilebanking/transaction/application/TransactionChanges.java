@@ -0,0 +1,54 @@
+package com.mobilebanking.transaction.application;
+
+import com.mobilebanking.shared.domain.Money;
+import com.mobilebanking.transaction.domain.TransactionHistoryEntry;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Result of a delta-sync query: the transactions applied to a wallet after a
+ * client's cursor, together with the wallet's current balance and the cursor
+ * the client should send next time.
+ */
+public final class TransactionChanges {
+
+    private final List<TransactionHistoryEntry> transactions;
+    private final Money balance;
+    private final long cursor;
+    private final boolean hasMore;
+
+    public TransactionChanges(List<TransactionHistoryEntry> transactions, Money balance, long cursor, boolean hasMore) {
+        this.transactions = List.copyOf(Objects.requireNonNull(transactions, "Transactions cannot be null"));
+        this.balance = Objects.requireNonNull(balance, "Balance cannot be null");
+        this.cursor = cursor;
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Creates a result for a client that has already seen every change.
+     *
+     * @param balance the current balance
+     * @param cursor  the current wallet version
+     * @return an empty change set
+     */
+    public static TransactionChanges upToDate(Money balance, long cursor) {
+        return new TransactionChanges(List.of(), balance, cursor, false);
+    }
+
+    public List<TransactionHistoryEntry> getTransactions() {
+        return transactions;
+    }
+
+    public Money getBalance() {
+        return balance;
+    }
+
+    public long getCursor() {
+        return cursor;
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+}
@@ -3,11 +3,14 @@ package com.mobilebanking.transaction.application;
 import com.mobilebanking.shared.domain.UserId;
 import com.mobilebanking.shared.domain.exception.UserNotFoundException;
 import com.mobilebanking.transaction.domain.Transaction;
+import com.mobilebanking.transaction.domain.TransactionHistoryEntry;
 import com.mobilebanking.transaction.infrastructure.TransactionRepository;
+import com.mobilebanking.user.domain.User;
 import com.mobilebanking.user.infrastructure.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
@@ -26,6 +29,7 @@ import java.util.List;
 public class TransactionQueryService {
 
     private static final Logger logger = LoggerFactory.getLogger(TransactionQueryService.class);
+    static final int MAX_CHANGES_LIMIT = 100;
     private final TransactionRepository transactionRepository;
     private final UserRepository userRepository;
 
@@ -196,4 +200,114 @@ public class TransactionQueryService {
                 transactionsPage.getNumberOfElements(), userId);
         return transactionsPage;
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the authenticated user's transaction history as read-only
+     * projections, ordered by timestamp descending. Direction and counterparty are
+     * resolved in the query, so no Transaction entities are loaded.
+     *
+     * @return history entries involving the authenticated user
+     * @throws UserNotFoundException if the authenticated user is not found
+     * @throws AccessDeniedException if the user is not authenticated
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionHistoryEntry> getTransactionHistoryEntries() {
+        UserId userId = getCurrentUserId();
+        logger.info("Retrieving transaction history entries for user: {}", userId);
+
+        // Verify user exists
+        if (!userRepository.existsByUserId(userId)) {
+            logger.error("User not found: {}", userId);
+            throw new UserNotFoundException(userId);
+        }
+
+        List<TransactionHistoryEntry> entries = transactionRepository.findHistoryEntriesByUser(userId);
+
+        logger.info("Retrieved {} transaction history entries for user: {}", entries.size(), userId);
+        return entries;
+    }
+
+    /**
+     * Retrieves a page of the authenticated user's transaction history as
+     * read-only projections, ordered by timestamp descending.
+     *
+     * @param pageable pagination information
+     * @return page of history entries involving the authenticated user
+     * @throws UserNotFoundException if the authenticated user is not found
+     * @throws AccessDeniedException if the user is not authenticated
+     */
+    @Transactional(readOnly = true)
+    public Page<TransactionHistoryEntry> getTransactionHistoryEntriesPaginated(Pageable pageable) {
+        UserId userId = getCurrentUserId();
+        logger.info("Retrieving paginated transaction history entries for user: {}, page: {}, size: {}",
+                userId, pageable.getPageNumber(), pageable.getPageSize());
+
+        // Verify user exists
+        if (!userRepository.existsByUserId(userId)) {
+            logger.error("User not found: {}", userId);
+            throw new UserNotFoundException(userId);
+        }
+
+        Page<TransactionHistoryEntry> entriesPage = transactionRepository.findHistoryEntriesByUser(userId, pageable);
+
+        logger.info("Retrieved page {} of {} with {} transaction history entries for user: {}",
+                entriesPage.getNumber(), entriesPage.getTotalPages(),
+                entriesPage.getNumberOfElements(), userId);
+        return entriesPage;
+    }
+
+    /**
+     * Retrieves the transactions applied to the authenticated user's wallet after
+     * the given cursor, oldest first. The cursor is the wallet version (the same
+     * value served as the wallet ETag), so a client that is already up to date is
+     * answered from the user row alone without touching the transactions table.
+     *
+     * @param sinceVersion the last wallet version the client has seen
+     * @param limit        maximum number of transactions to return, capped at
+     *                     {@value #MAX_CHANGES_LIMIT}
+     * @return the changes since the cursor, the current balance and the next
+     *         cursor
+     * @throws UserNotFoundException    if the authenticated user is not found
+     * @throws AccessDeniedException    if the user is not authenticated
+     * @throws IllegalArgumentException if the cursor or limit is invalid
+     */
+    @Transactional(readOnly = true)
+    public TransactionChanges getTransactionChanges(long sinceVersion, int limit) {
+        if (sinceVersion < 0) {
+            throw new IllegalArgumentException("Cursor cannot be negative");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        UserId userId = getCurrentUserId();
+        User user = userRepository.findByUserId(userId)
+                .orElseThrow(() -> {
+                    logger.error("User not found: {}", userId);
+                    return new UserNotFoundException(userId);
+                });
+
+        long currentVersion = user.getWalletVersion();
+        if (sinceVersion >= currentVersion) {
+            logger.debug("Wallet of user {} unchanged since version {}", userId, sinceVersion);
+            return TransactionChanges.upToDate(user.getBalance(), currentVersion);
+        }
+
+        // Fetch one extra row to learn whether another round trip is needed
+        int effectiveLimit = Math.min(limit, MAX_CHANGES_LIMIT);
+        List<TransactionHistoryEntry> changed = transactionRepository.findHistoryEntriesByUserChangedSince(
+                userId, sinceVersion, PageRequest.of(0, effectiveLimit + 1));
+
+        boolean hasMore = changed.size() > effectiveLimit;
+        if (hasMore) {
+            changed = changed.subList(0, effectiveLimit);
+        }
+        long cursor = hasMore
+                ? changed.get(changed.size() - 1).walletVersion()
+                : currentVersion;
+
+        logger.info("Retrieved {} transaction changes since version {} for user: {}",
+                changed.size(), sinceVersion, userId);
+        return new TransactionChanges(changed, user.getBalance(), cursor, hasMore);
+    }
+}
@@ -11,6 +11,7 @@ import com.mobilebanking.transaction.domain.MoneyTransferService;
 import com.mobilebanking.transaction.domain.Transaction;
 import com.mobilebanking.transaction.infrastructure.TransactionRepository;
 import com.mobilebanking.user.domain.User;
+import com.mobilebanking.user.infrastructure.PhoneNumberDirectory;
 import com.mobilebanking.user.infrastructure.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +21,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+
 /**
  * Application service for wallet operations.
  * Handles balance retrieval and other wallet-related functionality.
@@ -33,17 +36,20 @@ public class WalletService {
     private final MoneyTransferService moneyTransferService;
     private final NotificationService notificationService;
     private final ObservabilityService observabilityService;
+    private final PhoneNumberDirectory phoneNumberDirectory;
 
     public WalletService(UserRepository userRepository,
             TransactionRepository transactionRepository,
             MoneyTransferService moneyTransferService,
             NotificationService notificationService,
-            ObservabilityService observabilityService) {
+            ObservabilityService observabilityService,
+            PhoneNumberDirectory phoneNumberDirectory) {
         this.userRepository = userRepository;
         this.transactionRepository = transactionRepository;
         this.moneyTransferService = moneyTransferService;
         this.notificationService = notificationService;
         this.observabilityService = observabilityService;
+        this.phoneNumberDirectory = phoneNumberDirectory;
     }
 
     /**
@@ -74,6 +80,26 @@ public class WalletService {
         return balance[0];
     }
 
+    /**
+     * Retrieves the wallet version for the authenticated user.
+     * The version changes in the same commit as any balance change, so it can be
+     * used to answer conditional requests without loading the wallet.
+     *
+     * @return the user's current wallet version
+     * @throws UserNotFoundException if the user is not found
+     * @throws AccessDeniedException if the user is not authenticated
+     */
+    @Transactional(readOnly = true)
+    public long getWalletVersion() {
+        UserId userId = getCurrentUserId();
+
+        return userRepository.findWalletVersion(userId)
+                .orElseThrow(() -> {
+                    logger.error("User not found: {}", userId);
+                    return new UserNotFoundException(userId);
+                });
+    }
+
     /**
      * Retrieves the current balance for a specific user.
      * This method requires administrative privileges or ownership of the account.
@@ -135,9 +161,9 @@ public class WalletService {
                     return new UserNotFoundException(senderId);
                 });
 
-        // Find the recipient by phone number with pessimistic lock
+        // Resolve the recipient through the directory and lock it by primary key
         PhoneNumber recipientPhoneObj = PhoneNumber.of(recipientPhone);
-        User recipient = userRepository.findByPhoneForUpdate(recipientPhoneObj)
+        User recipient = findRecipientForUpdate(recipientPhoneObj)
                 .orElseThrow(() -> {
                     logger.error("Recipient not found with phone: {}", recipientPhone);
                     return new UserNotFoundException("User with phone " + recipientPhone + " not found");
@@ -156,6 +182,7 @@ public class WalletService {
         // Update balances atomically
         sender.debitBalance(amount);
         recipient.creditBalance(amount);
+        transaction.recordWalletVersions(sender.getWalletVersion(), recipient.getWalletVersion());
 
         // Save all changes
         userRepository.save(sender);
@@ -180,6 +207,28 @@ public class WalletService {
         return transaction;
     }
 
+    /**
+     * Locks the user registered with a phone number. A directory entry that
+     * no longer matches the locked row is dropped and the phone number index
+     * decides instead.
+     */
+    private Optional<User> findRecipientForUpdate(PhoneNumber phone) {
+        Optional<UserId> recipientId = phoneNumberDirectory.resolve(phone);
+        if (recipientId.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<User> recipient = userRepository.findByUserIdForUpdate(recipientId.get().asString())
+                .filter(user -> user.getPhone().equals(phone));
+        if (recipient.isPresent()) {
+            return recipient;
+        }
+        logger.warn("Stale directory entry for phone {}", phone.getValue());
+        phoneNumberDirectory.remove(phone, recipientId.get());
+        recipient = userRepository.findByPhoneForUpdate(phone);
+        recipient.ifPresent(user -> phoneNumberDirectory.add(phone, user.getId()));
+        return recipient;
+    }
+
     /**
      * Adds funds to the authenticated user's wallet.
      * This operation creates a deposit transaction and updates the user's balance.
@@ -200,9 +249,10 @@ public class WalletService {
             throw new IllegalArgumentException("Deposit amount must be positive");
         }
 
-        // Get the authenticated user
+        // Get the authenticated user with pessimistic lock so wallet versions stay
+        // strictly ordered
         UserId userId = getCurrentUserId();
-        User user = userRepository.findByUserId(userId)
+        User user = userRepository.findByUserIdForUpdate(userId.asString())
                 .orElseThrow(() -> {
                     logger.error("User not found: {}", userId);
                     return new UserNotFoundException(userId);
@@ -213,6 +263,7 @@ public class WalletService {
 
         // Update user balance
         user.creditBalance(amount);
+        transaction.recordWalletVersions(null, user.getWalletVersion());
 
         // Save all changes
         userRepository.save(user);
@@ -17,7 +17,9 @@ import java.util.Objects;
         @Index(name = "idx_transactions_sender", columnList = "sender_id"),
         @Index(name = "idx_transactions_receiver", columnList = "receiver_id"),
         @Index(name = "idx_transactions_timestamp", columnList = "timestamp"),
-        @Index(name = "idx_transactions_user_time", columnList = "sender_id, receiver_id, timestamp DESC")
+        @Index(name = "idx_transactions_user_time", columnList = "sender_id, receiver_id, timestamp DESC"),
+        @Index(name = "idx_transactions_sender_version", columnList = "sender_id, sender_wallet_version"),
+        @Index(name = "idx_transactions_receiver_version", columnList = "receiver_id, receiver_wallet_version")
 })
 public class Transaction {
 
@@ -43,6 +45,12 @@ public class Transaction {
     @Column(name = "transaction_type", length = 20, nullable = false)
     private TransactionType type;
 
+    @Column(name = "sender_wallet_version")
+    private Long senderWalletVersion; // Sender's wallet version after this transaction, null for deposits
+
+    @Column(name = "receiver_wallet_version", nullable = false)
+    private long receiverWalletVersion; // Receiver's wallet version after this transaction
+
     // JPA requires default constructor
     protected Transaction() {
     }
@@ -141,6 +149,44 @@ public class Transaction {
         }
     }
 
+    /**
+     * Records the wallet versions the participants reached when this transaction
+     * was applied. These act as per-user sequence numbers for delta sync.
+     *
+     * @param senderWalletVersion   the sender's wallet version, null for deposits
+     * @param receiverWalletVersion the receiver's wallet version
+     * @throws IllegalArgumentException if the sender version does not match the
+     *                                  transaction type
+     */
+    public void recordWalletVersions(Long senderWalletVersion, long receiverWalletVersion) {
+        if (isTransfer() && senderWalletVersion == null) {
+            throw new IllegalArgumentException("Transfer transactions must record the sender wallet version");
+        }
+        if (isDeposit() && senderWalletVersion != null) {
+            throw new IllegalArgumentException("Deposit transactions have no sender wallet version");
+        }
+        this.senderWalletVersion = senderWalletVersion;
+        this.receiverWalletVersion = receiverWalletVersion;
+    }
+
+    /**
+     * Gets the wallet version the specified user reached with this transaction.
+     *
+     * @param userId the participating user
+     * @return the user's wallet version after this transaction
+     * @throws IllegalArgumentException if the user is not involved in this
+     *                                  transaction
+     */
+    public long getWalletVersionFor(UserId userId) {
+        if (userId != null && userId.asString().equals(senderId)) {
+            return senderWalletVersion != null ? senderWalletVersion : 0L;
+        }
+        if (userId != null && userId.asString().equals(receiverId)) {
+            return receiverWalletVersion;
+        }
+        throw new IllegalArgumentException("User is not involved in this transaction: " + userId);
+    }
+
     /**
      * Checks if this transaction involves the specified user as either sender or
      * receiver.
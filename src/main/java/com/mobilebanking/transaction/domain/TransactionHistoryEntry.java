@@ -0,0 +1,29 @@
+package com.mobilebanking.transaction.domain;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Read model for one row of a user's transaction history.
+ * Populated directly from a projection query with direction and counterparty
+ * already resolved from the viewing user's perspective, so history reads do
+ * not materialize {@link Transaction} entities.
+ *
+ * @param transactionId  the transaction identifier
+ * @param amount         the transaction amount
+ * @param type           the transaction type
+ * @param direction      "sent", "received" or "deposit"
+ * @param counterpartyId the other party, null for deposits
+ * @param timestamp      when the transaction happened
+ * @param walletVersion  the viewing user's wallet version after the
+ *                       transaction
+ */
+public record TransactionHistoryEntry(
+        String transactionId,
+        BigDecimal amount,
+        TransactionType type,
+        String direction,
+        String counterpartyId,
+        Instant timestamp,
+        Long walletVersion) {
+}
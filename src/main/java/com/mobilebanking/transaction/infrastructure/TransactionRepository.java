@@ -3,13 +3,10 @@ package com.mobilebanking.transaction.infrastructure;
 import com.mobilebanking.shared.domain.TransactionId;
 import com.mobilebanking.shared.domain.UserId;
 import com.mobilebanking.transaction.domain.Transaction;
+import com.mobilebanking.transaction.domain.TransactionHistoryEntry;
 import com.mobilebanking.transaction.domain.TransactionType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -252,6 +249,96 @@ public interface TransactionRepository extends JpaRepository<Transaction, String
         return findByUserIdAndTypeOrderByTimestampDesc(userId.asString(), type, pageable);
     }
 
+    /**
+     * Projection selecting one history row with direction, counterparty and the
+     * user's wallet version resolved for the viewing user. Deposits are the only
+     * transactions without a sender.
+     */
+    String HISTORY_ENTRY_PROJECTION = "SELECT new com.mobilebanking.transaction.domain.TransactionHistoryEntry("
+            + "t.id, t.amount.amount, t.type, "
+            + "CASE WHEN t.senderId IS NULL THEN 'deposit' WHEN t.senderId = :userId THEN 'sent' ELSE 'received' END, "
+            + "CASE WHEN t.senderId = :userId THEN t.receiverId ELSE t.senderId END, "
+            + "t.timestamp.timestamp, "
+            + "CASE WHEN t.senderId = :userId THEN t.senderWalletVersion ELSE t.receiverWalletVersion END) "
+            + "FROM Transaction t ";
+
+    /**
+     * Finds history entries where the user is either sender or receiver, ordered
+     * by timestamp descending, without loading Transaction entities.
+     *
+     * @param userId the user ID to search for
+     * @return history entries involving the user, ordered by most recent first
+     */
+    @Query(HISTORY_ENTRY_PROJECTION
+            + "WHERE t.senderId = :userId OR t.receiverId = :userId ORDER BY t.timestamp.timestamp DESC")
+    List<TransactionHistoryEntry> findHistoryEntriesByUserId(@Param("userId") String userId);
+
+    /**
+     * Finds history entries for a user using domain object.
+     *
+     * @param userId the user ID domain object to search for
+     * @return history entries involving the user, ordered by most recent first
+     */
+    default List<TransactionHistoryEntry> findHistoryEntriesByUser(UserId userId) {
+        return findHistoryEntriesByUserId(userId.asString());
+    }
+
+    /**
+     * Finds history entries where the user is either sender or receiver with
+     * pagination, ordered by timestamp descending, without loading Transaction
+     * entities.
+     *
+     * @param userId   the user ID to search for
+     * @param pageable the pagination information
+     * @return page of history entries involving the user, most recent first
+     */
+    @Query(value = HISTORY_ENTRY_PROJECTION
+            + "WHERE t.senderId = :userId OR t.receiverId = :userId ORDER BY t.timestamp.timestamp DESC",
+            countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.senderId = :userId OR t.receiverId = :userId")
+    Page<TransactionHistoryEntry> findHistoryEntriesByUserId(@Param("userId") String userId, Pageable pageable);
+
+    /**
+     * Finds paginated history entries for a user using domain object.
+     *
+     * @param userId   the user ID domain object to search for
+     * @param pageable the pagination information
+     * @return page of history entries involving the user, most recent first
+     */
+    default Page<TransactionHistoryEntry> findHistoryEntriesByUser(UserId userId, Pageable pageable) {
+        return findHistoryEntriesByUserId(userId.asString(), pageable);
+    }
+
+    /**
+     * Finds the history entries a user took part in after the given wallet
+     * version, ordered by the user's wallet version ascending. Each branch of the
+     * predicate is served by the (participant, wallet version) indexes.
+     *
+     * @param userId       the user ID to search for
+     * @param sinceVersion the last wallet version the client has seen
+     * @param pageable     limits the number of returned entries
+     * @return entries applied to the user's wallet after the given version
+     */
+    @Query(HISTORY_ENTRY_PROJECTION
+            + "WHERE (t.senderId = :userId AND t.senderWalletVersion > :sinceVersion) "
+            + "OR (t.receiverId = :userId AND t.receiverWalletVersion > :sinceVersion) "
+            + "ORDER BY CASE WHEN t.senderId = :userId THEN t.senderWalletVersion ELSE t.receiverWalletVersion END ASC")
+    List<TransactionHistoryEntry> findHistoryEntriesByUserIdChangedSince(@Param("userId") String userId,
+            @Param("sinceVersion") long sinceVersion, Pageable pageable);
+
+    /**
+     * Finds the history entries a user took part in after the given wallet
+     * version using domain object.
+     *
+     * @param userId       the user ID domain object to search for
+     * @param sinceVersion the last wallet version the client has seen
+     * @param pageable     limits the number of returned entries
+     * @return entries applied to the user's wallet after the given version
+     */
+    default List<TransactionHistoryEntry> findHistoryEntriesByUserChangedSince(UserId userId, long sinceVersion,
+            Pageable pageable) {
+        return findHistoryEntriesByUserIdChangedSince(userId.asString(), sinceVersion, pageable);
+    }
+
     /**
      * Deletes a transaction by its unique identifier.
      * 
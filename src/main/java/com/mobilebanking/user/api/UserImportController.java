@@ -0,0 +1,73 @@
+package com.mobilebanking.user.api;
+
+import com.mobilebanking.user.api.dto.UserImportResponse;
+import com.mobilebanking.user.application.UserImportService;
+import com.mobilebanking.user.domain.UserImport;
+import com.mobilebanking.user.domain.UserImportStatus;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Admin endpoints for bulk user imports. The CSV file is streamed as the
+ * request body; re-submitting it under the same import ID resumes a failed
+ * import from its last checkpoint.
+ */
+@RestController
+@RequestMapping("/api/admin/user-imports")
+@PreAuthorize("hasRole('ADMIN')")
+public class UserImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportController.class);
+    private static final Pattern IMPORT_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final UserImportService userImportService;
+
+    public UserImportController(UserImportService userImportService) {
+        this.userImportService = userImportService;
+    }
+
+    /**
+     * Runs or resumes an import.
+     *
+     * @param importId the import ID chosen by the caller
+     * @param request  the request whose body is the CSV file
+     * @return the import progress, with status 500 if a batch failed
+     * @throws IOException if the request body cannot be read
+     */
+    @PostMapping(value = "/{importId}", consumes = { "text/csv", "text/plain", "application/octet-stream" })
+    public ResponseEntity<UserImportResponse> importUsers(
+            @PathVariable String importId,
+            HttpServletRequest request) throws IOException {
+        if (!IMPORT_ID.matcher(importId).matches()) {
+            return ResponseEntity.badRequest().build();
+        }
+        logger.info("Received user import {}", importId);
+
+        UserImport userImport = userImportService.importCsv(importId, request.getInputStream());
+        HttpStatus status = userImport.getStatus() == UserImportStatus.FAILED
+                ? HttpStatus.INTERNAL_SERVER_ERROR
+                : HttpStatus.OK;
+        return ResponseEntity.status(status).body(UserImportResponse.from(userImport));
+    }
+
+    /**
+     * Gets the progress of an import.
+     *
+     * @param importId the import ID
+     * @return the import progress
+     */
+    @GetMapping("/{importId}")
+    public ResponseEntity<UserImportResponse> getImport(@PathVariable String importId) {
+        return userImportService.findImport(importId)
+                .map(userImport -> ResponseEntity.ok(UserImportResponse.from(userImport)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,71 @@
+package com.mobilebanking.user.api.dto;
+
+import com.mobilebanking.user.domain.UserImport;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for the progress of a bulk user import.
+ */
+public class UserImportResponse {
+
+    private String importId;
+    private String status;
+    private long rowsProcessed;
+    private long rowsImported;
+    private long rowsSkipped;
+    private String lastError;
+    private LocalDateTime updatedAt;
+
+    // Default constructor for JSON serialization
+    public UserImportResponse() {
+    }
+
+    private UserImportResponse(UserImport userImport) {
+        this.importId = userImport.getId();
+        this.status = userImport.getStatus().name();
+        this.rowsProcessed = userImport.getRowsProcessed();
+        this.rowsImported = userImport.getRowsImported();
+        this.rowsSkipped = userImport.getRowsSkipped();
+        this.lastError = userImport.getLastError();
+        this.updatedAt = userImport.getUpdatedAt();
+    }
+
+    /**
+     * Creates a response from an import checkpoint.
+     *
+     * @param userImport the import
+     * @return import response
+     */
+    public static UserImportResponse from(UserImport userImport) {
+        return new UserImportResponse(userImport);
+    }
+
+    public String getImportId() {
+        return importId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public long getRowsProcessed() {
+        return rowsProcessed;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public long getRowsSkipped() {
+        return rowsSkipped;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,86 @@
+package com.mobilebanking.user.application;
+
+import com.mobilebanking.shared.infrastructure.PinHashingExecutor;
+import com.mobilebanking.user.domain.HashedPin;
+import com.mobilebanking.user.domain.User;
+import com.mobilebanking.user.infrastructure.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Application service that upgrades PIN hashes created with an outdated
+ * algorithm version or cost. The upgrade needs the raw PIN, so it runs right
+ * after a successful login, in the background on the hashing pool.
+ *
+ * Exports {@code mobile_banking_pin_rehash_total} tagged with
+ * {@code result=upgraded|stale|skipped|failed}.
+ */
+@Service
+public class PinRehashService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PinRehashService.class);
+
+    private final UserRepository userRepository;
+    private final PinHashingExecutor pinHashingExecutor;
+    private final MeterRegistry meterRegistry;
+
+    public PinRehashService(
+            UserRepository userRepository,
+            PinHashingExecutor pinHashingExecutor,
+            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.pinHashingExecutor = pinHashingExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Queues a rehash of the user's PIN if its hash is not at the target version
+     * and cost. The caller must already have verified the raw PIN. When the
+     * hashing pool is saturated the upgrade is skipped until a later login.
+     *
+     * @param user   the authenticated user
+     * @param rawPin the verified raw PIN
+     * @return true if a rehash was queued
+     */
+    public boolean rehashIfNeeded(User user, String rawPin) {
+        HashedPin current = user.getPin();
+        if (!current.needsRehash()) {
+            return false;
+        }
+
+        String userId = user.getId().asString();
+        String oldHash = current.getHashedValue();
+        boolean queued = pinHashingExecutor.submit(PinHashingExecutor.REHASH, HashedPin.targetCost(),
+                () -> rehash(userId, oldHash, rawPin));
+        if (!queued) {
+            record("skipped");
+        }
+        return queued;
+    }
+
+    /**
+     * Computes the upgraded hash and stores it if the PIN is unchanged.
+     */
+    void rehash(String userId, String oldHash, String rawPin) {
+        try {
+            HashedPin upgraded = HashedPin.fromRawPin(rawPin);
+            int updated = userRepository.updatePinHash(userId, oldHash, upgraded.getHashedValue());
+            record(updated == 1 ? "upgraded" : "stale");
+            logger.debug("PIN hash upgrade for user {}: {}", userId, updated == 1 ? "upgraded" : "stale");
+        } catch (RuntimeException e) {
+            record("failed");
+            logger.warn("Failed to upgrade PIN hash for user {}", userId, e);
+        }
+    }
+
+    private void record(String result) {
+        Counter.builder("mobile_banking_pin_rehash_total")
+                .description("PIN hash upgrades attempted on login")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,66 @@
+package com.mobilebanking.user.application;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal CSV line parser for user imports. Supports quoted fields with
+ * embedded commas and doubled quotes; records must fit on one line.
+ */
+final class UserImportCsv {
+
+    static final List<String> HEADER = List.of("name", "phone", "pin", "opening_balance");
+
+    private UserImportCsv() {
+    }
+
+    /**
+     * Splits one CSV line into trimmed fields.
+     *
+     * @param line the line without its line terminator
+     * @return the fields
+     * @throws IllegalArgumentException if a quoted field is not closed
+     */
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>(HEADER.size());
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    /**
+     * Checks whether a line is the expected header, ignoring case and a
+     * leading byte order mark.
+     *
+     * @param line the first line of the file
+     * @return true if the line is the header
+     */
+    static boolean isHeader(String line) {
+        String withoutBom = line.startsWith("\uFEFF") ? line.substring(1) : line;
+        return parseLine(withoutBom).stream().map(String::toLowerCase).toList().equals(HEADER);
+    }
+}
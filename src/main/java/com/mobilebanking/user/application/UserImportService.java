@@ -0,0 +1,303 @@
+package com.mobilebanking.user.application;
+
+import com.mobilebanking.shared.domain.Money;
+import com.mobilebanking.shared.domain.PhoneNumber;
+import com.mobilebanking.shared.domain.UserId;
+import com.mobilebanking.transaction.domain.Transaction;
+import com.mobilebanking.user.domain.HashedPin;
+import com.mobilebanking.user.domain.User;
+import com.mobilebanking.user.domain.UserImport;
+import com.mobilebanking.user.domain.UserName;
+import com.mobilebanking.user.domain.exception.UserImportInProgressException;
+import com.mobilebanking.user.infrastructure.BulkUserWriter;
+import com.mobilebanking.user.infrastructure.PhoneNumberDirectory;
+import com.mobilebanking.user.infrastructure.RegisteredPhoneNumbers;
+import com.mobilebanking.user.infrastructure.UserImportRepository;
+import com.mobilebanking.user.infrastructure.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Application service for bulk user imports. Streams a CSV file with the
+ * columns {@code name,phone,pin,opening_balance}, hashes raw PINs in parallel
+ * on a dedicated pool and loads each batch of users, together with a deposit
+ * for every opening balance, in one transaction that also advances the
+ * import's checkpoint. Re-submitting the same file under the same import ID
+ * skips the rows already loaded.
+ *
+ * Rows with invalid values or an already registered phone number are skipped.
+ * A PIN that already is a BCrypt hash is stored as is.
+ *
+ * Exports {@code mobile_banking_user_import_rows_total} tagged with
+ * {@code result=imported|duplicate|invalid}.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+    private static final int BCRYPT_HASH_LENGTH = 60;
+
+    private final UserImportRepository userImportRepository;
+    private final UserRepository userRepository;
+    private final BulkUserWriter bulkUserWriter;
+    private final RegisteredPhoneNumbers registeredPhoneNumbers;
+    private final PhoneNumberDirectory phoneNumberDirectory;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool hashingPool;
+    private final int batchSize;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> runningImports = ConcurrentHashMap.newKeySet();
+
+    public UserImportService(
+            UserImportRepository userImportRepository,
+            UserRepository userRepository,
+            BulkUserWriter bulkUserWriter,
+            RegisteredPhoneNumbers registeredPhoneNumbers,
+            PhoneNumberDirectory phoneNumberDirectory,
+            PlatformTransactionManager transactionManager,
+            @Value("${user.import.batch-size:1000}") int batchSize,
+            @Value("${user.import.hash-parallelism:0}") int hashParallelism,
+            MeterRegistry meterRegistry) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Import batch size must be positive");
+        }
+        this.userImportRepository = userImportRepository;
+        this.userRepository = userRepository;
+        this.bulkUserWriter = bulkUserWriter;
+        this.registeredPhoneNumbers = registeredPhoneNumbers;
+        this.phoneNumberDirectory = phoneNumberDirectory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hashingPool = new ForkJoinPool(hashParallelism > 0
+                ? hashParallelism
+                : Runtime.getRuntime().availableProcessors());
+        this.batchSize = batchSize;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Imports users from a CSV stream, resuming from the import's last
+     * checkpoint. A completed import is returned unchanged.
+     *
+     * @param importId the import ID chosen by the caller
+     * @param csv      the CSV content, starting with the header line
+     * @return the import after this run, COMPLETED or FAILED
+     * @throws UserImportInProgressException if the import is already running
+     */
+    public UserImport importCsv(String importId, InputStream csv) {
+        if (!runningImports.add(importId)) {
+            throw UserImportInProgressException.forImport(importId);
+        }
+        try {
+            UserImport userImport = transactionTemplate.execute(status -> startOrResume(importId));
+            if (userImport.isCompleted()) {
+                logger.info("Import {} already completed", importId);
+                return userImport;
+            }
+            try {
+                userImport = load(userImport, csv);
+                userImport.complete();
+                userImport = save(userImport);
+                logger.info("Import {} completed: {} imported, {} skipped", importId,
+                        userImport.getRowsImported(), userImport.getRowsSkipped());
+                return userImport;
+            } catch (IOException | RuntimeException e) {
+                logger.error("Import {} failed after {} rows", importId, userImport.getRowsProcessed(), e);
+                UserImport failed = userImportRepository.findById(importId).orElse(userImport);
+                failed.fail(e.getMessage());
+                return save(failed);
+            }
+        } finally {
+            runningImports.remove(importId);
+        }
+    }
+
+    /**
+     * Finds an import by ID.
+     *
+     * @param importId the import ID
+     * @return Optional containing the import if found
+     */
+    public Optional<UserImport> findImport(String importId) {
+        return userImportRepository.findById(importId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    private UserImport startOrResume(String importId) {
+        UserImport userImport = userImportRepository.findById(importId).orElseGet(() -> UserImport.start(importId));
+        if (!userImport.isCompleted()) {
+            userImport.resume();
+        }
+        return userImportRepository.save(userImport);
+    }
+
+    private UserImport load(UserImport userImport, InputStream csv) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null || !UserImportCsv.isHeader(header)) {
+            throw new IllegalArgumentException("CSV must start with the header " + String.join(",", UserImportCsv.HEADER));
+        }
+
+        // Skip the data rows committed by earlier runs
+        long rowsToSkip = userImport.getRowsProcessed();
+        List<String> batch = new ArrayList<>(batchSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (rowsToSkip > 0) {
+                rowsToSkip--;
+                continue;
+            }
+            batch.add(line);
+            if (batch.size() == batchSize) {
+                userImport = loadBatch(userImport, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            userImport = loadBatch(userImport, batch);
+        }
+        return userImport;
+    }
+
+    private UserImport loadBatch(UserImport userImport, List<String> lines) {
+        long firstRow = userImport.getRowsProcessed() + 1;
+
+        // Validate cheaply first, keeping the first row per phone number
+        Map<String, ImportRow> rows = new LinkedHashMap<>();
+        int invalid = 0;
+        int duplicates = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            ImportRow row = parse(lines.get(i), firstRow + i);
+            if (row == null) {
+                invalid++;
+            } else if (rows.putIfAbsent(row.phone().getValue(), row) != null) {
+                duplicates++;
+            }
+        }
+        if (!rows.isEmpty()) {
+            Set<String> registered = new HashSet<>(userRepository.findRegisteredPhoneNumbers(rows.keySet()));
+            duplicates += registered.size();
+            rows.keySet().removeAll(registered);
+        }
+
+        // Hash raw PINs in parallel; only rows that will be inserted get here
+        List<User> users = hashingPool.submit(() -> rows.values().parallelStream()
+                .map(this::toUser)
+                .filter(Objects::nonNull)
+                .toList()).join();
+        invalid += rows.size() - users.size();
+
+        List<Transaction> deposits = new ArrayList<>();
+        for (User user : users) {
+            if (!user.getBalance().isZero()) {
+                Transaction deposit = Transaction.createDeposit(user.getId(), user.getBalance());
+                deposit.recordWalletVersions(null, user.getWalletVersion());
+                deposits.add(deposit);
+            }
+        }
+
+        long skipped = invalid + duplicates;
+        UserImport saved = transactionTemplate.execute(status -> {
+            bulkUserWriter.write(users, deposits);
+            userImport.recordBatch(lines.size(), users.size(), skipped);
+            return userImportRepository.save(userImport);
+        });
+        for (User user : users) {
+            registeredPhoneNumbers.add(user.getPhone());
+            phoneNumberDirectory.add(user.getPhone(), user.getId());
+        }
+
+        record("imported", users.size());
+        record("duplicate", duplicates);
+        record("invalid", invalid);
+        logger.debug("Import {} loaded rows {}-{}: {} imported, {} skipped",
+                saved.getId(), firstRow, firstRow + lines.size() - 1, users.size(), skipped);
+        return saved;
+    }
+
+    private ImportRow parse(String line, long rowNumber) {
+        try {
+            List<String> fields = UserImportCsv.parseLine(line);
+            if (fields.size() != UserImportCsv.HEADER.size()) {
+                throw new IllegalArgumentException("Expected " + UserImportCsv.HEADER.size() + " fields");
+            }
+            String balance = fields.get(3);
+            return new ImportRow(
+                    rowNumber,
+                    UserName.of(fields.get(0)),
+                    PhoneNumber.of(fields.get(1)),
+                    fields.get(2),
+                    balance.isEmpty() ? Money.zero() : Money.of(new BigDecimal(balance)));
+        } catch (RuntimeException e) {
+            logger.warn("Skipping invalid import row {}: {}", rowNumber, e.getMessage());
+            return null;
+        }
+    }
+
+    private User toUser(ImportRow row) {
+        try {
+            HashedPin pin = isBcryptHash(row.pin())
+                    ? HashedPin.fromHashedValue(row.pin())
+                    : HashedPin.fromRawPin(row.pin());
+            User user = User.reconstitute(UserId.generate(), row.name(), row.phone(), pin, Money.zero());
+            if (!row.openingBalance().isZero()) {
+                user.creditBalance(row.openingBalance());
+            }
+            return user;
+        } catch (RuntimeException e) {
+            logger.warn("Skipping invalid import row {}: {}", row.rowNumber(), e.getMessage());
+            return null;
+        }
+    }
+
+    private UserImport save(UserImport userImport) {
+        return transactionTemplate.execute(status -> userImportRepository.save(userImport));
+    }
+
+    private void record(String result, long rows) {
+        if (rows > 0) {
+            Counter.builder("mobile_banking_user_import_rows_total")
+                    .description("Rows processed by bulk user imports")
+                    .tag("result", result)
+                    .register(meterRegistry)
+                    .increment(rows);
+        }
+    }
+
+    private static boolean isBcryptHash(String pin) {
+        return pin.length() == BCRYPT_HASH_LENGTH && pin.startsWith("$2");
+    }
+
+    private record ImportRow(long rowNumber, UserName name, PhoneNumber phone, String pin, Money openingBalance) {
+    }
+}
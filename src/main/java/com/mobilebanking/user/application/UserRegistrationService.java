@@ -3,13 +3,20 @@ package com.mobilebanking.user.application;
 import com.mobilebanking.observability.ObservabilityService;
 import com.mobilebanking.shared.domain.PhoneNumber;
 import com.mobilebanking.shared.domain.exception.DuplicatePhoneNumberException;
+import com.mobilebanking.shared.domain.exception.HashingCapacityExceededException;
+import com.mobilebanking.shared.infrastructure.PinHashingExecutor;
+import com.mobilebanking.user.domain.HashedPin;
 import com.mobilebanking.user.domain.User;
 import com.mobilebanking.user.domain.UserName;
+import com.mobilebanking.user.infrastructure.PhoneNumberDirectory;
+import com.mobilebanking.user.infrastructure.RegisteredPhoneNumbers;
 import com.mobilebanking.user.infrastructure.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Application service for user registration.
@@ -21,23 +28,42 @@ public class UserRegistrationService {
     private static final Logger logger = LoggerFactory.getLogger(UserRegistrationService.class);
     private final UserRepository userRepository;
     private final ObservabilityService observabilityService;
+    private final PinHashingExecutor pinHashingExecutor;
+    private final RegisteredPhoneNumbers registeredPhoneNumbers;
+    private final PhoneNumberDirectory phoneNumberDirectory;
+    private final TransactionTemplate transactionTemplate;
 
-    public UserRegistrationService(UserRepository userRepository, ObservabilityService observabilityService) {
+    public UserRegistrationService(
+            UserRepository userRepository,
+            ObservabilityService observabilityService,
+            PinHashingExecutor pinHashingExecutor,
+            RegisteredPhoneNumbers registeredPhoneNumbers,
+            PhoneNumberDirectory phoneNumberDirectory,
+            PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
         this.observabilityService = observabilityService;
+        this.pinHashingExecutor = pinHashingExecutor;
+        this.registeredPhoneNumbers = registeredPhoneNumbers;
+        this.phoneNumberDirectory = phoneNumberDirectory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
      * Registers a new user with the provided details.
-     * Validates input and checks for duplicate phone numbers.
+     * Validates input and inserts the user in a single statement that relies
+     * on the unique phone number constraint. Numbers that may already be
+     * registered are looked up first, so the PIN is not hashed for a likely
+     * duplicate. The PIN is hashed outside any transaction, so no database
+     * connection is held while waiting for BCrypt; only the insert runs in a
+     * transaction.
      *
      * @param name        the user's name
      * @param phoneNumber the user's phone number
      * @param pin         the user's PIN
      * @return the registered user
-     * @throws DuplicatePhoneNumberException if phone number already exists
+     * @throws DuplicatePhoneNumberException     if phone number already exists
+     * @throws HashingCapacityExceededException if the hashing pool is saturated
      */
-    @Transactional
     public User registerUser(String name, String phoneNumber, String pin) {
         logger.info("Registering new user with phone number: {}", phoneNumber);
 
@@ -45,20 +71,40 @@ public class UserRegistrationService {
         UserName userName = UserName.of(name);
         PhoneNumber phone = PhoneNumber.of(phoneNumber);
 
-        // Check for duplicate phone number
-        if (userRepository.existsByPhone(phone)) {
-            logger.warn("Registration failed: Phone number already exists: {}", phoneNumber);
-            throw DuplicatePhoneNumberException.forPhoneNumber(phone);
+        // Only numbers the filter has seen need the extra lookup
+        if (registeredPhoneNumbers.mightContain(phone) && userRepository.existsByPhone(phone)) {
+            throw duplicate(phone);
         }
 
-        // Create and save user
-        User user = User.create(userName, phone, pin);
-        User savedUser = userRepository.save(user);
+        // Create and insert user unless the phone number was taken meanwhile
+        User user = pinHashingExecutor.run(PinHashingExecutor.ENCODE, HashedPin.targetCost(),
+                () -> User.create(userName, phone, pin));
+        boolean inserted;
+        try {
+            inserted = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (!userRepository.insertIfPhoneAbsent(user)) {
+                    return false;
+                }
+                phoneNumberDirectory.add(phone, user.getId()); // Visible to transfers once committed
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            inserted = false; // A concurrent registration won the race for the unique constraint
+        }
+        if (!inserted) {
+            throw duplicate(phone);
+        }
+        registeredPhoneNumbers.add(phone);
 
         // Record user registration metric
-        observabilityService.recordUserRegistration(savedUser.getId().asString());
+        observabilityService.recordUserRegistration(user.getId().asString());
+
+        logger.info("User registered successfully with ID: {}", user.getId());
+        return user;
+    }
 
-        logger.info("User registered successfully with ID: {}", savedUser.getId());
-        return savedUser;
+    private DuplicatePhoneNumberException duplicate(PhoneNumber phone) {
+        logger.warn("Registration failed: Phone number already exists: {}", phone.getValue());
+        return DuplicatePhoneNumberException.forPhoneNumber(phone);
     }
-}
\ No newline at end of file
+}
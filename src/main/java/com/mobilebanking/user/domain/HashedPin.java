@@ -3,15 +3,29 @@ package com.mobilebanking.user.domain;
 import com.mobilebanking.shared.domain.exception.InvalidPinException;
 import jakarta.persistence.Embeddable;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder.BCryptVersion;
 import java.util.Objects;
 
 /**
  * HashedPin value object that handles PIN hashing and validation using BCrypt.
  * Ensures PINs are securely stored and validated.
+ *
+ * Hashes use the modular crypt format ({@code $2a$10$...}), whose header
+ * records the algorithm version and cost. New hashes are produced with the
+ * configured target version and cost; existing hashes keep verifying with
+ * whatever they were created with and report {@link #needsRehash()} until
+ * they are upgraded.
  */
 @Embeddable
 public final class HashedPin {
-    private static final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+    public static final BCryptVersion DEFAULT_VERSION = BCryptVersion.$2A;
+    public static final int DEFAULT_COST = 10;
+    private static final int MIN_COST = 4;
+    private static final int MAX_COST = 31;
+    private static final BCryptPasswordEncoder verifier = new BCryptPasswordEncoder();
+    private static volatile BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(DEFAULT_VERSION, DEFAULT_COST);
+    private static volatile String targetVersion = versionId(DEFAULT_VERSION);
+    private static volatile int targetCost = DEFAULT_COST;
     private static final int MIN_PIN_LENGTH = 4;
     private static final int MAX_PIN_LENGTH = 6;
 
@@ -26,6 +40,31 @@ public final class HashedPin {
         this.hashedValue = hashedValue;
     }
 
+    /**
+     * Sets the algorithm version and cost used for new hashes.
+     *
+     * @param version the BCrypt version
+     * @param cost    the BCrypt log rounds
+     * @throws IllegalArgumentException if the cost is out of range
+     */
+    public static synchronized void configure(BCryptVersion version, int cost) {
+        if (cost < MIN_COST || cost > MAX_COST) {
+            throw new IllegalArgumentException("BCrypt cost must be between " + MIN_COST + " and " + MAX_COST);
+        }
+        encoder = new BCryptPasswordEncoder(Objects.requireNonNull(version), cost);
+        targetVersion = versionId(version);
+        targetCost = cost;
+    }
+
+    /**
+     * Gets the cost new hashes are created with.
+     *
+     * @return the target cost
+     */
+    public static int targetCost() {
+        return targetCost;
+    }
+
     /**
      * Creates a HashedPin from a raw PIN string.
      * 
@@ -67,7 +106,55 @@ public final class HashedPin {
             throw InvalidPinException.nullOrEmptyRawPin();
         }
         // Trim the PIN for comparison since we trim during creation
-        return encoder.matches(rawPin.trim(), hashedValue);
+        return verifier.matches(rawPin.trim(), hashedValue);
+    }
+
+    /**
+     * Gets the algorithm version recorded in the hash header, e.g. {@code 2a}.
+     *
+     * @return the version, or "unknown" if the header cannot be parsed
+     */
+    public String getAlgorithmVersion() {
+        String[] header = header(hashedValue);
+        return header != null ? header[0] : "unknown";
+    }
+
+    /**
+     * Gets the cost recorded in the hash header.
+     *
+     * @return the cost, or -1 if the header cannot be parsed
+     */
+    public int getCost() {
+        String[] header = header(hashedValue);
+        return header != null ? Integer.parseInt(header[1]) : -1;
+    }
+
+    /**
+     * Checks if this hash was created with a different version or cost than
+     * the current target and should be recomputed on the next successful login.
+     *
+     * @return true if the hash should be upgraded
+     */
+    public boolean needsRehash() {
+        return !targetVersion.equals(getAlgorithmVersion()) || getCost() != targetCost;
+    }
+
+    /**
+     * Parses a modular crypt header of the form {@code $<version>$<cost>$}.
+     *
+     * @param hash the hash to parse
+     * @return version and two-digit cost, or null if the header is malformed
+     */
+    private static String[] header(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(3) != '$'
+                || hash.charAt(6) != '$' || !Character.isDigit(hash.charAt(4)) || !Character.isDigit(hash.charAt(5))) {
+            return null;
+        }
+        return new String[] { hash.substring(1, 3), hash.substring(4, 6) };
+    }
+
+    private static String versionId(BCryptVersion version) {
+        return version.getVersion().substring(1);
     }
 
     /**
@@ -14,7 +14,8 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "users", indexes = {
-        @Index(name = "idx_users_phone", columnList = "phone")
+        @Index(name = "idx_users_phone", columnList = "phone"),
+        @Index(name = "idx_users_disabled_at", columnList = "disabled_at")
 })
 public class User {
 
@@ -44,6 +45,12 @@ public class User {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    @Column(name = "wallet_version", nullable = false)
+    private long walletVersion; // Bumped on every balance change, exposed as the wallet ETag
+
+    @Column(name = "disabled_at")
+    private LocalDateTime disabledAt; // Null while the account is active
+
     // JPA requires default constructor
     protected User() {
     }
@@ -100,6 +107,7 @@ public class User {
             throw InsufficientFundsException.forAmount(amount, this.balance);
         }
         this.balance = this.balance.subtract(amount);
+        this.walletVersion++;
         this.updatedAt = LocalDateTime.now();
     }
 
@@ -110,6 +118,7 @@ public class User {
      */
     public void creditBalance(Money amount) {
         this.balance = this.balance.add(amount);
+        this.walletVersion++;
         this.updatedAt = LocalDateTime.now();
     }
 
@@ -123,6 +132,26 @@ public class User {
         return this.pin.matches(rawPin);
     }
 
+    /**
+     * Disables the account. Disabled users can no longer log in and their
+     * outstanding tokens are rejected.
+     */
+    public void disable() {
+        if (this.disabledAt == null) {
+            this.disabledAt = LocalDateTime.now();
+            this.updatedAt = this.disabledAt;
+        }
+    }
+
+    /**
+     * Checks if the account has been disabled.
+     *
+     * @return true if the account is disabled
+     */
+    public boolean isDisabled() {
+        return disabledAt != null;
+    }
+
     /**
      * Checks if the user has sufficient balance for the specified amount.
      * 
@@ -146,6 +175,10 @@ public class User {
         return phone;
     }
 
+    public HashedPin getPin() {
+        return pin;
+    }
+
     public Money getBalance() {
         return balance;
     }
@@ -158,6 +191,20 @@ public class User {
         return updatedAt;
     }
 
+    public LocalDateTime getDisabledAt() {
+        return disabledAt;
+    }
+
+    /**
+     * Gets the wallet version. The version increases monotonically with every
+     * balance change and is committed together with it.
+     *
+     * @return the current wallet version
+     */
+    public long getWalletVersion() {
+        return walletVersion;
+    }
+
     @PreUpdate
     protected void onUpdate() {
         this.updatedAt = LocalDateTime.now();
@@ -0,0 +1,154 @@
+package com.mobilebanking.user.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of a bulk user import. Each committed batch advances the number
+ * of processed data rows in the same transaction as the rows themselves, so a
+ * resumed import skips exactly the rows that were already loaded.
+ */
+@Entity
+@Table(name = "user_imports")
+public class UserImport {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @Column(name = "id", length = 64, nullable = false, updatable = false)
+    private String id; // Chosen by the caller so a failed import can be resumed
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private UserImportStatus status;
+
+    @Column(name = "rows_processed", nullable = false)
+    private long rowsProcessed; // Data rows consumed, imported or skipped
+
+    @Column(name = "rows_imported", nullable = false)
+    private long rowsImported;
+
+    @Column(name = "rows_skipped", nullable = false)
+    private long rowsSkipped; // Invalid rows and already registered phone numbers
+
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // JPA requires default constructor
+    protected UserImport() {
+    }
+
+    private UserImport(String id) {
+        this.id = id;
+        this.status = UserImportStatus.RUNNING;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = createdAt;
+    }
+
+    /**
+     * Starts a new import.
+     *
+     * @param id the import ID
+     * @return new UserImport instance
+     */
+    public static UserImport start(String id) {
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("Import ID cannot be empty");
+        }
+        return new UserImport(id);
+    }
+
+    /**
+     * Resumes an import from its last checkpoint.
+     */
+    public void resume() {
+        this.status = UserImportStatus.RUNNING;
+        this.lastError = null;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Records a committed batch.
+     *
+     * @param processed the data rows consumed by the batch
+     * @param imported  the rows loaded
+     * @param skipped   the rows skipped
+     */
+    public void recordBatch(long processed, long imported, long skipped) {
+        this.rowsProcessed += processed;
+        this.rowsImported += imported;
+        this.rowsSkipped += skipped;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Marks the import as completed.
+     */
+    public void complete() {
+        this.status = UserImportStatus.COMPLETED;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Marks the import as failed.
+     *
+     * @param error the failure reason
+     */
+    public void fail(String error) {
+        this.status = UserImportStatus.FAILED;
+        this.lastError = error != null && error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH)
+                : error;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public boolean isCompleted() {
+        return status == UserImportStatus.COMPLETED;
+    }
+
+    // Getters
+
+    public String getId() {
+        return id;
+    }
+
+    public UserImportStatus getStatus() {
+        return status;
+    }
+
+    public long getRowsProcessed() {
+        return rowsProcessed;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public long getRowsSkipped() {
+        return rowsSkipped;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,21 @@
+package com.mobilebanking.user.domain;
+
+/**
+ * Status of a bulk user import.
+ */
+public enum UserImportStatus {
+    /**
+     * Rows are being loaded
+     */
+    RUNNING,
+
+    /**
+     * Every row of the file has been processed
+     */
+    COMPLETED,
+
+    /**
+     * A batch failed; the import can be resumed from its last checkpoint
+     */
+    FAILED
+}
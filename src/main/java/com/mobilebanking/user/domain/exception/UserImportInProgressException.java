@@ -0,0 +1,34 @@
+package com.mobilebanking.user.domain.exception;
+
+/**
+ * Exception thrown when an import is submitted while the same import is still
+ * running.
+ */
+public class UserImportInProgressException extends RuntimeException {
+
+    private final String importId;
+
+    private UserImportInProgressException(String message, String importId) {
+        super(message);
+        this.importId = importId;
+    }
+
+    /**
+     * Creates a UserImportInProgressException for the specified import.
+     *
+     * @param importId the running import
+     * @return UserImportInProgressException instance
+     */
+    public static UserImportInProgressException forImport(String importId) {
+        return new UserImportInProgressException("Import is already running: " + importId, importId);
+    }
+
+    /**
+     * Gets the running import ID.
+     *
+     * @return the import ID
+     */
+    public String getImportId() {
+        return importId;
+    }
+}
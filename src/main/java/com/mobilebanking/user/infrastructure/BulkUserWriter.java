@@ -0,0 +1,147 @@
+package com.mobilebanking.user.infrastructure;
+
+import com.mobilebanking.transaction.domain.Transaction;
+import com.mobilebanking.user.domain.User;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Writes batches of new users and their opening-balance deposits directly
+ * through JDBC. On PostgreSQL each batch is streamed with {@code COPY ... FROM
+ * STDIN}; other databases fall back to batched inserts. Runs in the caller's
+ * transaction.
+ */
+@Component
+public class BulkUserWriter {
+
+    private static final String USER_COLUMNS =
+            "id, name, phone, pin_hash, balance, created_at, updated_at, wallet_version";
+    private static final String TRANSACTION_COLUMNS =
+            "id, sender_id, receiver_id, amount, transaction_type, timestamp, sender_wallet_version, "
+                    + "receiver_wallet_version";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres; // Detected on first use
+
+    public BulkUserWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Writes new users and their deposits. Deposits must reference users of
+     * the same batch or already stored users.
+     *
+     * @param users    the users to insert
+     * @param deposits the opening-balance deposits to insert
+     */
+    public void write(List<User> users, List<Transaction> deposits) {
+        if (users.isEmpty()) {
+            return;
+        }
+        if (isPostgres()) {
+            copy(users, deposits);
+        } else {
+            batchInsert(users, deposits);
+        }
+    }
+
+    private void copy(List<User> users, List<Transaction> deposits) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            copyIn(copyManager, "users", USER_COLUMNS, users.stream().map(BulkUserWriter::userRow).toList());
+            if (!deposits.isEmpty()) {
+                copyIn(copyManager, "transactions", TRANSACTION_COLUMNS,
+                        deposits.stream().map(BulkUserWriter::depositRow).toList());
+            }
+            return null;
+        });
+    }
+
+    private void batchInsert(List<User> users, List<Transaction> deposits) {
+        jdbcTemplate.batchUpdate("INSERT INTO users (" + USER_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                users.stream().map(BulkUserWriter::userRow).toList());
+        if (!deposits.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO transactions (" + TRANSACTION_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                    deposits.stream().map(BulkUserWriter::depositRow).toList());
+        }
+    }
+
+    private static void copyIn(CopyManager copyManager, String table, String columns, List<Object[]> rows)
+            throws SQLException {
+        StringBuilder csv = new StringBuilder(rows.size() * 160);
+        for (Object[] row : rows) {
+            appendCsvRow(csv, row);
+        }
+        try {
+            copyManager.copyIn("COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv)",
+                    new StringReader(csv.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not stream rows into " + table, e);
+        }
+    }
+
+    // Quotes every value so an unquoted empty field unambiguously means NULL
+    private static void appendCsvRow(StringBuilder csv, Object[] row) {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                csv.append(',');
+            }
+            if (row[i] != null) {
+                csv.append('"').append(row[i].toString().replace("\"", "\"\"")).append('"');
+            }
+        }
+        csv.append('\n');
+    }
+
+    private static Object[] userRow(User user) {
+        return new Object[] {
+                user.getId().asString(),
+                user.getName().getValue(),
+                user.getPhone().getValue(),
+                user.getPin().getHashedValue(),
+                user.getBalance().getAmount(),
+                user.getCreatedAt(),
+                user.getUpdatedAt(),
+                user.getWalletVersion()
+        };
+    }
+
+    private static Object[] depositRow(Transaction deposit) {
+        return new Object[] {
+                deposit.getId().asString(),
+                null,
+                deposit.getReceiverId().asString(),
+                deposit.getAmount().getAmount(),
+                deposit.getType().name(),
+                OffsetDateTime.ofInstant(deposit.getTimestamp().getValue(), ZoneOffset.UTC),
+                null,
+                deposit.getWalletVersionFor(deposit.getReceiverId())
+        };
+    }
+
+    private boolean isPostgres() {
+        Boolean detected = postgres;
+        if (detected == null) {
+            detected = jdbcTemplate.execute((ConnectionCallback<Boolean>) BulkUserWriter::isPostgres);
+            postgres = detected;
+        }
+        return detected;
+    }
+
+    private static boolean isPostgres(Connection connection) throws SQLException {
+        return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+    }
+}
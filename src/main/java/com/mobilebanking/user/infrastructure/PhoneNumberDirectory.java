@@ -0,0 +1,357 @@
+package com.mobilebanking.user.infrastructure;
+
+import com.mobilebanking.shared.domain.PhoneNumber;
+import com.mobilebanking.shared.domain.UserId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * In-memory directory from phone number to user ID, so transfers can resolve
+ * their recipient without touching the phone number index and lock the
+ * recipient by primary key.
+ *
+ * Phone numbers are encoded as longs (their digits, plus a flag for a leading
+ * {@code +}) and kept with the two halves of the user's UUID in parallel
+ * arrays of an open-addressing table, about 24 bytes per entry and no objects
+ * per number. Readers run under an optimistic {@link StampedLock} stamp and
+ * only block while a writer is active.
+ *
+ * The directory is a cache, not the source of truth: numbers registered on
+ * other instances are only seen at the next startup, so a miss falls back to
+ * the database and remembers the answer. Entries are added when a
+ * registration commits, never before.
+ *
+ * Exports {@code mobile_banking_phone_directory_entries} and
+ * {@code mobile_banking_phone_directory_lookups_total} tagged with
+ * {@code result=hit|loaded|unknown}.
+ */
+@Component
+public class PhoneNumberDirectory {
+
+    private static final Logger logger = LoggerFactory.getLogger(PhoneNumberDirectory.class);
+    private static final int LOAD_PAGE_SIZE = 10_000;
+    private static final long PLUS_FLAG = 1L << 62; // Above any 15-digit value (< 2^50)
+    private static final long EMPTY = 0L; // Never a key: the first digit is 1-9
+    private static final long DELETED = -1L;
+    private static final int MAX_LOAD_PERCENT = 70;
+
+    private final UserRepository userRepository;
+    private final StampedLock lock = new StampedLock();
+    private final Counter hits;
+    private final Counter loads;
+    private final Counter unknown;
+    private Table table; // Replaced as a whole on resize, guarded by lock
+    private int size;
+    private int deleted;
+
+    @Autowired
+    public PhoneNumberDirectory(
+            UserRepository userRepository,
+            @Value("${user.phone-directory.initial-capacity:65536}") int initialCapacity,
+            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.table = new Table(tableLength(initialCapacity));
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.loads = lookupCounter(meterRegistry, "loaded");
+        this.unknown = lookupCounter(meterRegistry, "unknown");
+        Gauge.builder("mobile_banking_phone_directory_entries", this, PhoneNumberDirectory::size)
+                .description("Phone numbers held by the in-memory recipient directory")
+                .register(meterRegistry);
+    }
+
+    PhoneNumberDirectory(UserRepository userRepository, int initialCapacity) {
+        this.userRepository = userRepository;
+        this.table = new Table(tableLength(initialCapacity));
+        this.hits = null;
+        this.loads = null;
+        this.unknown = null;
+    }
+
+    /**
+     * Loads all registered phone numbers and their user IDs, page by page.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.currentTimeMillis();
+        try {
+            String after = "";
+            List<Object[]> page;
+            do {
+                page = userRepository.findPhoneNumberIdsAfter(after, PageRequest.of(0, LOAD_PAGE_SIZE));
+                for (Object[] row : page) {
+                    put(encode((String) row[0]), UUID.fromString((String) row[1]));
+                }
+                if (!page.isEmpty()) {
+                    after = (String) page.get(page.size() - 1)[0];
+                }
+            } while (page.size() == LOAD_PAGE_SIZE);
+            logger.info("Loaded {} phone numbers into the recipient directory in {} ms",
+                    size(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            // Every lookup still falls back to the database
+            logger.warn("Could not load the recipient directory: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Resolves the user registered with a phone number, asking the database
+     * only when the directory does not know the number.
+     *
+     * @param phone the phone number
+     * @return Optional containing the user ID if the number is registered
+     */
+    public Optional<UserId> resolve(PhoneNumber phone) {
+        long key = encode(phone.getValue());
+        UserId cached = get(key);
+        if (cached != null) {
+            increment(hits);
+            return Optional.of(cached);
+        }
+        Optional<UserId> stored = userRepository.findIdByPhoneNumber(phone.getValue()).map(UserId::fromString);
+        if (stored.isPresent()) {
+            put(key, stored.get().getValue());
+            increment(loads);
+        } else {
+            increment(unknown);
+        }
+        return stored;
+    }
+
+    /**
+     * Records a registered phone number. Inside a transaction the entry is
+     * only added once the transaction commits.
+     *
+     * @param phone  the phone number
+     * @param userId the user registered with it
+     */
+    public void add(PhoneNumber phone, UserId userId) {
+        long key = encode(phone.getValue());
+        UUID id = userId.getValue();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(key, id);
+                }
+            });
+        } else {
+            put(key, id);
+        }
+    }
+
+    /**
+     * Forgets a phone number if it still maps to the given user, e.g. after
+     * the entry turned out to be stale.
+     *
+     * @param phone  the phone number
+     * @param userId the user ID the directory returned
+     */
+    public void remove(PhoneNumber phone, UserId userId) {
+        long key = encode(phone.getValue());
+        UUID id = userId.getValue();
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            int slot = current.find(key);
+            if (slot >= 0 && current.msbs[slot] == id.getMostSignificantBits()
+                    && current.lsbs[slot] == id.getLeastSignificantBits()) {
+                current.keys[slot] = DELETED;
+                size--;
+                deleted++;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Gets the number of phone numbers in the directory.
+     *
+     * @return entry count
+     */
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int current = size;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                current = size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Encodes a normalized phone number as a positive long: its digits, with
+     * {@link #PLUS_FLAG} set if it starts with {@code +}, so {@code +1555...}
+     * and {@code 1555...} stay distinct like the stored strings do.
+     */
+    static long encode(String phone) {
+        boolean plus = phone.charAt(0) == '+';
+        long digits = 0;
+        for (int i = plus ? 1 : 0; i < phone.length(); i++) {
+            digits = digits * 10 + (phone.charAt(i) - '0');
+        }
+        return plus ? digits | PLUS_FLAG : digits;
+    }
+
+    private UserId get(long key) {
+        long stamp = lock.tryOptimisticRead();
+        UserId id = read(table, key);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                id = read(table, key);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return id;
+    }
+
+    // May see a torn slot under an optimistic stamp; the caller validates
+    private static UserId read(Table current, long key) {
+        int slot = current.find(key);
+        if (slot < 0) {
+            return null;
+        }
+        long msb = current.msbs[slot];
+        long lsb = current.lsbs[slot];
+        return UserId.of(new UUID(msb, lsb));
+    }
+
+    private void put(long key, UUID id) {
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            int slot = current.find(key);
+            if (slot < 0) {
+                if ((size + deleted + 1) * 100L > (long) current.keys.length * MAX_LOAD_PERCENT) {
+                    current = rehash(current);
+                }
+                slot = current.freeSlot(key);
+                if (current.keys[slot] == DELETED) {
+                    deleted--;
+                }
+                size++;
+            }
+            current.msbs[slot] = id.getMostSignificantBits();
+            current.lsbs[slot] = id.getLeastSignificantBits();
+            current.keys[slot] = key;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Called with the write lock held; grows only if live entries need it
+    private Table rehash(Table current) {
+        int length = current.keys.length;
+        if ((size + 1) * 100L > (long) length * MAX_LOAD_PERCENT / 2) {
+            length <<= 1;
+        }
+        Table resized = new Table(length);
+        for (int i = 0; i < current.keys.length; i++) {
+            long key = current.keys[i];
+            if (key != EMPTY && key != DELETED) {
+                int slot = resized.freeSlot(key);
+                resized.keys[slot] = key;
+                resized.msbs[slot] = current.msbs[i];
+                resized.lsbs[slot] = current.lsbs[i];
+            }
+        }
+        table = resized;
+        deleted = 0;
+        return resized;
+    }
+
+    private static int tableLength(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Directory capacity must be positive");
+        }
+        long needed = capacity * 100L / MAX_LOAD_PERCENT + 1;
+        return (int) Math.min(1L << 30, Long.highestOneBit(needed - 1) << 1);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("mobile_banking_phone_directory_lookups_total")
+                .description("Recipient lookups by phone number")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * Parallel arrays of one table generation. The length is a power of two
+     * and never changes, so a reader holding a generation stays in bounds.
+     */
+    private static final class Table {
+        final long[] keys;
+        final long[] msbs;
+        final long[] lsbs;
+
+        Table(int length) {
+            this.keys = new long[length];
+            this.msbs = new long[length];
+            this.lsbs = new long[length];
+        }
+
+        int find(long key) {
+            int mask = keys.length - 1;
+            int slot = spread(key) & mask;
+            for (int probes = 0; probes < keys.length; probes++) {
+                long current = keys[slot];
+                if (current == key) {
+                    return slot;
+                }
+                if (current == EMPTY) {
+                    return -1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        // The table is never full, see MAX_LOAD_PERCENT
+        int freeSlot(long key) {
+            int mask = keys.length - 1;
+            int slot = spread(key) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != DELETED) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        // Finalizer of MurmurHash3; consecutive numbers would otherwise cluster
+        private static int spread(long key) {
+            key ^= key >>> 33;
+            key *= 0xff51afd7ed558ccdL;
+            key ^= key >>> 33;
+            key *= 0xc4ceb9fe1a85ec53L;
+            key ^= key >>> 33;
+            return (int) key;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.mobilebanking.user.infrastructure;
+
+import com.mobilebanking.user.domain.HashedPin;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.HashMap;
+
+/**
+ * Periodically counts stored PIN hashes by algorithm version and cost and
+ * exports them as {@code mobile_banking_pin_hashes{version,cost}}, so the
+ * progress of a cost upgrade can be followed.
+ */
+@Component
+public class PinHashCensus {
+
+    private static final Logger logger = LoggerFactory.getLogger(PinHashCensus.class);
+
+    private final UserRepository userRepository;
+    private final MultiGauge hashes;
+
+    public PinHashCensus(UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.hashes = MultiGauge.builder("mobile_banking_pin_hashes")
+                .description("Stored PIN hashes by algorithm version and cost")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Recounts stored hashes. Failures are logged and the previous counts kept.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${security.hashing.census-interval-ms:300000}")
+    public void refresh() {
+        try {
+            Map<Tags, Long> counts = new HashMap<>();
+            for (Object[] row : userRepository.countPinHashesByHeader()) {
+                HashedPin header = HashedPin.fromHashedValue((String) row[0]);
+                Tags tags = Tags.of("version", header.getAlgorithmVersion(),
+                        "cost", String.valueOf(header.getCost()));
+                counts.merge(tags, ((Number) row[1]).longValue(), Long::sum);
+            }
+
+            List<MultiGauge.Row<?>> rows = new ArrayList<>();
+            counts.forEach((tags, count) -> rows.add(MultiGauge.Row.of(tags, count)));
+            hashes.register(rows, true);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to count PIN hashes", e);
+        }
+    }
+}
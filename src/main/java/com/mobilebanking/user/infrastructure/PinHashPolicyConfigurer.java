@@ -0,0 +1,36 @@
+package com.mobilebanking.user.infrastructure;
+
+import com.mobilebanking.user.domain.HashedPin;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder.BCryptVersion;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Applies the configured BCrypt version and cost to newly created PIN hashes.
+ */
+@Component
+public class PinHashPolicyConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PinHashPolicyConfigurer.class);
+
+    private final String version;
+    private final int cost;
+
+    public PinHashPolicyConfigurer(
+            @Value("${security.hashing.bcrypt-version:2a}") String version,
+            @Value("${security.hashing.bcrypt-cost:10}") int cost) {
+        this.version = version;
+        this.cost = cost;
+    }
+
+    @PostConstruct
+    public void apply() {
+        HashedPin.configure(BCryptVersion.valueOf("$" + version.toUpperCase(Locale.ROOT)), cost);
+        logger.info("PIN hashes use BCrypt version {} with cost {}", version, cost);
+    }
+}
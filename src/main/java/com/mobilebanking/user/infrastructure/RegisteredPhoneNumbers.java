@@ -0,0 +1,166 @@
+package com.mobilebanking.user.infrastructure;
+
+import com.mobilebanking.shared.domain.PhoneNumber;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory Bloom filter of registered phone numbers. A negative answer means
+ * the number is not registered as far as this instance knows, so registration
+ * can skip the duplicate lookup and go straight to its insert. A positive
+ * answer may be a false positive and only means the lookup is worth doing.
+ *
+ * The filter is never authoritative: numbers registered on other instances
+ * are only seen at the next startup, and the unique constraint on
+ * {@code users.phone} still decides. Until the initial load has finished every
+ * number is reported as possibly registered.
+ *
+ * Exports {@code mobile_banking_registered_phone_filter_entries}.
+ */
+@Component
+public class RegisteredPhoneNumbers {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegisteredPhoneNumbers.class);
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final UserRepository userRepository;
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final AtomicLong entries = new AtomicLong();
+    private volatile boolean loaded;
+
+    @Autowired
+    public RegisteredPhoneNumbers(
+            UserRepository userRepository,
+            @Value("${user.registration.phone-filter.expected-numbers:1000000}") long expectedNumbers,
+            @Value("${user.registration.phone-filter.false-positive-rate:0.01}") double falsePositiveRate,
+            MeterRegistry meterRegistry) {
+        this(userRepository, expectedNumbers, falsePositiveRate);
+        Gauge.builder("mobile_banking_registered_phone_filter_entries", entries, AtomicLong::get)
+                .description("Phone numbers added to the registration Bloom filter")
+                .register(meterRegistry);
+    }
+
+    RegisteredPhoneNumbers(UserRepository userRepository, long expectedNumbers, double falsePositiveRate) {
+        if (expectedNumbers < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Expected numbers must be positive and the rate in (0, 1)");
+        }
+        // Optimal sizing: m = -n ln p / (ln 2)^2 bits and k = m / n ln 2 hashes
+        long optimalBits = (long) Math.ceil(-expectedNumbers * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + 63) / 64);
+        this.userRepository = userRepository;
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedNumbers * Math.log(2)));
+    }
+
+    /**
+     * Loads all registered phone numbers, page by page.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.currentTimeMillis();
+        try {
+            String after = "";
+            List<String> page;
+            do {
+                page = userRepository.findPhoneNumbersAfter(after, PageRequest.of(0, LOAD_PAGE_SIZE));
+                page.forEach(this::put);
+                if (!page.isEmpty()) {
+                    after = page.get(page.size() - 1);
+                }
+            } while (page.size() == LOAD_PAGE_SIZE);
+            loaded = true;
+            logger.info("Loaded {} registered phone numbers into the filter in {} ms",
+                    entries.get(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            // Stay conservative: every number keeps being checked against the database
+            logger.warn("Could not load registered phone numbers: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Checks whether a phone number may be registered.
+     *
+     * @param phone the phone number
+     * @return false if the number is definitely not registered, true otherwise
+     */
+    public boolean mightContain(PhoneNumber phone) {
+        if (!loaded) {
+            return true;
+        }
+        long hash = hash(phone.getValue());
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records a newly registered phone number.
+     *
+     * @param phone the phone number
+     */
+    public void add(PhoneNumber phone) {
+        put(phone.getValue());
+    }
+
+    /**
+     * Gets the number of phone numbers added so far.
+     *
+     * @return entry count
+     */
+    public long size() {
+        return entries.get();
+    }
+
+    private void put(String phone) {
+        long hash = hash(phone);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            long mask = 1L << bit;
+            bits.accumulateAndGet((int) (bit >>> 6), mask, (word, m) -> word | m);
+        }
+        entries.incrementAndGet();
+    }
+
+    // FNV-1a over the characters of the phone number
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // Finalizer of MurmurHash3, spreads FNV's weak low bits
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,12 @@
+package com.mobilebanking.user.infrastructure;
+
+import com.mobilebanking.user.domain.UserImport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for bulk user import checkpoints.
+ */
+@Repository
+public interface UserImportRepository extends JpaRepository<UserImport, String> {
+}
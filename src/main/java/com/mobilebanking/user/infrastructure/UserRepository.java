@@ -4,12 +4,19 @@ import com.mobilebanking.shared.domain.PhoneNumber;
 import com.mobilebanking.shared.domain.UserId;
 import com.mobilebanking.user.domain.User;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -67,6 +74,87 @@ public interface UserRepository extends JpaRepository<User, String> {
         return existsByPhoneNumber(phone.getValue());
     }
 
+    /**
+     * Inserts a new user unless the phone number is already registered, in a
+     * single statement. A concurrent insert of the same phone number can still
+     * hit the unique constraint and surfaces as a
+     * {@link org.springframework.dao.DataIntegrityViolationException}.
+     *
+     * @return the number of rows inserted, 0 or 1
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO users (id, name, phone, pin_hash, balance, created_at, updated_at, wallet_version) "
+            + "SELECT :id, :name, :phone, :pinHash, :balance, :createdAt, :updatedAt, :walletVersion "
+            + "WHERE NOT EXISTS (SELECT 1 FROM users WHERE phone = :phone)", nativeQuery = true)
+    int insertIfPhoneAbsent(@Param("id") String id,
+            @Param("name") String name,
+            @Param("phone") String phone,
+            @Param("pinHash") String pinHash,
+            @Param("balance") BigDecimal balance,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("updatedAt") LocalDateTime updatedAt,
+            @Param("walletVersion") long walletVersion);
+
+    /**
+     * Inserts a new user unless the phone number is already registered.
+     *
+     * @param user the new user
+     * @return true if the user was inserted, false if the phone number is taken
+     */
+    default boolean insertIfPhoneAbsent(User user) {
+        return insertIfPhoneAbsent(
+                user.getId().asString(),
+                user.getName().getValue(),
+                user.getPhone().getValue(),
+                user.getPin().getHashedValue(),
+                user.getBalance().getAmount(),
+                user.getCreatedAt(),
+                user.getUpdatedAt(),
+                user.getWalletVersion()) == 1;
+    }
+
+    /**
+     * Finds registered phone numbers in ascending order, starting after the
+     * given one. Used to page through all phone numbers by key.
+     *
+     * @param after    the last phone number of the previous page, or an empty
+     *                 string for the first page
+     * @param pageable the page size
+     * @return the next phone numbers
+     */
+    @Query("SELECT u.phone.value FROM User u WHERE u.phone.value > :after ORDER BY u.phone.value")
+    List<String> findPhoneNumbersAfter(@Param("after") String after, Pageable pageable);
+
+    /**
+     * Finds registered phone numbers with their user IDs in ascending phone
+     * number order, starting after the given one.
+     *
+     * @param after    the last phone number of the previous page, or an empty
+     *                 string for the first page
+     * @param pageable the page size
+     * @return pairs of phone number and user ID
+     */
+    @Query("SELECT u.phone.value, u.id FROM User u WHERE u.phone.value > :after ORDER BY u.phone.value")
+    List<Object[]> findPhoneNumberIdsAfter(@Param("after") String after, Pageable pageable);
+
+    /**
+     * Looks up only the ID of the user with the given phone number.
+     *
+     * @param phoneNumber the phone number to search for
+     * @return Optional containing the user ID if the number is registered
+     */
+    @Query("SELECT u.id FROM User u WHERE u.phone.value = :phoneNumber")
+    Optional<String> findIdByPhoneNumber(@Param("phoneNumber") String phoneNumber);
+
+    /**
+     * Finds which of the given phone numbers are already registered.
+     *
+     * @param phoneNumbers the phone numbers to check
+     * @return the registered phone numbers among them
+     */
+    @Query("SELECT u.phone.value FROM User u WHERE u.phone.value IN :phoneNumbers")
+    List<String> findRegisteredPhoneNumbers(@Param("phoneNumbers") Collection<String> phoneNumbers);
+
     /**
      * Checks if a user exists with the given user ID.
      * 
@@ -77,6 +165,69 @@ public interface UserRepository extends JpaRepository<User, String> {
         return existsById(userId.asString());
     }
 
+    /**
+     * Looks up only the wallet version of a user, without loading the entity.
+     * 
+     * @param userId the user ID to search for
+     * @return Optional containing the wallet version if the user exists
+     */
+    @Query("SELECT u.walletVersion FROM User u WHERE u.id = :userId")
+    Optional<Long> findWalletVersionByUserId(@Param("userId") String userId);
+
+    /**
+     * Looks up only the wallet version of a user using domain object.
+     * 
+     * @param userId the user ID domain object to search for
+     * @return Optional containing the wallet version if the user exists
+     */
+    default Optional<Long> findWalletVersion(UserId userId) {
+        return findWalletVersionByUserId(userId.asString());
+    }
+
+    /**
+     * Finds the IDs of all disabled users.
+     *
+     * @return IDs of disabled users
+     */
+    @Query("SELECT u.id FROM User u WHERE u.disabledAt IS NOT NULL")
+    List<String> findDisabledIds();
+
+    /**
+     * Finds the IDs of users disabled at or after the given time. Used to
+     * refresh the in-memory revocation set incrementally.
+     *
+     * @param since the earliest disable time to include
+     * @return IDs of users disabled since the given time
+     */
+    @Query("SELECT u.id FROM User u WHERE u.disabledAt >= :since")
+    List<String> findIdsDisabledSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Replaces a user's PIN hash, but only if it still holds the expected value,
+     * so an upgrade never overwrites a PIN changed in the meantime.
+     *
+     * @param userId  the user ID
+     * @param oldHash the hash the upgrade was computed from
+     * @param newHash the replacement hash
+     * @return the number of rows updated, 0 or 1
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.pin.hashedValue = :newHash WHERE u.id = :userId AND u.pin.hashedValue = :oldHash")
+    int updatePinHash(@Param("userId") String userId,
+            @Param("oldHash") String oldHash,
+            @Param("newHash") String newHash);
+
+    /**
+     * Counts stored PIN hashes by their modular crypt header, e.g.
+     * {@code $2a$10$}.
+     *
+     * @return pairs of header and count
+     */
+    @Query("SELECT SUBSTRING(u.pin.hashedValue, 1, 7), COUNT(u) FROM User u "
+            + "GROUP BY SUBSTRING(u.pin.hashedValue, 1, 7)")
+    List<Object[]> countPinHashesByHeader();
+
     /**
      * Deletes a user by their unique identifier.
      * 
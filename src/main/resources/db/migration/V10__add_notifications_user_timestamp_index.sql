@@ -0,0 +1,2 @@
+-- Serves the keyset-paged notification list, ordered by timestamp and id within a user
+CREATE INDEX idx_notifications_user_timestamp ON notifications(user_id, timestamp, id);
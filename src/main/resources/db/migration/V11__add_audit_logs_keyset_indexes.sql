@@ -0,0 +1,11 @@
+-- Serve the keyset-paged and exported audit queries, each ordered by created_at and id within its filter.
+-- They replace the single-column indexes of V3, which are prefixes of them.
+CREATE INDEX idx_audit_logs_user_created ON audit_logs(user_id, created_at, id);
+CREATE INDEX idx_audit_logs_action_created ON audit_logs(action_type, created_at, id);
+CREATE INDEX idx_audit_logs_entity_created ON audit_logs(entity_type, entity_id, created_at, id);
+CREATE INDEX idx_audit_logs_created_id ON audit_logs(created_at, id);
+
+DROP INDEX idx_audit_logs_user;
+DROP INDEX idx_audit_logs_action;
+DROP INDEX idx_audit_logs_entity;
+DROP INDEX idx_audit_logs_created_at;
@@ -0,0 +1,19 @@
+-- Tamper-evident hash chain over audit_logs: each row is linked to the previous row of its stripe.
+-- Rows written before this migration have no chain columns and are not covered.
+ALTER TABLE audit_logs ADD COLUMN chain_stripe INT;
+ALTER TABLE audit_logs ADD COLUMN chain_seq BIGINT;
+ALTER TABLE audit_logs ADD COLUMN chain_hash VARCHAR(64);
+
+CREATE UNIQUE INDEX idx_audit_logs_chain ON audit_logs(chain_stripe, chain_seq);
+
+-- Periodic anchors of each stripe's chain, so verification of a time range can start near it
+CREATE TABLE audit_chain_checkpoints (
+    stripe INT NOT NULL,
+    seq BIGINT NOT NULL,
+    hash VARCHAR(64) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+
+    PRIMARY KEY (stripe, seq)
+);
+
+CREATE INDEX idx_audit_chain_checkpoints_created ON audit_chain_checkpoints(stripe, created_at);
@@ -0,0 +1,6 @@
+-- Leases that keep a scheduled job to one instance at a time. A lease is free once locked_until has passed.
+CREATE TABLE scheduler_locks (
+    name VARCHAR(64) PRIMARY KEY,
+    locked_until TIMESTAMP NOT NULL,
+    locked_by VARCHAR(255) NOT NULL
+);
@@ -0,0 +1,7 @@
+-- Last row of each hash chain stripe. Writers lock a stripe's head while appending to it,
+-- so instances sharing the database extend the chain one after another.
+CREATE TABLE audit_chain_heads (
+    stripe INT PRIMARY KEY,
+    seq BIGINT NOT NULL,
+    hash VARCHAR(64) NOT NULL
+);
@@ -0,0 +1,3 @@
+-- Add per-user wallet version, bumped with every balance change.
+-- Used as the ETag for conditional GETs on the wallet endpoints.
+ALTER TABLE users ADD COLUMN wallet_version BIGINT NOT NULL DEFAULT 0;
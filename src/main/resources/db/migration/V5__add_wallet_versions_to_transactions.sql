@@ -0,0 +1,7 @@
+-- Per-participant wallet versions used as delta-sync cursors.
+-- Rows written before this migration keep version 0 and are only served by the paged history.
+ALTER TABLE transactions ADD COLUMN sender_wallet_version BIGINT;
+ALTER TABLE transactions ADD COLUMN receiver_wallet_version BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX idx_transactions_sender_version ON transactions(sender_id, sender_wallet_version);
+CREATE INDEX idx_transactions_receiver_version ON transactions(receiver_id, receiver_wallet_version);
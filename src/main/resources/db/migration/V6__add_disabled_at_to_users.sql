@@ -0,0 +1,5 @@
+-- Disabled accounts are revoked from token authentication.
+-- Authentication keeps an in-memory set of disabled ids, refreshed incrementally by this column.
+ALTER TABLE users ADD COLUMN disabled_at TIMESTAMP;
+
+CREATE INDEX idx_users_disabled_at ON users(disabled_at);
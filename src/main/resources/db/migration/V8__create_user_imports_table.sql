@@ -0,0 +1,12 @@
+-- Progress of bulk user imports. Each committed batch advances rows_processed,
+-- so a failed import can be resumed by re-submitting the same file under the same id.
+CREATE TABLE user_imports (
+    id VARCHAR(64) PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    rows_processed BIGINT NOT NULL DEFAULT 0,
+    rows_imported BIGINT NOT NULL DEFAULT 0,
+    rows_skipped BIGINT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,16 @@
+-- Notifications shown in the app. Rows are written in batches by JdbcNotificationService
+-- and purged once older than notification.jdbc.retention-days.
+CREATE TABLE notifications (
+    id VARCHAR(36) PRIMARY KEY,
+    user_id VARCHAR(36) NOT NULL,
+    title VARCHAR(100) NOT NULL,
+    message VARCHAR(500) NOT NULL,
+    notification_type VARCHAR(30) NOT NULL,
+    timestamp TIMESTAMP NOT NULL,
+    is_read BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+-- Serves the inbox, the unread list and both counts per user
+CREATE INDEX idx_notifications_user_read_timestamp ON notifications(user_id, is_read, timestamp);
+-- Serves the retention purge
+CREATE INDEX idx_notifications_timestamp ON notifications(timestamp);
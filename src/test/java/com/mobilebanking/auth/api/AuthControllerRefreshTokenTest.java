@@ -0,0 +1,138 @@
+package com.mobilebanking.auth.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mobilebanking.auth.api.dto.LoginRequest;
+import com.mobilebanking.auth.api.dto.RefreshTokenRequest;
+import com.mobilebanking.shared.domain.PhoneNumber;
+import com.mobilebanking.user.domain.User;
+import com.mobilebanking.user.domain.UserName;
+import com.mobilebanking.user.infrastructure.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the refresh and logout endpoints.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class AuthControllerRefreshTokenTest {
+
+    private static final String PHONE = "+15550001111";
+    private static final String PIN = "1234";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(User.create(UserName.of("Refresh User"), PhoneNumber.of(PHONE), PIN));
+    }
+
+    @Test
+    void login_shouldReturnAccessAndRefreshToken() throws Exception {
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest(PHONE, PIN))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token", notNullValue()))
+                .andExpect(jsonPath("$.refreshToken", notNullValue()))
+                .andExpect(jsonPath("$.expiresIn", greaterThan(0)));
+    }
+
+    @Test
+    void refresh_shouldRotateRefreshToken() throws Exception {
+        // Given
+        JsonNode login = login();
+        String refreshToken = login.get("refreshToken").asText();
+
+        // When
+        JsonNode refreshed = body(refresh(refreshToken).andExpect(status().isOk()));
+
+        // Then
+        assertThat(refreshed.get("refreshToken").asText()).isNotEqualTo(refreshToken);
+        mockMvc.perform(get("/api/wallet/balance")
+                        .header("Authorization", "Bearer " + refreshed.get("token").asText()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void refresh_withReusedToken_shouldRevokeWholeFamily() throws Exception {
+        // Given
+        String first = login().get("refreshToken").asText();
+        String second = body(refresh(first).andExpect(status().isOk())).get("refreshToken").asText();
+
+        // When - the rotated token is presented again
+        refresh(first)
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error", is("Unauthorized")));
+
+        // Then - the legitimate successor is revoked as well
+        refresh(second).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void refresh_withUnknownToken_shouldReturnUnauthorized() throws Exception {
+        refresh("unknown-token").andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void logout_shouldRevokeRefreshAndAccessToken() throws Exception {
+        // Given
+        JsonNode login = login();
+        String accessToken = login.get("token").asText();
+        String refreshToken = login.get("refreshToken").asText();
+
+        // When
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest(refreshToken))))
+                .andExpect(status().isNoContent());
+
+        // Then
+        refresh(refreshToken).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/wallet/balance")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isForbidden()); // Spring Security returns 403 Forbidden
+    }
+
+    private JsonNode login() throws Exception {
+        return body(mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest(PHONE, PIN))))
+                .andExpect(status().isOk()));
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest(refreshToken))));
+    }
+
+    private JsonNode body(ResultActions result) throws Exception {
+        return objectMapper.readTree(result.andReturn().getResponse().getContentAsString());
+    }
+}
@@ -3,23 +3,32 @@ package com.mobilebanking.auth.application;
 import com.mobilebanking.auth.domain.AuthenticationService;
 import com.mobilebanking.auth.domain.JwtTokenService;
 import com.mobilebanking.auth.domain.exception.InvalidCredentialsException;
+import com.mobilebanking.auth.domain.exception.LoginThrottledException;
+import com.mobilebanking.auth.infrastructure.LoginThrottle;
 import com.mobilebanking.shared.domain.PhoneNumber;
 import com.mobilebanking.shared.domain.UserId;
+import com.mobilebanking.shared.domain.exception.HashingCapacityExceededException;
+import com.mobilebanking.shared.infrastructure.PinHashingExecutor;
+import com.mobilebanking.user.application.PinRehashService;
 import com.mobilebanking.user.domain.User;
 import com.mobilebanking.user.domain.UserName;
 import com.mobilebanking.user.infrastructure.UserRepository;
 import com.mobilebanking.observability.ObservabilityService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +46,15 @@ class LoginServiceTest {
     @Mock
     private ObservabilityService observabilityService;
 
+    @Mock
+    private PinRehashService pinRehashService;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     private LoginService loginService;
     private User testUser;
     private String phoneNumber;
@@ -45,7 +63,9 @@ class LoginServiceTest {
 
     @BeforeEach
     void setUp() {
-        loginService = new LoginService(userRepository, authenticationService, jwtTokenService, observabilityService);
+        loginService = new LoginService(userRepository, authenticationService, jwtTokenService, observabilityService,
+                new PinHashingExecutor(1, 4, new SimpleMeterRegistry()), pinRehashService,
+                loginThrottle, refreshTokenService);
 
         phoneNumber = "+1234567890";
         pin = "123456";
@@ -71,12 +91,16 @@ class LoginServiceTest {
         when(userRepository.findByPhone(phone)).thenReturn(Optional.of(testUser));
         when(authenticationService.validateCredentials(testUser, pin)).thenReturn(true);
         when(jwtTokenService.generateToken(testUser.getId())).thenReturn(token);
+        when(jwtTokenService.getAccessTokenValidity()).thenReturn(Duration.ofMinutes(15));
+        when(refreshTokenService.issue(testUser.getId())).thenReturn("refresh-token");
 
         // When
-        String resultToken = loginService.login(phoneNumber, pin);
+        AuthTokens tokens = loginService.login(phoneNumber, pin);
 
         // Then
-        assertEquals(token, resultToken);
+        assertEquals(token, tokens.accessToken());
+        assertEquals("refresh-token", tokens.refreshToken());
+        assertEquals(900, tokens.expiresInSeconds());
         verify(userRepository).findByPhone(phone);
         verify(authenticationService).validateCredentials(testUser, pin);
         verify(jwtTokenService).generateToken(testUser.getId());
@@ -138,4 +162,69 @@ class LoginServiceTest {
         verifyNoInteractions(authenticationService);
         verifyNoInteractions(jwtTokenService);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldRejectWithoutRecordingFailureWhenHashingPoolIsSaturated() {
+        // Given
+        PinHashingExecutor saturatedExecutor = mock(PinHashingExecutor.class);
+        when(saturatedExecutor.run(eq(PinHashingExecutor.VERIFY), anyInt(), any()))
+                .thenThrow(HashingCapacityExceededException.queueFull());
+        LoginService service = new LoginService(userRepository, authenticationService, jwtTokenService,
+                observabilityService, saturatedExecutor, pinRehashService, loginThrottle,
+                refreshTokenService);
+        when(userRepository.findByPhone(PhoneNumber.of(phoneNumber))).thenReturn(Optional.of(testUser));
+
+        // When & Then
+        assertThrows(HashingCapacityExceededException.class, () -> service.login(phoneNumber, pin));
+        verifyNoInteractions(authenticationService);
+        verifyNoInteractions(jwtTokenService);
+        verifyNoInteractions(observabilityService);
+        verifyNoInteractions(pinRehashService);
+    }
+
+    @Test
+    void shouldRequestPinRehashAfterSuccessfulLogin() {
+        // Given
+        when(userRepository.findByPhone(PhoneNumber.of(phoneNumber))).thenReturn(Optional.of(testUser));
+        when(authenticationService.validateCredentials(testUser, pin)).thenReturn(true);
+        when(jwtTokenService.generateToken(testUser.getId())).thenReturn(token);
+        when(jwtTokenService.getAccessTokenValidity()).thenReturn(Duration.ofMinutes(15));
+
+        // When
+        loginService.login(phoneNumber, pin);
+
+        // Then
+        verify(pinRehashService).rehashIfNeeded(testUser, pin);
+    }
+
+    @Test
+    void shouldNotRequestPinRehashWhenCredentialsInvalid() {
+        // Given
+        when(userRepository.findByPhone(PhoneNumber.of(phoneNumber))).thenReturn(Optional.of(testUser));
+        when(authenticationService.validateCredentials(testUser, pin)).thenReturn(false);
+
+        // When & Then
+        assertThrows(InvalidCredentialsException.class, () -> loginService.login(phoneNumber, pin));
+        verifyNoInteractions(pinRehashService);
+    }
+
+    @Test
+    void shouldRejectThrottledAttemptBeforeLookup() {
+        // Given
+        doThrow(new LoginThrottledException(30)).when(loginThrottle).checkAttempt(PhoneNumber.of(phoneNumber));
+
+        // When & Then
+        assertThrows(LoginThrottledException.class, () -> loginService.login(phoneNumber, pin));
+        verifyNoInteractions(userRepository);
+        verifyNoInteractions(authenticationService);
+        verifyNoInteractions(jwtTokenService);
+    }
+
+    @Test
+    void shouldRejectUnparseablePhoneNumberWithoutTakingAThrottleBucket() {
+        // When & Then
+        assertThrows(InvalidCredentialsException.class, () -> loginService.login("not-a-phone", pin));
+        verifyNoInteractions(loginThrottle);
+        verifyNoInteractions(userRepository);
+    }
+}
@@ -44,6 +44,18 @@ class AuthenticationServiceTest {
         assertFalse(result);
     }
 
+    @Test
+    void validateCredentials_withDisabledUser_shouldReturnFalse() {
+        // Given
+        user.disable();
+
+        // When
+        boolean result = authenticationService.validateCredentials(user, rawPin);
+
+        // Then
+        assertFalse(result);
+    }
+
     @Test
     void validateCredentials_withNullUser_shouldThrowException() {
         // When/Then
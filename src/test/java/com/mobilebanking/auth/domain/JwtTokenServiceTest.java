@@ -114,4 +114,48 @@ class JwtTokenServiceTest {
         // Then
         assertEquals("USER", role);
     }
-}
\ No newline at end of file
+
+    @Test
+    void verify_withValidToken_shouldReturnSubjectAndExpiration() {
+        // Given
+        String token = jwtTokenService.generateToken(userDetails);
+
+        // When
+        VerifiedToken verified = jwtTokenService.verify(token);
+
+        // Then
+        assertEquals(testUserId, verified.subject());
+        assertNotNull(verified.tokenId());
+        assertNotNull(verified.issuedAt());
+        assertTrue(verified.expiresAt().isAfter(verified.issuedAt()));
+    }
+
+    @Test
+    void verify_withRepeatedToken_shouldServeFromCache() {
+        // Given
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        JwtTokenService service = new JwtTokenService(testSecret, validityHours, cache);
+        String token = service.generateToken(userDetails);
+
+        // When
+        VerifiedToken first = service.verify(token);
+        VerifiedToken second = service.verify(token);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void verify_withTamperedToken_shouldThrowAndNotCache() {
+        // Given
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        JwtTokenService service = new JwtTokenService(testSecret, validityHours, cache);
+        String token = service.generateToken(userDetails);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // When & Then
+        assertThrows(JwtException.class, () -> service.verify(tampered));
+        assertEquals(0, cache.size());
+    }
+}
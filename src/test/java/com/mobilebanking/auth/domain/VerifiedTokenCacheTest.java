@@ -0,0 +1,137 @@
+package com.mobilebanking.auth.domain;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VerifiedTokenCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    private final MutableClock clock = new MutableClock(NOW);
+
+    @Test
+    void get_afterPut_shouldReturnCachedToken() {
+        // Given
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, clock);
+        VerifiedToken verified = token("user-1", Duration.ofHours(1));
+        cache.put("token-1", verified);
+
+        // When & Then
+        assertThat(cache.get("token-1")).isSameAs(verified);
+        assertThat(cache.get("token-2")).isNull();
+    }
+
+    @Test
+    void get_afterExpiration_shouldMissAndDropEntry() {
+        // Given
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, clock);
+        cache.put("token-1", token("user-1", Duration.ofMinutes(5)));
+
+        // When
+        clock.advance(Duration.ofMinutes(5));
+
+        // Then
+        assertThat(cache.get("token-1")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void put_whenFull_shouldStayBounded() {
+        // Given
+        VerifiedTokenCache cache = new VerifiedTokenCache(20, clock);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            cache.put("token-" + i, token("user-" + i, Duration.ofHours(1)));
+        }
+
+        // Then
+        assertThat(cache.size()).isLessThanOrEqualTo(20);
+        assertThat(cache.get("token-99")).isNotNull();
+    }
+
+    @Test
+    void put_whenFull_shouldEvictExpiredEntriesFirst() {
+        // Given
+        VerifiedTokenCache cache = new VerifiedTokenCache(2, clock);
+        cache.put("short", token("user-1", Duration.ofMinutes(1)));
+        cache.put("long", token("user-2", Duration.ofHours(1)));
+        clock.advance(Duration.ofMinutes(2));
+
+        // When
+        cache.put("new", token("user-3", Duration.ofHours(1)));
+
+        // Then
+        assertThat(cache.get("long")).isNotNull();
+        assertThat(cache.get("new")).isNotNull();
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void bindTo_shouldExportHitMissAndSize() {
+        // Given
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, clock);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        cache.put("token-1", token("user-1", Duration.ofHours(1)));
+
+        // When
+        cache.get("token-1");
+        cache.get("token-1");
+        cache.get("unknown");
+
+        // Then
+        assertThat(registry.get("mobile_banking_token_cache_requests_total").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(2.0);
+        assertThat(registry.get("mobile_banking_token_cache_requests_total").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("mobile_banking_token_cache_size").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void constructor_withNonPositiveSize_shouldThrow() {
+        assertThatThrownBy(() -> new VerifiedTokenCache(0, clock))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private VerifiedToken token(String subject, Duration validity) {
+        Instant issuedAt = clock.instant();
+        return new VerifiedToken(subject, "jti-" + subject, issuedAt, issuedAt.plus(validity));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.mobilebanking.auth.infrastructure;
 
 import com.mobilebanking.auth.domain.JwtTokenService;
+import com.mobilebanking.auth.domain.VerifiedToken;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,13 +14,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 
 import java.io.IOException;
+import java.time.Instant;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,7 +28,10 @@ class JwtAuthenticationFilterTest {
     private JwtTokenService jwtTokenService;
 
     @Mock
-    private UserDetailsService userDetailsService;
+    private RevokedUserRegistry revokedUserRegistry;
+
+    @Mock
+    private RevokedTokenIds revokedTokenIds;
 
     @Mock
     private HttpServletRequest request;
@@ -39,19 +42,31 @@ class JwtAuthenticationFilterTest {
     @Mock
     private FilterChain filterChain;
 
-    @Mock
-    private UserDetails userDetails;
-
     private JwtAuthenticationFilter jwtAuthenticationFilter;
     private final String validToken = "valid.jwt.token";
     private final String userId = "user-id";
+    private final String tokenId = "token-id";
 
     @BeforeEach
     void setUp() {
-        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtTokenService, userDetailsService);
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtTokenService, revokedUserRegistry, revokedTokenIds);
         SecurityContextHolder.clearContext(); // Clear security context before each test
     }
 
+    @Test
+    void doFilterInternal_withValidToken_shouldVerifyTokenOnce() throws ServletException, IOException {
+        // Given
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
+        when(jwtTokenService.verify(validToken)).thenReturn(verifiedToken());
+
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(jwtTokenService, times(1)).verify(validToken);
+        verifyNoMoreInteractions(jwtTokenService);
+    }
+
     @Test
     void doFilterInternal_withNoAuthHeader_shouldContinueChain() throws ServletException, IOException {
         // Given
@@ -82,10 +97,7 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_withValidToken_shouldSetAuthentication() throws ServletException, IOException {
         // Given
         when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
-        when(jwtTokenService.extractUsername(validToken)).thenReturn(userId);
-        when(userDetailsService.loadUserByUsername(userId)).thenReturn(userDetails);
-        when(jwtTokenService.validateToken(validToken, userDetails)).thenReturn(true);
-        when(userDetails.getAuthorities()).thenReturn(java.util.Collections.emptyList());
+        when(jwtTokenService.verify(validToken)).thenReturn(verifiedToken());
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -93,16 +105,48 @@ class JwtAuthenticationFilterTest {
         // Then
         verify(filterChain).doFilter(request, response);
         assertNotNull(SecurityContextHolder.getContext().getAuthentication());
-        assertEquals(userDetails, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        UserDetails principal = (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertEquals(userId, principal.getUsername());
+        assertTrue(principal.getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("ROLE_USER")));
     }
 
     @Test
     void doFilterInternal_withInvalidToken_shouldNotSetAuthentication() throws ServletException, IOException {
         // Given
         when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
-        when(jwtTokenService.extractUsername(validToken)).thenReturn(userId);
-        when(userDetailsService.loadUserByUsername(userId)).thenReturn(userDetails);
-        when(jwtTokenService.validateToken(validToken, userDetails)).thenReturn(false);
+        when(jwtTokenService.verify(validToken)).thenThrow(new JwtException("Invalid signature"));
+
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(filterChain).doFilter(request, response);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilterInternal_withRevokedUser_shouldNotSetAuthentication() throws ServletException, IOException {
+        // Given
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
+        when(jwtTokenService.verify(validToken)).thenReturn(verifiedToken());
+        when(revokedUserRegistry.isRevoked(userId)).thenReturn(true);
+
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(filterChain).doFilter(request, response);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilterInternal_withRevokedTokenId_shouldNotSetAuthentication() throws ServletException, IOException {
+        // Given
+        VerifiedToken token = verifiedToken();
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
+        when(jwtTokenService.verify(validToken)).thenReturn(token);
+        when(revokedTokenIds.isRevoked(tokenId, token.expiresAt())).thenReturn(true);
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -116,7 +160,7 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_withExceptionDuringValidation_shouldContinueChain() throws ServletException, IOException {
         // Given
         when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
-        when(jwtTokenService.extractUsername(validToken)).thenThrow(new RuntimeException("Token validation error"));
+        when(jwtTokenService.verify(validToken)).thenThrow(new RuntimeException("Token validation error"));
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -125,4 +169,9 @@ class JwtAuthenticationFilterTest {
         verify(filterChain).doFilter(request, response);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
-}
\ No newline at end of file
+
+    private VerifiedToken verifiedToken() {
+        Instant now = Instant.now();
+        return new VerifiedToken(userId, tokenId, now, now.plusSeconds(3600));
+    }
+}
@@ -0,0 +1,81 @@
+package com.mobilebanking.auth.infrastructure;
+
+import com.mobilebanking.auth.domain.exception.LoginThrottledException;
+import com.mobilebanking.shared.domain.PhoneNumber;
+import com.mobilebanking.shared.infrastructure.SecurityContextUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LoginThrottleTest {
+
+    @Mock
+    private SecurityContextUtils securityContextUtils;
+
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LoginThrottle loginThrottle;
+
+    @BeforeEach
+    void setUp() {
+        loginThrottle = new LoginThrottle(
+                new TokenBucketTable(2, 1, 100, 4, now::get),
+                new TokenBucketTable(3, 1, 100, 4, now::get),
+                securityContextUtils, meterRegistry);
+    }
+
+    @Test
+    void checkAttempt_shouldThrottlePhoneNumberAfterBurst() {
+        // Given
+        when(securityContextUtils.getClientIpAddress()).thenReturn(Optional.empty());
+        loginThrottle.checkAttempt(PhoneNumber.of("+15550001111"));
+        loginThrottle.checkAttempt(PhoneNumber.of("+15550001111"));
+
+        // When & Then
+        assertThatThrownBy(() -> loginThrottle.checkAttempt(PhoneNumber.of("+15550001111")))
+                .isInstanceOf(LoginThrottledException.class)
+                .satisfies(e -> assertThat(((LoginThrottledException) e).getRetryAfterSeconds()).isBetween(1L, 61L));
+        assertThatCode(() -> loginThrottle.checkAttempt(PhoneNumber.of("+15550002222"))).doesNotThrowAnyException();
+        assertThat(meterRegistry.get("mobile_banking_login_throttled_total").tag("key", "phone")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void checkAttempt_shouldThrottleClientAddressAcrossPhoneNumbers() {
+        // Given
+        when(securityContextUtils.getClientIpAddress()).thenReturn(Optional.of("203.0.113.7"));
+        loginThrottle.checkAttempt(PhoneNumber.of("+15550000001"));
+        loginThrottle.checkAttempt(PhoneNumber.of("+15550000002"));
+        loginThrottle.checkAttempt(PhoneNumber.of("+15550000003"));
+
+        // When & Then
+        assertThatThrownBy(() -> loginThrottle.checkAttempt(PhoneNumber.of("+15550000004")))
+                .isInstanceOf(LoginThrottledException.class);
+        assertThat(meterRegistry.get("mobile_banking_login_throttled_total").tag("key", "ip")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void checkAttempt_shouldShareOneBucketAcrossFormattingVariants() {
+        // Given
+        when(securityContextUtils.getClientIpAddress()).thenReturn(Optional.empty());
+        loginThrottle.checkAttempt(PhoneNumber.of("+1 555-000-1111"));
+        loginThrottle.checkAttempt(PhoneNumber.of("+1(555)0001111"));
+
+        // When & Then
+        assertThatThrownBy(() -> loginThrottle.checkAttempt(PhoneNumber.of(" +15550001111 ")))
+                .isInstanceOf(LoginThrottledException.class);
+    }
+}
@@ -0,0 +1,126 @@
+package com.mobilebanking.auth.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RevokedTokenIdsTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    private final MutableClock clock = new MutableClock(NOW);
+    private final RevokedTokenIds revoked = new RevokedTokenIds(Duration.ofMinutes(15), 60, clock);
+
+    @Test
+    void isRevoked_afterRevoke_shouldReturnTrue() {
+        // Given
+        Instant expiresAt = NOW.plus(Duration.ofMinutes(10));
+
+        // When
+        revoked.revoke("jti-1", expiresAt);
+
+        // Then
+        assertThat(revoked.isRevoked("jti-1", expiresAt)).isTrue();
+        assertThat(revoked.isRevoked("jti-2", expiresAt)).isFalse();
+        assertThat(revoked.size()).isEqualTo(1);
+    }
+
+    @Test
+    void isRevoked_withNullTokenId_shouldReturnFalse() {
+        revoked.revoke(null, NOW.plus(Duration.ofMinutes(10)));
+
+        assertThat(revoked.isRevoked(null, NOW.plus(Duration.ofMinutes(10)))).isFalse();
+        assertThat(revoked.size()).isZero();
+    }
+
+    @Test
+    void revoke_withExpiredToken_shouldIgnoreIt() {
+        // When
+        revoked.revoke("jti-1", NOW.minusSeconds(1));
+
+        // Then
+        assertThat(revoked.size()).isZero();
+    }
+
+    @Test
+    void revoke_beyondTokenLifetime_shouldIgnoreIt() {
+        // When
+        revoked.revoke("jti-1", NOW.plus(Duration.ofHours(2)));
+
+        // Then
+        assertThat(revoked.size()).isZero();
+    }
+
+    @Test
+    void purgeExpired_shouldDropOnlyExpiredBuckets() {
+        // Given
+        revoked.revoke("short", NOW.plus(Duration.ofMinutes(1)));
+        revoked.revoke("long", NOW.plus(Duration.ofMinutes(14)));
+        clock.advance(Duration.ofMinutes(5));
+
+        // When
+        revoked.purgeExpired();
+
+        // Then
+        assertThat(revoked.size()).isEqualTo(1);
+        assertThat(revoked.isRevoked("long", NOW.plus(Duration.ofMinutes(14)))).isTrue();
+    }
+
+    @Test
+    void revoke_afterWrapAround_shouldReplaceStaleBucket() {
+        // Given
+        revoked.revoke("old", NOW.plus(Duration.ofMinutes(1)));
+        clock.advance(Duration.ofMinutes(17)); // one full turn of the 17-slot ring
+        Instant expiresAt = clock.instant().plus(Duration.ofMinutes(1));
+
+        // When
+        revoked.revoke("new", expiresAt);
+
+        // Then
+        assertThat(revoked.isRevoked("new", expiresAt)).isTrue();
+        assertThat(revoked.isRevoked("old", NOW.plus(Duration.ofMinutes(1)))).isFalse();
+    }
+
+    @Test
+    void constructor_withNonPositiveSettings_shouldThrow() {
+        assertThatThrownBy(() -> new RevokedTokenIds(Duration.ofMinutes(15), 0, clock))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RevokedTokenIds(Duration.ZERO, 60, clock))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.mobilebanking.auth.infrastructure;
+
+import com.mobilebanking.user.infrastructure.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RevokedUserRegistryTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    @Mock
+    private UserRepository userRepository;
+
+    private MutableClock clock;
+
+    private RevokedUserRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(NOW);
+        registry = new RevokedUserRegistry(userRepository, clock, Duration.ofSeconds(30));
+    }
+
+    @Test
+    void refresh_firstRun_loadsAllDisabledUsers() {
+        // Given
+        when(userRepository.findDisabledIds()).thenReturn(List.of("disabled-1", "disabled-2"));
+
+        // When
+        registry.refresh();
+
+        // Then
+        assertTrue(registry.isRevoked("disabled-1"));
+        assertTrue(registry.isRevoked("disabled-2"));
+        assertFalse(registry.isRevoked("active"));
+        verify(userRepository, never()).findIdsDisabledSince(any());
+    }
+
+    @Test
+    void refresh_laterRuns_loadIncrementallyWithOverlap() {
+        // Given
+        when(userRepository.findDisabledIds()).thenReturn(List.of());
+        when(userRepository.findIdsDisabledSince(any())).thenReturn(List.of("disabled-later"));
+        registry.refresh();
+
+        // When
+        registry.refresh();
+
+        // Then
+        verify(userRepository).findIdsDisabledSince(LocalDateTime.ofInstant(NOW, ZoneOffset.UTC).minusMinutes(1));
+        assertTrue(registry.isRevoked("disabled-later"));
+    }
+
+    @Test
+    void refresh_whenQueryFails_keepsKnownRevocations() {
+        // Given
+        when(userRepository.findDisabledIds()).thenReturn(List.of("disabled-1"));
+        registry.refresh();
+        when(userRepository.findIdsDisabledSince(any())).thenThrow(new IllegalStateException("database unavailable"));
+
+        // When
+        registry.refresh();
+
+        // Then
+        assertTrue(registry.isRevoked("disabled-1"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void isRevoked_beforeFirstLoad_failsClosed() {
+        // Given
+        when(userRepository.findDisabledIds()).thenThrow(new IllegalStateException("database unavailable"));
+        registry.refresh();
+
+        // When & Then
+        assertTrue(registry.isRevoked("active"));
+    }
+
+    @Test
+    void isRevoked_whenRefreshesKeepFailing_failsClosedOnceStale() {
+        // Given
+        when(userRepository.findDisabledIds()).thenReturn(List.of());
+        registry.refresh();
+        when(userRepository.findIdsDisabledSince(any())).thenThrow(new IllegalStateException("database unavailable"));
+
+        // When
+        clock.advance(Duration.ofSeconds(20));
+        registry.refresh();
+        boolean revokedWhileFresh = registry.isRevoked("active");
+        clock.advance(Duration.ofSeconds(20));
+        registry.refresh();
+
+        // Then
+        assertFalse(revokedWhileFresh);
+        assertTrue(registry.isRevoked("active"));
+    }
+
+    @Test
+    void isRevoked_shouldNotQueryTheDatabase() {
+        // Given
+        when(userRepository.findDisabledIds()).thenReturn(List.of("disabled-1"));
+        registry.refresh();
+
+        // When
+        boolean disabled = registry.isRevoked("disabled-1");
+        boolean active = registry.isRevoked("never-seen");
+
+        // Then
+        assertTrue(disabled);
+        assertFalse(active);
+        verify(userRepository).findDisabledIds();
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.mobilebanking.auth.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTableTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    @Test
+    void tryAcquire_shouldAllowBurstThenReject() {
+        // Given
+        TokenBucketTable table = new TokenBucketTable(3, 1, 100, 4, now::get);
+
+        // When & Then
+        assertThat(table.tryAcquire("key")).isZero();
+        assertThat(table.tryAcquire("key")).isZero();
+        assertThat(table.tryAcquire("key")).isZero();
+        assertThat(table.tryAcquire("key")).isPositive().isLessThanOrEqualTo(TimeUnit.MINUTES.toNanos(1));
+        assertThat(table.tryAcquire("other")).isZero();
+    }
+
+    @Test
+    void tryAcquire_shouldRefillOverTime() {
+        // Given
+        TokenBucketTable table = new TokenBucketTable(1, 2, 100, 4, now::get);
+        table.tryAcquire("key");
+        assertThat(table.tryAcquire("key")).isPositive();
+
+        // When
+        now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+        // Then
+        assertThat(table.tryAcquire("key")).isZero();
+    }
+
+    @Test
+    void tryAcquire_shouldEvictBucketsIdleLongEnoughToRefill() {
+        // Given
+        TokenBucketTable table = new TokenBucketTable(2, 1, 100, 1, now::get);
+        table.tryAcquire("a");
+        table.tryAcquire("b");
+        assertThat(table.size()).isEqualTo(2);
+
+        // When
+        now.addAndGet(TimeUnit.MINUTES.toNanos(3));
+        table.tryAcquire("c");
+
+        // Then
+        assertThat(table.size()).isEqualTo(1);
+    }
+
+    @Test
+    void tryAcquire_shouldStayWithinEntryLimit() {
+        // Given
+        TokenBucketTable table = new TokenBucketTable(5, 1, 64, 8, now::get);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            table.tryAcquire("key-" + i);
+        }
+
+        // Then
+        assertThat(table.size()).isLessThanOrEqualTo(64);
+    }
+
+    @Test
+    void constructor_withInvalidSettings_shouldThrow() {
+        assertThatThrownBy(() -> new TokenBucketTable(0, 1, 10, 1, now::get))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucketTable(1, 0, 10, 1, now::get))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -62,8 +62,8 @@ class NotificationIntegrationTest {
                 userRegistrationService.registerUser("Jane Receiver", receiverPhone, "5678");
 
                 // Login both users to get tokens
-                senderToken = loginService.login(senderPhone, "1234");
-                receiverToken = loginService.login(receiverPhone, "5678");
+                senderToken = loginService.login(senderPhone, "1234").accessToken();
+                receiverToken = loginService.login(receiverPhone, "5678").accessToken();
         }
 
         @Test
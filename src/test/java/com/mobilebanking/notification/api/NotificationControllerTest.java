@@ -1,9 +1,14 @@
 package com.mobilebanking.notification.api;
 
 import com.mobilebanking.auth.domain.JwtTokenService;
+import com.mobilebanking.auth.infrastructure.RevokedTokenIds;
+import com.mobilebanking.auth.infrastructure.RevokedUserRegistry;
 import com.mobilebanking.notification.domain.Notification;
+import com.mobilebanking.notification.api.dto.MarkNotificationsReadRequest;
 import com.mobilebanking.notification.domain.NotificationId;
+import com.mobilebanking.notification.domain.NotificationPage;
 import com.mobilebanking.notification.domain.NotificationService;
+import com.mobilebanking.notification.infrastructure.NotificationStreams;
 import com.mobilebanking.shared.domain.Money;
 import com.mobilebanking.shared.domain.UserId;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -26,6 +31,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -41,12 +47,22 @@ class NotificationControllerTest {
         @Autowired
         private ObjectMapper objectMapper;
 
-        @Autowired
-        private JwtTokenService jwtTokenService ;
+        // Collaborators of the JWT filter, which the slice picks up; requests here carry no bearer token
+        @MockBean
+        private JwtTokenService jwtTokenService;
+
+        @MockBean
+        private RevokedUserRegistry revokedUserRegistry;
+
+        @MockBean
+        private RevokedTokenIds revokedTokenIds;
 
         @MockBean
         private NotificationService notificationService;
 
+        @MockBean
+        private NotificationStreams notificationStreams;
+
         private final UserId testUserId = UserId.fromString("123e4567-e89b-12d3-a456-426614174000");
 
         @Test
@@ -123,7 +139,7 @@ class NotificationControllerTest {
                                 Notification.createDepositNotification(testUserId, amount),
                                 Notification.createDepositNotification(testUserId, amount));
 
-                given(notificationService.getNotificationsForUser(testUserId)).willReturn(allNotifications);
+                given(notificationService.getNotificationCount(testUserId)).willReturn(allNotifications.size());
                 given(notificationService.getUnreadNotificationCount(testUserId)).willReturn(2);
 
                 // When & Then
@@ -133,7 +149,7 @@ class NotificationControllerTest {
                                 .andExpect(jsonPath("$.totalCount").value(3))
                                 .andExpect(jsonPath("$.unreadCount").value(2));
 
-                verify(notificationService).getNotificationsForUser(testUserId);
+                verify(notificationService).getNotificationCount(testUserId);
                 verify(notificationService).getUnreadNotificationCount(testUserId);
         }
 
@@ -151,6 +167,52 @@ class NotificationControllerTest {
                 verify(notificationService).markNotificationAsRead(eq(notificationId), eq(testUserId));
         }
 
+        @Test
+        @WithMockUser(username = "123e4567-e89b-12d3-a456-426614174000")
+        void shouldGetNotificationPage() throws Exception {
+                // Given
+                Notification notification = Notification.createDepositNotification(testUserId, Money.of(10.00));
+                given(notificationService.getNotificationPage(testUserId, true, "7", 100))
+                                .willReturn(new NotificationPage(List.of(notification), "6", "6"));
+
+                // When & Then
+                mockMvc.perform(get("/api/notifications/paged")
+                                .param("unreadOnly", "true")
+                                .param("cursor", "7")
+                                .param("limit", "500"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.notifications.length()").value(1))
+                                .andExpect(jsonPath("$.notifications[0].id").value(notification.getId().asString()))
+                                .andExpect(jsonPath("$.nextCursor").value("6"))
+                                .andExpect(jsonPath("$.hasMore").value(true));
+        }
+
+        @Test
+        @WithMockUser(username = "123e4567-e89b-12d3-a456-426614174000")
+        void shouldMarkNotificationsAsReadUpToCursor() throws Exception {
+                // Given
+                given(notificationService.markNotificationsAsReadUpTo(testUserId, "41")).willReturn(42);
+
+                // When & Then
+                mockMvc.perform(post("/api/notifications/read")
+                                .with(csrf())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new MarkNotificationsReadRequest(null, "41"))))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.marked").value(42))
+                                .andExpect(jsonPath("$.unreadCount").value(0));
+        }
+
+        @Test
+        @WithMockUser(username = "123e4567-e89b-12d3-a456-426614174000")
+        void shouldReturnBadRequestWhenMarkingWithoutIdsOrCursor() throws Exception {
+                mockMvc.perform(post("/api/notifications/read")
+                                .with(csrf())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{}"))
+                                .andExpect(status().isBadRequest());
+        }
+
         @Test
         @WithMockUser(username = "123e4567-e89b-12d3-a456-426614174000")
         void shouldReturnBadRequestForInvalidNotificationId() throws Exception {
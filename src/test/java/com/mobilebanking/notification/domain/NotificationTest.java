@@ -126,4 +126,42 @@ class NotificationTest {
         assertThat(toString).contains("type=DEPOSIT");
         assertThat(toString).contains("read=false");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldRenderMessageFromAmountAndCounterparty() {
+        // Given
+        UserId senderId = UserId.generate();
+        UserId receiverId = UserId.generate();
+
+        // When
+        Notification notification = Notification.createTransferSent(senderId, receiverId, Money.of(1234.5));
+
+        // Then
+        assertThat(notification.getMessage())
+                .isEqualTo("You sent $1234.50 to user " + receiverId.asString());
+        assertThat(notification.markAsRead().getMessage()).isEqualTo(notification.getMessage());
+    }
+
+    @Test
+    void shouldKeepStoredTextWhenReconstituted() {
+        // Given
+        NotificationId id = NotificationId.generate();
+        UserId userId = UserId.generate();
+        LocalDateTime timestamp = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_000_000);
+
+        // When
+        Notification notification = Notification.reconstitute(id, userId, "Stored title", "Stored message",
+                NotificationType.TRANSFER_RECEIVED, timestamp, true);
+
+        // Then
+        assertThat(notification.getId()).isEqualTo(id);
+        assertThat(notification.hasId(id)).isTrue();
+        assertThat(notification.hashCode()).isEqualTo(id.getValue().hashCode());
+        assertThat(notification.getUserId()).isEqualTo(userId);
+        assertThat(notification.getTitle()).isEqualTo("Stored title");
+        assertThat(notification.getMessage()).isEqualTo("Stored message");
+        assertThat(notification.getType()).isEqualTo(NotificationType.TRANSFER_RECEIVED);
+        assertThat(notification.getTimestamp()).isEqualTo(timestamp);
+        assertThat(notification.isRead()).isTrue();
+    }
+}
@@ -2,12 +2,15 @@ package com.mobilebanking.notification.infrastructure;
 
 import com.mobilebanking.notification.domain.Notification;
 import com.mobilebanking.notification.domain.NotificationId;
+import com.mobilebanking.notification.domain.NotificationPage;
 import com.mobilebanking.notification.domain.NotificationType;
+import com.mobilebanking.notification.infrastructure.delivery.NotificationDispatcher;
 import com.mobilebanking.shared.domain.Money;
 import com.mobilebanking.shared.domain.UserId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -265,4 +268,137 @@ class InMemoryNotificationServiceTest {
         // Then
         assertThat(notificationService.getTotalNotificationCount()).isEqualTo(2);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldKeepOnlyMostRecentNotificationsPerUser() {
+        // Given
+        InMemoryNotificationService boundedService = new InMemoryNotificationService(20, NotificationStreams.standalone(),
+                NotificationDispatcher.none());
+        List<Notification> sent = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            Notification notification = Notification.createDepositNotification(userId1, Money.of(i + 1));
+            sent.add(notification);
+            boundedService.sendNotification(notification);
+        }
+        boundedService.markNotificationAsRead(sent.get(24).getId(), userId1);
+
+        // When
+        List<Notification> notifications = boundedService.getNotificationsForUser(userId1);
+
+        // Then
+        assertThat(notifications).hasSize(20);
+        assertThat(notifications.get(0).getId()).isEqualTo(sent.get(24).getId());
+        assertThat(notifications.get(19).getId()).isEqualTo(sent.get(5).getId());
+        assertThat(boundedService.getNotificationCount(userId1)).isEqualTo(20);
+        assertThat(boundedService.getUnreadNotificationCount(userId1)).isEqualTo(19);
+        assertThat(boundedService.getTotalNotificationCount()).isEqualTo(20);
+        assertThatThrownBy(() -> boundedService.markNotificationAsRead(sent.get(0).getId(), userId1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Notification not found");
+    }
+
+    @Test
+    void shouldNotCountMarkingAsReadTwice() {
+        // Given
+        Notification notification = Notification.createDepositNotification(userId1, Money.of(100.00));
+        notificationService.sendNotification(notification);
+
+        // When
+        notificationService.markNotificationAsRead(notification.getId(), userId1);
+        notificationService.markNotificationAsRead(notification.getId(), userId1);
+
+        // Then
+        assertThat(notificationService.getUnreadNotificationCount(userId1)).isZero();
+        assertThat(notificationService.getNotificationCount(userId1)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFindNotificationsAfterManyEvictions() {
+        // Given
+        InMemoryNotificationService boundedService = new InMemoryNotificationService(7, NotificationStreams.standalone(),
+                NotificationDispatcher.none());
+        List<Notification> sent = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Notification notification = Notification.createDepositNotification(userId1, Money.of(1.00));
+            sent.add(notification);
+            boundedService.sendNotification(notification);
+        }
+
+        // When
+        for (Notification notification : sent.subList(493, 500)) {
+            boundedService.markNotificationAsRead(notification.getId(), userId1);
+        }
+
+        // Then
+        assertThat(boundedService.getUnreadNotificationCount(userId1)).isZero();
+        assertThat(boundedService.getTotalNotificationCount()).isEqualTo(7);
+        for (Notification notification : sent.subList(0, 493)) {
+            assertThatThrownBy(() -> boundedService.markNotificationAsRead(notification.getId(), userId1))
+                    .hasMessageContaining("Notification not found");
+        }
+    }
+
+    @Test
+    void shouldPageThroughNotificationsWithCursors() {
+        // Given
+        List<Notification> sent = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Notification notification = Notification.createDepositNotification(userId1, Money.of(i + 1));
+            sent.add(notification);
+            notificationService.sendNotification(notification);
+        }
+
+        // When
+        NotificationPage first = notificationService.getNotificationPage(userId1, false, null, 2);
+        NotificationPage second = notificationService.getNotificationPage(userId1, false, first.getNextCursor(), 2);
+        NotificationPage last = notificationService.getNotificationPage(userId1, false, second.getNextCursor(), 2);
+
+        // Then
+        assertThat(first.getNotifications()).containsExactly(sent.get(4), sent.get(3));
+        assertThat(second.getNotifications()).containsExactly(sent.get(2), sent.get(1));
+        assertThat(last.getNotifications()).containsExactly(sent.get(0));
+        assertThat(last.hasMore()).isFalse();
+        assertThat(notificationService.getNotificationPage(userId2, false, null, 2).getNotifications()).isEmpty();
+        assertThatThrownBy(() -> notificationService.getNotificationPage(userId1, false, "not-a-cursor", 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldMarkBatchOfNotificationsAsReadSkippingOtherUsers() {
+        // Given
+        Notification own1 = Notification.createDepositNotification(userId1, Money.of(1.00));
+        Notification own2 = Notification.createDepositNotification(userId1, Money.of(2.00));
+        Notification own3 = Notification.createDepositNotification(userId1, Money.of(3.00));
+        Notification foreign = Notification.createDepositNotification(userId2, Money.of(4.00));
+        List.of(own1, own2, own3, foreign).forEach(notificationService::sendNotification);
+
+        // When
+        int marked = notificationService.markNotificationsAsRead(userId1,
+                List.of(own1.getId(), own3.getId(), foreign.getId(), NotificationId.generate()));
+
+        // Then
+        assertThat(marked).isEqualTo(2);
+        assertThat(notificationService.getUnreadNotificationsForUser(userId1)).containsExactly(own2);
+        assertThat(notificationService.getUnreadNotificationCount(userId2)).isEqualTo(1);
+        NotificationPage unread = notificationService.getNotificationPage(userId1, true, null, 10);
+        assertThat(unread.getNotifications()).containsExactly(own2);
+    }
+
+    @Test
+    void shouldMarkEverythingUpToCursorAsRead() {
+        // Given
+        for (int i = 0; i < 500; i++) {
+            notificationService.notifyDeposit(userId1, Money.of(1.00));
+        }
+        NotificationPage seen = notificationService.getNotificationPage(userId1, true, null, 20);
+        Notification newer = Notification.createDepositNotification(userId1, Money.of(2.00));
+        notificationService.sendNotification(newer);
+
+        // When
+        int marked = notificationService.markNotificationsAsReadUpTo(userId1, seen.getHeadCursor());
+
+        // Then - the inbox keeps the 100 most recent, of which 99 were seen
+        assertThat(marked).isEqualTo(99);
+        assertThat(notificationService.getUnreadNotificationsForUser(userId1)).containsExactly(newer);
+    }
+}
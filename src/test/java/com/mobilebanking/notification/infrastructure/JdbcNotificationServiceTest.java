@@ -0,0 +1,270 @@
+package com.mobilebanking.notification.infrastructure;
+
+import com.mobilebanking.notification.domain.Notification;
+import com.mobilebanking.notification.domain.NotificationId;
+import com.mobilebanking.notification.domain.NotificationPage;
+import com.mobilebanking.notification.domain.NotificationType;
+import com.mobilebanking.notification.infrastructure.delivery.NotificationDispatcher;
+import com.mobilebanking.shared.domain.Money;
+import com.mobilebanking.shared.domain.UserId;
+import com.mobilebanking.shared.infrastructure.H2TestDatabase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for JdbcNotificationService against an H2 database created from the
+ * notifications migrations.
+ */
+class JdbcNotificationServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcNotificationService notificationService;
+    private UserId userId1;
+    private UserId userId2;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate = new JdbcTemplate(H2TestDatabase.create("notifications",
+                "V9__create_notifications_table.sql", "V10__add_notifications_user_timestamp_index.sql"));
+        // Long flush interval so the tests decide when the queue is written
+        notificationService = new JdbcNotificationService(jdbcTemplate, 3, 2, 3_600_000, 90, 100,
+                NotificationStreams.standalone(), NotificationDispatcher.none(), new SimpleMeterRegistry());
+        userId1 = UserId.generate();
+        userId2 = UserId.generate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificationService.shutdown();
+    }
+
+    @Test
+    void sendNotification_shouldQueueUntilFlushed() {
+        // Given
+        notificationService.notifyDeposit(userId1, Money.of(100.00));
+
+        // When & Then
+        assertThat(storedRows()).isZero();
+        assertThat(notificationService.getNotificationsForUser(userId1)).hasSize(1);
+        assertThat(notificationService.getUnreadNotificationCount(userId1)).isEqualTo(1);
+
+        assertThat(notificationService.flush()).isEqualTo(1);
+        assertThat(storedRows()).isEqualTo(1);
+        assertThat(notificationService.getNotificationsForUser(userId1)).hasSize(1);
+        assertThat(notificationService.getNotificationCount(userId1)).isEqualTo(1);
+    }
+
+    @Test
+    void flush_shouldWriteAllQueuedNotificationsInBatches() {
+        // Given
+        notificationService.notifyTransfer(userId1, userId2, Money.of(50.00));
+        notificationService.notifyDeposit(userId1, Money.of(10.00));
+
+        // When
+        int written = notificationService.flush();
+
+        // Then
+        assertThat(written).isEqualTo(3);
+        List<Notification> notifications = notificationService.getNotificationsForUser(userId1);
+        assertThat(notifications).extracting(Notification::getType)
+                .containsExactlyInAnyOrder(NotificationType.TRANSFER_SENT, NotificationType.DEPOSIT);
+        assertThat(notifications.get(0).getTimestamp()).isAfterOrEqualTo(notifications.get(1).getTimestamp());
+        assertThat(notificationService.getNotificationsForUser(userId2)).singleElement()
+                .satisfies(notification -> assertThat(notification.getMessage()).contains("$50.00"));
+    }
+
+    @Test
+    void sendNotification_whenQueueIsFull_shouldWriteDirectly() {
+        // Given - queue capacity is 3
+        for (int i = 0; i < 4; i++) {
+            notificationService.notifyDeposit(userId1, Money.of(i + 1));
+        }
+
+        // When & Then
+        assertThat(storedRows()).isEqualTo(1);
+        assertThat(notificationService.getNotificationCount(userId1)).isEqualTo(4);
+    }
+
+    @Test
+    void markNotificationAsRead_shouldUpdateStoredAndQueuedNotifications() {
+        // Given
+        Notification stored = Notification.createDepositNotification(userId1, Money.of(100.00));
+        notificationService.sendNotification(stored);
+        notificationService.flush();
+        Notification queued = Notification.createDepositNotification(userId1, Money.of(200.00));
+        notificationService.sendNotification(queued);
+
+        // When
+        notificationService.markNotificationAsRead(stored.getId(), userId1);
+        notificationService.markNotificationAsRead(queued.getId(), userId1);
+
+        // Then
+        assertThat(notificationService.getUnreadNotificationCount(userId1)).isZero();
+        assertThat(notificationService.getUnreadNotificationsForUser(userId1)).isEmpty();
+        assertThat(notificationService.getNotificationsForUser(userId1)).allMatch(Notification::isRead);
+    }
+
+    @Test
+    void markNotificationAsRead_whileItsBatchIsBeingWritten_shouldWaitForTheBatch() throws Exception {
+        // Given - the batch insert stalls until released
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        JdbcTemplate stallingTemplate = new JdbcTemplate(jdbcTemplate.getDataSource()) {
+            @Override
+            public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.batchUpdate(sql, batchArgs);
+            }
+        };
+        notificationService.shutdown();
+        notificationService = new JdbcNotificationService(stallingTemplate, 3, 2, 3_600_000, 90, 100,
+                NotificationStreams.standalone(), NotificationDispatcher.none(), new SimpleMeterRegistry());
+        Notification notification = Notification.createDepositNotification(userId1, Money.of(100.00));
+        notificationService.sendNotification(notification);
+        Thread flusher = new Thread(notificationService::flush);
+        flusher.start();
+        writing.await();
+
+        // When - the mark waits for the write instead of failing
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread marker = new Thread(() -> {
+            try {
+                notificationService.markNotificationAsRead(notification.getId(), userId1);
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        marker.start();
+        while (marker.getState() != Thread.State.BLOCKED && marker.isAlive()) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        flusher.join();
+        marker.join();
+
+        // Then
+        assertThat(failure.get()).isNull();
+        assertThat(notificationService.getUnreadNotificationCount(userId1)).isZero();
+    }
+
+    @Test
+    void markNotificationAsRead_withUnknownOrForeignNotification_shouldFail() {
+        // Given
+        Notification notification = Notification.createDepositNotification(userId1, Money.of(100.00));
+        notificationService.sendNotification(notification);
+        notificationService.flush();
+
+        // When & Then
+        assertThatThrownBy(() -> notificationService.markNotificationAsRead(NotificationId.generate(), userId1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Notification not found");
+        assertThatThrownBy(() -> notificationService.markNotificationAsRead(notification.getId(), userId2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("does not belong to the specified user");
+    }
+
+    @Test
+    void purgeExpired_shouldDeleteOnlyNotificationsPastRetention() {
+        // Given
+        notificationService.sendNotification(Notification.reconstitute(NotificationId.generate(), userId1,
+                "Funds Added", "old", NotificationType.DEPOSIT, LocalDateTime.now().minusDays(91), true));
+        notificationService.notifyDeposit(userId1, Money.of(100.00));
+        notificationService.flush();
+
+        // When
+        notificationService.purgeExpired();
+
+        // Then
+        assertThat(notificationService.getNotificationsForUser(userId1)).singleElement()
+                .satisfies(notification -> assertThat(notification.getMessage()).isNotEqualTo("old"));
+    }
+
+    @Test
+    void getNotificationPage_shouldPageThroughStoredAndQueuedNotifications() {
+        // Given - two stored, one queued, all with distinct timestamps
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Notification oldest = stored(now.minusMinutes(3));
+        Notification older = stored(now.minusMinutes(2));
+        notificationService.flush();
+        Notification queued = Notification.createDepositNotification(userId1, Money.of(5.00));
+        notificationService.sendNotification(queued);
+
+        // When
+        NotificationPage first = notificationService.getNotificationPage(userId1, false, null, 2);
+        NotificationPage second = notificationService.getNotificationPage(userId1, false, first.getNextCursor(), 2);
+
+        // Then
+        assertThat(first.getNotifications()).containsExactly(queued, older);
+        assertThat(first.hasMore()).isTrue();
+        assertThat(second.getNotifications()).containsExactly(oldest);
+        assertThat(second.hasMore()).isFalse();
+        assertThatThrownBy(() -> notificationService.getNotificationPage(userId1, false, "42", 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void markNotificationsAsRead_shouldMarkOwnStoredAndQueuedNotifications() {
+        // Given
+        Notification stored = Notification.createDepositNotification(userId1, Money.of(1.00));
+        Notification foreign = Notification.createDepositNotification(userId2, Money.of(2.00));
+        notificationService.sendNotification(stored);
+        notificationService.sendNotification(foreign);
+        notificationService.flush();
+        Notification queued = Notification.createDepositNotification(userId1, Money.of(3.00));
+        notificationService.sendNotification(queued);
+
+        // When
+        int marked = notificationService.markNotificationsAsRead(userId1,
+                List.of(stored.getId(), queued.getId(), foreign.getId()));
+
+        // Then
+        assertThat(marked).isEqualTo(2);
+        assertThat(notificationService.getUnreadNotificationCount(userId1)).isZero();
+        assertThat(notificationService.getUnreadNotificationCount(userId2)).isEqualTo(1);
+    }
+
+    @Test
+    void markNotificationsAsReadUpTo_shouldLeaveNewerNotificationsUnread() {
+        // Given
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        stored(now.minusMinutes(3));
+        stored(now.minusMinutes(2));
+        NotificationPage seen = notificationService.getNotificationPage(userId1, true, null, 10);
+        Notification newer = Notification.createDepositNotification(userId1, Money.of(5.00));
+        notificationService.sendNotification(newer);
+
+        // When
+        int marked = notificationService.markNotificationsAsReadUpTo(userId1, seen.getHeadCursor());
+
+        // Then
+        assertThat(marked).isEqualTo(2);
+        assertThat(notificationService.getUnreadNotificationsForUser(userId1)).containsExactly(newer);
+    }
+
+    private Notification stored(LocalDateTime timestamp) {
+        Notification notification = Notification.reconstitute(NotificationId.generate(), userId1,
+                "Funds Added", "stored", NotificationType.DEPOSIT, timestamp, false);
+        notificationService.sendNotification(notification);
+        return notification;
+    }
+
+    private int storedRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notifications", Integer.class);
+    }
+}
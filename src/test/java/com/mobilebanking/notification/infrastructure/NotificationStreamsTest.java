@@ -0,0 +1,203 @@
+package com.mobilebanking.notification.infrastructure;
+
+import com.mobilebanking.notification.domain.Notification;
+import com.mobilebanking.shared.domain.Money;
+import com.mobilebanking.shared.domain.UserId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationStreamsTest {
+
+    private final UserId userId = UserId.generate();
+
+    @Test
+    void publish_shouldDeliverToSubscribersOfThatUserOnly() throws Exception {
+        // Given
+        NotificationStreams streams = streams(8, 8, 60_000);
+        RecordingSink sink = new RecordingSink();
+        RecordingSink otherSink = new RecordingSink();
+        streams.subscribe(userId, null, sink);
+        streams.subscribe(UserId.generate(), null, otherSink);
+        Notification notification = Notification.createDepositNotification(userId, Money.of(10.00));
+
+        // When
+        streams.publish(notification);
+
+        // Then
+        NotificationStreams.StreamEvent event = sink.next();
+        assertThat(event.name()).isEqualTo(NotificationStreams.NOTIFICATION_EVENT);
+        assertThat(event.notification()).isEqualTo(notification);
+        assertThat(otherSink.events.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void publish_insideTransaction_shouldWaitForCommit() throws Exception {
+        // Given
+        NotificationStreams streams = streams(8, 8, 60_000);
+        RecordingSink sink = new RecordingSink();
+        streams.subscribe(userId, null, sink);
+        Notification notification = Notification.createDepositNotification(userId, Money.of(10.00));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            streams.publish(notification);
+
+            // Then
+            assertThat(sink.events.poll(100, TimeUnit.MILLISECONDS)).isNull();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(sink.next().notification()).isEqualTo(notification);
+    }
+
+    @Test
+    void subscribe_withLastEventId_shouldReplayMissedEvents() throws Exception {
+        // Given
+        NotificationStreams streams = streams(8, 8, 60_000);
+        RecordingSink first = new RecordingSink();
+        NotificationStreams.Subscription subscription = streams.subscribe(userId, null, first);
+        streams.publish(Notification.createDepositNotification(userId, Money.of(1.00)));
+        String lastSeen = first.next().id();
+        subscription.close();
+        Notification missed1 = Notification.createDepositNotification(userId, Money.of(2.00));
+        Notification missed2 = Notification.createDepositNotification(userId, Money.of(3.00));
+        streams.publish(missed1);
+        streams.publish(missed2);
+
+        // When
+        RecordingSink resumed = new RecordingSink();
+        streams.subscribe(userId, lastSeen, resumed);
+
+        // Then
+        assertThat(resumed.next().notification()).isEqualTo(missed1);
+        assertThat(resumed.next().notification()).isEqualTo(missed2);
+    }
+
+    @Test
+    void subscribe_withIdFromAnotherRun_shouldResync() throws Exception {
+        // Given
+        NotificationStreams streams = streams(8, 8, 60_000);
+        RecordingSink sink = new RecordingSink();
+
+        // When
+        streams.subscribe(userId, "abc-42", sink);
+
+        // Then
+        assertThat(sink.next().name()).isEqualTo(NotificationStreams.RESYNC_EVENT);
+    }
+
+    @Test
+    void subscribe_afterReplayLogWasOverwritten_shouldResync() throws Exception {
+        // Given
+        NotificationStreams streams = streams(8, 2, 60_000);
+        RecordingSink first = new RecordingSink();
+        NotificationStreams.Subscription subscription = streams.subscribe(userId, null, first);
+        streams.publish(Notification.createDepositNotification(userId, Money.of(1.00)));
+        String lastSeen = first.next().id();
+        subscription.close();
+        for (int i = 0; i < 3; i++) {
+            streams.publish(Notification.createDepositNotification(userId, Money.of(2.00)));
+        }
+
+        // When
+        RecordingSink resumed = new RecordingSink();
+        streams.subscribe(userId, lastSeen, resumed);
+
+        // Then
+        assertThat(resumed.next().name()).isEqualTo(NotificationStreams.RESYNC_EVENT);
+    }
+
+    @Test
+    void publish_toSlowSubscriber_shouldDisconnectIt() throws Exception {
+        // Given - the sink blocks on its first event
+        NotificationStreams streams = streams(1, 8, 60_000);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink slow = new RecordingSink() {
+            @Override
+            public void send(NotificationStreams.StreamEvent event) throws IOException {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException("interrupted", e);
+                }
+            }
+        };
+        NotificationStreams.Subscription subscription = streams.subscribe(userId, null, slow);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            streams.publish(Notification.createDepositNotification(userId, Money.of(1.00)));
+        }
+
+        // Then
+        assertThat(slow.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscription.isClosed()).isTrue();
+        assertThat(streams.subscriberCount()).isZero();
+        release.countDown();
+    }
+
+    @Test
+    void sendHeartbeats_shouldReachSubscribersAndDropIdleChannels() throws Exception {
+        // Given
+        NotificationStreams streams = streams(8, 8, 0);
+        RecordingSink sink = new RecordingSink();
+        NotificationStreams.Subscription subscription = streams.subscribe(userId, null, sink);
+        streams.publish(Notification.createDepositNotification(userId, Money.of(1.00)));
+        String lastSeen = sink.next().id();
+
+        // When
+        streams.sendHeartbeats();
+        assertThat(sink.heartbeats.await(5, TimeUnit.SECONDS)).isTrue();
+        subscription.close();
+        Thread.sleep(5);
+        streams.sendHeartbeats();
+        streams.publish(Notification.createDepositNotification(userId, Money.of(2.00)));
+
+        // Then - the missed event was not kept, so a resume has to resync
+        RecordingSink resumed = new RecordingSink();
+        streams.subscribe(userId, lastSeen, resumed);
+        assertThat(resumed.next().name()).isEqualTo(NotificationStreams.RESYNC_EVENT);
+    }
+
+    private static NotificationStreams streams(int queueCapacity, int replayCapacity, long resumeWindowMs) {
+        return new NotificationStreams(queueCapacity, replayCapacity, resumeWindowMs, new SimpleMeterRegistry());
+    }
+
+    private static class RecordingSink implements NotificationStreams.EventSink {
+        final BlockingQueue<NotificationStreams.StreamEvent> events = new LinkedBlockingQueue<>();
+        final CountDownLatch heartbeats = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(NotificationStreams.StreamEvent event) throws IOException {
+            events.add(event);
+        }
+
+        @Override
+        public void heartbeat() {
+            heartbeats.countDown();
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        NotificationStreams.StreamEvent next() throws InterruptedException {
+            NotificationStreams.StreamEvent event = events.poll(5, TimeUnit.SECONDS);
+            assertThat(event).as("event").isNotNull();
+            return event;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.mobilebanking.notification.infrastructure.delivery;
+
+import com.mobilebanking.notification.domain.DeliveryMessage;
+import com.mobilebanking.notification.domain.Notification;
+import com.mobilebanking.shared.domain.Money;
+import com.mobilebanking.shared.domain.UserId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileDeliveryChannelTest {
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        directory = Files.createTempDirectory("deliveries");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Test
+    void deliver_shouldAppendOneLinePerMessage() throws Exception {
+        // Given
+        UserId userId = UserId.generate();
+        FileDeliveryChannel channel = new FileDeliveryChannel("sms", directory.resolve("deliveries"));
+
+        // When
+        channel.deliver(DeliveryMessage.of(Notification.createDepositNotification(userId, Money.of(5.00)), 1));
+        channel.deliver(DeliveryMessage.of(Notification.createDepositNotification(userId, Money.of(6.00)), 2));
+
+        // Then
+        List<String> lines = Files.readAllLines(directory.resolve("deliveries/sms.log"));
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).contains(userId.asString(), "DEPOSIT", "$5.00 has been added to your wallet");
+        assertThat(lines.get(1)).endsWith("\t2\tFunds Added\t2 deposits added to your wallet");
+    }
+}
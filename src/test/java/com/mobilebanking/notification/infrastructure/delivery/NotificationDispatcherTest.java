@@ -0,0 +1,199 @@
+package com.mobilebanking.notification.infrastructure.delivery;
+
+import com.mobilebanking.notification.domain.DeliveryChannel;
+import com.mobilebanking.notification.domain.DeliveryException;
+import com.mobilebanking.notification.domain.DeliveryMessage;
+import com.mobilebanking.notification.domain.Notification;
+import com.mobilebanking.notification.domain.NotificationType;
+import com.mobilebanking.shared.domain.Money;
+import com.mobilebanking.shared.domain.UserId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationDispatcherTest {
+
+    private final UserId userId = UserId.generate();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NotificationDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void dispatch_shouldCoalesceNotificationsOfOneTypeWithinTheWindow() throws Exception {
+        // Given
+        RecordingChannel channel = new RecordingChannel("push");
+        dispatcher = dispatcher(channel, 200, 3);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            dispatcher.dispatch(Notification.createTransferReceived(userId, UserId.generate(), Money.of(10.00)));
+        }
+        dispatcher.dispatch(Notification.createDepositNotification(userId, Money.of(5.00)));
+
+        // Then
+        List<DeliveryMessage> messages = List.of(channel.next(), channel.next());
+        assertThat(messages).anySatisfy(message -> {
+            assertThat(message.type()).isEqualTo(NotificationType.TRANSFER_RECEIVED);
+            assertThat(message.count()).isEqualTo(3);
+            assertThat(message.body()).isEqualTo("3 payments received");
+        });
+        assertThat(messages).anySatisfy(message -> {
+            assertThat(message.type()).isEqualTo(NotificationType.DEPOSIT);
+            assertThat(message.body()).isEqualTo("$5.00 has been added to your wallet");
+        });
+        assertThat(channel.messages.poll(300, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(meterRegistry.get("mobile_banking_notifications_coalesced_total").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void dispatch_shouldDeliverToEveryChannel() throws Exception {
+        // Given
+        RecordingChannel push = new RecordingChannel("push");
+        RecordingChannel sms = new RecordingChannel("sms");
+        dispatcher = new NotificationDispatcher(List.of(push, sms), 10, 0, 3, 1, 10, meterRegistry);
+
+        // When
+        dispatcher.dispatch(Notification.createDepositNotification(userId, Money.of(5.00)));
+
+        // Then
+        assertThat(push.next().userId()).isEqualTo(userId);
+        assertThat(sms.next().userId()).isEqualTo(userId);
+    }
+
+    @Test
+    void dispatch_shouldRetryRetryableFailures() throws Exception {
+        // Given - the first two attempts time out
+        AtomicInteger attempts = new AtomicInteger();
+        RecordingChannel channel = new RecordingChannel("sms") {
+            @Override
+            public void deliver(DeliveryMessage message) {
+                if (attempts.incrementAndGet() <= 2) {
+                    throw DeliveryException.retryable("timeout", null);
+                }
+                super.deliver(message);
+            }
+        };
+        dispatcher = dispatcher(channel, 0, 3);
+
+        // When
+        dispatcher.dispatch(Notification.createDepositNotification(userId, Money.of(5.00)));
+
+        // Then
+        assertThat(channel.next().count()).isEqualTo(1);
+        assertThat(attempts).hasValue(3);
+        assertThat(deliveries("retried")).isEqualTo(2);
+    }
+
+    @Test
+    void dispatch_shouldGiveUpPermanentFailuresAndExhaustedRetries() throws Exception {
+        // Given
+        CountDownLatch attempts = new CountDownLatch(3);
+        DeliveryChannel channel = new RecordingChannel("sms") {
+            @Override
+            public void deliver(DeliveryMessage message) {
+                attempts.countDown();
+                if (message.type() == NotificationType.DEPOSIT) {
+                    throw DeliveryException.permanent("invalid number");
+                }
+                throw new IllegalStateException("provider unavailable");
+            }
+        };
+        dispatcher = dispatcher(channel, 0, 2);
+
+        // When
+        dispatcher.dispatch(Notification.createDepositNotification(userId, Money.of(5.00)));
+        dispatcher.dispatch(Notification.createTransferSent(userId, UserId.generate(), Money.of(5.00)));
+
+        // Then - one attempt for the permanent failure, two for the other
+        assertThat(attempts.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100);
+        assertThat(deliveries("failed")).isEqualTo(2);
+        assertThat(deliveries("retried")).isEqualTo(1);
+        assertThat(meterRegistry.get("mobile_banking_notification_delivery_queue_size").gauge().value()).isZero();
+    }
+
+    @Test
+    void dispatch_whenQueueIsFull_shouldDropNewAlerts() {
+        // Given - a long window keeps the first alert pending
+        RecordingChannel channel = new RecordingChannel("push");
+        dispatcher = new NotificationDispatcher(List.of(channel), 1, 60_000, 3, 1, 10, meterRegistry);
+
+        // When
+        dispatcher.dispatch(Notification.createDepositNotification(userId, Money.of(1.00)));
+        dispatcher.dispatch(Notification.createDepositNotification(UserId.generate(), Money.of(2.00)));
+
+        // Then
+        assertThat(deliveries("dropped")).isEqualTo(1);
+    }
+
+    @Test
+    void dispatch_insideTransaction_shouldWaitForCommit() throws Exception {
+        // Given
+        RecordingChannel channel = new RecordingChannel("push");
+        dispatcher = dispatcher(channel, 0, 3);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            dispatcher.dispatch(Notification.createDepositNotification(userId, Money.of(5.00)));
+
+            // Then
+            assertThat(channel.messages.poll(200, TimeUnit.MILLISECONDS)).isNull();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(channel.next().userId()).isEqualTo(userId);
+    }
+
+    private NotificationDispatcher dispatcher(DeliveryChannel channel, long windowMs, int maxAttempts) {
+        return new NotificationDispatcher(List.of(channel), 100, windowMs, maxAttempts, 1, 10, meterRegistry);
+    }
+
+    private double deliveries(String result) {
+        return meterRegistry.get("mobile_banking_notification_deliveries_total").tag("result", result)
+                .counter().count();
+    }
+
+    private static class RecordingChannel implements DeliveryChannel {
+        final BlockingQueue<DeliveryMessage> messages = new LinkedBlockingQueue<>();
+        private final String name;
+
+        RecordingChannel(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public void deliver(DeliveryMessage message) {
+            messages.add(message);
+        }
+
+        DeliveryMessage next() throws InterruptedException {
+            DeliveryMessage message = messages.poll(5, TimeUnit.SECONDS);
+            assertThat(message).as("message").isNotNull();
+            return message;
+        }
+    }
+}
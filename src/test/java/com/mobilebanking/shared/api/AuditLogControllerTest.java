@@ -0,0 +1,107 @@
+package com.mobilebanking.shared.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mobilebanking.shared.domain.AuditActionType;
+import com.mobilebanking.shared.domain.AuditLog;
+import com.mobilebanking.shared.domain.AuditLogFilter;
+import com.mobilebanking.shared.domain.AuditLogPage;
+import com.mobilebanking.shared.domain.AuditService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests that the deprecated list endpoints of AuditLogController return a
+ * bounded number of logs.
+ */
+@ExtendWith(MockitoExtension.class)
+class AuditLogControllerTest {
+
+    @Mock
+    private AuditService auditService;
+
+    private AuditLogController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new AuditLogController(auditService, new ObjectMapper());
+    }
+
+    @Test
+    void getUserAuditLogs_shouldReadOneCappedPageAndFlagTheRest() {
+        // Given
+        List<AuditLog> logs = List.of(log("log-1", LocalDateTime.now()));
+        when(auditService.getAuditLogPage(AuditLogFilter.byUser("user-1"), null, 500))
+                .thenReturn(new AuditLogPage(logs, "next"));
+
+        // When
+        ResponseEntity<List<AuditLog>> response = controller.getUserAuditLogs("user-1");
+
+        // Then
+        assertThat(response.getBody()).isEqualTo(logs);
+        assertThat(response.getHeaders().getFirst("X-Truncated")).isEqualTo("true");
+        assertThat(response.getHeaders().getFirst("Deprecation")).isEqualTo("true");
+        verify(auditService, never()).getUserAuditLogs(anyString());
+    }
+
+    @Test
+    void getAuditLogsByActionType_shouldReadOneCappedPage() {
+        // Given
+        when(auditService.getAuditLogPage(AuditLogFilter.byActionType(AuditActionType.USER_LOGIN), null, 500))
+                .thenReturn(new AuditLogPage(List.of(), null));
+
+        // When
+        ResponseEntity<List<AuditLog>> response = controller.getAuditLogsByActionType("USER_LOGIN");
+
+        // Then
+        assertThat(response.getBody()).isEmpty();
+        assertThat(response.getHeaders().getFirst("X-Truncated")).isEqualTo("false");
+    }
+
+    @Test
+    void getAuditLogsByDateRange_shouldReturnAtMostOnePageOfLogs() {
+        // Given - one log more than fits
+        LocalDateTime end = LocalDateTime.now();
+        LocalDateTime start = end.minusDays(1);
+        List<AuditLog> logs = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            logs.add(log("log-" + i, end.minusSeconds(i)));
+        }
+        when(auditService.getAuditLogsByDateRange(start, end, 501)).thenReturn(logs);
+
+        // When
+        ResponseEntity<List<AuditLog>> response = controller.getAuditLogsByDateRange(start, end);
+
+        // Then
+        assertThat(response.getBody()).hasSize(500).isEqualTo(logs.subList(0, 500));
+        assertThat(response.getHeaders().getFirst("X-Truncated")).isEqualTo("true");
+    }
+
+    @Test
+    void getAuditLogsByDateRange_withReversedRange_shouldBeRejected() {
+        LocalDateTime end = LocalDateTime.now();
+
+        ResponseEntity<List<AuditLog>> response = controller.getAuditLogsByDateRange(end, end.minusDays(1));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private static AuditLog log(String id, LocalDateTime createdAt) {
+        return AuditLog.reconstitute(id, "user-1", AuditActionType.USER_LOGIN.toString(), "USER", "user-1",
+                null, null, createdAt);
+    }
+}
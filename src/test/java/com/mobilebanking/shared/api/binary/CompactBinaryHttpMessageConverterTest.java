@@ -0,0 +1,84 @@
+package com.mobilebanking.shared.api.binary;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.mobilebanking.notification.api.dto.NotificationResponse;
+import com.mobilebanking.notification.domain.NotificationType;
+import com.mobilebanking.shared.api.dto.ErrorResponse;
+import com.mobilebanking.shared.domain.Money;
+import com.mobilebanking.shared.domain.UserId;
+import com.mobilebanking.transaction.api.dto.TransactionHistoryResponse;
+import com.mobilebanking.transaction.domain.Transaction;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactBinaryHttpMessageConverterTest {
+
+    private final CompactBinaryHttpMessageConverter converter = new CompactBinaryHttpMessageConverter();
+
+    @Test
+    void shouldWriteEncodableTypesAndListsOfThem() {
+        MediaType protobuf = CompactBinaryHttpMessageConverter.APPLICATION_X_PROTOBUF;
+
+        assertTrue(converter.canWrite(NotificationResponse.class, NotificationResponse.class, protobuf));
+        assertTrue(converter.canWrite(new ParameterizedTypeReference<List<NotificationResponse>>() {
+        }.getType(), List.class, protobuf));
+        assertFalse(converter.canWrite(new ParameterizedTypeReference<List<String>>() {
+        }.getType(), List.class, protobuf));
+        assertFalse(converter.canWrite(ErrorResponse.class, ErrorResponse.class, protobuf));
+        assertFalse(converter.canWrite(NotificationResponse.class, NotificationResponse.class,
+                MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void shouldNeverRead() {
+        assertFalse(converter.canRead(NotificationResponse.class, CompactBinaryHttpMessageConverter.APPLICATION_X_PROTOBUF));
+    }
+
+    @Test
+    void shouldEncodeListsAsRepeatedFieldOne() {
+        NotificationResponse notification = new NotificationResponse(
+                "123e4567-e89b-12d3-a456-426614174000", "Funds Added", "You added 10.00",
+                NotificationType.DEPOSIT, LocalDateTime.now(), false);
+        byte[] single = new ProtobufWriter().writeMessage(1, notification).toByteArray();
+
+        byte[] encoded = CompactBinaryHttpMessageConverter.encode(List.of(notification, notification));
+
+        assertEquals(2 * single.length, encoded.length);
+        assertEquals(0x0A, encoded[0]);
+        assertEquals(0x0A, encoded[single.length]);
+    }
+
+    @Test
+    void shouldEncodeHistoryPageSmallerThanJson() throws Exception {
+        UserId currentUser = UserId.generate();
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            transactions.add(i % 3 == 0
+                    ? Transaction.createDeposit(currentUser, Money.of(100.0 + i))
+                    : Transaction.createTransfer(currentUser, UserId.generate(), Money.of(12.5 * i)));
+        }
+        TransactionHistoryResponse response = TransactionHistoryResponse.success(
+                new PageImpl<>(transactions, PageRequest.of(0, 20), 250), currentUser);
+        // Same configuration Spring Boot applies: java.time support, ISO timestamps
+        byte[] json = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writeValueAsBytes(response);
+
+        byte[] encoded = CompactBinaryHttpMessageConverter.encode(response);
+
+        assertTrue(encoded.length < json.length / 2,
+                "protobuf page is " + encoded.length + " bytes, JSON " + json.length);
+    }
+}
@@ -0,0 +1,72 @@
+package com.mobilebanking.shared.api.binary;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProtobufWriterTest {
+
+    @Test
+    void shouldEncodeVarintsWithFieldTags() {
+        // 150 is the canonical example from the protobuf encoding guide
+        byte[] encoded = new ProtobufWriter().writeVarint(1, 150).toByteArray();
+
+        assertArrayEquals(new byte[] { 0x08, (byte) 0x96, 0x01 }, encoded);
+    }
+
+    @Test
+    void shouldOmitDefaultValues() {
+        ProtobufWriter writer = new ProtobufWriter()
+                .writeVarint(1, 0)
+                .writeBool(2, false)
+                .writeString(3, null)
+                .writeString(4, "")
+                .writeUuid(5, null)
+                .writeMessage(6, null);
+
+        assertEquals(0, writer.size());
+    }
+
+    @Test
+    void shouldEncodeAmountsAsCents() {
+        byte[] encoded = new ProtobufWriter().writeCents(1, 12.34).toByteArray();
+
+        // 1234 = 0b10011010010 -> 0xD2 0x09
+        assertArrayEquals(new byte[] { 0x08, (byte) 0xD2, 0x09 }, encoded);
+    }
+
+    @Test
+    void shouldEncodeUuidsAsSixteenBytes() {
+        UUID uuid = UUID.fromString("00112233-4455-6677-8899-aabbccddeeff");
+
+        byte[] encoded = new ProtobufWriter().writeUuid(1, uuid.toString()).toByteArray();
+
+        assertEquals(18, encoded.length);
+        assertEquals(0x0A, encoded[0]);
+        assertEquals(16, encoded[1]);
+        assertEquals(0x00, encoded[2]);
+        assertEquals(0x11, encoded[3]);
+        assertEquals((byte) 0xFF, encoded[17]);
+    }
+
+    @Test
+    void shouldLengthPrefixNestedMessages() {
+        ProtobufEncodable nested = writer -> writer.writeString(1, "GHS");
+
+        byte[] encoded = new ProtobufWriter().writeMessage(3, nested).toByteArray();
+
+        assertArrayEquals(new byte[] { 0x1A, 5, 0x0A, 3, 'G', 'H', 'S' }, encoded);
+    }
+
+    @Test
+    void shouldGrowBeyondInitialCapacity() {
+        ProtobufWriter writer = new ProtobufWriter(16);
+        for (int i = 0; i < 100; i++) {
+            writer.writeString(1, "notification");
+        }
+
+        assertEquals(100 * 14, writer.size());
+    }
+}
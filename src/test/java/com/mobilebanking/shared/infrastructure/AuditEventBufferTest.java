@@ -0,0 +1,82 @@
+package com.mobilebanking.shared.infrastructure;
+
+import com.mobilebanking.shared.domain.AuditActionType;
+import com.mobilebanking.shared.domain.AuditEntityType;
+import com.mobilebanking.shared.domain.AuditEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditEventBufferTest {
+
+    @Test
+    void offer_whenFull_shouldRefuseUntilDrained() {
+        // Given - capacity 3 is rounded up to 4
+        AuditEventBuffer buffer = new AuditEventBuffer(3);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(event("e" + i))).isTrue();
+        }
+
+        // When & Then
+        assertThat(buffer.offer(event("e4"))).isFalse();
+        List<AuditEvent> drained = new ArrayList<>();
+        assertThat(buffer.drainTo(drained, 2)).isEqualTo(2);
+        assertThat(drained).extracting(AuditEvent::details).containsExactly("e0", "e1");
+        assertThat(buffer.offer(event("e4"))).isTrue();
+        assertThat(buffer.size()).isEqualTo(3);
+    }
+
+    @Test
+    void offer_fromConcurrentProducers_shouldDeliverEveryEventOnce() throws Exception {
+        // Given
+        AuditEventBuffer buffer = new AuditEventBuffer(64);
+        int producers = 4;
+        int perProducer = 5_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            String prefix = p + "-";
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    AuditEvent event = event(prefix + i);
+                    while (!buffer.offer(event)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+
+        // When
+        start.countDown();
+        Set<String> received = new HashSet<>();
+        List<AuditEvent> drained = new ArrayList<>();
+        while (received.size() < producers * perProducer) {
+            drained.clear();
+            buffer.drainTo(drained, 16);
+            for (AuditEvent event : drained) {
+                assertThat(received.add(event.details())).as("duplicate " + event.details()).isTrue();
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    private static AuditEvent event(String details) {
+        return AuditEvent.system(AuditActionType.SYSTEM_ERROR, AuditEntityType.SYSTEM, null, details);
+    }
+}
@@ -0,0 +1,245 @@
+package com.mobilebanking.shared.infrastructure;
+
+import com.mobilebanking.shared.domain.AuditActionType;
+import com.mobilebanking.shared.domain.AuditEntityType;
+import com.mobilebanking.shared.domain.AuditEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for AuditEventWriter against an H2 database created from the users
+ * and audit_logs migrations.
+ */
+class AuditEventWriterTest {
+
+    private static final String USER_ID = "11111111-1111-1111-1111-111111111111";
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private Path spillDirectory;
+    private AuditEventWriter writer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Tables are created per test, so the tests can also write while they are missing
+        dataSource = H2TestDatabase.create("audit");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        meterRegistry = new SimpleMeterRegistry();
+        spillDirectory = Files.createTempDirectory("audit-spill");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (writer != null) {
+            writer.shutdown();
+        }
+        FileSystemUtils.deleteRecursively(spillDirectory);
+    }
+
+    @Test
+    void flush_shouldWriteBufferedEventsWithAllFields() throws Exception {
+        // Given
+        createTables();
+        writer = writer(16, AuditEventWriter.OverflowPolicy.DROP);
+        AuditEvent event = AuditEvent.of(USER_ID, AuditActionType.MONEY_TRANSFERRED, AuditEntityType.TRANSACTION,
+                "tx-1", "Transferred\t$10\nto bob", "127.0.0.1");
+        writer.enqueue(event);
+        writer.enqueue(AuditEvent.system(AuditActionType.SYSTEM_ERROR, AuditEntityType.SYSTEM, null, "boom"));
+
+        // When
+        int written = writer.flush();
+
+        // Then
+        assertThat(written).isEqualTo(2);
+        assertThat(writer.bufferedCount()).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT details FROM audit_logs WHERE id = ?", String.class, event.id()))
+                .isEqualTo(event.details());
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM audit_logs WHERE user_id IS NULL", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void flush_whenRowIsRejected_shouldWriteTheRestOfTheBatch() throws Exception {
+        // Given - the second event references a user that does not exist
+        createTables();
+        writer = writer(16, AuditEventWriter.OverflowPolicy.DROP);
+        writer.enqueue(userEvent(USER_ID));
+        writer.enqueue(userEvent(UUID.randomUUID().toString()));
+        writer.enqueue(userEvent(USER_ID));
+
+        // When
+        int written = writer.flush();
+
+        // Then
+        assertThat(written).isEqualTo(2);
+        assertThat(storedRows()).isEqualTo(2);
+        assertThat(count("failed")).isEqualTo(1);
+    }
+
+    @Test
+    void enqueue_whenBufferIsFullWithDropPolicy_shouldCountDroppedEvents() throws Exception {
+        // Given - capacity 2
+        createTables();
+        writer = writer(2, AuditEventWriter.OverflowPolicy.DROP);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            writer.enqueue(userEvent(USER_ID));
+        }
+        writer.flush();
+
+        // Then
+        assertThat(count("dropped")).isEqualTo(1);
+        assertThat(storedRows()).isEqualTo(2);
+    }
+
+    @Test
+    void enqueue_whenBufferIsFullWithDropPolicy_shouldWaitForRoomForRequiredEvents() throws Exception {
+        // Given - capacity 2, filled with droppable events
+        createTables();
+        writer = writer(2, AuditEventWriter.OverflowPolicy.DROP);
+        writer.enqueue(userEvent(USER_ID));
+        writer.enqueue(userEvent(USER_ID));
+
+        // When - the writer thread makes room
+        writer.enqueue(AuditEvent.of(USER_ID, AuditActionType.USER_LOGIN, AuditEntityType.USER, USER_ID,
+                "Logged in", null));
+        writer.flush();
+
+        // Then
+        assertThat(count("dropped")).isZero();
+        assertThat(storedRows()).isEqualTo(3);
+    }
+
+    @Test
+    void flush_whenDatabaseFailsWithDropPolicy_shouldKeepRequiredEventsForRetry() throws Exception {
+        // Given - no audit_logs table yet
+        writer = writer(16, AuditEventWriter.OverflowPolicy.DROP);
+        AuditEvent login = AuditEvent.of(USER_ID, AuditActionType.USER_LOGIN, AuditEntityType.USER, USER_ID,
+                "Logged in", null);
+        writer.enqueue(login);
+        writer.enqueue(userEvent(USER_ID));
+
+        // When
+        int writtenWhileDown = writer.flush();
+        createTables();
+        int writtenAfterRecovery = writer.flush();
+
+        // Then
+        assertThat(writtenWhileDown).isZero();
+        assertThat(count("dropped")).isEqualTo(1);
+        assertThat(writtenAfterRecovery).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT id FROM audit_logs", String.class)).isEqualTo(login.id());
+    }
+
+    @Test
+    void constructor_withSpillPolicyAndNoDirectory_shouldRefuseToStart() {
+        assertThatThrownBy(() -> new AuditEventWriter(jdbcTemplate, null, 16, 10, 3_600_000,
+                AuditEventWriter.OverflowPolicy.SPILL, null, meterRegistry))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("audit.writer.spill-directory");
+    }
+
+    @Test
+    void flush_whenDatabaseFailsWithSpillPolicy_shouldWriteSpilledEventsLater() throws Exception {
+        // Given - no audit_logs table yet
+        writer = writer(16, AuditEventWriter.OverflowPolicy.SPILL);
+        AuditEvent event = AuditEvent.of(USER_ID, AuditActionType.USER_LOGIN, AuditEntityType.USER,
+                USER_ID, "line\\one\ttab", null);
+        writer.enqueue(event);
+        writer.enqueue(userEvent(USER_ID));
+
+        // When
+        int writtenWhileDown = writer.flush();
+        createTables();
+        int writtenAfterRecovery = writer.flush();
+
+        // Then
+        assertThat(writtenWhileDown).isZero();
+        assertThat(count("spilled")).isEqualTo(2);
+        assertThat(writtenAfterRecovery).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT details FROM audit_logs WHERE id = ?", String.class, event.id()))
+                .isEqualTo(event.details());
+        try (var files = Files.list(spillDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void flush_whileDatabaseStaysDown_shouldBackOffReplayingTheSpill() throws Exception {
+        // Given - no audit_logs table yet, and a template counting write attempts
+        AtomicInteger attempts = new AtomicInteger();
+        JdbcTemplate counting = new JdbcTemplate(dataSource) {
+            @Override
+            public int update(String sql, PreparedStatementSetter pss) {
+                attempts.incrementAndGet();
+                return super.update(sql, pss);
+            }
+        };
+        writer = new AuditEventWriter(counting, null, 16, 10, 3_600_000, AuditEventWriter.OverflowPolicy.SPILL,
+                spillDirectory, meterRegistry);
+        writer.enqueue(userEvent(USER_ID));
+        writer.enqueue(userEvent(USER_ID));
+        writer.flush(); // Spills the batch without replaying it
+        writer.flush(); // Replays, fails and backs off
+        Path replay = spillDirectory.resolve("audit-spill.replaying");
+        FileTime modified = Files.getLastModifiedTime(replay);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            writer.flush();
+        }
+        int attemptsWhileDown = attempts.get();
+        FileTime modifiedWhileDown = Files.getLastModifiedTime(replay);
+        createTables();
+        writer.enqueue(userEvent(USER_ID));
+        int writtenAfterRecovery = writer.flush();
+
+        // Then - a written batch shows the database is back, so the spill is replayed at once
+        assertThat(attemptsWhileDown).isEqualTo(2);
+        assertThat(modifiedWhileDown).isEqualTo(modified);
+        assertThat(writtenAfterRecovery).isEqualTo(3);
+        assertThat(storedRows()).isEqualTo(3);
+    }
+
+    private AuditEventWriter writer(int capacity, AuditEventWriter.OverflowPolicy policy) {
+        // Long flush interval so the tests decide when the buffer is written
+        return new AuditEventWriter(jdbcTemplate, null, capacity, 10, 3_600_000, policy, spillDirectory, meterRegistry);
+    }
+
+    private void createTables() throws Exception {
+        H2TestDatabase.migrate(dataSource, "V1__create_users_table.sql", "V3__create_audit_logs_table.sql");
+        jdbcTemplate.update("INSERT INTO users (id, name, phone, pin_hash) VALUES (?, 'Alice', '+15550100', 'x')",
+                USER_ID);
+    }
+
+    private static AuditEvent userEvent(String userId) {
+        return AuditEvent.of(userId, AuditActionType.BALANCE_CHECKED, AuditEntityType.WALLET, userId, "Checked", null);
+    }
+
+    private int storedRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_logs", Integer.class);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("mobile_banking_audit_events_total").tag("result", result).counter().count();
+    }
+}
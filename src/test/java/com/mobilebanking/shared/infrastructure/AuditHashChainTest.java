@@ -0,0 +1,239 @@
+package com.mobilebanking.shared.infrastructure;
+
+import com.mobilebanking.shared.domain.AuditActionType;
+import com.mobilebanking.shared.domain.AuditChainVerification;
+import com.mobilebanking.shared.domain.AuditEntityType;
+import com.mobilebanking.shared.domain.AuditEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for AuditHashChain against an H2 database created from the users,
+ * audit_logs and hash chain migrations, with rows written by the
+ * AuditEventWriter.
+ */
+class AuditHashChainTest {
+
+    private static final String USER_ID = "11111111-1111-1111-1111-111111111111";
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private Path spillDirectory;
+    private AuditHashChain chain;
+    private AuditEventWriter writer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = H2TestDatabase.create("audit-chain", "V1__create_users_table.sql",
+                "V3__create_audit_logs_table.sql", "V12__add_audit_logs_hash_chain.sql",
+                "V13__create_scheduler_locks_table.sql", "V14__create_audit_chain_heads_table.sql");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        meterRegistry = new SimpleMeterRegistry();
+        spillDirectory = Files.createTempDirectory("audit-spill");
+        jdbcTemplate.update("INSERT INTO users (id, name, phone, pin_hash) VALUES (?, 'Alice', '+15550100', 'x')",
+                USER_ID);
+        chain = chain(jdbcTemplate);
+        writer = writer(jdbcTemplate, chain);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        writer.shutdown();
+        FileSystemUtils.deleteRecursively(spillDirectory);
+    }
+
+    @Test
+    void verify_afterCheckpoint_shouldAcceptEveryWrittenRow() {
+        // Given - one event references a user that does not exist and is rejected
+        write(25);
+        writer.enqueue(event(UUID.randomUUID().toString(), "Rejected"));
+        write(5);
+        assertThat(chain.checkpoint()).isPositive();
+
+        // When
+        AuditChainVerification verification = chain.verify(
+                LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1));
+
+        // Then
+        assertThat(verification.valid()).isTrue();
+        assertThat(verification.records()).isEqualTo(30);
+        assertThat(meterRegistry.get("mobile_banking_audit_chain_verifications_total")
+                .tag("result", "valid").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void verify_whenRowWasAltered_shouldReportIt() {
+        // Given
+        write(20);
+        chain.checkpoint();
+        String id = jdbcTemplate.queryForObject(
+                "SELECT id FROM audit_logs ORDER BY chain_stripe, chain_seq LIMIT 1", String.class);
+        jdbcTemplate.update("UPDATE audit_logs SET details = 'Nothing happened' WHERE id = ?", id);
+
+        // When
+        AuditChainVerification verification = chain.verify(
+                LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1));
+
+        // Then
+        assertThat(verification.valid()).isFalse();
+        assertThat(verification.problem()).contains(id).contains("altered");
+    }
+
+    @Test
+    void verify_rangeAfterCheckpoint_shouldStartFromItWithoutEarlierRows() throws Exception {
+        // Given - the rows before the first checkpoint are removed although they are still hot
+        write(20);
+        chain.checkpoint();
+        Thread.sleep(5);
+        LocalDateTime start = LocalDateTime.now();
+        write(12);
+        LocalDateTime end = LocalDateTime.now();
+        Thread.sleep(5);
+        chain.checkpoint();
+        jdbcTemplate.update("DELETE FROM audit_logs WHERE created_at < ?", start);
+
+        // When
+        AuditChainVerification verification = chain.verify(start, end);
+
+        // Then
+        assertThat(verification.valid()).isTrue();
+        assertThat(verification.records()).isEqualTo(12);
+        AuditChainVerification earlier = chain.verify(start.minusHours(1), end);
+        assertThat(earlier.valid()).isFalse();
+        assertThat(earlier.archived()).isZero();
+    }
+
+    @Test
+    void verify_rangeReachingArchivedDays_shouldReportArchivedRowsAsSuch() {
+        // Given - rows created before the hot days, then moved out of the table as the archive does
+        LocalDateTime old = LocalDateTime.now().minusDays(40);
+        for (int i = 0; i < 20; i++) {
+            writer.enqueue(new AuditEvent(UUID.randomUUID().toString(), USER_ID, "BALANCE_CHECKED", "WALLET",
+                    USER_ID, "Checked " + i, "127.0.0.1", old.plusMinutes(i)));
+        }
+        writer.flush();
+        chain.checkpoint();
+        write(12);
+        chain.checkpoint();
+        LocalDateTime cutoff = old.plusDays(1);
+        // The first hot row of a stripe that also held archived rows starts the walk and is not counted
+        Integer restarted = jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT chain_stripe) FROM audit_logs "
+                + "WHERE created_at < ? AND chain_stripe IN "
+                + "(SELECT chain_stripe FROM audit_logs WHERE created_at >= ?)", Integer.class, cutoff, cutoff);
+        jdbcTemplate.update("DELETE FROM audit_logs WHERE created_at < ?", cutoff);
+
+        // When
+        AuditChainVerification verification = chain.verify(old.minusDays(1), LocalDateTime.now());
+
+        // Then
+        assertThat(verification.valid()).isTrue();
+        assertThat(verification.archived()).isEqualTo(20);
+        assertThat(verification.records()).isEqualTo(12 - restarted);
+    }
+
+    @Test
+    void append_fromTwoInstancesSharingTheDatabase_shouldKeepEveryRowChained() throws Exception {
+        // Given - a second instance with its own connections, chain and writer
+        JdbcTemplate otherJdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(dataSource.getUrl(), "sa", ""));
+        AuditEventWriter other = writer(otherJdbcTemplate, chain(otherJdbcTemplate));
+        int batches = 20;
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When - both write batches at the same time
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (AuditEventWriter instance : List.of(writer, other)) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int batch = 0; batch < batches; batch++) {
+                        for (int i = 0; i < 10; i++) {
+                            instance.enqueue(event(USER_ID, "Checked " + i));
+                        }
+                        instance.flush();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+            other.shutdown();
+        }
+        chain.checkpoint();
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_logs", Integer.class))
+                .isEqualTo(2 * batches * 10);
+        assertThat(meterRegistry.get("mobile_banking_audit_events_total").tag("result", "failed").counter().count())
+                .isZero();
+        AuditChainVerification verification = chain.verify(
+                LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1));
+        assertThat(verification.valid()).isTrue();
+        assertThat(verification.records()).isEqualTo(2 * batches * 10);
+    }
+
+    @Test
+    void checkpoint_whileAnotherInstanceIsTakingOne_shouldAnchorNothing() {
+        // Given
+        write(10);
+
+        // When
+        int anchored;
+        try (SchedulerLock.Lease lease = new SchedulerLock(jdbcTemplate)
+                .tryAcquire("audit-chain-checkpoint", Duration.ofMinutes(1)).orElseThrow()) {
+            anchored = chain.checkpoint();
+        }
+
+        // Then
+        assertThat(anchored).isZero();
+        assertThat(chain.checkpoint()).isPositive();
+        assertThat(chain.checkpoint()).isZero();
+    }
+
+    private AuditHashChain chain(JdbcTemplate jdbcTemplate) {
+        return new AuditHashChain(jdbcTemplate, new SchedulerLock(jdbcTemplate), 4, 30, meterRegistry);
+    }
+
+    private AuditEventWriter writer(JdbcTemplate jdbcTemplate, AuditHashChain chain) {
+        // Long flush interval so the tests decide when the buffer is written
+        return new AuditEventWriter(jdbcTemplate, chain, 64, 10, 3_600_000,
+                AuditEventWriter.OverflowPolicy.DROP, spillDirectory, meterRegistry);
+    }
+
+    private void write(int count) {
+        for (int i = 0; i < count; i++) {
+            writer.enqueue(event(USER_ID, "Checked " + i));
+        }
+        writer.flush();
+    }
+
+    private static AuditEvent event(String userId, String details) {
+        return AuditEvent.of(userId, AuditActionType.BALANCE_CHECKED, AuditEntityType.WALLET, userId, details,
+                "127.0.0.1");
+    }
+}
@@ -0,0 +1,197 @@
+package com.mobilebanking.shared.infrastructure;
+
+import com.mobilebanking.shared.domain.AuditLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for AuditLogArchive against an H2 database created from the
+ * audit_logs migration.
+ */
+class AuditLogArchiveTest {
+
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+    private JdbcTemplate jdbcTemplate;
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate = new JdbcTemplate(H2TestDatabase.create("audit-archive", "V1__create_users_table.sql",
+                "V3__create_audit_logs_table.sql", "V13__create_scheduler_locks_table.sql"));
+        directory = Files.createTempDirectory("audit-archive");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Test
+    void archiveExpired_shouldMoveOldDaysToCompressedFilesAndKeepThemQueryable() throws Exception {
+        // Given - two rows of one old day, one of another, one hot
+        insert("old-1", now.minusDays(40), "first\tline\nsecond");
+        insert("old-2", now.minusDays(40).plusSeconds(1), null);
+        insert("old-3", now.minusDays(35), "older");
+        insert("hot-1", now.minusDays(1), "hot");
+        AuditLogArchive archive = archive(30, 3650, 100);
+
+        // When
+        int archived = archive.archiveExpired();
+
+        // Then
+        assertThat(archived).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM audit_logs", String.class)).containsExactly("hot-1");
+        try (var files = Files.list(directory)) {
+            assertThat(files.map(path -> path.getFileName().toString()))
+                    .contains("manifest.tsv")
+                    .anyMatch(name -> name.endsWith(".tsv.gz"));
+        }
+        List<AuditLog> logs = archive(30, 3650, 100).findByDateRange(now.minusDays(41), now);
+        assertThat(logs).extracting(AuditLog::getId).containsExactly("old-3", "old-2", "old-1");
+        assertThat(logs.get(2).getDetails()).isEqualTo("first\tline\nsecond");
+        assertThat(logs.get(1).getDetails()).isNull();
+        assertThat(archive.findByDateRange(now.minusDays(36), now)).extracting(AuditLog::getId)
+                .containsExactly("old-3");
+    }
+
+    @Test
+    void archiveExpired_shouldSplitLargeDaysIntoParts() {
+        // Given - part size 2
+        for (int i = 0; i < 5; i++) {
+            insert("row-" + i, now.minusDays(40).plusSeconds(i), "row");
+        }
+        AuditLogArchive archive = archive(30, 3650, 2);
+
+        // When
+        int archived = archive.archiveExpired();
+
+        // Then
+        assertThat(archived).isEqualTo(5);
+        assertThat(archive.findByDateRange(now.minusDays(41), now)).hasSize(5);
+    }
+
+    @Test
+    void findByDateRange_withLimit_shouldReturnTheMostRecentLogs() {
+        // Given - four days, two parts each
+        for (int day = 0; day < 4; day++) {
+            for (int i = 0; i < 4; i++) {
+                insert("day-" + day + "-" + i, now.minusDays(40 + day).plusSeconds(i), "row");
+            }
+        }
+        AuditLogArchive archive = archive(30, 3650, 2);
+        archive.archiveExpired();
+
+        // When
+        List<AuditLog> logs = archive.findByDateRange(now.minusDays(50), now, 3);
+
+        // Then
+        assertThat(logs).extracting(AuditLog::getId).containsExactly("day-0-3", "day-0-2", "day-0-1");
+    }
+
+    @Test
+    void purgeExpiredArchives_shouldDeleteArchivesPastRetention() {
+        // Given
+        insert("old-1", now.minusDays(40), "old");
+        insert("old-2", now.minusDays(35), "newer");
+        AuditLogArchive archive = archive(30, 37, 100);
+        archive.archiveExpired();
+
+        // When
+        int deleted = archive.purgeExpiredArchives();
+
+        // Then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(archive.findByDateRange(now.minusDays(41), now)).extracting(AuditLog::getId)
+                .containsExactly("old-2");
+    }
+
+    @Test
+    void archiveExpired_whileAnotherInstanceHoldsTheLock_shouldLeaveTheRows() {
+        // Given
+        insert("old-1", now.minusDays(40), "old");
+        AuditLogArchive archive = archive(30, 3650, 100);
+
+        // When
+        int archived;
+        try (SchedulerLock.Lease lease = new SchedulerLock(jdbcTemplate)
+                .tryAcquire("audit-retention", Duration.ofMinutes(1)).orElseThrow()) {
+            archived = archive.archiveExpired();
+        }
+
+        // Then
+        assertThat(archived).isZero();
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM audit_logs", String.class)).containsExactly("old-1");
+        assertThat(archive.archiveExpired()).isEqualTo(1);
+    }
+
+    @Test
+    void archiveExpired_byAnotherInstance_shouldBeSeenAndContinuedHere() {
+        // Given - two instances sharing the table and the directory
+        AuditLogArchive first = archive(30, 3650, 100);
+        AuditLogArchive second = archive(30, 3650, 100);
+        insert("old-1", now.minusDays(40), "old");
+        first.archiveExpired();
+        insert("old-2", now.minusDays(40).plusSeconds(1), "later");
+
+        // When
+        int archived = second.archiveExpired();
+
+        // Then - the second part does not replace the first
+        assertThat(archived).isEqualTo(1);
+        assertThat(first.findByDateRange(now.minusDays(41), now)).extracting(AuditLog::getId)
+                .containsExactly("old-2", "old-1");
+        assertThat(second.findByDateRange(now.minusDays(41), now)).extracting(AuditLog::getId)
+                .containsExactly("old-2", "old-1");
+    }
+
+    @Test
+    void constructor_withoutArchiveDirectory_shouldRefuseToStart() {
+        assertThatThrownBy(() -> new AuditLogArchive(jdbcTemplate, new SchedulerLock(jdbcTemplate), 30, 3650, 100,
+                " ", new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("audit.retention.archive-directory");
+    }
+
+    @Test
+    void findByDateRange_withTamperedArchive_shouldFail() throws Exception {
+        // Given
+        insert("old-1", now.minusDays(40), "old");
+        AuditLogArchive archive = archive(30, 3650, 100);
+        archive.archiveExpired();
+        Path file;
+        try (var files = Files.list(directory)) {
+            file = files.filter(path -> path.toString().endsWith(".tsv.gz")).findFirst().orElseThrow();
+        }
+        Files.write(file, new byte[] {0}, StandardOpenOption.APPEND);
+
+        // When & Then
+        assertThatThrownBy(() -> archive.findByDateRange(now.minusDays(41), now))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("checksum");
+    }
+
+    private AuditLogArchive archive(int hotDays, int archiveDays, int partRows) {
+        return new AuditLogArchive(jdbcTemplate, new SchedulerLock(jdbcTemplate), hotDays, archiveDays, partRows,
+                directory, new SimpleMeterRegistry());
+    }
+
+    private void insert(String id, LocalDateTime createdAt, String details) {
+        jdbcTemplate.update("INSERT INTO audit_logs (id, action_type, entity_type, details, created_at) "
+                + "VALUES (?, 'USER_LOGIN', 'USER', ?, ?)", id, details, Timestamp.valueOf(createdAt));
+    }
+}
@@ -3,6 +3,7 @@ package com.mobilebanking.shared.infrastructure;
 import com.mobilebanking.shared.domain.AuditActionType;
 import com.mobilebanking.shared.domain.AuditEntityType;
 import com.mobilebanking.shared.domain.AuditService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.junit.jupiter.api.BeforeEach;
@@ -39,7 +40,9 @@ class AuditLogAspectTest {
 
     @BeforeEach
     void setUp() {
-        auditLogAspect = new AuditLogAspect(auditService, securityContextUtils);
+        AuditPolicy auditPolicy = new AuditPolicy(auditService, new AuditActionType[0], new AuditActionType[0],
+                new AuditActionType[0], 0.05, new SimpleMeterRegistry());
+        auditLogAspect = new AuditLogAspect(auditService, securityContextUtils, new AuditMetadataRegistry(), auditPolicy);
     }
 
     @Test
@@ -30,6 +30,9 @@ class AuditLogIntegrationTest {
     @Autowired
     private AuditLogRepository auditLogRepository;
 
+    @Autowired
+    private AuditEventWriter auditEventWriter;
+
     @BeforeEach
     void clearAuditLogs() {
         auditLogRepository.deleteAll();
@@ -47,6 +50,7 @@ class AuditLogIntegrationTest {
 
         // When
         auditService.logUserAction(userId, actionType, entityType, entityId, details, ipAddress);
+        auditEventWriter.flush();
 
         // Then
         List<AuditLog> logs = auditLogRepository.findByUserIdOrderByCreatedAtDesc(userId);
@@ -71,6 +75,7 @@ class AuditLogIntegrationTest {
 
         // When
         auditService.logSystemAction(actionType, entityType, entityId, details);
+        auditEventWriter.flush();
 
         // Then
         List<AuditLog> logs = auditLogRepository.findByActionTypeOrderByCreatedAtDesc(actionType.toString());
@@ -90,6 +95,7 @@ class AuditLogIntegrationTest {
         String userId = "test-user-id";
         auditService.logUserAction(userId, AuditActionType.USER_LOGIN, "User login successful");
         auditService.logUserAction(userId, AuditActionType.BALANCE_CHECKED, "Balance check");
+        auditEventWriter.flush();
 
         // When
         List<AuditLog> logs = auditService.getUserAuditLogs(userId);
@@ -110,6 +116,7 @@ class AuditLogIntegrationTest {
         auditService.logUserAction(userId1, actionType, AuditEntityType.TRANSACTION, "tx-1", "Transfer 1", null);
         auditService.logUserAction(userId2, actionType, AuditEntityType.TRANSACTION, "tx-2", "Transfer 2", null);
         auditService.logUserAction(userId1, AuditActionType.BALANCE_CHECKED, "Balance check");
+        auditEventWriter.flush();
 
         // When
         List<AuditLog> logs = auditService.getAuditLogsByActionType(actionType);
@@ -128,6 +135,7 @@ class AuditLogIntegrationTest {
         auditService.logUserAction("user-1", AuditActionType.MONEY_TRANSFERRED, entityType, entityId, "Transfer", null);
         auditService.logUserAction("user-2", AuditActionType.TRANSACTION_VIEWED, entityType, entityId, "View", null);
         auditService.logUserAction("user-1", AuditActionType.BALANCE_CHECKED, AuditEntityType.WALLET, "wallet-1", "Check", null);
+        auditEventWriter.flush();
 
         // When
         List<AuditLog> logs = auditService.getEntityAuditLogs(entityType, entityId);
@@ -146,6 +154,7 @@ class AuditLogIntegrationTest {
         
         auditService.logUserAction("user-1", AuditActionType.USER_LOGIN, "Login");
         auditService.logUserAction("user-2", AuditActionType.BALANCE_CHECKED, "Balance");
+        auditEventWriter.flush();
 
         // When
         List<AuditLog> logs = auditService.getAuditLogsByDateRange(startDate, endDate);
@@ -161,6 +170,7 @@ class AuditLogIntegrationTest {
         for (int i = 0; i < 10; i++) {
             auditService.logUserAction(userId, AuditActionType.USER_LOGIN, "Login attempt " + i);
         }
+        auditEventWriter.flush();
 
         // When
         var page1 = auditService.getUserAuditLogs(userId, PageRequest.of(0, 5));
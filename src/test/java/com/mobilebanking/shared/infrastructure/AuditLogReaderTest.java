@@ -0,0 +1,111 @@
+package com.mobilebanking.shared.infrastructure;
+
+import com.mobilebanking.shared.domain.AuditActionType;
+import com.mobilebanking.shared.domain.AuditEntityType;
+import com.mobilebanking.shared.domain.AuditLog;
+import com.mobilebanking.shared.domain.AuditLogFilter;
+import com.mobilebanking.shared.domain.AuditLogPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for AuditLogReader against an H2 database created from the
+ * audit_logs migrations.
+ */
+class AuditLogReaderTest {
+
+    private final LocalDateTime now = LocalDateTime.now().withNano(123_456_000);
+    private JdbcTemplate jdbcTemplate;
+    private AuditLogReader reader;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate = new JdbcTemplate(H2TestDatabase.create("audit-reader", "V1__create_users_table.sql",
+                "V3__create_audit_logs_table.sql", "V11__add_audit_logs_keyset_indexes.sql"));
+        reader = new AuditLogReader(jdbcTemplate, 3);
+    }
+
+    @Test
+    void page_shouldWalkAllMatchingLogsByCursorWithoutGapsOrRepeats() {
+        // Given - logs share timestamps in threes, so pages split ties
+        for (int i = 0; i < 20; i++) {
+            insert(String.format("log-%02d", i), i % 2 == 0 ? "USER_LOGIN" : "USER_LOGOUT", "user-" + i,
+                    now.minusSeconds(i / 3));
+        }
+        AuditLogFilter filter = AuditLogFilter.byActionType(AuditActionType.USER_LOGIN);
+
+        // When
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            AuditLogPage page = reader.page(filter, cursor, 3);
+            page.getLogs().forEach(log -> ids.add(log.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Then
+        assertThat(pages).isEqualTo(4);
+        assertThat(ids).containsExactly("log-02", "log-00", "log-04", "log-08", "log-06", "log-10",
+                "log-14", "log-12", "log-16", "log-18");
+    }
+
+    @Test
+    void page_withMalformedCursor_shouldThrow() {
+        AuditLogFilter filter = AuditLogFilter.byUser("user-1");
+
+        assertThatThrownBy(() -> reader.page(filter, "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> reader.page(filter, null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void export_shouldStreamMatchingLogsMostRecentFirst() {
+        // Given
+        insert("a", "USER_LOGIN", "entity-1", now.minusHours(3));
+        insert("b", "USER_LOGIN", "entity-1", now.minusHours(2));
+        insert("c", "USER_LOGIN", "entity-2", now.minusHours(1));
+        insert("d", "USER_LOGIN", "entity-1", now);
+
+        // When
+        List<AuditLog> exported = new ArrayList<>();
+        long count = reader.export(new AuditLogFilter(null, null, AuditEntityType.USER, "entity-1",
+                now.minusHours(2), now), exported::add);
+
+        // Then
+        assertThat(count).isEqualTo(2);
+        assertThat(exported).extracting(AuditLog::getId).containsExactly("d", "b");
+        assertThat(exported.get(0).getCreatedAt()).isEqualTo(now);
+    }
+
+    @Test
+    void page_shouldReadByKeysetFromTheMatchingCompositeIndex() {
+        // When
+        String byAction = plan("WHERE action_type = 'USER_LOGIN' ORDER BY created_at DESC, id DESC");
+        String byEntity = plan("WHERE entity_type = 'USER' AND entity_id = 'e' ORDER BY created_at DESC, id DESC");
+
+        // Then
+        assertThat(byAction).containsIgnoringCase("IDX_AUDIT_LOGS_ACTION_CREATED");
+        assertThat(byEntity).containsIgnoringCase("IDX_AUDIT_LOGS_ENTITY_CREATED");
+    }
+
+    private String plan(String query) {
+        return jdbcTemplate.queryForObject("EXPLAIN SELECT id FROM audit_logs " + query, String.class);
+    }
+
+    private void insert(String id, String actionType, String entityId, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO audit_logs (id, action_type, entity_type, entity_id, created_at) "
+                + "VALUES (?, ?, 'USER', ?, ?)", id, actionType, entityId, Timestamp.valueOf(createdAt));
+    }
+}
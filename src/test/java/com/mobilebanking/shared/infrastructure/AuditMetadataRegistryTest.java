@@ -0,0 +1,87 @@
+package com.mobilebanking.shared.infrastructure;
+
+import com.mobilebanking.auth.api.AuthController;
+import com.mobilebanking.auth.api.dto.LoginRequest;
+import com.mobilebanking.shared.api.AuditLogController;
+import com.mobilebanking.shared.domain.AuditActionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the actions AuditMetadataRegistry derives for the application's
+ * controller methods.
+ */
+class AuditMetadataRegistryTest {
+
+    private final AuditMetadataRegistry registry = new AuditMetadataRegistry();
+
+    @Test
+    void forController_everyNonGetHandler_shouldResolveToAnActionRecordedInFull() throws Exception {
+        // Given
+        List<Method> handlers = handlers();
+        List<Method> changes = handlers.stream()
+                .filter(method -> !Arrays.asList(mapping(method).method()).equals(List.of(RequestMethod.GET)))
+                .toList();
+
+        // When & Then
+        assertThat(changes).extracting(Method::getName).contains("login", "logout", "transferMoney", "importUsers");
+        assertThat(changes).allSatisfy(method -> assertThat(
+                AuditPolicy.isRequired(registry.forController(method).actionType().name()))
+                .as("%s.%s", method.getDeclaringClass().getSimpleName(), method.getName())
+                .isTrue());
+    }
+
+    @Test
+    void forController_adminHandlers_shouldResolveToActionsRecordedInFull() throws Exception {
+        List<Method> adminHandlers = handlers().stream()
+                .filter(method -> method.getDeclaringClass() == AuditLogController.class)
+                .toList();
+
+        assertThat(adminHandlers).isNotEmpty().allSatisfy(method ->
+                assertThat(registry.forController(method).actionType()).isEqualTo(AuditActionType.ADMIN_DATA_VIEWED));
+    }
+
+    @Test
+    void forController_shouldTellLogoutFromLogin() throws Exception {
+        assertThat(registry.forController(AuthController.class.getMethod("login", LoginRequest.class)).actionType())
+                .isEqualTo(AuditActionType.USER_LOGIN);
+        assertThat(Arrays.stream(AuthController.class.getMethods())
+                .filter(method -> method.getName().equals("logout"))
+                .map(method -> registry.forController(method).actionType()))
+                .containsExactly(AuditActionType.USER_LOGOUT);
+    }
+
+    private static List<Method> handlers() throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(RestController.class));
+        List<Method> handlers = new ArrayList<>();
+        for (BeanDefinition definition : scanner.findCandidateComponents("com.mobilebanking")) {
+            Class<?> type = ClassUtils.forName(definition.getBeanClassName(), null);
+            for (Method method : type.getDeclaredMethods()) {
+                if (Modifier.isPublic(method.getModifiers()) && mapping(method) != null) {
+                    handlers.add(method);
+                }
+            }
+        }
+        return handlers;
+    }
+
+    private static RequestMapping mapping(Method method) {
+        return AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+    }
+}
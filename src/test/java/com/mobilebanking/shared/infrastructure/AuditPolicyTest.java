@@ -0,0 +1,73 @@
+package com.mobilebanking.shared.infrastructure;
+
+import com.mobilebanking.shared.domain.AuditActionType;
+import com.mobilebanking.shared.domain.AuditEntityType;
+import com.mobilebanking.shared.domain.AuditService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class AuditPolicyTest {
+
+    private static final AuditActionType[] NONE = new AuditActionType[0];
+
+    @Mock
+    private AuditService auditService;
+
+    @Test
+    void shouldRecord_shouldApplyTheModeOfEachAction() {
+        // Given
+        AuditPolicy policy = new AuditPolicy(auditService, new AuditActionType[] {AuditActionType.TRANSACTION_VIEWED},
+                NONE, new AuditActionType[] {AuditActionType.BALANCE_CHECKED}, 0.0, new SimpleMeterRegistry());
+
+        // When & Then
+        assertThat(policy.shouldRecord("user-1", AuditActionType.MONEY_TRANSFERRED, AuditEntityType.WALLET)).isTrue();
+        assertThat(policy.shouldRecord("user-1", AuditActionType.TRANSACTION_VIEWED, AuditEntityType.SYSTEM)).isFalse();
+        assertThat(policy.shouldRecord("user-1", AuditActionType.BALANCE_CHECKED, AuditEntityType.WALLET)).isFalse();
+    }
+
+    @Test
+    void flushAggregates_shouldRecordOneCountPerUserAndAction() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AuditPolicy policy = new AuditPolicy(auditService, NONE,
+                new AuditActionType[] {AuditActionType.BALANCE_CHECKED}, NONE, 0.05, meterRegistry);
+        for (int i = 0; i < 40; i++) {
+            assertThat(policy.shouldRecord("user-" + (i % 2), AuditActionType.BALANCE_CHECKED,
+                    AuditEntityType.WALLET)).isFalse();
+        }
+        verifyNoInteractions(auditService);
+
+        // When
+        int recorded = policy.flushAggregates();
+
+        // Then
+        assertThat(recorded).isEqualTo(2);
+        verify(auditService).logUserAction(eq("user-0"), eq(AuditActionType.BALANCE_CHECKED),
+                eq(AuditEntityType.WALLET), isNull(), startsWith("20 calls between "), isNull());
+        verify(auditService).logUserAction(eq("user-1"), eq(AuditActionType.BALANCE_CHECKED),
+                eq(AuditEntityType.WALLET), isNull(), startsWith("20 calls between "), isNull());
+        assertThat(policy.flushAggregates()).isZero();
+        assertThat(meterRegistry.get("mobile_banking_audit_policy_events_total")
+                .tags("action", "BALANCE_CHECKED", "outcome", "aggregated").counter().count()).isEqualTo(40);
+    }
+
+    @Test
+    void constructor_withRequiredActionNotInFull_shouldFail() {
+        assertThatThrownBy(() -> new AuditPolicy(auditService, NONE, NONE,
+                new AuditActionType[] {AuditActionType.MONEY_TRANSFERRED}, 0.05, new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("MONEY_TRANSFERRED");
+    }
+}
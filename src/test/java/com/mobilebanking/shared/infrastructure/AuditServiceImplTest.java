@@ -2,7 +2,10 @@ package com.mobilebanking.shared.infrastructure;
 
 import com.mobilebanking.shared.domain.AuditActionType;
 import com.mobilebanking.shared.domain.AuditEntityType;
+import com.mobilebanking.shared.domain.AuditEvent;
 import com.mobilebanking.shared.domain.AuditLog;
+import com.mobilebanking.shared.domain.AuditLogFilter;
+import com.mobilebanking.shared.domain.AuditLogPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,18 +32,28 @@ class AuditServiceImplTest {
     @Mock
     private AuditLogRepository auditLogRepository;
 
+    @Mock
+    private AuditEventWriter auditEventWriter;
+
+    @Mock
+    private AuditLogArchive auditLogArchive;
+
+    @Mock
+    private AuditLogReader auditLogReader;
+
     private AuditServiceImpl auditService;
 
     @Captor
-    private ArgumentCaptor<AuditLog> auditLogCaptor;
+    private ArgumentCaptor<AuditEvent> auditEventCaptor;
 
     @BeforeEach
     void setUp() {
-        auditService = new AuditServiceImpl(auditLogRepository);
+        auditService = new AuditServiceImpl(auditLogRepository, auditEventWriter, auditLogArchive, auditLogReader,
+                (AuditHashChain) null);
     }
 
     @Test
-    void logUserAction_WithFullContext_ShouldSaveAuditLog() {
+    void logUserAction_WithFullContext_ShouldQueueAuditEvent() {
         // Given
         String userId = "user-123";
         AuditActionType actionType = AuditActionType.MONEY_TRANSFERRED;
@@ -53,21 +66,22 @@ class AuditServiceImplTest {
         auditService.logUserAction(userId, actionType, entityType, entityId, details, ipAddress);
 
         // Then
-        verify(auditLogRepository).save(auditLogCaptor.capture());
-        AuditLog capturedLog = auditLogCaptor.getValue();
-
-        assertNotNull(capturedLog.getId());
-        assertEquals(userId, capturedLog.getUserId());
-        assertEquals(actionType.toString(), capturedLog.getActionType());
-        assertEquals(entityType.toString(), capturedLog.getEntityType());
-        assertEquals(entityId, capturedLog.getEntityId());
-        assertEquals(details, capturedLog.getDetails());
-        assertEquals(ipAddress, capturedLog.getIpAddress());
-        assertNotNull(capturedLog.getCreatedAt());
+        verify(auditEventWriter).enqueue(auditEventCaptor.capture());
+        verifyNoInteractions(auditLogRepository);
+        AuditEvent capturedEvent = auditEventCaptor.getValue();
+
+        assertNotNull(capturedEvent.id());
+        assertEquals(userId, capturedEvent.userId());
+        assertEquals(actionType.toString(), capturedEvent.actionType());
+        assertEquals(entityType.toString(), capturedEvent.entityType());
+        assertEquals(entityId, capturedEvent.entityId());
+        assertEquals(details, capturedEvent.details());
+        assertEquals(ipAddress, capturedEvent.ipAddress());
+        assertNotNull(capturedEvent.createdAt());
     }
 
     @Test
-    void logUserAction_WithMinimalContext_ShouldSaveAuditLog() {
+    void logUserAction_WithMinimalContext_ShouldQueueAuditEvent() {
         // Given
         String userId = "user-123";
         AuditActionType actionType = AuditActionType.BALANCE_CHECKED;
@@ -77,19 +91,20 @@ class AuditServiceImplTest {
         auditService.logUserAction(userId, actionType, details);
 
         // Then
-        verify(auditLogRepository).save(auditLogCaptor.capture());
-        AuditLog capturedLog = auditLogCaptor.getValue();
-
-        assertNotNull(capturedLog.getId());
-        assertEquals(userId, capturedLog.getUserId());
-        assertEquals(actionType.toString(), capturedLog.getActionType());
-        assertEquals(AuditEntityType.USER.toString(), capturedLog.getEntityType());
-        assertEquals(userId, capturedLog.getEntityId());
-        assertEquals(details, capturedLog.getDetails());
+        verify(auditEventWriter).enqueue(auditEventCaptor.capture());
+        verifyNoInteractions(auditLogRepository);
+        AuditEvent capturedEvent = auditEventCaptor.getValue();
+
+        assertNotNull(capturedEvent.id());
+        assertEquals(userId, capturedEvent.userId());
+        assertEquals(actionType.toString(), capturedEvent.actionType());
+        assertEquals(AuditEntityType.USER.toString(), capturedEvent.entityType());
+        assertEquals(userId, capturedEvent.entityId());
+        assertEquals(details, capturedEvent.details());
     }
 
     @Test
-    void logSystemAction_ShouldSaveAuditLog() {
+    void logSystemAction_ShouldQueueAuditEvent() {
         // Given
         AuditActionType actionType = AuditActionType.SYSTEM_ERROR;
         AuditEntityType entityType = AuditEntityType.SYSTEM;
@@ -100,15 +115,16 @@ class AuditServiceImplTest {
         auditService.logSystemAction(actionType, entityType, entityId, details);
 
         // Then
-        verify(auditLogRepository).save(auditLogCaptor.capture());
-        AuditLog capturedLog = auditLogCaptor.getValue();
-
-        assertNotNull(capturedLog.getId());
-        assertEquals(null, capturedLog.getUserId());
-        assertEquals(actionType.toString(), capturedLog.getActionType());
-        assertEquals(entityType.toString(), capturedLog.getEntityType());
-        assertEquals(entityId, capturedLog.getEntityId());
-        assertEquals(details, capturedLog.getDetails());
+        verify(auditEventWriter).enqueue(auditEventCaptor.capture());
+        verifyNoInteractions(auditLogRepository);
+        AuditEvent capturedEvent = auditEventCaptor.getValue();
+
+        assertNotNull(capturedEvent.id());
+        assertEquals(null, capturedEvent.userId());
+        assertEquals(actionType.toString(), capturedEvent.actionType());
+        assertEquals(entityType.toString(), capturedEvent.entityType());
+        assertEquals(entityId, capturedEvent.entityId());
+        assertEquals(details, capturedEvent.details());
     }
 
     @Test
@@ -203,6 +219,50 @@ class AuditServiceImplTest {
         verify(auditLogRepository).findByDateRange(startDate, endDate);
     }
 
+    @Test
+    void getAuditLogsByDateRange_ShouldMergeArchivedLogsWithoutDuplicates() {
+        // Given - log-2 is both archived and still in the table
+        LocalDateTime startDate = LocalDateTime.now().minusDays(60);
+        LocalDateTime endDate = LocalDateTime.now();
+        AuditLog recent = auditLog("log-1", endDate.minusDays(1));
+        AuditLog overlap = auditLog("log-2", endDate.minusDays(31));
+        AuditLog old = auditLog("log-3", endDate.minusDays(45));
+        when(auditLogRepository.findByDateRange(startDate, endDate)).thenReturn(List.of(recent, overlap));
+        when(auditLogArchive.findByDateRange(startDate, endDate))
+                .thenReturn(List.of(auditLog("log-2", endDate.minusDays(31)), old));
+
+        // When
+        List<AuditLog> result = auditService.getAuditLogsByDateRange(startDate, endDate);
+
+        // Then
+        assertEquals(List.of(recent, overlap, old), result);
+    }
+
+    @Test
+    void getAuditLogsByDateRange_WithLimit_ShouldKeepTheMostRecentLogs() {
+        // Given
+        LocalDateTime startDate = LocalDateTime.now().minusDays(60);
+        LocalDateTime endDate = LocalDateTime.now();
+        AuditLog recent = auditLog("log-1", endDate.minusDays(1));
+        AuditLog archived = auditLog("log-2", endDate.minusDays(40));
+        AuditLog old = auditLog("log-3", endDate.minusDays(45));
+        when(auditLogReader.page(AuditLogFilter.between(startDate, endDate), null, 2))
+                .thenReturn(new AuditLogPage(List.of(recent), null));
+        when(auditLogArchive.findByDateRange(startDate, endDate, 2)).thenReturn(List.of(archived, old));
+
+        // When
+        List<AuditLog> result = auditService.getAuditLogsByDateRange(startDate, endDate, 2);
+
+        // Then
+        assertEquals(List.of(recent, archived), result);
+        verify(auditLogRepository, never()).findByDateRange(any(), any());
+    }
+
+    private static AuditLog auditLog(String id, LocalDateTime createdAt) {
+        return AuditLog.reconstitute(id, "user-1", AuditActionType.USER_LOGIN.toString(),
+                AuditEntityType.USER.toString(), "user-1", "Login", null, createdAt);
+    }
+
     private AuditLog createMockAuditLog(String id, String userId) {
         AuditLog log = mock(AuditLog.class);
         return log;
@@ -3,6 +3,7 @@ package com.mobilebanking.shared.infrastructure;
 import com.mobilebanking.shared.api.Audited;import com.mobilebanking.shared.domain.AuditActionType;
 import com.mobilebanking.shared.domain.AuditEntityType;
 import com.mobilebanking.shared.domain.AuditService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.junit.jupiter.api.BeforeEach;
@@ -37,7 +38,9 @@ class AuditedAspectTest {
 
     @BeforeEach
     void setUp() {
-        auditedAspect = new AuditedAspect(auditService, securityContextUtils);
+        AuditPolicy auditPolicy = new AuditPolicy(auditService, new AuditActionType[0], new AuditActionType[0],
+                new AuditActionType[0], 0.05, new SimpleMeterRegistry());
+        auditedAspect = new AuditedAspect(auditService, securityContextUtils, new AuditMetadataRegistry(), auditPolicy);
     }
 
     @Test
@@ -0,0 +1,52 @@
+package com.mobilebanking.shared.infrastructure;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Private in-memory H2 databases built from the Flyway migrations, for tests
+ * of JDBC code that run without a Spring context.
+ */
+public final class H2TestDatabase {
+
+    private H2TestDatabase() {
+    }
+
+    /**
+     * Creates a database of its own, kept open until the JVM exits, and
+     * applies the given migrations.
+     *
+     * @param name       prefix of the database name, for log and lock messages
+     * @param migrations file names under {@code db/migration}, in order
+     * @return a data source opening a new connection each time
+     * @throws SQLException if the database cannot be opened
+     */
+    public static DriverManagerDataSource create(String name, String... migrations) throws SQLException {
+        // Concurrent writers wait for row locks instead of failing at once
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000", "sa", "");
+        migrate(dataSource, migrations);
+        return dataSource;
+    }
+
+    /**
+     * Applies migrations to an existing database.
+     *
+     * @param dataSource the database
+     * @param migrations file names under {@code db/migration}, in order
+     * @throws SQLException if the database cannot be opened
+     */
+    public static void migrate(DataSource dataSource, String... migrations) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            for (String migration : migrations) {
+                ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/" + migration));
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.mobilebanking.shared.infrastructure;
+
+import com.mobilebanking.shared.domain.exception.HashingCapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PinHashingExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PinHashingExecutor executor = new PinHashingExecutor(1, 1, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void run_shouldReturnResultFromWorkerThread() {
+        // When
+        String threadName = executor.run(PinHashingExecutor.VERIFY, 10, () -> Thread.currentThread().getName());
+
+        // Then
+        assertThat(threadName).startsWith("pin-hash-");
+        assertThat(meterRegistry.get("mobile_banking_pin_hash_duration_seconds")
+                .tag("operation", "verify").tag("cost", "10").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void run_shouldPropagateTaskException() {
+        assertThatThrownBy(() -> executor.run(PinHashingExecutor.ENCODE, 10, () -> {
+            throw new IllegalArgumentException("bad pin");
+        })).isInstanceOf(IllegalArgumentException.class).hasMessage("bad pin");
+    }
+
+    @Test
+    void run_whenQueueIsFull_shouldRejectImmediately() throws Exception {
+        // Given - one task running and one queued
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(
+                () -> executor.run(PinHashingExecutor.VERIFY, 10, () -> {
+                    started.countDown();
+                    await(release);
+                    return true;
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(
+                () -> executor.run(PinHashingExecutor.VERIFY, 10, () -> true));
+        waitForQueueDepth(1);
+
+        // When & Then
+        assertThatThrownBy(() -> executor.run(PinHashingExecutor.VERIFY, 10, () -> true))
+                .isInstanceOf(HashingCapacityExceededException.class);
+        assertThat(meterRegistry.get("mobile_banking_pin_hash_rejected_total")
+                .tag("operation", "verify").counter().count()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void submit_shouldRunTaskInBackground() throws Exception {
+        // Given
+        CountDownLatch done = new CountDownLatch(1);
+
+        // When
+        boolean queued = executor.submit(PinHashingExecutor.REHASH, 12, done::countDown);
+
+        // Then
+        assertThat(queued).isTrue();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void submit_whenQueueIsFull_shouldReturnFalse() throws Exception {
+        // Given - one task running and one queued
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(PinHashingExecutor.REHASH, 12, () -> {
+            started.countDown();
+            await(release);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.submit(PinHashingExecutor.REHASH, 12, () -> { });
+
+        // When
+        boolean queued = executor.submit(PinHashingExecutor.REHASH, 12, () -> { });
+
+        // Then
+        assertThat(queued).isFalse();
+        assertThat(meterRegistry.get("mobile_banking_pin_hash_rejected_total")
+                .tag("operation", "rehash").counter().count()).isEqualTo(1.0);
+        release.countDown();
+    }
+
+    @Test
+    void constructor_withInvalidSizing_shouldThrow() {
+        assertThatThrownBy(() -> new PinHashingExecutor(0, 1, meterRegistry))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new PinHashingExecutor(0.0, 1, meterRegistry))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("mobile_banking_pin_hash_queue_depth").gauge().value() < depth) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Queue never reached depth " + depth);
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.mobilebanking.shared.infrastructure;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for SchedulerLock against an H2 database created from the
+ * scheduler_locks migration, with two instances sharing it.
+ */
+class SchedulerLockTest {
+
+    private static final Duration LEASE_TIME = Duration.ofMinutes(5);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private SchedulerLock first;
+    private SchedulerLock second;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(
+                H2TestDatabase.create("scheduler-lock", "V13__create_scheduler_locks_table.sql"));
+        first = new SchedulerLock(jdbcTemplate, clock, "first");
+        second = new SchedulerLock(jdbcTemplate, clock, "second");
+    }
+
+    @Test
+    void tryAcquire_whileHeldElsewhere_shouldFailUntilReleased() {
+        // Given
+        Optional<SchedulerLock.Lease> lease = first.tryAcquire("job", LEASE_TIME);
+
+        // When
+        Optional<SchedulerLock.Lease> competing = second.tryAcquire("job", LEASE_TIME);
+        lease.orElseThrow().close();
+        Optional<SchedulerLock.Lease> afterRelease = second.tryAcquire("job", LEASE_TIME);
+
+        // Then
+        assertThat(lease).isPresent();
+        assertThat(competing).isEmpty();
+        assertThat(afterRelease).isPresent();
+        assertThat(first.tryAcquire("other-job", LEASE_TIME)).isPresent();
+    }
+
+    @Test
+    void tryAcquire_afterTheLeaseRanOut_shouldTakeItOver() {
+        // Given - the holder stopped without releasing
+        SchedulerLock.Lease lease = first.tryAcquire("job", LEASE_TIME).orElseThrow();
+        clock.advance(LEASE_TIME.plusSeconds(1));
+
+        // When
+        Optional<SchedulerLock.Lease> takenOver = second.tryAcquire("job", LEASE_TIME);
+
+        // Then - the old holder can no longer extend or release it
+        assertThat(takenOver).isPresent();
+        assertThat(lease.extend()).isFalse();
+        lease.close();
+        assertThat(first.tryAcquire("job", LEASE_TIME)).isEmpty();
+    }
+
+    @Test
+    void extend_shouldKeepTheLeasePastItsFirstTerm() {
+        // Given
+        SchedulerLock.Lease lease = first.tryAcquire("job", LEASE_TIME).orElseThrow();
+        clock.advance(LEASE_TIME.minusSeconds(1));
+
+        // When
+        boolean extended = lease.extend();
+        clock.advance(Duration.ofSeconds(2));
+
+        // Then
+        assertThat(extended).isTrue();
+        assertThat(second.tryAcquire("job", LEASE_TIME)).isEmpty();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.mobilebanking.shared.infrastructure.segment;
+
+import com.mobilebanking.shared.domain.AuditActionType;
+import com.mobilebanking.shared.domain.AuditEntityType;
+import com.mobilebanking.shared.domain.AuditEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditSegmentStoreTest {
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        directory = Files.createTempDirectory("audit-segments");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Test
+    void find_shouldFilterByUserActionEntityAndTime() {
+        // Given
+        AuditSegmentStore store = new AuditSegmentStore(directory, 1 << 20, 4, 4);
+        for (int i = 0; i < 20; i++) {
+            store.append(event("user-" + (i % 3), i % 2 == 0 ? AuditActionType.USER_LOGIN
+                    : AuditActionType.MONEY_TRANSFERRED, "tx-" + i, "event " + i, now.minusMinutes(20 - i)));
+        }
+
+        // When & Then
+        assertThat(store.find(AuditQuery.byUser("user-1"))).hasSize(7)
+                .allMatch(event -> event.userId().equals("user-1"))
+                .isSortedAccordingTo((a, b) -> b.createdAt().compareTo(a.createdAt()));
+        assertThat(store.find(AuditQuery.byActionType("MONEY_TRANSFERRED"))).hasSize(10);
+        assertThat(store.find(AuditQuery.byEntity("TRANSACTION", "tx-7")))
+                .singleElement().satisfies(event -> assertThat(event.details()).isEqualTo("event 7"));
+        assertThat(store.find(AuditQuery.between(now.minusMinutes(5), now))).hasSize(5);
+        assertThat(store.find(AuditQuery.byUser("nobody"))).isEmpty();
+    }
+
+    @Test
+    void append_shouldRollSegmentsAndKeepOneChainAcrossRestarts() {
+        // Given - small segments hold a handful of records each
+        AuditSegmentStore store = new AuditSegmentStore(directory, 4096, 8, 4);
+        for (int i = 0; i < 100; i++) {
+            store.append(event("user-1", AuditActionType.BALANCE_CHECKED, "w-" + i, "check " + i, now));
+        }
+        store.close();
+
+        // When
+        AuditSegmentStore reopened = new AuditSegmentStore(directory, 4096, 8, 4);
+        reopened.append(event("user-1", AuditActionType.BALANCE_CHECKED, "w-100", "check 100", now));
+
+        // Then
+        assertThat(reopened.segmentCount()).isGreaterThan(1);
+        assertThat(reopened.find(AuditQuery.byUser("user-1"))).hasSize(101);
+        AuditSegmentStore.Verification verification = reopened.verify();
+        assertThat(verification.valid()).isTrue();
+        assertThat(verification.records()).isEqualTo(101);
+    }
+
+    @Test
+    void append_shouldRetireSealedSegmentsAndStillReadThem() {
+        // Given - one hour per record, with only the active segment kept mapped
+        AuditSegmentStore store = new AuditSegmentStore(directory, 4096, 8, 1);
+        for (int i = 0; i < 100; i++) {
+            store.append(event("user-" + (i % 2), AuditActionType.BALANCE_CHECKED, "w-" + i, "check " + i,
+                    now.minusHours(100 - i)));
+        }
+
+        // When
+        List<AuditEvent> oldest = store.find(AuditQuery.between(now.minusHours(100), now.minusHours(96)));
+        List<AuditEvent> user = store.find(AuditQuery.byUser("user-1"));
+        AuditSegmentStore.Verification verification = store.verify();
+
+        // Then
+        assertThat(store.segmentCount()).isGreaterThan(2);
+        assertThat(store.mappedSegmentCount()).isEqualTo(1);
+        assertThat(oldest).extracting(AuditEvent::details)
+                .containsExactly("check 4", "check 3", "check 2", "check 1", "check 0");
+        assertThat(user).hasSize(50);
+        assertThat(verification.valid()).isTrue();
+        assertThat(verification.records()).isEqualTo(100);
+    }
+
+    @Test
+    void verify_withTamperedRecord_shouldReportTheSegment() throws Exception {
+        // Given
+        AuditSegmentStore store = new AuditSegmentStore(directory, 4096, 8, 4);
+        for (int i = 0; i < 60; i++) {
+            store.append(event("user-1", AuditActionType.BALANCE_CHECKED, "w-" + i,
+                    i == 3 ? "amount 100" : "check " + i, now));
+        }
+        store.close();
+
+        // When - rewrite the amount in the first segment
+        replace(segmentFiles().get(0), "amount 100", "amount 900");
+        AuditSegmentStore.Verification verification = new AuditSegmentStore(directory, 4096, 8, 4).verify();
+
+        // Then
+        assertThat(verification.valid()).isFalse();
+        assertThat(verification.problem()).startsWith("Segment 0");
+    }
+
+    @Test
+    void open_withTornNewestRecord_shouldCutItOffAndContinueTheChain() throws Exception {
+        // Given - a crash left the newest record half written
+        AuditSegmentStore store = new AuditSegmentStore(directory, 1 << 16, 8, 4);
+        store.append(event("user-1", AuditActionType.USER_LOGIN, "u-1", "first", now));
+        store.append(event("user-1", AuditActionType.USER_LOGIN, "u-1", "torn record", now));
+        store.close();
+        replace(segmentFiles().get(0), "torn record", "xxxx\0\0\0\0\0\0\0");
+
+        // When
+        AuditSegmentStore reopened = new AuditSegmentStore(directory, 1 << 16, 8, 4);
+        reopened.append(event("user-1", AuditActionType.USER_LOGIN, "u-1", "after restart", now));
+
+        // Then
+        List<AuditEvent> events = reopened.find(AuditQuery.byUser("user-1"));
+        assertThat(events).extracting(AuditEvent::details).containsExactlyInAnyOrder("first", "after restart");
+        assertThat(reopened.verify().valid()).isTrue();
+    }
+
+    private static AuditEvent event(String userId, AuditActionType actionType, String entityId, String details,
+            LocalDateTime createdAt) {
+        AuditEvent event = AuditEvent.of(userId, actionType, AuditEntityType.TRANSACTION, entityId, details, null);
+        return new AuditEvent(event.id(), event.userId(), event.actionType(), event.entityType(), event.entityId(),
+                event.details(), event.ipAddress(), createdAt);
+    }
+
+    private List<Path> segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static void replace(Path file, String from, String to) throws Exception {
+        byte[] content = Files.readAllBytes(file);
+        byte[] target = from.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i + target.length <= content.length; i++) {
+            if (Arrays.equals(content, i, i + target.length, target, 0, target.length)) {
+                try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+                    raf.seek(i);
+                    raf.write(to.getBytes(StandardCharsets.UTF_8));
+                }
+                return;
+            }
+        }
+        throw new AssertionError(from + " not found in " + file);
+    }
+}
@@ -0,0 +1,140 @@
+package com.mobilebanking.transaction.api;
+
+import com.mobilebanking.auth.domain.JwtTokenService;
+import com.mobilebanking.shared.domain.Money;
+import com.mobilebanking.shared.domain.PhoneNumber;
+import com.mobilebanking.user.domain.User;
+import com.mobilebanking.user.domain.UserName;
+import com.mobilebanking.user.infrastructure.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for selecting the compact binary representation through
+ * the Accept header.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class WalletControllerBinaryFormatTest {
+
+    private static final MediaType PROTOBUF = MediaType.parseMediaType("application/x-protobuf");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenService jwtTokenService;
+
+    private String jwtToken;
+
+    @BeforeEach
+    void setup() {
+        User testUser = User.create(
+                UserName.of("Binary User"),
+                PhoneNumber.of("+15550001111"),
+                "1234");
+        testUser.creditBalance(Money.of(12.34));
+        testUser = userRepository.save(testUser);
+
+        jwtToken = jwtTokenService.generateToken(testUser.getId());
+    }
+
+    @Test
+    void getBalance_withProtobufAccept_returnsCompactBinary() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/wallet/balance")
+                .header("Authorization", "Bearer " + jwtToken)
+                .accept(PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(PROTOBUF))
+                .andReturn();
+
+        // status=SUCCESS, data={amount_cents=1234, currency="GHS"}
+        byte[] expected = { 0x08, 0x01, 0x1A, 8, 0x08, (byte) 0xD2, 0x09, 0x12, 3, 'G', 'H', 'S' };
+        assertArrayEquals(expected, result.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    void getBalance_withoutAccept_staysJson() throws Exception {
+        mockMvc.perform(get("/api/wallet/balance")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void getPagedHistory_withProtobufAccept_isSmallerThanJson() throws Exception {
+        byte[] json = mockMvc.perform(get("/api/wallet/transactions/paged")
+                .header("Authorization", "Bearer " + jwtToken)
+                .accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        MvcResult result = mockMvc.perform(get("/api/wallet/transactions/paged")
+                .header("Authorization", "Bearer " + jwtToken)
+                .accept(PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(PROTOBUF))
+                .andReturn();
+
+        assertNotNull(result.getResponse().getHeader(HttpHeaders.ETAG));
+        assertTrue(result.getResponse().getContentAsByteArray().length < json.length);
+    }
+
+    @Test
+    void getBalance_withJsonETagAndProtobufAccept_returnsBinaryWithItsOwnETag() throws Exception {
+        String jsonETag = mockMvc.perform(get("/api/wallet/balance")
+                .header("Authorization", "Bearer " + jwtToken)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult result = mockMvc.perform(get("/api/wallet/balance")
+                .header("Authorization", "Bearer " + jwtToken)
+                .header(HttpHeaders.IF_NONE_MATCH, jsonETag)
+                .accept(PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(PROTOBUF))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn();
+
+        assertEquals("\"1\"", jsonETag);
+        assertEquals("\"1-pb\"", result.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void getBalance_withWeightedAccept_returnsETagOfTheRepresentationSent() throws Exception {
+        mockMvc.perform(get("/api/wallet/balance")
+                .header("Authorization", "Bearer " + jwtToken)
+                .header(HttpHeaders.ACCEPT, "application/json;q=0.5, application/x-protobuf"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(PROTOBUF))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-pb\""));
+
+        mockMvc.perform(get("/api/wallet/balance")
+                .header("Authorization", "Bearer " + jwtToken)
+                .header(HttpHeaders.ACCEPT, "application/x-protobuf;q=0.5, */*"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+}
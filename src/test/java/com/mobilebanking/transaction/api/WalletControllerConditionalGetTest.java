@@ -0,0 +1,132 @@
+package com.mobilebanking.transaction.api;
+
+import com.mobilebanking.auth.domain.JwtTokenService;
+import com.mobilebanking.shared.domain.Money;
+import com.mobilebanking.shared.domain.PhoneNumber;
+import com.mobilebanking.user.domain.User;
+import com.mobilebanking.user.domain.UserName;
+import com.mobilebanking.user.infrastructure.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for conditional GET (ETag / If-None-Match) on wallet
+ * endpoints.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class WalletControllerConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenService jwtTokenService;
+
+    private User testUser;
+    private String jwtToken;
+
+    @BeforeEach
+    void setup() {
+        testUser = User.create(
+                UserName.of("Test User"),
+                PhoneNumber.of("+15550001111"),
+                "1234");
+        testUser.creditBalance(Money.of(100.0));
+        testUser = userRepository.save(testUser);
+
+        jwtToken = jwtTokenService.generateToken(testUser.getId());
+    }
+
+    @Test
+    void getBalance_returnsETagOfWalletVersion() throws Exception {
+        // When: The balance is requested
+        MvcResult result = mockMvc.perform(get("/api/wallet/balance")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then: The response carries a strong ETag and requires revalidation
+        assertEquals("\"1\"", result.getResponse().getHeader(HttpHeaders.ETAG));
+        assertTrue(result.getResponse().getHeader(HttpHeaders.CACHE_CONTROL).contains("no-cache"));
+    }
+
+    @Test
+    void getBalance_withMatchingETag_returnsNotModified() throws Exception {
+        // Given: The ETag from a previous response
+        String eTag = mockMvc.perform(get("/api/wallet/balance")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When: The balance is requested again with If-None-Match
+        MvcResult result = mockMvc.perform(get("/api/wallet/balance")
+                .header("Authorization", "Bearer " + jwtToken)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+
+        // Then: No body is sent
+        assertEquals(0, result.getResponse().getContentLength());
+        assertEquals(eTag, result.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void getBalance_afterDeposit_returnsNewETag() throws Exception {
+        // Given: The ETag before a deposit
+        String eTag = mockMvc.perform(get("/api/wallet/balance")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(post("/api/wallet/deposit")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"amount\": 25.0}"))
+                .andExpect(status().isOk());
+
+        // When: The balance is requested with the stale ETag
+        MvcResult result = mockMvc.perform(get("/api/wallet/balance")
+                .header("Authorization", "Bearer " + jwtToken)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then: The full representation is returned with the new ETag
+        assertEquals("\"2\"", result.getResponse().getHeader(HttpHeaders.ETAG));
+        assertTrue(result.getResponse().getContentAsString().contains("125.0"));
+    }
+
+    @Test
+    void getPagedHistory_withMatchingETag_returnsNotModified() throws Exception {
+        // Given: The ETag from a previous page fetch
+        String eTag = mockMvc.perform(get("/api/wallet/transactions/paged")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+
+        // When & Then: The same page requested with If-None-Match is not modified
+        mockMvc.perform(get("/api/wallet/transactions/paged")
+                .header("Authorization", "Bearer " + jwtToken)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+}
@@ -0,0 +1,150 @@
+package com.mobilebanking.transaction.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mobilebanking.auth.domain.JwtTokenService;
+import com.mobilebanking.shared.domain.PhoneNumber;
+import com.mobilebanking.user.domain.User;
+import com.mobilebanking.user.domain.UserName;
+import com.mobilebanking.user.infrastructure.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the delta-sync transaction changes endpoint.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class WalletControllerTransactionChangesTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenService jwtTokenService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String senderToken;
+    private String recipientToken;
+
+    @BeforeEach
+    void setup() {
+        User sender = userRepository.save(User.create(
+                UserName.of("Sync Sender"), PhoneNumber.of("+15550001111"), "1234"));
+        User recipient = userRepository.save(User.create(
+                UserName.of("Sync Recipient"), PhoneNumber.of("+15550002222"), "4321"));
+
+        senderToken = jwtTokenService.generateToken(sender.getId());
+        recipientToken = jwtTokenService.generateToken(recipient.getId());
+    }
+
+    @Test
+    void getChanges_withoutNewTransactions_returnsEmptyListAndSameCursor() throws Exception {
+        // Given: A deposit the client has already synced
+        deposit(senderToken, 50.0);
+        String cursor = changes(senderToken, "0").path("cursor").asText();
+
+        // When: The client syncs again with its cursor
+        JsonNode data = changes(senderToken, cursor);
+
+        // Then: Nothing new is returned and the cursor is unchanged
+        assertEquals(0, data.path("transactions").size());
+        assertEquals(cursor, data.path("cursor").asText());
+        assertEquals(50.0, data.path("balance").asDouble());
+    }
+
+    @Test
+    void getChanges_returnsOnlyTransactionsAfterCursor() throws Exception {
+        // Given: The sender synced after the first deposit
+        deposit(senderToken, 100.0);
+        String cursor = changes(senderToken, "0").path("cursor").asText();
+
+        // When: A transfer happens and the sender syncs again
+        mockMvc.perform(post("/api/wallet/send")
+                .header("Authorization", "Bearer " + senderToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"recipientPhone\": \"+15550002222\", \"amount\": 30.0}"))
+                .andExpect(status().isOk());
+        JsonNode senderData = changes(senderToken, cursor);
+
+        // Then: Only the transfer is returned with the new balance
+        assertEquals(1, senderData.path("transactions").size());
+        assertEquals("sent", senderData.path("transactions").get(0).path("direction").asText());
+        assertEquals(70.0, senderData.path("balance").asDouble());
+        assertNotEquals(cursor, senderData.path("cursor").asText());
+
+        // And: The recipient sees the transfer from its own first sync
+        JsonNode recipientData = changes(recipientToken, "0");
+        assertEquals(1, recipientData.path("transactions").size());
+        assertEquals("received", recipientData.path("transactions").get(0).path("direction").asText());
+    }
+
+    @Test
+    void getChanges_withLimit_pagesThroughChangesInOrder() throws Exception {
+        // Given: Three deposits
+        deposit(senderToken, 1.0);
+        deposit(senderToken, 2.0);
+        deposit(senderToken, 3.0);
+
+        // When: The client syncs two at a time
+        JsonNode first = changes(senderToken, "0", 2);
+        JsonNode second = changes(senderToken, first.path("cursor").asText(), 2);
+
+        // Then: The changes arrive oldest first without gaps or duplicates
+        assertTrue(first.path("hasMore").asBoolean());
+        assertEquals(1.0, first.path("transactions").get(0).path("amount").asDouble());
+        assertEquals(2.0, first.path("transactions").get(1).path("amount").asDouble());
+        assertFalse(second.path("hasMore").asBoolean());
+        assertEquals(1, second.path("transactions").size());
+        assertEquals(3.0, second.path("transactions").get(0).path("amount").asDouble());
+    }
+
+    @Test
+    void getChanges_withNegativeCursor_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/wallet/transactions/changes")
+                .param("since", "-1")
+                .header("Authorization", "Bearer " + senderToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void deposit(String token, double amount) throws Exception {
+        mockMvc.perform(post("/api/wallet/deposit")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"amount\": " + amount + "}"))
+                .andExpect(status().isOk());
+    }
+
+    private JsonNode changes(String token, String since) throws Exception {
+        return changes(token, since, 50);
+    }
+
+    private JsonNode changes(String token, String since, int limit) throws Exception {
+        String body = mockMvc.perform(get("/api/wallet/transactions/changes")
+                .param("since", since)
+                .param("limit", String.valueOf(limit))
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("data");
+    }
+}
@@ -13,6 +13,7 @@ import com.mobilebanking.observability.ObservabilityService;
 import com.mobilebanking.user.domain.HashedPin;
 import com.mobilebanking.user.domain.User;
 import com.mobilebanking.user.domain.UserName;
+import com.mobilebanking.user.infrastructure.PhoneNumberDirectory;
 import com.mobilebanking.user.infrastructure.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -46,6 +47,9 @@ class WalletServiceTransferTest {
     @Mock
     private ObservabilityService observabilityService;
 
+    @Mock
+    private PhoneNumberDirectory phoneNumberDirectory;
+
     @Mock
     private Authentication authentication;
 
@@ -75,7 +79,7 @@ class WalletServiceTransferTest {
 
         // Initialize the service with mocked dependencies
         walletService = new WalletService(userRepository, transactionRepository, moneyTransferService,
-                notificationService, observabilityService) {
+                notificationService, observabilityService, phoneNumberDirectory) {
             @Override
             protected Authentication getAuthentication() {
                 return authentication;
@@ -92,7 +96,8 @@ class WalletServiceTransferTest {
         // Given
         Money transferAmount = Money.of(100.00);
         when(userRepository.findByUserIdForUpdate(senderId.asString())).thenReturn(Optional.of(sender));
-        when(userRepository.findByPhoneForUpdate(recipientPhone)).thenReturn(Optional.of(recipient));
+        when(phoneNumberDirectory.resolve(recipientPhone)).thenReturn(Optional.of(recipientId));
+        when(userRepository.findByUserIdForUpdate(recipientId.asString())).thenReturn(Optional.of(recipient));
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
@@ -121,7 +126,7 @@ class WalletServiceTransferTest {
         // Given
         Money transferAmount = Money.of(100.00);
         when(userRepository.findByUserIdForUpdate(senderId.asString())).thenReturn(Optional.of(sender));
-        when(userRepository.findByPhoneForUpdate(recipientPhone)).thenReturn(Optional.empty());
+        when(phoneNumberDirectory.resolve(recipientPhone)).thenReturn(Optional.empty());
 
         // When/Then
         UserNotFoundException exception = assertThrows(UserNotFoundException.class, () -> {
@@ -143,7 +148,8 @@ class WalletServiceTransferTest {
         // Given
         Money transferAmount = Money.of(2000.00);
         when(userRepository.findByUserIdForUpdate(senderId.asString())).thenReturn(Optional.of(sender));
-        when(userRepository.findByPhoneForUpdate(recipientPhone)).thenReturn(Optional.of(recipient));
+        when(phoneNumberDirectory.resolve(recipientPhone)).thenReturn(Optional.of(recipientId));
+        when(userRepository.findByUserIdForUpdate(recipientId.asString())).thenReturn(Optional.of(recipient));
         doThrow(InsufficientFundsException.forTransfer(transferAmount, sender.getBalance()))
                 .when(moneyTransferService).validateTransferRequest(any(), any(), any(), any());
 
@@ -168,7 +174,7 @@ class WalletServiceTransferTest {
         Money transferAmount = Money.of(100.00);
         PhoneNumber senderPhone = sender.getPhone();
         when(userRepository.findByUserIdForUpdate(senderId.asString())).thenReturn(Optional.of(sender));
-        when(userRepository.findByPhoneForUpdate(senderPhone)).thenReturn(Optional.of(sender));
+        when(phoneNumberDirectory.resolve(senderPhone)).thenReturn(Optional.of(senderId));
         doThrow(new IllegalArgumentException("Cannot transfer money to yourself"))
                 .when(moneyTransferService).validateTransferRequest(any(), any(), any(), any());
 
@@ -191,7 +197,8 @@ class WalletServiceTransferTest {
         // Given
         Money transferAmount = Money.zero();
         when(userRepository.findByUserIdForUpdate(senderId.asString())).thenReturn(Optional.of(sender));
-        when(userRepository.findByPhoneForUpdate(recipientPhone)).thenReturn(Optional.of(recipient));
+        when(phoneNumberDirectory.resolve(recipientPhone)).thenReturn(Optional.of(recipientId));
+        when(userRepository.findByUserIdForUpdate(recipientId.asString())).thenReturn(Optional.of(recipient));
         doThrow(new IllegalArgumentException("Transfer amount must be greater than zero"))
                 .when(moneyTransferService).validateTransferRequest(any(), any(), any(), any());
 
@@ -209,4 +216,24 @@ class WalletServiceTransferTest {
         verify(userRepository, never()).save(any(User.class));
         verify(transactionRepository, never()).save(any(Transaction.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldFallBackToPhoneLookupWhenDirectoryEntryIsStale() {
+        // Given - the directory still maps the number to a deleted user
+        UserId deletedId = UserId.generate();
+        Money transferAmount = Money.of(100.00);
+        when(userRepository.findByUserIdForUpdate(senderId.asString())).thenReturn(Optional.of(sender));
+        when(phoneNumberDirectory.resolve(recipientPhone)).thenReturn(Optional.of(deletedId));
+        when(userRepository.findByUserIdForUpdate(deletedId.asString())).thenReturn(Optional.empty());
+        when(userRepository.findByPhoneForUpdate(recipientPhone)).thenReturn(Optional.of(recipient));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Transaction transaction = walletService.transferMoney(recipientPhone.getValue(), transferAmount);
+
+        // Then
+        assertEquals(recipientId.asString(), transaction.getReceiverId().asString());
+        verify(phoneNumberDirectory).remove(recipientPhone, deletedId);
+        verify(phoneNumberDirectory).add(recipientPhone, recipientId);
+    }
+}
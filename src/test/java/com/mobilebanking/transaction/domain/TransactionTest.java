@@ -150,6 +150,33 @@ class TransactionTest {
     assertFalse(depositTransaction.involvesUser(null));
   }
 
+  @Test
+  @DisplayName("Should report the wallet version each participant reached")
+  void shouldReportWalletVersionForEachParticipant() {
+    // Given
+    Transaction transaction = Transaction.createTransfer(senderId, receiverId, amount);
+
+    // When
+    transaction.recordWalletVersions(7L, 3L);
+
+    // Then
+    assertEquals(7L, transaction.getWalletVersionFor(senderId));
+    assertEquals(3L, transaction.getWalletVersionFor(receiverId));
+    assertThrows(IllegalArgumentException.class, () -> transaction.getWalletVersionFor(UserId.generate()));
+  }
+
+  @Test
+  @DisplayName("Should reject wallet versions that do not match the transaction type")
+  void shouldRejectWalletVersionsNotMatchingType() {
+    // Given
+    Transaction transfer = Transaction.createTransfer(senderId, receiverId, amount);
+    Transaction deposit = Transaction.createDeposit(receiverId, amount);
+
+    // When & Then
+    assertThrows(IllegalArgumentException.class, () -> transfer.recordWalletVersions(null, 1L));
+    assertThrows(IllegalArgumentException.class, () -> deposit.recordWalletVersions(1L, 1L));
+  }
+
   @Test
   @DisplayName("Should have proper equality based on transaction ID")
   void shouldHaveProperEqualityBasedOnTransactionId() {
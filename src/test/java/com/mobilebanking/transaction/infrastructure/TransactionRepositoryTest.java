@@ -4,13 +4,17 @@ import com.mobilebanking.shared.domain.Money;
 import com.mobilebanking.shared.domain.TransactionId;
 import com.mobilebanking.shared.domain.UserId;
 import com.mobilebanking.transaction.domain.Transaction;
+import com.mobilebanking.transaction.domain.TransactionHistoryEntry;
 import com.mobilebanking.transaction.domain.TransactionType;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.Instant;
@@ -310,4 +314,56 @@ class TransactionRepositoryTest {
         // Then
         assertThat(transactionRepository.count()).isEqualTo(2);
     }
+
+    @Test
+    @DisplayName("Should project history entries resolved for the viewing user")
+    void shouldProjectHistoryEntriesForViewingUser() {
+        // Given
+        transferTransaction.recordWalletVersions(4L, 1L);
+        depositTransaction.recordWalletVersions(null, 2L);
+        transactionRepository.save(transferTransaction);
+        transactionRepository.save(depositTransaction);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<TransactionHistoryEntry> senderEntries = transactionRepository.findHistoryEntriesByUser(senderId);
+        List<TransactionHistoryEntry> receiverEntries = transactionRepository.findHistoryEntriesByUser(receiverId);
+
+        // Then
+        assertThat(senderEntries).singleElement().satisfies(entry -> {
+            assertThat(entry.transactionId()).isEqualTo(transferTransaction.getId().asString());
+            assertThat(entry.amount()).isEqualByComparingTo("100.00");
+            assertThat(entry.type()).isEqualTo(TransactionType.TRANSFER);
+            assertThat(entry.direction()).isEqualTo("sent");
+            assertThat(entry.counterpartyId()).isEqualTo(receiverId.asString());
+            assertThat(entry.walletVersion()).isEqualTo(4L);
+        });
+        assertThat(receiverEntries).extracting(TransactionHistoryEntry::direction)
+                .containsExactlyInAnyOrder("received", "deposit");
+        assertThat(receiverEntries).filteredOn(entry -> entry.type() == TransactionType.DEPOSIT)
+                .singleElement()
+                .satisfies(entry -> assertThat(entry.counterpartyId()).isNull());
+        // No entities were loaded into the persistence context
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Should page projected history entries with total count")
+    void shouldPageProjectedHistoryEntries() {
+        // Given
+        transactionRepository.save(transferTransaction);
+        transactionRepository.save(depositTransaction);
+        transactionRepository.save(Transaction.createTransfer(receiverId, thirdUserId, Money.of(5.00)));
+        entityManager.flush();
+
+        // When
+        Page<TransactionHistoryEntry> page = transactionRepository.findHistoryEntriesByUser(
+                receiverId, PageRequest.of(0, 2));
+
+        // Then
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+    }
 }
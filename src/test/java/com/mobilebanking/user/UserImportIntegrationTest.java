@@ -0,0 +1,163 @@
+package com.mobilebanking.user;
+
+import com.mobilebanking.shared.domain.Money;
+import com.mobilebanking.shared.domain.PhoneNumber;
+import com.mobilebanking.transaction.domain.Transaction;
+import com.mobilebanking.transaction.infrastructure.TransactionRepository;
+import com.mobilebanking.user.domain.HashedPin;
+import com.mobilebanking.user.domain.User;
+import com.mobilebanking.user.domain.UserImport;
+import com.mobilebanking.user.domain.UserName;
+import com.mobilebanking.user.infrastructure.UserImportRepository;
+import com.mobilebanking.user.infrastructure.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the bulk user import endpoint.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class UserImportIntegrationTest {
+
+    private static final String HEADER = "name,phone,pin,opening_balance\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserImportRepository userImportRepository;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importUsers_shouldLoadValidRowsWithOpeningBalances() throws Exception {
+        // Given
+        userRepository.save(User.create(UserName.of("Existing User"), PhoneNumber.of("+15550003333"), "1234"));
+        String preHashed = HashedPin.fromRawPin("5678").getHashedValue();
+        String csv = HEADER
+                + "\"Jane O'Doe\",+15550001111,1234,25.50\n"
+                + "John Smith,+15550002222," + preHashed + ",\n"
+                + "Existing User,+15550003333,1234,10\n"
+                + "Bad Pin,+15550004444,12,10\n"
+                + "\n"
+                + "Twice Listed,+15550001111,1234,10\n";
+
+        // When
+        importCsv("import-1", csv)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.rowsProcessed", is(5)))
+                .andExpect(jsonPath("$.rowsImported", is(2)))
+                .andExpect(jsonPath("$.rowsSkipped", is(3)));
+
+        // Then
+        User jane = userRepository.findByPhone(PhoneNumber.of("+15550001111")).orElseThrow();
+        assertThat(jane.getName().getValue()).isEqualTo("Jane O'Doe");
+        assertThat(jane.getBalance()).isEqualTo(Money.of(25.50));
+        assertThat(jane.getWalletVersion()).isEqualTo(1);
+        assertThat(jane.getPin().matches("1234")).isTrue();
+        List<Transaction> deposits = transactionRepository.findByReceiverOrderByTimestampDesc(jane.getId());
+        assertThat(deposits).singleElement().satisfies(deposit -> {
+            assertThat(deposit.isDeposit()).isTrue();
+            assertThat(deposit.getAmount()).isEqualTo(Money.of(25.50));
+            assertThat(deposit.getWalletVersionFor(jane.getId())).isEqualTo(1);
+        });
+
+        User john = userRepository.findByPhone(PhoneNumber.of("+15550002222")).orElseThrow();
+        assertThat(john.getPin().getHashedValue()).isEqualTo(preHashed);
+        assertThat(john.getBalance().isZero()).isTrue();
+        assertThat(transactionRepository.findByReceiverOrderByTimestampDesc(john.getId())).isEmpty();
+        assertThat(userRepository.findByPhone(PhoneNumber.of("+15550004444"))).isEmpty();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importUsers_withCheckpoint_shouldResumeAfterCommittedRows() throws Exception {
+        // Given - a failed run already committed the first row
+        UserImport failed = UserImport.start("import-2");
+        failed.recordBatch(1, 1, 0);
+        failed.fail("connection reset");
+        userImportRepository.save(failed);
+        String csv = HEADER
+                + "Already Loaded,+15550001111,1234,0\n"
+                + "Second User,+15550002222,1234,0\n";
+
+        // When
+        importCsv("import-2", csv)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.rowsProcessed", is(2)))
+                .andExpect(jsonPath("$.rowsImported", is(2)));
+
+        // Then
+        assertThat(userRepository.findByPhone(PhoneNumber.of("+15550001111"))).isEmpty();
+        assertThat(userRepository.findByPhone(PhoneNumber.of("+15550002222"))).isPresent();
+        mockMvc.perform(get("/api/admin/user-imports/import-2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("COMPLETED")));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importUsers_whenAlreadyCompleted_shouldNotLoadAgain() throws Exception {
+        // Given
+        String csv = HEADER + "First User,+15550001111,1234,0\n";
+        importCsv("import-3", csv).andExpect(status().isOk());
+
+        // When & Then
+        importCsv("import-3", HEADER + "Other User,+15550002222,1234,0\n")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsImported", is(1)));
+        assertThat(userRepository.findByPhone(PhoneNumber.of("+15550002222"))).isEmpty();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importUsers_withoutHeader_shouldFail() throws Exception {
+        importCsv("import-4", "First User,+15550001111,1234,0\n")
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.status", is("FAILED")));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importUsers_withInvalidImportId_shouldReturnBadRequest() throws Exception {
+        importCsv("bad id!", HEADER).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void importUsers_withoutAdminRole_shouldBeForbidden() throws Exception {
+        importCsv("import-5", HEADER).andExpect(status().isForbidden());
+    }
+
+    private ResultActions importCsv(String importId, String csv) throws Exception {
+        return mockMvc.perform(post("/api/admin/user-imports/{importId}", importId)
+                .contentType("text/csv")
+                .content(csv));
+    }
+}
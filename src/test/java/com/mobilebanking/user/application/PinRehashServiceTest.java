@@ -0,0 +1,104 @@
+package com.mobilebanking.user.application;
+
+import com.mobilebanking.shared.domain.PhoneNumber;
+import com.mobilebanking.shared.infrastructure.PinHashingExecutor;
+import com.mobilebanking.user.domain.HashedPin;
+import com.mobilebanking.user.domain.User;
+import com.mobilebanking.user.domain.UserName;
+import com.mobilebanking.user.infrastructure.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder.BCryptVersion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PinRehashServiceTest {
+
+    private static final String PIN = "1234";
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PinHashingExecutor executor = new PinHashingExecutor(1, 4, meterRegistry);
+    private PinRehashService pinRehashService;
+
+    @BeforeEach
+    void setUp() {
+        pinRehashService = new PinRehashService(userRepository, executor, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        HashedPin.configure(HashedPin.DEFAULT_VERSION, HashedPin.DEFAULT_COST);
+    }
+
+    @Test
+    void shouldSkipHashAtTargetCost() {
+        // Given
+        User user = User.create(UserName.of("Test User"), PhoneNumber.of("+15550001111"), PIN);
+
+        // When
+        boolean queued = pinRehashService.rehashIfNeeded(user, PIN);
+
+        // Then
+        assertThat(queued).isFalse();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void shouldUpgradeHashBelowTargetCost() {
+        // Given
+        HashedPin.configure(BCryptVersion.$2A, 4);
+        User user = User.create(UserName.of("Test User"), PhoneNumber.of("+15550001111"), PIN);
+        String oldHash = user.getPin().getHashedValue();
+        HashedPin.configure(BCryptVersion.$2A, 5);
+        when(userRepository.updatePinHash(anyString(), anyString(), anyString())).thenReturn(1);
+
+        // When
+        boolean queued = pinRehashService.rehashIfNeeded(user, PIN);
+
+        // Then
+        assertThat(queued).isTrue();
+        verify(userRepository, timeout(5000)).updatePinHash(eq(user.getId().asString()), eq(oldHash),
+                argThat(hash -> hash.startsWith("$2a$05$") && HashedPin.fromHashedValue(hash).matches(PIN)));
+    }
+
+    @Test
+    void shouldCountStaleUpgradeWhenPinChangedMeanwhile() {
+        // Given
+        when(userRepository.updatePinHash(anyString(), anyString(), anyString())).thenReturn(0);
+
+        // When
+        pinRehashService.rehash("user-id", "$2a$04$old", PIN);
+
+        // Then
+        assertThat(meterRegistry.get("mobile_banking_pin_rehash_total").tag("result", "stale")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldCountFailedUpgrade() {
+        // Given
+        when(userRepository.updatePinHash(anyString(), anyString(), anyString()))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        // When
+        pinRehashService.rehash("user-id", "$2a$04$old", PIN);
+
+        // Then
+        assertThat(meterRegistry.get("mobile_banking_pin_rehash_total").tag("result", "failed")
+                .counter().count()).isEqualTo(1.0);
+    }
+}
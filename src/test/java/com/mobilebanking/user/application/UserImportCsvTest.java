@@ -0,0 +1,33 @@
+package com.mobilebanking.user.application;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserImportCsvTest {
+
+    @Test
+    void parseLine_shouldSplitAndTrimFields() {
+        assertThat(UserImportCsv.parseLine("Jane Doe, +15550001111 ,1234,10.50"))
+                .containsExactly("Jane Doe", "+15550001111", "1234", "10.50");
+    }
+
+    @Test
+    void parseLine_withQuotedFields_shouldKeepCommasAndQuotes() {
+        assertThat(UserImportCsv.parseLine("\"Doe, Jane \"\"JD\"\"\",+15550001111,1234,"))
+                .containsExactly("Doe, Jane \"JD\"", "+15550001111", "1234", "");
+    }
+
+    @Test
+    void parseLine_withUnterminatedQuote_shouldThrow() {
+        assertThatThrownBy(() -> UserImportCsv.parseLine("\"Jane,+15550001111,1234,0"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void isHeader_shouldIgnoreCaseAndByteOrderMark() {
+        assertThat(UserImportCsv.isHeader("\uFEFFName,Phone,PIN,Opening_Balance")).isTrue();
+        assertThat(UserImportCsv.isHeader("name,phone,pin")).isFalse();
+    }
+}
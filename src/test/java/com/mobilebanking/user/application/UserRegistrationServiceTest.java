@@ -5,15 +5,21 @@ import com.mobilebanking.shared.domain.exception.DuplicatePhoneNumberException;
 import com.mobilebanking.shared.domain.exception.InvalidPhoneNumberException;
 import com.mobilebanking.shared.domain.exception.InvalidPinException;
 import com.mobilebanking.shared.domain.exception.InvalidUserNameException;
+import com.mobilebanking.shared.infrastructure.PinHashingExecutor;
 import com.mobilebanking.user.domain.User;
+import com.mobilebanking.user.infrastructure.PhoneNumberDirectory;
+import com.mobilebanking.user.infrastructure.RegisteredPhoneNumbers;
 import com.mobilebanking.user.infrastructure.UserRepository;
 import com.mobilebanking.observability.ObservabilityService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.InOrder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -31,7 +37,15 @@ class UserRegistrationServiceTest {
     @Mock
     private ObservabilityService observabilityService;
 
-    @InjectMocks
+    @Mock
+    private RegisteredPhoneNumbers registeredPhoneNumbers;
+
+    @Mock
+    private PhoneNumberDirectory phoneNumberDirectory;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private UserRegistrationService userRegistrationService;
 
     private String validName;
@@ -40,6 +54,9 @@ class UserRegistrationServiceTest {
 
     @BeforeEach
     void setUp() {
+        userRegistrationService = new UserRegistrationService(userRepository, observabilityService,
+                new PinHashingExecutor(1, 4, new SimpleMeterRegistry()), registeredPhoneNumbers,
+                phoneNumberDirectory, transactionManager);
         validName = "John Doe";
         validPhoneNumber = "+1234567890";
         validPin = "123456";
@@ -48,8 +65,8 @@ class UserRegistrationServiceTest {
     @Test
     void shouldRegisterUserSuccessfully() {
         // Given
-        when(userRepository.existsByPhone(any(PhoneNumber.class))).thenReturn(false);
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(registeredPhoneNumbers.mightContain(any(PhoneNumber.class))).thenReturn(false);
+        when(userRepository.insertIfPhoneAbsent(any(User.class))).thenReturn(true);
 
         // When
         User registeredUser = userRegistrationService.registerUser(validName, validPhoneNumber, validPin);
@@ -59,12 +76,33 @@ class UserRegistrationServiceTest {
         assertEquals(validName, registeredUser.getName().getValue());
         assertEquals(validPhoneNumber, registeredUser.getPhone().getValue());
         assertEquals(0, registeredUser.getBalance().getAmount().doubleValue());
-        verify(userRepository).save(any(User.class));
+        verify(userRepository, never()).existsByPhone(any(PhoneNumber.class));
+        verify(registeredPhoneNumbers).add(PhoneNumber.of(validPhoneNumber));
+        verify(phoneNumberDirectory).add(PhoneNumber.of(validPhoneNumber), registeredUser.getId());
+    }
+
+    @Test
+    void shouldHashPinBeforeOpeningTheInsertTransaction() {
+        // Given
+        when(registeredPhoneNumbers.mightContain(any(PhoneNumber.class))).thenReturn(false);
+        when(userRepository.insertIfPhoneAbsent(any(User.class))).thenReturn(true);
+
+        // When
+        User registeredUser = userRegistrationService.registerUser(validName, validPhoneNumber, validPin);
+
+        // Then - the user passed to the insert already carries its hash
+        InOrder inOrder = inOrder(transactionManager, userRepository, phoneNumberDirectory);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(userRepository).insertIfPhoneAbsent(registeredUser);
+        inOrder.verify(phoneNumberDirectory).add(registeredUser.getPhone(), registeredUser.getId());
+        inOrder.verify(transactionManager).commit(any());
+        assertTrue(registeredUser.getPin().getHashedValue().startsWith("$2"));
     }
 
     @Test
     void shouldThrowExceptionWhenPhoneNumberAlreadyExists() {
         // Given
+        when(registeredPhoneNumbers.mightContain(any(PhoneNumber.class))).thenReturn(true);
         when(userRepository.existsByPhone(any(PhoneNumber.class))).thenReturn(true);
 
         // When & Then
@@ -73,7 +111,35 @@ class UserRegistrationServiceTest {
                 () -> userRegistrationService.registerUser(validName, validPhoneNumber, validPin));
 
         assertEquals(validPhoneNumber, exception.getPhoneNumber());
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).insertIfPhoneAbsent(any(User.class));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenInsertFindsPhoneNumberTaken() {
+        // Given - the filter has not seen the number, e.g. registered on another instance
+        when(registeredPhoneNumbers.mightContain(any(PhoneNumber.class))).thenReturn(false);
+        when(userRepository.insertIfPhoneAbsent(any(User.class))).thenReturn(false);
+
+        // When & Then
+        assertThrows(
+                DuplicatePhoneNumberException.class,
+                () -> userRegistrationService.registerUser(validName, validPhoneNumber, validPin));
+
+        verify(registeredPhoneNumbers, never()).add(any(PhoneNumber.class));
+        verify(phoneNumberDirectory, never()).add(any(), any());
+    }
+
+    @Test
+    void shouldMapConstraintViolationToDuplicatePhoneNumber() {
+        // Given - a concurrent registration inserted the same number first
+        when(registeredPhoneNumbers.mightContain(any(PhoneNumber.class))).thenReturn(false);
+        when(userRepository.insertIfPhoneAbsent(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // When & Then
+        assertThrows(
+                DuplicatePhoneNumberException.class,
+                () -> userRegistrationService.registerUser(validName, validPhoneNumber, validPin));
     }
 
     @Test
@@ -87,7 +153,7 @@ class UserRegistrationServiceTest {
                 () -> userRegistrationService.registerUser(invalidName, validPhoneNumber, validPin));
 
         verify(userRepository, never()).existsByPhone(any(PhoneNumber.class));
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).insertIfPhoneAbsent(any(User.class));
     }
 
     @Test
@@ -101,7 +167,7 @@ class UserRegistrationServiceTest {
                 () -> userRegistrationService.registerUser(validName, invalidPhoneNumber, validPin));
 
         verify(userRepository, never()).existsByPhone(any(PhoneNumber.class));
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).insertIfPhoneAbsent(any(User.class));
     }
 
     @Test
@@ -114,6 +180,6 @@ class UserRegistrationServiceTest {
                 InvalidPinException.class,
                 () -> userRegistrationService.registerUser(validName, validPhoneNumber, invalidPin));
 
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).insertIfPhoneAbsent(any(User.class));
     }
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.mobilebanking.user.domain;
 
 import com.mobilebanking.shared.domain.exception.InvalidPinException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder.BCryptVersion;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -11,6 +13,11 @@ import static org.assertj.core.api.Assertions.*;
 @DisplayName("HashedPin Value Object Tests")
 class HashedPinTest {
 
+    @AfterEach
+    void restoreDefaultPolicy() {
+        HashedPin.configure(HashedPin.DEFAULT_VERSION, HashedPin.DEFAULT_COST);
+    }
+
     @Test
     @DisplayName("Should create HashedPin from valid raw PIN")
     void shouldCreateHashedPinFromValidRawPin() {
@@ -187,4 +194,66 @@ class HashedPinTest {
         assertThat(toString).isEqualTo("[PROTECTED]");
         assertThat(toString).doesNotContain(hashedPin.getHashedValue());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should report version and cost from the hash header")
+    void shouldReportVersionAndCostFromHashHeader() {
+        // When
+        HashedPin hashedPin = HashedPin.fromRawPin("1234");
+
+        // Then
+        assertThat(hashedPin.getAlgorithmVersion()).isEqualTo("2a");
+        assertThat(hashedPin.getCost()).isEqualTo(HashedPin.DEFAULT_COST);
+        assertThat(hashedPin.needsRehash()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should hash with the configured version and cost")
+    void shouldHashWithConfiguredVersionAndCost() {
+        // Given
+        HashedPin.configure(BCryptVersion.$2B, 5);
+
+        // When
+        HashedPin hashedPin = HashedPin.fromRawPin("1234");
+
+        // Then
+        assertThat(hashedPin.getHashedValue()).startsWith("$2b$05$");
+        assertThat(hashedPin.getCost()).isEqualTo(5);
+        assertThat(hashedPin.matches("1234")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should flag hashes below the target cost for rehash but still verify them")
+    void shouldFlagOutdatedHashesForRehash() {
+        // Given
+        HashedPin.configure(BCryptVersion.$2A, 4);
+        HashedPin oldHash = HashedPin.fromRawPin("1234");
+
+        // When
+        HashedPin.configure(BCryptVersion.$2A, 5);
+
+        // Then
+        assertThat(oldHash.needsRehash()).isTrue();
+        assertThat(oldHash.matches("1234")).isTrue();
+        assertThat(HashedPin.fromRawPin("1234").needsRehash()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should flag hashes with an unknown format for rehash")
+    void shouldFlagUnknownFormatForRehash() {
+        // Given
+        HashedPin hashedPin = HashedPin.fromHashedValue("{noop}1234");
+
+        // Then
+        assertThat(hashedPin.getAlgorithmVersion()).isEqualTo("unknown");
+        assertThat(hashedPin.getCost()).isEqualTo(-1);
+        assertThat(hashedPin.needsRehash()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject an out-of-range cost")
+    void shouldRejectOutOfRangeCost() {
+        assertThatThrownBy(() -> HashedPin.configure(BCryptVersion.$2A, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
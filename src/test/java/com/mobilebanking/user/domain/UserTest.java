@@ -243,6 +243,50 @@ class UserTest {
         assertThat(user.getUpdatedAt()).isAfter(initialUpdatedAt);
     }
 
+    @Test
+    @DisplayName("Should bump wallet version on every balance change")
+    void shouldBumpWalletVersionOnEveryBalanceChange() {
+        // Given
+        User user = User.create(validName, validPhone, validPin);
+        assertThat(user.getWalletVersion()).isZero();
+
+        // When
+        user.creditBalance(Money.of(BigDecimal.valueOf(100.00)));
+        user.debitBalance(Money.of(BigDecimal.valueOf(40.00)));
+
+        // Then
+        assertThat(user.getWalletVersion()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not bump wallet version when debit is rejected")
+    void shouldNotBumpWalletVersionWhenDebitIsRejected() {
+        // Given
+        User user = User.create(validName, validPhone, validPin);
+
+        // When & Then
+        assertThatThrownBy(() -> user.debitBalance(Money.of(BigDecimal.valueOf(10.00))))
+                .isInstanceOf(InsufficientFundsException.class);
+        assertThat(user.getWalletVersion()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should record when the account was disabled")
+    void shouldRecordWhenAccountWasDisabled() {
+        // Given
+        User user = User.create(validName, validPhone, validPin);
+        assertThat(user.isDisabled()).isFalse();
+
+        // When
+        user.disable();
+        var disabledAt = user.getDisabledAt();
+        user.disable();
+
+        // Then
+        assertThat(user.isDisabled()).isTrue();
+        assertThat(user.getDisabledAt()).isNotNull().isEqualTo(disabledAt);
+    }
+
     @Test
     @DisplayName("Should have meaningful toString representation")
     void shouldHaveMeaningfulToStringRepresentation() {
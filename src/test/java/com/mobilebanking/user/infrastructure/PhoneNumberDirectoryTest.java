@@ -0,0 +1,155 @@
+package com.mobilebanking.user.infrastructure;
+
+import com.mobilebanking.shared.domain.PhoneNumber;
+import com.mobilebanking.shared.domain.UserId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PhoneNumberDirectoryTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Test
+    void encode_shouldKeepNumbersWithAndWithoutPlusApart() {
+        assertThat(PhoneNumberDirectory.encode("+15550001111")).isNotEqualTo(PhoneNumberDirectory.encode("15550001111"));
+        assertThat(PhoneNumberDirectory.encode("15550001111")).isEqualTo(15550001111L);
+        assertThat(PhoneNumberDirectory.encode("+999999999999999")).isPositive();
+    }
+
+    @Test
+    void resolve_afterAdd_shouldAnswerWithoutDatabase() {
+        // Given
+        PhoneNumberDirectory directory = new PhoneNumberDirectory(userRepository, 16);
+        UserId userId = UserId.generate();
+        directory.add(PhoneNumber.of("+15550001111"), userId);
+
+        // When & Then
+        assertThat(directory.resolve(PhoneNumber.of("+15550001111"))).contains(userId);
+        verify(userRepository, never()).findIdByPhoneNumber(anyString());
+    }
+
+    @Test
+    void resolve_onMiss_shouldAskDatabaseOnceAndRemember() {
+        // Given
+        PhoneNumberDirectory directory = new PhoneNumberDirectory(userRepository, 16);
+        UserId userId = UserId.generate();
+        when(userRepository.findIdByPhoneNumber("+15550001111")).thenReturn(Optional.of(userId.asString()));
+
+        // When
+        directory.resolve(PhoneNumber.of("+15550001111"));
+        Optional<UserId> resolved = directory.resolve(PhoneNumber.of("+15550001111"));
+
+        // Then
+        assertThat(resolved).contains(userId);
+        verify(userRepository).findIdByPhoneNumber("+15550001111");
+        assertThat(directory.size()).isEqualTo(1);
+    }
+
+    @Test
+    void resolve_forUnknownNumber_shouldReturnEmpty() {
+        // Given
+        PhoneNumberDirectory directory = new PhoneNumberDirectory(userRepository, 16);
+        when(userRepository.findIdByPhoneNumber("+15550009999")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThat(directory.resolve(PhoneNumber.of("+15550009999"))).isEmpty();
+        assertThat(directory.size()).isZero();
+    }
+
+    @Test
+    void add_beyondCapacity_shouldGrowAndKeepEveryEntry() {
+        // Given
+        PhoneNumberDirectory directory = new PhoneNumberDirectory(userRepository, 4);
+        List<UserId> ids = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            UserId userId = UserId.generate();
+            ids.add(userId);
+            directory.add(PhoneNumber.of("+1555" + (1_000_000 + i)), userId);
+        }
+
+        // Then
+        assertThat(directory.size()).isEqualTo(1000);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(directory.resolve(PhoneNumber.of("+1555" + (1_000_000 + i)))).contains(ids.get(i));
+        }
+        verify(userRepository, never()).findIdByPhoneNumber(anyString());
+    }
+
+    @Test
+    void remove_shouldOnlyDropMatchingEntry() {
+        // Given
+        PhoneNumberDirectory directory = new PhoneNumberDirectory(userRepository, 16);
+        PhoneNumber phone = PhoneNumber.of("+15550001111");
+        UserId userId = UserId.generate();
+        directory.add(phone, userId);
+
+        // When
+        directory.remove(phone, UserId.generate());
+        int afterOtherId = directory.size();
+        directory.remove(phone, userId);
+
+        // Then
+        assertThat(afterOtherId).isEqualTo(1);
+        assertThat(directory.size()).isZero();
+    }
+
+    @Test
+    void add_afterManyRemovals_shouldReuseDeletedSlots() {
+        // Given
+        PhoneNumberDirectory directory = new PhoneNumberDirectory(userRepository, 8);
+        UserId kept = UserId.generate();
+        directory.add(PhoneNumber.of("+15550000000"), kept);
+
+        // When - churn well past the table length
+        for (int i = 1; i <= 500; i++) {
+            PhoneNumber phone = PhoneNumber.of("+1555" + (1_000_000 + i));
+            UserId userId = UserId.generate();
+            directory.add(phone, userId);
+            directory.remove(phone, userId);
+        }
+
+        // Then
+        assertThat(directory.size()).isEqualTo(1);
+        assertThat(directory.resolve(PhoneNumber.of("+15550000000"))).contains(kept);
+    }
+
+    @Test
+    void load_shouldAddAllPagesOfNumbers() {
+        // Given
+        List<Object[]> firstPage = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            firstPage.add(new Object[] {"+1555" + (1_000_000 + i), UserId.generate().asString()});
+        }
+        UserId last = UserId.generate();
+        when(userRepository.findPhoneNumberIdsAfter(eq(""), any(Pageable.class))).thenReturn(firstPage);
+        when(userRepository.findPhoneNumberIdsAfter(eq("+15551009999"), any(Pageable.class)))
+                .thenReturn(List.<Object[]>of(new Object[] {"+15559999999", last.asString()}));
+        PhoneNumberDirectory directory = new PhoneNumberDirectory(userRepository, 16);
+
+        // When
+        directory.load();
+
+        // Then
+        assertThat(directory.size()).isEqualTo(10_001);
+        assertThat(directory.resolve(PhoneNumber.of("+15559999999"))).contains(last);
+    }
+}
@@ -0,0 +1,108 @@
+package com.mobilebanking.user.infrastructure;
+
+import com.mobilebanking.shared.domain.PhoneNumber;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RegisteredPhoneNumbersTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Test
+    void mightContain_beforeLoad_shouldReportEveryNumber() {
+        // Given
+        RegisteredPhoneNumbers filter = new RegisteredPhoneNumbers(userRepository, 1000, 0.01);
+
+        // When & Then
+        assertThat(filter.mightContain(PhoneNumber.of("+15550001111"))).isTrue();
+    }
+
+    @Test
+    void load_shouldAddAllPagesOfPhoneNumbers() {
+        // Given
+        List<String> firstPage = IntStream.range(0, 10_000).mapToObj(i -> "+1555" + (1_000_000 + i)).toList();
+        when(userRepository.findPhoneNumbersAfter(eq(""), any(Pageable.class))).thenReturn(firstPage);
+        when(userRepository.findPhoneNumbersAfter(eq("+15551009999"), any(Pageable.class)))
+                .thenReturn(List.of("+15559999999"));
+        RegisteredPhoneNumbers filter = new RegisteredPhoneNumbers(userRepository, 20_000, 0.01);
+
+        // When
+        filter.load();
+
+        // Then
+        assertThat(filter.size()).isEqualTo(10_001);
+        assertThat(filter.mightContain(PhoneNumber.of("+15551000000"))).isTrue();
+        assertThat(filter.mightContain(PhoneNumber.of("+15559999999"))).isTrue();
+    }
+
+    @Test
+    void mightContain_afterAdd_shouldHaveNoFalseNegatives() {
+        // Given
+        RegisteredPhoneNumbers filter = loadedEmptyFilter(1000);
+
+        // When
+        IntStream.range(0, 1000).forEach(i -> filter.add(PhoneNumber.of("+1555" + (2_000_000 + i))));
+
+        // Then
+        assertThat(IntStream.range(0, 1000)
+                .allMatch(i -> filter.mightContain(PhoneNumber.of("+1555" + (2_000_000 + i))))).isTrue();
+    }
+
+    @Test
+    void mightContain_forUnknownNumbers_shouldStayNearConfiguredFalsePositiveRate() {
+        // Given
+        RegisteredPhoneNumbers filter = loadedEmptyFilter(1000);
+        IntStream.range(0, 1000).forEach(i -> filter.add(PhoneNumber.of("+1555" + (2_000_000 + i))));
+
+        // When
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> filter.mightContain(PhoneNumber.of("+1666" + (3_000_000 + i))))
+                .count();
+
+        // Then - configured for 1%, allow for variance
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void load_whenQueryFails_shouldKeepReportingEveryNumber() {
+        // Given
+        when(userRepository.findPhoneNumbersAfter(eq(""), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("database down"));
+        RegisteredPhoneNumbers filter = new RegisteredPhoneNumbers(userRepository, 1000, 0.01);
+
+        // When
+        filter.load();
+
+        // Then
+        assertThat(filter.mightContain(PhoneNumber.of("+15550001111"))).isTrue();
+    }
+
+    @Test
+    void constructor_withInvalidSizing_shouldThrow() {
+        assertThatThrownBy(() -> new RegisteredPhoneNumbers(userRepository, 0, 0.01))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RegisteredPhoneNumbers(userRepository, 1000, 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private RegisteredPhoneNumbers loadedEmptyFilter(long expectedNumbers) {
+        when(userRepository.findPhoneNumbersAfter(eq(""), any(Pageable.class))).thenReturn(List.of());
+        RegisteredPhoneNumbers filter = new RegisteredPhoneNumbers(userRepository, expectedNumbers, 0.01);
+        filter.load();
+        return filter;
+    }
+}
@@ -11,8 +11,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -226,4 +228,80 @@ class UserRepositoryTest {
         // Then
         assertThat(userRepository.count()).isEqualTo(1);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should replace PIN hash only while it holds the expected value")
+    void shouldUpdatePinHashConditionally() {
+        // Given
+        User savedUser = userRepository.save(testUser);
+        entityManager.flush();
+        String oldHash = savedUser.getPin().getHashedValue();
+        String userId = savedUser.getId().asString();
+
+        // When
+        int stale = userRepository.updatePinHash(userId, "$2a$04$notTheCurrentHash", "$2a$12$replacement");
+        int updated = userRepository.updatePinHash(userId, oldHash, "$2a$12$replacement");
+        entityManager.clear();
+
+        // Then
+        assertThat(stale).isZero();
+        assertThat(updated).isEqualTo(1);
+        assertThat(userRepository.findByUserId(savedUser.getId()).orElseThrow().getPin().getHashedValue())
+                .isEqualTo("$2a$12$replacement");
+    }
+
+    @Test
+    @DisplayName("Should count PIN hashes by header")
+    void shouldCountPinHashesByHeader() {
+        // Given
+        userRepository.save(testUser);
+        userRepository.save(User.create(UserName.of("Jane Smith"), PhoneNumber.of("9876543210"), "5678"));
+        entityManager.flush();
+
+        // When
+        List<Object[]> counts = userRepository.countPinHashesByHeader();
+
+        // Then
+        assertThat(counts).hasSize(1);
+        assertThat(counts.get(0)[0]).isEqualTo("$2a$10$");
+        assertThat(((Number) counts.get(0)[1]).longValue()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should insert a user only while the phone number is free")
+    void shouldInsertIfPhoneAbsent() {
+        // Given
+        User duplicate = User.create(UserName.of("Jane Smith"), testPhone, "5678");
+
+        // When
+        boolean inserted = userRepository.insertIfPhoneAbsent(testUser);
+        boolean insertedDuplicate = userRepository.insertIfPhoneAbsent(duplicate);
+        entityManager.clear();
+
+        // Then
+        assertThat(inserted).isTrue();
+        assertThat(insertedDuplicate).isFalse();
+        User found = userRepository.findByPhone(testPhone).orElseThrow();
+        assertThat(found.getId()).isEqualTo(testUser.getId());
+        assertThat(found.getBalance()).isEqualTo(Money.zero());
+        assertThat(found.getPin().getHashedValue()).isEqualTo(testUser.getPin().getHashedValue());
+    }
+
+    @Test
+    @DisplayName("Should page through phone numbers by key")
+    void shouldFindPhoneNumbersAfter() {
+        // Given
+        userRepository.save(testUser);
+        userRepository.save(User.create(UserName.of("Jane Smith"), PhoneNumber.of("9876543210"), "5678"));
+        userRepository.save(User.create(UserName.of("Bob Jones"), PhoneNumber.of("5555555555"), "4321"));
+        entityManager.flush();
+
+        // When
+        List<String> first = userRepository.findPhoneNumbersAfter("", PageRequest.of(0, 2));
+        List<String> second = userRepository.findPhoneNumbersAfter(first.get(1), PageRequest.of(0, 2));
+
+        // Then
+        assertThat(first).containsExactly("1234567890", "5555555555");
+        assertThat(second).containsExactly("9876543210");
+    }
+}